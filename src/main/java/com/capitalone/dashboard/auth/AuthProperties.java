@@ -23,6 +23,15 @@ public class AuthProperties {
 	private static final Logger LOGGER = LoggerFactory.getLogger(AuthProperties.class);
 
 	private Long expirationTime;
+	/**
+	 * Remaining lifetime (in milliseconds) below which a new JWT is issued with the response.
+	 * Defaults to half of the expiration time.
+	 **/
+	private Long tokenRenewalTime;
+	/**
+	 * Maximum number of verified JWTs kept in memory.
+	 **/
+	private int tokenCacheSize = 10000;
 	private String secret;
 	private String ldapUserDnPattern;
 	private String ldapServerUrl;
@@ -82,6 +91,22 @@ public class AuthProperties {
 		this.expirationTime = expirationTime;
 	}
 
+	public Long getTokenRenewalTime() {
+		return tokenRenewalTime;
+	}
+
+	public void setTokenRenewalTime(Long tokenRenewalTime) {
+		this.tokenRenewalTime = tokenRenewalTime;
+	}
+
+	public int getTokenCacheSize() {
+		return tokenCacheSize;
+	}
+
+	public void setTokenCacheSize(int tokenCacheSize) {
+		this.tokenCacheSize = tokenCacheSize;
+	}
+
 	public String getSecret() {
 		return secret;
 	}
@@ -214,6 +239,10 @@ public class AuthProperties {
 			setExpirationTime((long) 1000 * 60 * 30);
 		}
 
+		if (getTokenRenewalTime() == null) {
+			setTokenRenewalTime(getExpirationTime() / 2);
+		}
+
 		if (CollectionUtils.isEmpty(authenticationProviders)) {
 			authenticationProviders.add(AuthType.STANDARD);
 		}
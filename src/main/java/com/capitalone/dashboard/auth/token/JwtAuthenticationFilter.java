@@ -94,7 +94,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // process properly authenticated requests
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 filterChain.doFilter(request, response);
-                tokenAuthenticationService.addAuthentication(response, authentication);
+                tokenAuthenticationService.refreshAuthentication(request, response, authentication);
             }
         } finally {
             // no logging on ping request
@@ -10,4 +10,9 @@ public interface TokenAuthenticationService {
 	void addAuthentication(HttpServletResponse response, Authentication authentication);
 	Authentication getAuthentication(HttpServletRequest request);
 
+	/**
+	 * Adds a new token to the response only when the token of the request is close to expiry.
+	 */
+	void refreshAuthentication(HttpServletRequest request, HttpServletResponse response, Authentication authentication);
+
 }
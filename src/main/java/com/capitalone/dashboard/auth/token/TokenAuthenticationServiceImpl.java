@@ -6,8 +6,10 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -22,7 +24,10 @@ import org.springframework.security.web.authentication.preauth.PreAuthenticatedA
 import org.springframework.stereotype.Component;
 
 import com.capitalone.dashboard.auth.AuthProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 
 @Component
 public class TokenAuthenticationServiceImpl implements TokenAuthenticationService {
@@ -34,10 +39,17 @@ public class TokenAuthenticationServiceImpl implements TokenAuthenticationServic
 	private static final String DETAILS_CLAIM = "details";
 
 	private AuthProperties tokenAuthProperties;
+
+	// verified tokens by digest, so the signature is checked once per token instead of once per request
+	private final Cache<String, VerifiedToken> verifiedTokens;
 	
 	@Autowired
 	public TokenAuthenticationServiceImpl(AuthProperties tokenAuthProperties) {
 		this.tokenAuthProperties = tokenAuthProperties;
+		this.verifiedTokens = CacheBuilder.newBuilder()
+				.maximumSize(Math.max(0, tokenAuthProperties.getTokenCacheSize()))
+				.expireAfterWrite(tokenAuthProperties.getExpirationTime(), TimeUnit.MILLISECONDS)
+				.build();
 	}
 	
 	@Override
@@ -50,26 +62,58 @@ public class TokenAuthenticationServiceImpl implements TokenAuthenticationServic
 		response.addHeader(AUTH_RESPONSE_HEADER, jwt);
 	}
 
-	@SuppressWarnings("unchecked")
+	@Override
+	public void refreshAuthentication(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+		String token = getToken(request);
+		VerifiedToken verified = token == null ? null : verifiedTokens.getIfPresent(digest(token));
+		if (verified == null || verified.expiresAt - System.currentTimeMillis() <= getRenewalTime()) {
+			addAuthentication(response, authentication);
+		}
+	}
+
 	@Override
 	public Authentication getAuthentication(HttpServletRequest request) {
-		String authHeader = request.getHeader(AUTHORIZATION);
-		if (StringUtils.isBlank(authHeader)) return null;
-		
-		String token = StringUtils.removeStart(authHeader, AUTH_PREFIX_W_SPACE);
+		String token = getToken(request);
+		if (token == null) return null;
+
+		String digest = digest(token);
+		VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+		if (verified != null) {
+			if (verified.expiresAt > System.currentTimeMillis()) {
+				return verified.toAuthentication();
+			}
+			verifiedTokens.invalidate(digest);
+			return null;
+		}
+
 		try {
 			Claims claims = Jwts.parser().setSigningKey(tokenAuthProperties.getSecret()).parseClaimsJws(token).getBody();
-			String username = claims.getSubject();
-			Collection<? extends GrantedAuthority> authorities = getAuthorities(claims.get(ROLES_CLAIM, Collection.class));
-			PreAuthenticatedAuthenticationToken authentication = new PreAuthenticatedAuthenticationToken(username, null, authorities);
-			authentication.setDetails(claims.get(DETAILS_CLAIM));
-			
-			return authentication;
+			verified = new VerifiedToken(claims);
+			if (claims.getExpiration() != null) {
+				verifiedTokens.put(digest, verified);
+			}
+			return verified.toAuthentication();
 			
 		} catch (ExpiredJwtException | SignatureException | MalformedJwtException e) {
 			return null;
 		}
 	}
+
+	private String getToken(HttpServletRequest request) {
+		String authHeader = request.getHeader(AUTHORIZATION);
+		if (StringUtils.isBlank(authHeader)) return null;
+
+		return StringUtils.removeStart(authHeader, AUTH_PREFIX_W_SPACE);
+	}
+
+	private long getRenewalTime() {
+		Long renewalTime = tokenAuthProperties.getTokenRenewalTime();
+		return renewalTime != null ? renewalTime : tokenAuthProperties.getExpirationTime() / 2;
+	}
+
+	private static String digest(String token) {
+		return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+	}
 	
 	private Collection<String> getRoles(Collection<? extends GrantedAuthority> authorities) {
 		Collection<String> roles = Sets.newHashSet();
@@ -89,4 +133,29 @@ public class TokenAuthenticationServiceImpl implements TokenAuthenticationServic
 		return authorities;
 	}
 
+	/**
+	 * Claims of a token whose signature has been verified.
+	 */
+	private final class VerifiedToken {
+		private final String username;
+		private final Collection<? extends GrantedAuthority> authorities;
+		private final Object details;
+		private final long expiresAt;
+
+		@SuppressWarnings("unchecked")
+		VerifiedToken(Claims claims) {
+			this.username = claims.getSubject();
+			this.authorities = getAuthorities(claims.get(ROLES_CLAIM, Collection.class));
+			this.details = claims.get(DETAILS_CLAIM);
+			this.expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+		}
+
+		// a new instance per request, callers may modify the authentication
+		Authentication toAuthentication() {
+			PreAuthenticatedAuthenticationToken authentication = new PreAuthenticatedAuthenticationToken(username, null, authorities);
+			authentication.setDetails(details);
+			return authentication;
+		}
+	}
+
 }
@@ -8,6 +8,10 @@ import com.capitalone.dashboard.logging.DatabaseLoggingCondition;
 import com.capitalone.dashboard.logging.KeyValueLoggingCondition;
 import com.capitalone.dashboard.logging.KeyValueLoggingFilter;
 import com.capitalone.dashboard.logging.LoggingFilter;
+import com.capitalone.dashboard.logging.MetricsRegistry;
+import com.capitalone.dashboard.logging.RequestLogWriter;
+import com.capitalone.dashboard.repository.RequestLogRepository;
+import com.capitalone.dashboard.settings.ApiSettings;
 
 @Configuration
 public class LoggingConfig {
@@ -24,4 +28,17 @@ public class LoggingConfig {
         return new LoggingFilter();
     }
 
+    @Bean
+    @Conditional(DatabaseLoggingCondition.class)
+    public RequestLogWriter requestLogWriter(RequestLogRepository requestLogRepository, ApiSettings settings) {
+        return new RequestLogWriter(requestLogRepository, settings.getRequestLogQueueSize(), settings.getRequestLogBatchSize(),
+                settings.getRequestLogFlushIntervalMillis(), RequestLogWriter.Overflow.fromString(settings.getRequestLogOverflow()),
+                settings.getRequestLogSampleRate());
+    }
+
+    @Bean
+    public MetricsRegistry metricsRegistry() {
+        return new MetricsRegistry();
+    }
+
 }
@@ -1,7 +1,10 @@
 package com.capitalone.dashboard.config;
 
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
@@ -9,20 +12,37 @@ import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.DefaultServletHandlerConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
+import com.capitalone.dashboard.logging.ControllerMetricsInterceptor;
+import com.capitalone.dashboard.logging.MetricsRegistry;
 import com.capitalone.dashboard.mapper.CustomObjectMapper;
+import com.capitalone.dashboard.util.StreamingJsonWriter;
+import com.capitalone.dashboard.util.StreamingTimeoutInterceptor;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 @Configuration
 @EnableWebMvc
 @ComponentScan(basePackages = "com.capitalone.dashboard.rest")
 public class WebMVCConfig extends WebMvcConfigurerAdapter {
+    // streamed listings are written on these threads, after the controller method returns
+    private static final int STREAMING_THREADS = 8;
+    // further streamed requests are rejected with 503 rather than queued without limit
+    private static final int STREAMING_QUEUE_CAPACITY = 32;
+    private static final long STREAMING_TIMEOUT_MILLIS = 10 * 60 * 1000L;
+
+    @Autowired(required = false)
+    private MetricsRegistry metricsRegistry;
+
     @Override
     public void configureDefaultServletHandling(DefaultServletHandlerConfigurer configurer) {
         configurer.enable("api");
@@ -32,11 +52,7 @@ public class WebMVCConfig extends WebMvcConfigurerAdapter {
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
         MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter();
 
-        jackson.setObjectMapper(new CustomObjectMapper());
-        jackson.getObjectMapper()
-                .disable(SerializationFeature.WRITE_NULL_MAP_VALUES)
-                .enable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        jackson.setObjectMapper(jsonObjectMapper());
         converters.add(jackson);
         Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
         builder.indentOutput(true);
@@ -44,6 +60,45 @@ public class WebMVCConfig extends WebMvcConfigurerAdapter {
         converters.add(new MappingJackson2XmlHttpMessageConverter(builder.createXmlMapper(true).build()));
     }
 
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+        // only streamed listings get the long timeout, other async requests keep the container default
+        configurer.registerCallableInterceptors(new StreamingTimeoutInterceptor(STREAMING_TIMEOUT_MILLIS));
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(STREAMING_THREADS);
+        executor.setMaxPoolSize(STREAMING_THREADS);
+        executor.setQueueCapacity(STREAMING_QUEUE_CAPACITY);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("json-stream-");
+        return executor;
+    }
+
+    @Bean
+    public StreamingJsonWriter streamingJsonWriter() {
+        return new StreamingJsonWriter(jsonObjectMapper());
+    }
+
+    private static ObjectMapper jsonObjectMapper() {
+        ObjectMapper objectMapper = new CustomObjectMapper();
+        objectMapper
+                .disable(SerializationFeature.WRITE_NULL_MAP_VALUES)
+                .enable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return objectMapper;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (metricsRegistry != null) {
+            registry.addInterceptor(new ControllerMetricsInterceptor(metricsRegistry));
+        }
+    }
+
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
         PageableHandlerMethodArgumentResolver resolver = new PageableHandlerMethodArgumentResolver();
@@ -70,6 +70,9 @@ public class LoggingFilter implements Filter {
     @Autowired
     private ApiSettings settings;
 
+    @Autowired(required = false)
+    private RequestLogWriter requestLogWriter;
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
     }
@@ -146,10 +149,14 @@ public class LoggingFilter implements Filter {
                 long endTime = System.currentTimeMillis();
                 requestLog.setResponseTime(endTime - startTime);
                 requestLog.setTimestamp(endTime);
-                try {
-                    requestLogRepository.save(requestLog);
-                } catch (RuntimeException re) {
-                    LOGGER.error("Encountered exception while saving request log - " + requestLog.toString(), re);
+                if (requestLogWriter != null) {
+                    requestLogWriter.write(requestLog);
+                } else {
+                    try {
+                        requestLogRepository.save(requestLog);
+                    } catch (RuntimeException re) {
+                        LOGGER.error("Encountered exception while saving request log - " + requestLog.toString(), re);
+                    }
                 }
             }
 
@@ -0,0 +1,63 @@
+package com.capitalone.dashboard.logging;
+
+import com.capitalone.dashboard.model.OperationMetrics;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process latency histograms, keyed by operation type ({@link #CONTROLLER} or {@link #REPOSITORY}) and name.
+ * Recording is lock free, so it is cheap enough to run on every request and every repository call.
+ */
+public class MetricsRegistry {
+
+    public static final String CONTROLLER = "controller";
+    public static final String REPOSITORY = "repository";
+
+    private final ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.currentTimeMillis();
+
+    public void record(String type, String name, long nanos, boolean error) {
+        histograms.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, n -> new LatencyHistogram())
+                .record(nanos, error);
+    }
+
+    /**
+     * @param type operation type, empty for all types
+     * @return the metrics of every recorded operation, the ones with the highest total time first
+     */
+    public List<OperationMetrics> snapshot(String type) {
+        double seconds = Math.max(1, System.currentTimeMillis() - startedAt) / 1000.0;
+        List<OperationMetrics> metrics = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentMap<String, LatencyHistogram>> byType : histograms.entrySet()) {
+            if (StringUtils.isNotEmpty(type) && !type.equalsIgnoreCase(byType.getKey())) {
+                continue;
+            }
+            for (Map.Entry<String, LatencyHistogram> entry : byType.getValue().entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                long count = histogram.getCount();
+                long totalMillis = histogram.getTotalMillis();
+                metrics.add(new OperationMetrics(byType.getKey(), entry.getKey(), count, histogram.getErrors(),
+                        count / seconds, count == 0 ? 0 : totalMillis / count,
+                        histogram.percentileMillis(0.50), histogram.percentileMillis(0.95), histogram.percentileMillis(0.99),
+                        histogram.getMaxMillis(), totalMillis));
+            }
+        }
+        metrics.sort(Comparator.comparingLong(OperationMetrics::getTotalMillis).reversed());
+        return metrics;
+    }
+
+    /**
+     * Drops all recorded metrics, so the next snapshot covers only the calls made from now on.
+     */
+    public void reset() {
+        histograms.clear();
+        startedAt = System.currentTimeMillis();
+    }
+}
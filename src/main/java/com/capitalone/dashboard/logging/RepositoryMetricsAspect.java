@@ -0,0 +1,58 @@
+package com.capitalone.dashboard.logging;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the latency of every Spring Data repository call in the {@link MetricsRegistry}, keyed by
+ * repository interface and method, e.g. {@code DashboardRepository.findOne}.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private static final String REPOSITORY_PACKAGE = "com.capitalone.dashboard";
+
+    private final MetricsRegistry metricsRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RepositoryMetricsAspect(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            Object result = joinPoint.proceed();
+            error = false;
+            return result;
+        } finally {
+            String name = repositoryName(joinPoint.getThis()) + '.' + joinPoint.getSignature().getName();
+            metricsRegistry.record(MetricsRegistry.REPOSITORY, name, System.nanoTime() - start, error);
+        }
+    }
+
+    /**
+     * Inherited methods such as findOne are declared by the Spring Data interfaces, so the repository is
+     * named after the application interface the proxy implements.
+     */
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), proxyClass -> {
+            for (Class<?> repositoryInterface : proxyClass.getInterfaces()) {
+                if (repositoryInterface.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return repositoryInterface.getSimpleName();
+                }
+            }
+            return proxyClass.getSimpleName();
+        });
+    }
+}
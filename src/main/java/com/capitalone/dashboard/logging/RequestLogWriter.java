@@ -0,0 +1,181 @@
+package com.capitalone.dashboard.logging;
+
+import com.capitalone.dashboard.model.RequestLog;
+import com.capitalone.dashboard.repository.RequestLogRepository;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists {@link RequestLog} documents off the request thread. Logs are queued in a bounded
+ * in-memory queue and a background thread writes them with one bulk insert per batch, when either
+ * the batch size is reached or the flush interval has passed. Remaining logs are written on shutdown.
+ */
+public class RequestLogWriter implements DisposableBean {
+
+    private static final Logger LOGGER = Logger.getLogger("RequestLogWriter");
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * What to do with a log when the queue cannot take it.
+     */
+    public enum Overflow {
+        /** drop the log */
+        DROP,
+        /** block the request thread until the queue has room */
+        BLOCK,
+        /** above 3/4 of the capacity keep only one of every sampleRate logs, drop when full */
+        SAMPLE;
+
+        public static Overflow fromString(String value) {
+            for (Overflow overflow : values()) {
+                if (overflow.name().equalsIgnoreCase(value)) {
+                    return overflow;
+                }
+            }
+            return DROP;
+        }
+    }
+
+    private final RequestLogRepository requestLogRepository;
+    private final BlockingQueue<RequestLog> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Overflow overflow;
+    private final int sampleRate;
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public RequestLogWriter(RequestLogRepository requestLogRepository, int capacity, int batchSize,
+                            long flushIntervalMillis, Overflow overflow, int sampleRate) {
+        this.requestLogRepository = requestLogRepository;
+        this.capacity = Math.max(1, capacity);
+        this.queue = new ArrayBlockingQueue<>(this.capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.overflow = overflow;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.worker = new Thread(this::run, "request-log-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues a log for writing. After shutdown the log is saved on the calling thread.
+     *
+     * @param requestLog log to persist
+     */
+    public void write(RequestLog requestLog) {
+        if (!running) {
+            save(requestLog);
+            return;
+        }
+        boolean queued;
+        switch (overflow) {
+            case BLOCK:
+                try {
+                    queue.put(requestLog);
+                    queued = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queued = false;
+                }
+                break;
+            case SAMPLE:
+                queued = (queue.size() < capacity * 3 / 4 || sampleCounter.incrementAndGet() % sampleRate == 0)
+                        && queue.offer(requestLog);
+                break;
+            default:
+                queued = queue.offer(requestLog);
+                break;
+        }
+        if (!queued && dropped.incrementAndGet() % 1000 == 1) {
+            LOGGER.warn("Request log queue is full, dropped " + dropped.get() + " request logs so far");
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<RequestLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // short polls so a shutdown request is noticed without waiting for a full interval
+                RequestLog first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                while (running && batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || wait <= 0) {
+                        break;
+                    }
+                    RequestLog next = queue.poll(Math.min(wait, POLL_MILLIS), TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            flush(batch);
+        }
+        // drain whatever is left after shutdown was requested
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<RequestLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // new documents only, so the repository writes them with a single insert
+            requestLogRepository.save(new ArrayList<>(batch));
+        } catch (RuntimeException re) {
+            LOGGER.error("Encountered exception while saving " + batch.size() + " request logs", re);
+        }
+        batch.clear();
+    }
+
+    private void save(RequestLog requestLog) {
+        try {
+            requestLogRepository.save(requestLog);
+        } catch (RuntimeException re) {
+            LOGGER.error("Encountered exception while saving request log - " + requestLog.toString(), re);
+        }
+    }
+
+    /**
+     * Stops accepting logs and waits for the queued logs to be written.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        // logs queued while the worker was finishing
+        List<RequestLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+    }
+}
@@ -0,0 +1,24 @@
+package com.capitalone.dashboard.model;
+
+import java.util.List;
+
+/**
+ * Estimates of a team's current sprint features: the sprint totals by status and the totals per epic.
+ */
+public class FeatureEstimates {
+    private final SprintEstimate sprintEstimate;
+    private final List<Feature> epicEstimates;
+
+    public FeatureEstimates(SprintEstimate sprintEstimate, List<Feature> epicEstimates) {
+        this.sprintEstimate = sprintEstimate;
+        this.epicEstimates = epicEstimates;
+    }
+
+    public SprintEstimate getSprintEstimate() {
+        return sprintEstimate;
+    }
+
+    public List<Feature> getEpicEstimates() {
+        return epicEstimates;
+    }
+}
@@ -0,0 +1,77 @@
+package com.capitalone.dashboard.model;
+
+/**
+ * Latency and throughput of one controller mapping or repository method since the metrics were last reset.
+ */
+public class OperationMetrics {
+    private final String type;
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final double perSecond;
+    private final long meanMillis;
+    private final long p50Millis;
+    private final long p95Millis;
+    private final long p99Millis;
+    private final long maxMillis;
+    private final long totalMillis;
+
+    public OperationMetrics(String type, String name, long count, long errors, double perSecond, long meanMillis,
+                            long p50Millis, long p95Millis, long p99Millis, long maxMillis, long totalMillis) {
+        this.type = type;
+        this.name = name;
+        this.count = count;
+        this.errors = errors;
+        this.perSecond = perSecond;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.totalMillis = totalMillis;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getPerSecond() {
+        return perSecond;
+    }
+
+    public long getMeanMillis() {
+        return meanMillis;
+    }
+
+    public long getP50Millis() {
+        return p50Millis;
+    }
+
+    public long getP95Millis() {
+        return p95Millis;
+    }
+
+    public long getP99Millis() {
+        return p99Millis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+}
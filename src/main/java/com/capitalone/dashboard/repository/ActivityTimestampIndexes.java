@@ -0,0 +1,48 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Build;
+import com.capitalone.dashboard.model.CodeQuality;
+import com.capitalone.dashboard.model.Commit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates the collector item and timestamp indexes behind the latest timestamp lookups of the widget ETags
+ * ({@code findTimestampsByCollectorItemId}), so the newest document of a collector item is read from the
+ * index instead of sorting all of its documents.
+ */
+@Component
+public class ActivityTimestampIndexes implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final List<Class<?>> ACTIVITY_TYPES = Arrays.asList(Build.class, Commit.class, CodeQuality.class);
+
+    private final MongoOperations mongoOperations;
+
+    @Autowired
+    public ActivityTimestampIndexes(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ensureIndexes();
+    }
+
+    void ensureIndexes() {
+        for (Class<?> activityType : ACTIVITY_TYPES) {
+            // built in the background, these collections can be large
+            mongoOperations.indexOps(activityType).ensureIndex(new Index()
+                    .on("collectorItemId", Sort.Direction.ASC)
+                    .on("timestamp", Sort.Direction.DESC)
+                    .background());
+        }
+    }
+}
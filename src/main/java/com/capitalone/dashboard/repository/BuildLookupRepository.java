@@ -0,0 +1,21 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Build;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Build queries that are not provided by {@link BuildRepository}.
+ */
+public interface BuildLookupRepository extends Repository<Build, ObjectId> {
+
+    /**
+     * Loads only the id and timestamp of the builds of a collector item, used to tell when its builds last changed.
+     */
+    @Query(value = "{ 'collectorItemId' : ?0 }", fields = "{ 'timestamp' : 1 }")
+    List<Build> findTimestampsByCollectorItemId(ObjectId collectorItemId, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.CloudInstance;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Cloud instance queries that are not provided by {@link CloudInstanceRepository}.
+ */
+public interface CloudInstanceLookupRepository extends Repository<CloudInstance, ObjectId> {
+
+    /**
+     * Loads only the id and instance id of the instances of an account.
+     */
+    @Query(value = "{ 'accountNumber' : ?0 }", fields = "{ 'instanceId' : 1 }")
+    List<CloudInstance> findInstanceIdsByAccountNumber(String accountNumber);
+}
@@ -0,0 +1,60 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.CloudInstance;
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.DBObject;
+import com.mongodb.WriteResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Cloud instance writes applied to a whole collector batch at once.
+ */
+@Component
+public class CloudInstanceWriter {
+
+    private final MongoOperations mongoOperations;
+
+    @Autowired
+    public CloudInstanceWriter(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    /**
+     * Inserts or replaces every instance by id, in one unordered bulk write. The instances must have ids, and
+     * each id must appear once.
+     */
+    public void upsertAll(Collection<CloudInstance> instances) {
+        if (instances.isEmpty()) {
+            return;
+        }
+        BulkWriteOperation bulkOps = mongoOperations.getCollection(mongoOperations.getCollectionName(CloudInstance.class))
+                .initializeUnorderedBulkOperation();
+        for (CloudInstance instance : instances) {
+            DBObject document = new BasicDBObject();
+            mongoOperations.getConverter().write(instance, document);
+            bulkOps.find(new BasicDBObject("_id", instance.getId())).upsert().replaceOne(document);
+        }
+        bulkOps.execute();
+    }
+
+    /**
+     * Removes the instances of an account with the given instance ids.
+     *
+     * @return number of instances removed
+     */
+    public int removeByAccountNumberAndInstanceIds(String accountNumber, Collection<String> instanceIds) {
+        if (instanceIds.isEmpty()) {
+            return 0;
+        }
+        WriteResult result = mongoOperations.remove(new Query(Criteria.where("accountNumber").is(accountNumber)
+                .and("instanceId").in(instanceIds)), CloudInstance.class);
+        return result.getN();
+    }
+}
@@ -0,0 +1,53 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.NameValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tag lookups for the cloud collections (instances, volumes), whose documents carry a list of
+ * name/value {@code tags}.
+ */
+@Component
+public class CloudTagLookup {
+
+    private final MongoOperations mongoOperations;
+
+    @Autowired
+    public CloudTagLookup(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    /**
+     * Finds the documents having at least one of the tags, in a single query, so every document is
+     * returned once however many of the tags it has.
+     *
+     * @param type   document type
+     * @param tags   tag names and values
+     * @param fields fields to load, empty for whole documents
+     * @return matching documents
+     */
+    public <T> List<T> findByAnyTag(Class<T> type, Collection<NameValue> tags, Collection<String> fields) {
+        if (CollectionUtils.isEmpty(tags)) {
+            return new ArrayList<>();
+        }
+        List<Criteria> tagCriteria = new ArrayList<>();
+        for (NameValue tag : tags) {
+            tagCriteria.add(Criteria.where("name").is(tag.getName()).and("value").is(tag.getValue()));
+        }
+        Query query = new Query(Criteria.where("tags").elemMatch(
+                new Criteria().orOperator(tagCriteria.toArray(new Criteria[tagCriteria.size()]))));
+        if (!CollectionUtils.isEmpty(fields)) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+        return mongoOperations.find(query, type);
+    }
+}
@@ -0,0 +1,53 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Cmdb;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Batch lookups against the cmdb collection that are not provided by {@link CmdbRepository}.
+ */
+public interface CmdbLookupRepository extends Repository<Cmdb, ObjectId> {
+
+    /**
+     * Finds all configuration items whose name exactly matches one of the given names.
+     *
+     * @param configurationItems configuration item names
+     * @return matching configuration items
+     */
+    List<Cmdb> findAllByConfigurationItemIn(Collection<String> configurationItems);
+
+    /**
+     * Streams the valid configuration items of a type from a database cursor. The stream must be closed.
+     */
+    @Query(value = "{ 'itemType' : ?0, 'validConfigItem' : true }")
+    Stream<Cmdb> streamValidByItemType(String itemType);
+
+    /**
+     * Streams the valid configuration items of a type whose name, key, legacy name or common name matches
+     * the pattern, ignoring case, from a database cursor. The stream must be closed.
+     */
+    @Query(value = "{ 'itemType' : ?0, 'validConfigItem' : true, $or : [ "
+            + "{ 'configurationItem' : { $regex : ?1, $options : 'i' } }, "
+            + "{ 'configurationKey' : { $regex : ?1, $options : 'i' } }, "
+            + "{ 'legacyServiceManagerName' : { $regex : ?1, $options : 'i' } }, "
+            + "{ 'commonName' : { $regex : ?1, $options : 'i' } } ] }")
+    Stream<Cmdb> streamValidByItemTypeMatching(String itemType, String pattern);
+
+    /**
+     * Finds the configuration items of a type where one of the four owner fields matches the pattern, ignoring
+     * case. Only the configuration item name and the owner fields are loaded.
+     */
+    @Query(value = "{ 'itemType' : ?0, $or : [ "
+            + "{ 'appServiceOwner' : { $regex : ?1, $options : 'i' } }, "
+            + "{ 'businessOwner' : { $regex : ?1, $options : 'i' } }, "
+            + "{ 'supportOwner' : { $regex : ?1, $options : 'i' } }, "
+            + "{ 'developmentOwner' : { $regex : ?1, $options : 'i' } } ] }",
+            fields = "{ 'configurationItem' : 1, 'appServiceOwner' : 1, 'businessOwner' : 1, 'supportOwner' : 1, 'developmentOwner' : 1 }")
+    List<Cmdb> findOwnersByItemTypeAndOwnerMatching(String itemType, String pattern);
+}
@@ -0,0 +1,46 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Cmdb;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration item name lookups that need a variable number of regular expressions, which a
+ * {@code @Query} on {@link CmdbLookupRepository} cannot bind.
+ */
+@Component
+public class CmdbNameLookup {
+
+    private final MongoOperations mongoOperations;
+
+    @Autowired
+    public CmdbNameLookup(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    /**
+     * Finds the configuration items whose name equals one of the names ignoring case, in a single query.
+     * Each name matches as {@code CmdbRepository.findByConfigurationItemIgnoreCase} does.
+     *
+     * @param configurationItems configuration item names
+     * @return matching configuration items
+     */
+    public List<Cmdb> findByConfigurationItemsIgnoreCase(Collection<String> configurationItems) {
+        if (configurationItems.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Pattern> patterns = configurationItems.stream()
+                .map(name -> Pattern.compile("^" + Pattern.quote(name) + "$", Pattern.CASE_INSENSITIVE))
+                .collect(Collectors.toList());
+        return mongoOperations.find(new Query(Criteria.where("configurationItem").in(patterns)), Cmdb.class);
+    }
+}
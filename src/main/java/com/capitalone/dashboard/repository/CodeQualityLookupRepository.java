@@ -0,0 +1,22 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.CodeQuality;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Code quality queries that are not provided by {@link CodeQualityRepository}.
+ */
+public interface CodeQualityLookupRepository extends Repository<CodeQuality, ObjectId> {
+
+    /**
+     * Loads only the id and timestamp of the code quality reports of a collector item, used to tell when its
+     * reports last changed.
+     */
+    @Query(value = "{ 'collectorItemId' : ?0 }", fields = "{ 'timestamp' : 1 }")
+    List<CodeQuality> findTimestampsByCollectorItemId(ObjectId collectorItemId, Pageable pageable);
+}
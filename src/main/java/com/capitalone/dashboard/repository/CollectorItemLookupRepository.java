@@ -0,0 +1,32 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.CollectorItem;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * CollectorItem queries that are not provided by {@link CollectorItemRepository}.
+ * The list queries read items after a given id, so pages are fetched with an index seek
+ * on {@code _id} instead of skipping over the previous pages, and without a count query.
+ * The stream queries read from a database cursor, and the returned streams must be closed.
+ */
+public interface CollectorItemLookupRepository extends Repository<CollectorItem, ObjectId> {
+
+    List<CollectorItem> findByCollectorIdInAndIdGreaterThan(Collection<ObjectId> collectorIds, ObjectId after, Pageable pageable);
+
+    @Query(value = "{ 'collectorId' : { $in : ?0 }, ?1 : { $regex : ?2, $options : 'i' }, '_id' : { $gt : ?3 } }")
+    List<CollectorItem> findByCollectorIdInAndSearchFieldMatchingAndIdGreaterThan(Collection<ObjectId> collectorIds, String searchField,
+                                                                                  String pattern, ObjectId after, Pageable pageable);
+
+    @Query(value = "{ 'collectorId' : { $in : ?0 } }")
+    Stream<CollectorItem> streamByCollectorIdIn(Collection<ObjectId> collectorIds);
+
+    @Query(value = "{ 'collectorId' : { $in : ?0 }, ?1 : { $regex : ?2, $options : 'i' } }")
+    Stream<CollectorItem> streamByCollectorIdInAndSearchFieldMatching(Collection<ObjectId> collectorIds, String searchField, String pattern);
+}
@@ -0,0 +1,29 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Commit;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Commit queries that are not provided by {@link CommitRepository}.
+ */
+public interface CommitLookupRepository extends Repository<Commit, ObjectId> {
+
+    /**
+     * Finds which of the given revisions are already stored for a collector item.
+     * Only the id and revision number of the matching commits are loaded.
+     */
+    @Query(value = "{ 'collectorItemId' : ?0, 'scmRevisionNumber' : { $in : ?1 } }", fields = "{ 'scmRevisionNumber' : 1 }")
+    List<Commit> findRevisionsByCollectorItemIdAndScmRevisionNumberIn(ObjectId collectorItemId, Collection<String> scmRevisionNumbers);
+
+    /**
+     * Loads only the id and timestamp of the commits of a collector item, used to tell when its commits last changed.
+     */
+    @Query(value = "{ 'collectorItemId' : ?0 }", fields = "{ 'timestamp' : 1 }")
+    List<Commit> findTimestampsByCollectorItemId(ObjectId collectorItemId, Pageable pageable);
+}
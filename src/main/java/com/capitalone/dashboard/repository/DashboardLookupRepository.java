@@ -0,0 +1,70 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Dashboard;
+import com.capitalone.dashboard.model.Owner;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Dashboard queries that are not provided by {@link DashboardRepository}.
+ * Count methods are executed as server side counts, so no dashboard documents are loaded.
+ * Title searches match every search token against the indexed title prefixes maintained by
+ * {@link DashboardSearchKeyListener}, so a title changed by a write that does not go through a repository save
+ * is found by its old title until the dashboard is saved again. The duplicate business service/application check
+ * matches the lower case names kept by the same listener.
+ */
+public interface DashboardLookupRepository extends Repository<Dashboard, ObjectId> {
+
+    long countByOwners(Owner owner);
+
+    long countByOwnersAndTypeContainingIgnoreCase(Owner owner, String type);
+
+    @Query(value = "{ 'searchPrefixes' : { $all : ?0 } }")
+    Page<Dashboard> findBySearchTokens(List<String> tokens, Pageable pageable);
+
+    @Query(value = "{ 'searchPrefixes' : { $all : ?0 } }", count = true)
+    long countBySearchTokens(List<String> tokens);
+
+    @Query(value = "{ 'searchPrefixes' : { $all : ?0 }, 'type' : { $in : ?1 } }")
+    Page<Dashboard> findBySearchTokensAndTypeIn(List<String> tokens, List<String> types, Pageable pageable);
+
+    @Query(value = "{ 'searchPrefixes' : { $all : ?0 }, 'type' : { $in : ?1 } }", count = true)
+    long countBySearchTokensAndTypeIn(List<String> tokens, List<String> types);
+
+    @Query(value = "{ 'owners' : { $elemMatch : { 'username' : ?0, 'authType' : ?1 } }, 'searchPrefixes' : { $all : ?2 } }")
+    Page<Dashboard> findByOwnerAndSearchTokens(String username, String authType, List<String> tokens, Pageable pageable);
+
+    @Query(value = "{ 'owners' : { $elemMatch : { 'username' : ?0, 'authType' : ?1 } }, 'searchPrefixes' : { $all : ?2 } }", count = true)
+    long countByOwnerAndSearchTokens(String username, String authType, List<String> tokens);
+
+    @Query(value = "{ 'owners' : { $elemMatch : { 'username' : ?0, 'authType' : ?1 } }, 'searchPrefixes' : { $all : ?2 }, 'type' : { $in : ?3 } }")
+    Page<Dashboard> findByOwnerAndSearchTokensAndTypeIn(String username, String authType, List<String> tokens, List<String> types, Pageable pageable);
+
+    @Query(value = "{ 'owners' : { $elemMatch : { 'username' : ?0, 'authType' : ?1 } }, 'searchPrefixes' : { $all : ?2 }, 'type' : { $in : ?3 } }", count = true)
+    long countByOwnerAndSearchTokensAndTypeIn(String username, String authType, List<String> tokens, List<String> types);
+
+    /**
+     * Finds dashboards by lower case business service and business application name.
+     */
+    @Query(value = "{ 'searchBusServName' : ?0, 'searchBusAppName' : ?1 }")
+    List<Dashboard> findBySearchBusServNameAndSearchBusAppName(String busServName, String busAppName);
+
+    /**
+     * Loads only the update timestamp and application of a dashboard, used to tell when it last changed.
+     */
+    @Query(value = "{ '_id' : ?0 }", fields = "{ 'updatedAt' : 1, 'application' : 1 }")
+    Dashboard findVersionById(ObjectId id);
+
+    /**
+     * Streams all dashboards from a database cursor. The stream must be closed.
+     */
+    @Query(value = "{}")
+    Stream<Dashboard> streamAll(Sort sort);
+}
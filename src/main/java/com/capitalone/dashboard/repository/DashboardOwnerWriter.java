@@ -0,0 +1,48 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Dashboard;
+import com.capitalone.dashboard.model.Owner;
+import com.mongodb.WriteResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Owner updates applied to many dashboards in a single write, without loading the dashboards.
+ */
+@Component
+public class DashboardOwnerWriter {
+
+    private final MongoOperations mongoOperations;
+
+    @Autowired
+    public DashboardOwnerWriter(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    /**
+     * Adds the owner to every dashboard of the business services that the owner does not already own.
+     *
+     * @param busServNames business service names
+     * @param owner        owner to add
+     * @return number of dashboards updated
+     */
+    public int addOwnerByBusServNames(Collection<String> busServNames, Owner owner) {
+        if (busServNames.isEmpty()) {
+            return 0;
+        }
+        Query query = new Query(Criteria.where("configurationItemBusServName").in(busServNames)
+                .and("owners").not().elemMatch(Criteria.where("username").is(owner.getUsername())
+                        .and("authType").is(owner.getAuthType())));
+        Update update = new Update()
+                .addToSet("owners", owner)
+                .set("updatedAt", System.currentTimeMillis());
+        WriteResult result = mongoOperations.updateMulti(query, update, Dashboard.class);
+        return result.getN();
+    }
+}
@@ -0,0 +1,88 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Dashboard;
+import com.capitalone.dashboard.util.DashboardSearchKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the dashboard search key indexes and fills in the keys for dashboards that were
+ * saved before {@link DashboardSearchKeyListener} existed, or by a process that does not run it.
+ */
+@Component
+public class DashboardSearchKeyBackfill implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardSearchKeyBackfill.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoOperations mongoOperations;
+
+    @Autowired
+    public DashboardSearchKeyBackfill(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ensureIndexes();
+        backfill();
+    }
+
+    void ensureIndexes() {
+        IndexOperations indexOps = mongoOperations.indexOps(Dashboard.class);
+        indexOps.ensureIndex(new Index().on(DashboardSearchKeys.SEARCH_PREFIXES, Sort.Direction.ASC));
+        indexOps.ensureIndex(new Index().on(DashboardSearchKeys.SEARCH_TITLE, Sort.Direction.ASC));
+        indexOps.ensureIndex(new Index()
+                .on(DashboardSearchKeys.SEARCH_BUS_SERV_NAME, Sort.Direction.ASC)
+                .on(DashboardSearchKeys.SEARCH_BUS_APP_NAME, Sort.Direction.ASC));
+    }
+
+    /**
+     * Updates every dashboard without a search title or business service key, one unordered bulk write per batch.
+     *
+     * @return number of dashboards updated
+     */
+    int backfill() {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where(DashboardSearchKeys.SEARCH_TITLE).exists(false),
+                Criteria.where(DashboardSearchKeys.SEARCH_BUS_SERV_NAME).exists(false))).limit(BATCH_SIZE);
+        query.fields().include("title").include("configurationItemBusServName").include("configurationItemBusAppName");
+
+        int total = 0;
+        List<Dashboard> dashboards = mongoOperations.find(query, Dashboard.class);
+        while (!dashboards.isEmpty()) {
+            BulkOperations bulkOps = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Dashboard.class);
+            for (Dashboard dashboard : dashboards) {
+                // empty values still get (null) keys so the dashboard is not picked up again
+                Update update = new Update()
+                        .set(DashboardSearchKeys.SEARCH_TITLE, DashboardSearchKeys.normalize(dashboard.getTitle()))
+                        .set(DashboardSearchKeys.SEARCH_PREFIXES, DashboardSearchKeys.prefixes(dashboard.getTitle()))
+                        .set(DashboardSearchKeys.SEARCH_BUS_SERV_NAME, DashboardSearchKeys.lowerCase(dashboard.getConfigurationItemBusServName()))
+                        .set(DashboardSearchKeys.SEARCH_BUS_APP_NAME, DashboardSearchKeys.lowerCase(dashboard.getConfigurationItemBusAppName()));
+                bulkOps.updateOne(new Query(Criteria.where("_id").is(dashboard.getId())), update);
+            }
+            bulkOps.execute();
+            total += dashboards.size();
+            if (dashboards.size() < BATCH_SIZE) {
+                break;
+            }
+            dashboards = mongoOperations.find(query, Dashboard.class);
+        }
+        LOG.info("dashboard search keys backfilled for " + total + " dashboards");
+        return total;
+    }
+}
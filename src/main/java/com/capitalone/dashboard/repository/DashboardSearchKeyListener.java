@@ -0,0 +1,32 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.Dashboard;
+import com.capitalone.dashboard.util.DashboardSearchKeys;
+import com.mongodb.DBObject;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the normalized search keys into every dashboard document before it is saved.
+ * The keys are not part of the {@link Dashboard} model and are only read by {@link DashboardLookupRepository}.
+ * Writes that bypass the repository save, such as {@link DashboardOwnerWriter} or other processes sharing the
+ * database, do not run this listener. They must not change the title or the business service/application names, or the keys stay stale until the next save;
+ * {@link DashboardSearchKeyBackfill} only fills in keys that are missing.
+ */
+@Component
+public class DashboardSearchKeyListener extends AbstractMongoEventListener<Dashboard> {
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Dashboard> event) {
+        Dashboard dashboard = event.getSource();
+        DBObject dbObject = event.getDBObject();
+        if (dbObject == null) {
+            return;
+        }
+        dbObject.put(DashboardSearchKeys.SEARCH_TITLE, DashboardSearchKeys.normalize(dashboard.getTitle()));
+        dbObject.put(DashboardSearchKeys.SEARCH_PREFIXES, DashboardSearchKeys.prefixes(dashboard.getTitle()));
+        dbObject.put(DashboardSearchKeys.SEARCH_BUS_SERV_NAME, DashboardSearchKeys.lowerCase(dashboard.getConfigurationItemBusServName()));
+        dbObject.put(DashboardSearchKeys.SEARCH_BUS_APP_NAME, DashboardSearchKeys.lowerCase(dashboard.getConfigurationItemBusAppName()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.CollectorItem;
+import com.capitalone.dashboard.model.CollectorType;
+import com.capitalone.dashboard.model.Component;
+import com.mongodb.DBObject;
+import com.mongodb.WriteResult;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+/**
+ * Reads and writes used by the collector data sync to merge duplicate collector items, each done in
+ * a single query or bulk write for a batch of collector items.
+ */
+@org.springframework.stereotype.Component
+public class DataSyncOperations {
+
+    private final MongoOperations mongoOperations;
+
+    @Autowired
+    public DataSyncOperations(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    /**
+     * Latest activity timestamp of each collector item, from a collection of documents with
+     * {@code collectorItemId} and {@code timestamp} fields (git requests, code quality, ...).
+     *
+     * @param activityType      document type of the activity collection
+     * @param collectorItemIds  collector item ids
+     * @return latest timestamp by collector item id, missing for items without activity
+     */
+    public Map<ObjectId, Long> latestTimestamps(Class<?> activityType, Collection<ObjectId> collectorItemIds) {
+        Map<ObjectId, Long> timestamps = new HashMap<>();
+        if (collectorItemIds.isEmpty()) {
+            return timestamps;
+        }
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("collectorItemId").in(collectorItemIds)),
+                group("collectorItemId").max("timestamp").as("timestamp"));
+        for (DBObject result : mongoOperations.aggregate(aggregation, activityType, DBObject.class).getMappedResults()) {
+            Object timestamp = result.get("timestamp");
+            if (timestamp instanceof Number) {
+                timestamps.put((ObjectId) result.get("_id"), ((Number) timestamp).longValue());
+            }
+        }
+        return timestamps;
+    }
+
+    /**
+     * Components that have any of the collector items under the collector type.
+     */
+    public List<Component> findComponentsByCollectorItemIds(CollectorType collectorType, Collection<ObjectId> collectorItemIds) {
+        if (collectorItemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query query = new Query(Criteria.where(collectorItemsField(collectorType) + "._id").in(collectorItemIds));
+        return mongoOperations.find(query, Component.class);
+    }
+
+    /**
+     * Writes the collector items under the collector type of each component, in one unordered bulk write.
+     *
+     * @return number of components updated
+     */
+    public int replaceCollectorItems(CollectorType collectorType, Collection<Component> components) {
+        if (components.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulkOps = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Component.class);
+        for (Component component : components) {
+            List<CollectorItem> collectorItems = component.getCollectorItems().get(collectorType);
+            bulkOps.updateOne(new Query(Criteria.where("_id").is(component.getId())),
+                    new Update().set(collectorItemsField(collectorType), collectorItems));
+        }
+        return bulkOps.execute().getModifiedCount();
+    }
+
+    /**
+     * Deletes the collector items in a single write.
+     *
+     * @return number of collector items deleted
+     */
+    public int deleteCollectorItems(Collection<ObjectId> collectorItemIds) {
+        if (collectorItemIds.isEmpty()) {
+            return 0;
+        }
+        WriteResult result = mongoOperations.remove(new Query(Criteria.where("_id").in(collectorItemIds)), CollectorItem.class);
+        return result.getN();
+    }
+
+    private static String collectorItemsField(CollectorType collectorType) {
+        return "collectorItems." + collectorType.name();
+    }
+}
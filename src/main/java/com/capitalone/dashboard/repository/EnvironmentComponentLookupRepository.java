@@ -0,0 +1,16 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.EnvironmentComponent;
+import org.bson.types.ObjectId;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * EnvironmentComponent queries that are not provided by {@link EnvironmentComponentRepository}.
+ */
+public interface EnvironmentComponentLookupRepository extends Repository<EnvironmentComponent, ObjectId> {
+
+    List<EnvironmentComponent> findByCollectorItemIdIn(Collection<ObjectId> collectorItemIds);
+}
@@ -0,0 +1,16 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.EnvironmentStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * EnvironmentStatus queries that are not provided by {@link EnvironmentStatusRepository}.
+ */
+public interface EnvironmentStatusLookupRepository extends Repository<EnvironmentStatus, ObjectId> {
+
+    List<EnvironmentStatus> findByCollectorItemIdIn(Collection<ObjectId> collectorItemIds);
+}
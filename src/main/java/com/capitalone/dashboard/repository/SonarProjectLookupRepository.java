@@ -0,0 +1,18 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.model.SonarProject;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * SonarProject queries that are not provided by {@link SonarProjectRepository}.
+ */
+public interface SonarProjectLookupRepository extends Repository<SonarProject, ObjectId> {
+
+    @Query(value = "{ 'collectorId' : ?0, 'options.instanceUrl' : ?1, 'options.projectName' : { $in : ?2 } }")
+    List<SonarProject> findSonarProjectsByProjectNames(ObjectId collectorId, String instanceUrl, Collection<String> projectNames);
+}
@@ -23,6 +23,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
@@ -59,7 +60,11 @@ public class BuildController {
     }
 
     @RequestMapping(value = "/build", method = GET, produces = APPLICATION_JSON_VALUE)
-    public DataResponse<Iterable<Build>> builds(@Valid BuildSearchRequest request) {
+    public DataResponse<Iterable<Build>> builds(@Valid BuildSearchRequest request, WebRequest webRequest) {
+        String eTag = buildService.getSearchETag(request);
+        if ((eTag != null) && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return buildService.search(request);
     }
 
@@ -14,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.capitalone.dashboard.misc.HygieiaException;
@@ -76,8 +77,9 @@ public class CloudInstanceController {
     @RequestMapping(value = "/cloud/instance/details/tags", method = POST, consumes = APPLICATION_JSON_VALUE,
             produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<Collection<CloudInstance>> getInstanceDetailsByTags(
-            @Valid @RequestBody List<NameValue> tags) {
-        return ResponseEntity.ok().body(cloudInstanceService.getInstanceDetailsByTags(tags));
+            @Valid @RequestBody List<NameValue> tags,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        return ResponseEntity.ok().body(cloudInstanceService.getInstanceDetailsByTags(tags, fields));
     }
 
     @RequestMapping(value = "/cloud/instance/history/account/{accountNumber}", method = GET, produces = APPLICATION_JSON_VALUE)
@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
@@ -76,8 +77,9 @@ public class CloudVolumeController {
     @RequestMapping(value = "/cloud/volume/details/tags", method = POST, consumes = APPLICATION_JSON_VALUE,
             produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<Collection<CloudVolumeStorage>> getVolumeDetailsByTags(
-            @Valid @RequestBody List<NameValue> tags) {
-        return ResponseEntity.ok().body(cloudVolumeService.getVolumeDetailsByTags(tags));
+            @Valid @RequestBody List<NameValue> tags,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        return ResponseEntity.ok().body(cloudVolumeService.getVolumeDetailsByTags(tags, fields));
     }
 
     @RequestMapping(value = "/cloud/volume/aggregate/component/{componentId}", method = GET, produces = APPLICATION_JSON_VALUE)
@@ -6,6 +6,7 @@ import com.capitalone.dashboard.request.CmdbRequest;
 import com.capitalone.dashboard.service.CmdbRemoteService;
 import com.capitalone.dashboard.service.CmdbService;
 import com.capitalone.dashboard.util.PaginationHeaderUtility;
+import com.capitalone.dashboard.util.StreamingJsonWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -32,15 +34,18 @@ public class CmdbController {
     private final CmdbService cmdbService;
     private final CmdbRemoteService cmdbRemoteService;
     private PaginationHeaderUtility paginationHeaderUtility;
+    private StreamingJsonWriter streamingJsonWriter;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CmdbController.class);
 
     @Autowired
-    public CmdbController(CmdbService cmdbService, PaginationHeaderUtility paginationHeaderUtility, CmdbRemoteService cmdbRemoteService ) {
+    public CmdbController(CmdbService cmdbService, PaginationHeaderUtility paginationHeaderUtility, CmdbRemoteService cmdbRemoteService,
+                          StreamingJsonWriter streamingJsonWriter) {
 
         this.cmdbService = cmdbService;
         this.paginationHeaderUtility = paginationHeaderUtility;
         this.cmdbRemoteService = cmdbRemoteService;
+        this.streamingJsonWriter = streamingJsonWriter;
     }
 
 
@@ -58,6 +63,16 @@ public class CmdbController {
 
     }
 
+    /**
+     * Unpaged variant of the configuration item listing, used when the request has {@code stream=true}. Items are
+     * written one at a time while the database cursor is read, so the listing is never held in memory.
+     */
+    @RequestMapping(value = "/cmdb/configItem/{itemType}", method = GET, params = "stream=true",
+            produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamConfigItemByType(@PathVariable String itemType, @RequestParam(value = "search", required = false, defaultValue = "") String descriptionFilter) {
+        return streamingJsonWriter.jsonArray(cmdbService.streamConfigurationItemsByTypeWithFilter(itemType, descriptionFilter));
+    }
+
     @RequestMapping(value = "/cmdb/remoteCreate", method = POST,
             consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<Object> remoteCreateDashboard( @Valid @RequestBody CmdbRequest request ) {
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
@@ -47,14 +48,14 @@ public class CodeQualityController {
     }
 
     @RequestMapping(value = "/quality", method = GET, produces = APPLICATION_JSON_VALUE)
-    public DataResponse<Iterable<CodeQuality>> qualityData(@Valid CodeQualityRequest request) {
-        return codeQualityService.search(request);
+    public DataResponse<Iterable<CodeQuality>> qualityData(@Valid CodeQualityRequest request, WebRequest webRequest) {
+        return search(request, webRequest);
     }
 
     @RequestMapping(value = "/quality/static-analysis", method = GET, produces = APPLICATION_JSON_VALUE)
-    public DataResponse<Iterable<CodeQuality>> qualityStaticAnalysis(@Valid CodeQualityRequest request) {
+    public DataResponse<Iterable<CodeQuality>> qualityStaticAnalysis(@Valid CodeQualityRequest request, WebRequest webRequest) {
         request.setType(CodeQualityType.StaticAnalysis);
-        return codeQualityService.search(request);
+        return search(request, webRequest);
     }
 
     @RequestMapping(value = "/quality/static-analysis", method = POST,
@@ -87,8 +88,16 @@ public class CodeQualityController {
     }
 
     @RequestMapping(value = "/quality/security-analysis", method = GET, produces = APPLICATION_JSON_VALUE)
-    public DataResponse<Iterable<CodeQuality>> qualitySecurityAnalysis(@Valid CodeQualityRequest request) {
+    public DataResponse<Iterable<CodeQuality>> qualitySecurityAnalysis(@Valid CodeQualityRequest request, WebRequest webRequest) {
         request.setType(CodeQualityType.SecurityAnalysis);
+        return search(request, webRequest);
+    }
+
+    private DataResponse<Iterable<CodeQuality>> search(CodeQualityRequest request, WebRequest webRequest) {
+        String eTag = codeQualityService.getSearchETag(request);
+        if ((eTag != null) && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return codeQualityService.search(request);
     }
 
@@ -7,13 +7,16 @@ import com.capitalone.dashboard.model.CollectorItem;
 import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.request.CollectorItemRequest;
 import com.capitalone.dashboard.request.CollectorRequest;
+import com.capitalone.dashboard.service.CollectorItemCursorService;
 import com.capitalone.dashboard.service.CollectorService;
 import com.capitalone.dashboard.util.PaginationHeaderUtility;
+import com.capitalone.dashboard.util.StreamingJsonWriter;
 import org.apache.commons.collections.MapUtils;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +28,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -38,13 +42,21 @@ import static org.springframework.web.bind.annotation.RequestMethod.POST;
 @RestController
 public class CollectorController {
 
+    // collector item listings return at most this many items unless a page size is requested
+    private static final int ITEM_PAGE_SIZE = 1000;
+
     private CollectorService collectorService;
+    private CollectorItemCursorService collectorItemCursorService;
     private PaginationHeaderUtility paginationHeaderUtility;
+    private StreamingJsonWriter streamingJsonWriter;
 
     @Autowired
-    public CollectorController(CollectorService collectorService, PaginationHeaderUtility paginationHeaderUtility) {
+    public CollectorController(CollectorService collectorService, CollectorItemCursorService collectorItemCursorService,
+                               PaginationHeaderUtility paginationHeaderUtility, StreamingJsonWriter streamingJsonWriter) {
         this.collectorService = collectorService;
+        this.collectorItemCursorService = collectorItemCursorService;
         this.paginationHeaderUtility = paginationHeaderUtility;
+        this.streamingJsonWriter = streamingJsonWriter;
     }
 
     @InitBinder
@@ -124,7 +136,10 @@ public class CollectorController {
 
     @RequestMapping(value = "/collector/item/type/{collectorType}", method = GET,
             produces = APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<CollectorItem>> collectorItemsByType(@PathVariable CollectorType collectorType, @RequestParam(value = "search", required = false, defaultValue = "") String descriptionFilter, @PageableDefault(size = Integer.MAX_VALUE) Pageable pageable) {
+    public ResponseEntity<List<CollectorItem>> collectorItemsByType(@PathVariable CollectorType collectorType, @RequestParam(value = "search", required = false, defaultValue = "") String descriptionFilter, @RequestParam(value = "cursor", required = false) String cursor, @PageableDefault(size = ITEM_PAGE_SIZE) Pageable pageable) {
+        if (cursor != null) {
+            return collectorItemsByCursor(collectorType, null, descriptionFilter, cursor, pageable);
+        }
         Page<CollectorItem> pageOfCollectorItems = collectorService.collectorItemsByTypeWithFilter(collectorType, descriptionFilter, pageable);
         return ResponseEntity
                 .ok()
@@ -132,6 +147,15 @@ public class CollectorController {
                 .body(pageOfCollectorItems.getContent());
     }
 
+    /**
+     * Unpaged variant of the collector item listing, used when the request has {@code stream=true}. Items are
+     * written one at a time while the database cursor is read, so the listing is never held in memory.
+     */
+    @RequestMapping(value = "/collector/item/type/{collectorType}", method = GET, params = "stream=true",
+            produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCollectorItemsByType(@PathVariable CollectorType collectorType, @RequestParam(value = "search", required = false, defaultValue = "") String descriptionFilter) {
+        return streamingJsonWriter.jsonArray(collectorItemCursorService.streamCollectorItemsByType(collectorType, null, descriptionFilter));
+    }
 
     @RequestMapping(value = "/collector/item/static-analysis/cmdb", method = GET, produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<Object> getCmdbByStaticAnalysis(@Valid String collectorName, @Valid String projectName) {
@@ -146,7 +170,10 @@ public class CollectorController {
 
     @RequestMapping(value = "/collector/item/type/searchField/{collectorType}", method = GET,
             produces = APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<CollectorItem>> collectorItemsByTypeAndSearchField(@PathVariable CollectorType collectorType, @RequestParam(value = "search", required = false, defaultValue = "") String descriptionFilter,@RequestParam(value = "searchField", required = false, defaultValue = "") String searchField, @PageableDefault(size = Integer.MAX_VALUE) Pageable pageable) {
+    public ResponseEntity<List<CollectorItem>> collectorItemsByTypeAndSearchField(@PathVariable CollectorType collectorType, @RequestParam(value = "search", required = false, defaultValue = "") String descriptionFilter,@RequestParam(value = "searchField", required = false, defaultValue = "") String searchField, @RequestParam(value = "cursor", required = false) String cursor, @PageableDefault(size = ITEM_PAGE_SIZE) Pageable pageable) {
+        if (cursor != null) {
+            return collectorItemsByCursor(collectorType, searchField, descriptionFilter, cursor, pageable);
+        }
         Page<CollectorItem> pageOfCollectorItems = collectorService.collectorItemsByTypeWithFilter(collectorType, descriptionFilter,searchField, pageable);
         return ResponseEntity
                 .ok()
@@ -154,6 +181,38 @@ public class CollectorController {
                 .body(pageOfCollectorItems.getContent());
     }
 
+    @RequestMapping(value = "/collector/item/type/searchField/{collectorType}", method = GET, params = "stream=true",
+            produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCollectorItemsByTypeAndSearchField(@PathVariable CollectorType collectorType, @RequestParam(value = "search", required = false, defaultValue = "") String descriptionFilter, @RequestParam(value = "searchField", required = false, defaultValue = "") String searchField) {
+        try {
+            return streamingJsonWriter.jsonArray(collectorItemCursorService.streamCollectorItemsByType(collectorType, searchField, descriptionFilter));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(null);
+        }
+    }
+
+    /**
+     * Cursor paged variant of the collector item listings, used when the request has a {@code cursor} parameter
+     * (empty for the first page). Pages are read by id, so deep pages cost the same as the first one.
+     */
+    private ResponseEntity<List<CollectorItem>> collectorItemsByCursor(CollectorType collectorType, String searchField,
+                                                                       String filter, String cursor, Pageable pageable) {
+        Slice<CollectorItem> sliceOfCollectorItems;
+        try {
+            sliceOfCollectorItems = collectorItemCursorService.collectorItemsByType(collectorType, searchField, filter, cursor, pageable.getPageSize());
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(null);
+        }
+        return ResponseEntity
+                .ok()
+                .headers(paginationHeaderUtility.buildCursorHeaders(sliceOfCollectorItems, collectorItemCursorService.nextCursor(sliceOfCollectorItems)))
+                .body(sliceOfCollectorItems.getContent());
+    }
+
     @RequestMapping(value = "/collector/addOrUpdateCollector/{name}/{collectorType}", method = RequestMethod.POST)
     public ResponseEntity<Collector> addOrUpdateCollector(@PathVariable String name, @PathVariable String collectorType, @Valid @RequestBody Map propertiesObj) {
         CollectorType collectorTypeUse = CollectorType.fromString(collectorType);
@@ -12,6 +12,7 @@ import java.util.List;
 import javax.validation.Valid;
 
 import com.capitalone.dashboard.util.PaginationHeaderUtility;
+import com.capitalone.dashboard.util.StreamingJsonWriter;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +26,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.capitalone.dashboard.auth.access.DashboardOwnerOrAdmin;
 import com.capitalone.dashboard.misc.HygieiaException;
@@ -45,12 +48,15 @@ public class DashboardController {
     private static final Logger LOGGER = LoggerFactory.getLogger(DashboardController.class);
     private final DashboardService dashboardService;
     private PaginationHeaderUtility paginationHeaderUtility;
+    private StreamingJsonWriter streamingJsonWriter;
 
 
     @Autowired
-    public DashboardController(DashboardService dashboardService, PaginationHeaderUtility paginationHeaderUtility) {
+    public DashboardController(DashboardService dashboardService, PaginationHeaderUtility paginationHeaderUtility,
+                               StreamingJsonWriter streamingJsonWriter) {
         this.dashboardService = dashboardService;
         this.paginationHeaderUtility = paginationHeaderUtility;
+        this.streamingJsonWriter = streamingJsonWriter;
     }
 
     @RequestMapping(value = "/dashboard", method = GET, produces = APPLICATION_JSON_VALUE)
@@ -58,6 +64,15 @@ public class DashboardController {
         return dashboardService.all();
     }
 
+    /**
+     * Variant of the dashboard listing used when the request has {@code stream=true}. Dashboards are written
+     * one at a time while the database cursor is read, so the listing is never held in memory.
+     */
+    @RequestMapping(value = "/dashboard", method = GET, params = "stream=true", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDashboards() {
+        return streamingJsonWriter.jsonArray(dashboardService.streamAll());
+    }
+
     @RequestMapping(value = "/dashboard/template/{template}", method = GET, produces = APPLICATION_JSON_VALUE)
     public Iterable<Dashboard> dashboardsTemplate(@PathVariable("template") String template) {
         return dashboardService.allTemplate(template);
@@ -83,7 +98,11 @@ public class DashboardController {
 
     @RequestMapping(value = "/dashboard/{id}", method = GET,
             produces = APPLICATION_JSON_VALUE)
-    public Dashboard getDashboard(@PathVariable ObjectId id) {
+    public Dashboard getDashboard(@PathVariable ObjectId id, WebRequest webRequest) {
+        String eTag = dashboardService.getETag(id);
+        if ((eTag != null) && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return dashboardService.get(id);
     }
 
@@ -113,7 +132,7 @@ public class DashboardController {
     		@Valid @RequestBody DashboardRequestTitle request) {
 
 
-        Dashboard dashboard = getDashboard(id);
+        Dashboard dashboard = dashboardService.get(id);
         String existingTitle = dashboard.getTitle();
         String newTitle = request.getTitle();
 
@@ -2,6 +2,7 @@ package com.capitalone.dashboard.rest;
 
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.Feature;
+import com.capitalone.dashboard.model.FeatureEstimates;
 import com.capitalone.dashboard.model.SprintEstimate;
 import com.capitalone.dashboard.service.FeatureService;
 import org.bson.types.ObjectId;
@@ -123,6 +124,26 @@ public class FeatureController {
 		return this.featureService.getAggregatedSprintEstimates(componentId, teamId, projectId, agileType, estimateMetricType);
 	}
 
+	/**
+	 * REST endpoint for retrieving the current sprint estimates and the epic
+	 * estimates for a team in one request
+	 *
+	 * @param teamId
+	 *            A given scope-owner's source-system ID
+	 * @return A response with the sprint estimate and the epic estimates of
+	 *         current features
+	 */
+	@RequestMapping(value = "/feature/estimates", method = GET, produces = APPLICATION_JSON_VALUE)
+	public DataResponse<FeatureEstimates> featureEstimates(
+	        @RequestParam(value = "projectId", required = true) String projectId,
+			@RequestParam(value = "agileType", required = false) Optional<String> agileType,
+			@RequestParam(value = "estimateMetricType", required = false) Optional<String> estimateMetricType,
+			@RequestParam(value = "component", required = true) String cId,
+			@RequestParam(value = "teamId", required = true) String teamId) {
+		ObjectId componentId = new ObjectId(cId);
+		return this.featureService.getFeatureEstimates(componentId, teamId, projectId, agileType, estimateMetricType);
+	}
+
 	/**
 	 * REST endpoint for retrieving the current total estimate for a team and
 	 * sprint
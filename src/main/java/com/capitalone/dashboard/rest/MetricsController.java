@@ -0,0 +1,43 @@
+package com.capitalone.dashboard.rest;
+
+import com.capitalone.dashboard.auth.access.Admin;
+import com.capitalone.dashboard.logging.MetricsRegistry;
+import com.capitalone.dashboard.model.OperationMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Latency, throughput and error counts of the controller mappings and repository methods of this API instance.
+ */
+@RestController
+@RequestMapping("/admin/metrics")
+@Admin
+public class MetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+
+    @Autowired
+    public MetricsController(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @RequestMapping(method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<OperationMetrics>> getMetrics(@RequestParam(value = "type", required = false, defaultValue = "") String type) {
+        return ResponseEntity.ok(metricsRegistry.snapshot(type));
+    }
+
+    @RequestMapping(method = RequestMethod.DELETE)
+    public ResponseEntity<Void> resetMetrics() {
+        metricsRegistry.reset();
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+}
@@ -7,6 +7,7 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -70,6 +71,14 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(TaskRejectedException.class)
+    protected ResponseEntity<?> handleTaskRejected(TaskRejectedException ex, HttpServletRequest request) {
+        LOGGER.warn("Too many streamed requests, rejected " + request.getRequestURI());
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("errorMessage", "Too many streamed requests in progress, try again later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(UnsafeDeleteException.class)
     protected ResponseEntity<?> handleUnsafeDelete(UnsafeDeleteException ex,  HttpServletRequest request) {
         LOGGER.error(ex.getMessage());
@@ -80,6 +80,11 @@ public class ServiceController {
     }
 
 
+    @RequestMapping(value = "/dashboard/{id}/service/refresh", method = POST, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Service>> refreshServices(@PathVariable ObjectId id) {
+        return ResponseEntity.ok(serviceService.refreshDashboardServices(id));
+    }
+
     @RequestMapping(value = "/dashboard/{id}/service/{serviceId}", method = DELETE)
     public ResponseEntity<Void> deleteService(@PathVariable ObjectId id, @PathVariable ObjectId serviceId) {
         serviceService.delete(id, serviceId);
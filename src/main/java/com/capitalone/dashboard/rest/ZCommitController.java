@@ -13,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -33,7 +34,11 @@ public class ZCommitController {
     }
 
     @RequestMapping(value = "/commit", method = GET, produces = APPLICATION_JSON_VALUE)
-    public DataResponse<Iterable<Commit>> search(@Valid CommitRequest request) {
+    public DataResponse<Iterable<Commit>> search(@Valid CommitRequest request, WebRequest webRequest) {
+        String eTag = commitService.getSearchETag(request);
+        if ((eTag != null) && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return commitService.search(request);
     }
 
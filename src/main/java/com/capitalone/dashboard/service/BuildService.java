@@ -17,6 +17,15 @@ public interface BuildService {
      */
     DataResponse<Iterable<Build>> search(BuildSearchRequest request);
 
+    /**
+     * Builds an ETag for the result of {@link #search(BuildSearchRequest)} without running the search. The tag
+     * changes when the component's build collector item is updated or a build is stored for it.
+     *
+     * @param request search criteria
+     * @return the ETag, or null when the component has no build collector item
+     */
+    String getSearchETag(BuildSearchRequest request);
+
     String create(BuildDataCreateRequest request) throws HygieiaException;
     String createV2(BuildDataCreateRequest request) throws HygieiaException;
     BuildDataCreateResponse createV3(BuildDataCreateRequest request) throws HygieiaException;
@@ -13,16 +13,17 @@ import com.capitalone.dashboard.model.Dashboard;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.QBuild;
 import com.capitalone.dashboard.model.RepoBranch;
+import com.capitalone.dashboard.repository.BuildLookupRepository;
 import com.capitalone.dashboard.repository.BuildRepository;
 import com.capitalone.dashboard.repository.CodeReposBuildsRepository;
 import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
-import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.request.BuildDataCreateRequest;
 import com.capitalone.dashboard.request.BuildSearchRequest;
 import com.capitalone.dashboard.request.CollectorRequest;
 import com.capitalone.dashboard.response.BuildDataCreateResponse;
 import com.capitalone.dashboard.settings.ApiSettings;
+import com.capitalone.dashboard.util.ETagBuilder;
 import com.google.common.collect.Sets;
 import com.querydsl.core.BooleanBuilder;
 import org.apache.commons.collections4.CollectionUtils;
@@ -51,7 +52,8 @@ import java.util.Set;
 public class BuildServiceImpl implements BuildService {
 
     private final BuildRepository buildRepository;
-    private final ComponentRepository componentRepository;
+    private final BuildLookupRepository buildLookupRepository;
+    private final ComponentCollectorCache componentCollectorCache;
     private final CollectorRepository collectorRepository;
     private final CollectorService collectorService;
     private final DashboardService dashboardService;
@@ -65,7 +67,8 @@ public class BuildServiceImpl implements BuildService {
 
     @Autowired
     public BuildServiceImpl(BuildRepository buildRepository,
-                            ComponentRepository componentRepository,
+                            BuildLookupRepository buildLookupRepository,
+                            ComponentCollectorCache componentCollectorCache,
                             CollectorRepository collectorRepository,
                             CollectorService collectorService,
                             DashboardService dashboardService,
@@ -73,7 +76,8 @@ public class BuildServiceImpl implements BuildService {
                             ApiSettings settings,
                             CodeReposBuildsRepository codeReposBuildsRepository) {
         this.buildRepository = buildRepository;
-        this.componentRepository = componentRepository;
+        this.buildLookupRepository = buildLookupRepository;
+        this.componentCollectorCache = componentCollectorCache;
         this.collectorRepository = collectorRepository;
         this.collectorService = collectorService;
         this.dashboardService = dashboardService;
@@ -82,10 +86,24 @@ public class BuildServiceImpl implements BuildService {
         this.codeReposBuildsRepository = codeReposBuildsRepository;
     }
 
+    @Override
+    public String getSearchETag(BuildSearchRequest request) {
+        Component component = componentCollectorCache.getComponent(request.getComponentId());
+        CollectorItem item = (component == null) ? null : component.getLastUpdatedCollectorItemForType(CollectorType.Build);
+        if (item == null) {
+            return null;
+        }
+        Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
+        List<Build> latest = buildLookupRepository.findTimestampsByCollectorItemId(item.getId(),
+                new PageRequest(0, 1, Sort.Direction.DESC, "timestamp"));
+
+        return ETagBuilder.forCollectorItem(item, collector, latest.isEmpty() ? 0L : latest.get(0).getTimestamp());
+    }
+
     @Override
     public DataResponse<Iterable<Build>> search(BuildSearchRequest request) {
         CollectorItem item = null;
-        Component component = componentRepository.findOne(request.getComponentId());
+        Component component = componentCollectorCache.getComponent(request.getComponentId());
         if ( (component == null)
                 || ((item = component.getLastUpdatedCollectorItemForType(CollectorType.Build)) == null) ) {
             Iterable<Build> results = new ArrayList<>();
@@ -116,7 +134,7 @@ public class BuildServiceImpl implements BuildService {
             builder.and(build.buildStatus.in(request.getBuildStatuses()));
         }
 
-        Collector collector = collectorRepository.findOne(item.getCollectorId());
+        Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
 
         Iterable<Build> result;
         if (request.getMax() == null) {
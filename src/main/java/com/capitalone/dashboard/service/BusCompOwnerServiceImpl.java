@@ -2,35 +2,29 @@ package com.capitalone.dashboard.service;
 
 import com.capitalone.dashboard.model.AuthType;
 import com.capitalone.dashboard.model.Cmdb;
-import com.capitalone.dashboard.model.Dashboard;
 import com.capitalone.dashboard.model.Owner;
-import com.capitalone.dashboard.repository.DashboardRepository;
-import org.bson.types.ObjectId;
+import com.capitalone.dashboard.repository.DashboardOwnerWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class BusCompOwnerServiceImpl implements BusCompOwnerService{
     private static final Logger LOGGER = LoggerFactory.getLogger(BusCompOwnerServiceImpl.class);
     private final CmdbService cmdbService;
-    private final DashboardRepository dashboardRepository;
-    private final DashboardService dashboardService;
+    private final DashboardOwnerWriter dashboardOwnerWriter;
 
     @Autowired
     public BusCompOwnerServiceImpl(CmdbService cmdbService,
-                                   DashboardRepository dashboardRepository,
-                                   DashboardService dashboardService) {
+                                   DashboardOwnerWriter dashboardOwnerWriter) {
         this.cmdbService = cmdbService;
-        this.dashboardRepository = dashboardRepository;
-        this.dashboardService = dashboardService;
+        this.dashboardOwnerWriter = dashboardOwnerWriter;
     }
     @Override
     public void assignOwnerToDashboards(String firstName, String middleName, String lastName, Authentication authentication){
@@ -41,31 +35,16 @@ public class BusCompOwnerServiceImpl implements BusCompOwnerService{
              */
             Owner owner = getUserInformation(authentication);
             /**
-             * Returns List of Business Service ObjectIds where give firstName and lastName are found
+             * Returns Business Service names where give firstName and lastName are found
              * as an Owner for the Service
              */
-            List<String> businessServiceList = getBusinessServiceList(firstName, lastName.toLowerCase());
+            Set<String> businessServices = getBusinessServices(firstName, lastName);
             /**
-             * Returns list of Dashboard that are tied to the above found Business Service ObjectIds
+             * Adds logged in user to every Dashboard tied to the above found Business Services
+             * that they are not already a member of, in one update
              */
-            Iterable<Dashboard> dashboards = dashboardRepository.findAllByConfigurationItemBusServNameIn(businessServiceList);
-            /**
-             * Returns list of Dashboard ObjectIds where the logged in user is an owner
-             */
-            List<ObjectId> ownedDashboardObjectIds = dashboardService.getOwnedDashboardsObjectIds();
-            /**
-             * Loops through list of matching dashBoards and adds logged in user to the board if they are
-             * not already a member
-             */
-            for(Dashboard dashboard: dashboards){
-                ObjectId id = dashboard.getId();
-                if(ownedDashboardObjectIds != null && !ownedDashboardObjectIds.contains(dashboard.getId())){
-                    LOGGER.info("Dashboard Owner updated: " + dashboard.getTitle());
-                    List<Owner> dashboardOwners = dashboard.getOwners();
-                    dashboardOwners.add(owner);
-                    dashboardService.updateOwners(id, dashboardOwners);
-                }
-            }
+            int updated = dashboardOwnerWriter.addOwnerByBusServNames(businessServices, owner);
+            LOGGER.info("Dashboard Owner " + owner.getUsername() + " added to " + updated + " dashboards");
         }
     }
 
@@ -80,48 +59,29 @@ public class BusCompOwnerServiceImpl implements BusCompOwnerService{
         return owner;
     }
     /**
-     *  Takes First name and last name and returns any Business Services where one of the 4 owner fields match the input
+     *  Takes First name and last name and returns any Business Services where one of the 4 owner fields match the input.
+     *  The last name is matched by the database, so only the Business Services it owns are loaded.
      *
      * @param firstName
      * @param lastName
-     * @return returns business service ObjectId list
+     * @return returns business service names
      */
-    private List<String> getBusinessServiceList(String firstName, String lastName){
-        List<String> businessServiceList = new ArrayList<>();
-        List<Cmdb> cmdbs = cmdbService.getAllBusServices();
-
-        /**
-         Defining search parameters
-         */
-        Predicate<Cmdb> supportOwnerLn = p -> p.getSupportOwner() != null ? p.getSupportOwner().toLowerCase().contains(lastName) : false;
-        Predicate<Cmdb> serviceOwnerLn = p -> p.getAppServiceOwner() != null ? p.getAppServiceOwner().toLowerCase().contains(lastName) : false;
-        Predicate<Cmdb> developmentOwnerLn = p -> p.getDevelopmentOwner() != null ? p.getDevelopmentOwner().toLowerCase().contains(lastName) : false;
-        Predicate<Cmdb> businessOwnerLn = p -> p.getBusinessOwner() != null ? p.getBusinessOwner().toLowerCase().contains(lastName) : false;
-        /**
-         * Combining search parameters into one predicate OR search
-         */
-        Predicate<Cmdb> fullPredicate = supportOwnerLn.or(serviceOwnerLn).or(developmentOwnerLn).or(businessOwnerLn);
-        /**
-         * Executes search based on parameters created above and returns matching list
-         */
-        List<Cmdb> matching = cmdbs.stream().filter(fullPredicate).collect(Collectors.toList());
-
+    private Set<String> getBusinessServices(String firstName, String lastName){
+        Set<String> businessServices = new LinkedHashSet<>();
+        List<Cmdb> matching = cmdbService.getBusServicesByOwnerName(lastName);
 
         for(Cmdb cmdb: matching){
-            String businessServiceApp =  cmdb.getConfigurationItem();
-
             boolean serviceOwnerMatch = doesMatchFullName(firstName, cmdb.getAppServiceOwner());
             boolean businessOwnerMatch = doesMatchFullName(firstName, cmdb.getBusinessOwner());
             boolean supportOwnerMatch = doesMatchFullName(firstName, cmdb.getSupportOwner());
             boolean developmentOwnerMatch = doesMatchFullName(firstName, cmdb.getDevelopmentOwner());
 
-            if((serviceOwnerMatch || businessOwnerMatch || supportOwnerMatch || developmentOwnerMatch)
-                    && !businessServiceList.contains(businessServiceApp)){
-                businessServiceList.add(businessServiceApp);
+            if(serviceOwnerMatch || businessOwnerMatch || supportOwnerMatch || developmentOwnerMatch){
+                businessServices.add(cmdb.getConfigurationItem());
             }
         }
 
-        return businessServiceList;
+        return businessServices;
     }
 
     /**
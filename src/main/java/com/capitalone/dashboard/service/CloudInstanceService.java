@@ -30,6 +30,11 @@ public interface CloudInstanceService {
     CloudInstance getInstanceDetailsByInstanceId(String instanceId);
     Collection<CloudInstance> getInstanceDetailsByInstanceIds(List<String> instanceId);
     Collection<CloudInstance> getInstanceDetailsByTags(List<NameValue> tags);
+
+    /**
+     *     Instances having any of the tags, loading only the given fields (all fields when empty)
+     */
+    Collection<CloudInstance> getInstanceDetailsByTags(List<NameValue> tags, List<String> fields);
     Collection<CloudInstance> getInstanceDetailsByAccount(String accountNumber);
 
 
@@ -9,7 +9,10 @@ import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.NameValue;
 import com.capitalone.dashboard.repository.CloudInstanceHistoryRepository;
+import com.capitalone.dashboard.repository.CloudInstanceLookupRepository;
 import com.capitalone.dashboard.repository.CloudInstanceRepository;
+import com.capitalone.dashboard.repository.CloudInstanceWriter;
+import com.capitalone.dashboard.repository.CloudTagLookup;
 import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.request.CloudInstanceCreateRequest;
 import com.capitalone.dashboard.request.CloudInstanceListRefreshRequest;
@@ -21,22 +24,34 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
 public class CloudInstanceServiceImpl implements CloudInstanceService {
 
     private final CloudInstanceRepository cloudInstanceRepository;
+    private final CloudInstanceLookupRepository cloudInstanceLookupRepository;
+    private final CloudInstanceWriter cloudInstanceWriter;
+    private final CloudTagLookup cloudTagLookup;
     private final CloudInstanceHistoryRepository cloudInstanceHistoryRepository;
     private final ComponentRepository componentRepository;
 
     @Autowired
     public CloudInstanceServiceImpl(CloudInstanceRepository cloudInstanceRepository,
+                                    CloudInstanceLookupRepository cloudInstanceLookupRepository,
+                                    CloudInstanceWriter cloudInstanceWriter,
+                                    CloudTagLookup cloudTagLookup,
                                     CloudInstanceHistoryRepository cloudInstanceHistoryRepository,
                                     ComponentRepository cloudConfigRepository) {
         this.cloudInstanceRepository = cloudInstanceRepository;
+        this.cloudInstanceLookupRepository = cloudInstanceLookupRepository;
+        this.cloudInstanceWriter = cloudInstanceWriter;
+        this.cloudTagLookup = cloudTagLookup;
         this.cloudInstanceHistoryRepository = cloudInstanceHistoryRepository;
         this.componentRepository = cloudConfigRepository;
     }
@@ -73,11 +88,12 @@ public class CloudInstanceServiceImpl implements CloudInstanceService {
 
     @Override
     public Collection<CloudInstance> getInstanceDetailsByTags(List<NameValue> tags) {
-        Set<CloudInstance> instances = new HashSet<>();
-        for (NameValue nv : tags) {
-            instances.addAll(cloudInstanceRepository.findByTagNameAndValue(nv.getName(), nv.getValue()));
-        }
-        return instances;
+        return getInstanceDetailsByTags(tags, Collections.emptyList());
+    }
+
+    @Override
+    public Collection<CloudInstance> getInstanceDetailsByTags(List<NameValue> tags, List<String> fields) {
+        return cloudTagLookup.findByAnyTag(CloudInstance.class, tags, fields);
     }
 
     @Override
@@ -93,21 +109,17 @@ public class CloudInstanceServiceImpl implements CloudInstanceService {
 
     @Override
     public Collection<String> refreshInstances(CloudInstanceListRefreshRequest request) {
-        Collection<CloudInstance> existing = cloudInstanceRepository.findByAccountNumber(request.getAccountNumber());
-        Set<CloudInstance> toDelete = new HashSet<>();
-        Set<String> deletedIds = new HashSet<>();
-        if (CollectionUtils.isEmpty(request.getInstanceIds()) || CollectionUtils.isEmpty(existing))
+        if (CollectionUtils.isEmpty(request.getInstanceIds()))
             return new ArrayList<>();
 
-        for (CloudInstance ci : existing) {
-            if (!request.getInstanceIds().contains(ci.getInstanceId())) {
-                toDelete.add(ci);
+        Set<String> currentIds = new HashSet<>(request.getInstanceIds());
+        Set<String> deletedIds = new HashSet<>();
+        for (CloudInstance ci : cloudInstanceLookupRepository.findInstanceIdsByAccountNumber(request.getAccountNumber())) {
+            if (!currentIds.contains(ci.getInstanceId())) {
                 deletedIds.add(ci.getInstanceId());
             }
         }
-        if (CollectionUtils.isEmpty(toDelete)) {
-            cloudInstanceRepository.delete(toDelete);
-        }
+        cloudInstanceWriter.removeByAccountNumberAndInstanceIds(request.getAccountNumber(), deletedIds);
         return deletedIds;
     }
 
@@ -267,11 +279,28 @@ public class CloudInstanceServiceImpl implements CloudInstanceService {
     public List<String> upsertInstance(List<CloudInstanceCreateRequest> instances) throws HygieiaException {
         List<String> objectIds = new ArrayList<>();
         if (CollectionUtils.isEmpty(instances)) return objectIds;
+
+        Set<String> instanceIds = new HashSet<>();
         for (CloudInstanceCreateRequest cir : instances) {
-            CloudInstance existing = cloudInstanceRepository.findByInstanceId(cir.getInstanceId());
-            CloudInstance upsertObject = cloudInstanceRepository.save(upsertCloudInstanceObject(cir, existing));
-            objectIds.add(upsertObject.getId().toString());
+            instanceIds.add(cir.getInstanceId());
+        }
+        Map<String, CloudInstance> upserts = new LinkedHashMap<>();
+        for (CloudInstance existing : cloudInstanceRepository.findByInstanceIdIn(new ArrayList<>(instanceIds))) {
+            upserts.put(existing.getInstanceId(), existing);
+        }
+
+        // a request may list an instance more than once, later entries update the same instance
+        Map<String, CloudInstance> changed = new LinkedHashMap<>();
+        for (CloudInstanceCreateRequest cir : instances) {
+            CloudInstance instance = upsertCloudInstanceObject(cir, upserts.get(cir.getInstanceId()));
+            if (instance.getId() == null) {
+                instance.setId(new ObjectId());
+            }
+            upserts.put(instance.getInstanceId(), instance);
+            changed.put(instance.getInstanceId(), instance);
+            objectIds.add(instance.getId().toString());
         }
+        cloudInstanceWriter.upsertAll(changed.values());
         return objectIds;
     }
 }
@@ -28,6 +28,11 @@ public interface CloudVolumeService {
     Collection<CloudVolumeStorage> getVolumeDetailsByComponentId(String componentId);
     Collection<CloudVolumeStorage> getVolumeDetailsByVolumeIds(List<String> volumeId);
     Collection<CloudVolumeStorage> getVolumeDetailsByTags(List<NameValue> tags);
+
+    /**
+     *     Volumes having any of the tags, loading only the given fields (all fields when empty)
+     */
+    Collection<CloudVolumeStorage> getVolumeDetailsByTags(List<NameValue> tags, List<String> fields);
     Collection<CloudVolumeStorage> getVolumeDetailsByAccount(String accountNumber);
 
 
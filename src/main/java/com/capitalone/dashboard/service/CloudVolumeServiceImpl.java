@@ -6,6 +6,7 @@ import com.capitalone.dashboard.model.CollectorItem;
 import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.NameValue;
+import com.capitalone.dashboard.repository.CloudTagLookup;
 import com.capitalone.dashboard.repository.CloudVolumeRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.request.CloudVolumeCreateRequest;
@@ -22,6 +23,7 @@ import org.springframework.util.CollectionUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -32,12 +34,15 @@ public class CloudVolumeServiceImpl implements CloudVolumeService {
             .getLog(CloudVolumeServiceImpl.class);
 
     private final CloudVolumeRepository cloudVolumeRepository;
+    private final CloudTagLookup cloudTagLookup;
     private final ComponentRepository componentRepository;
 
     @Autowired
     public CloudVolumeServiceImpl(CloudVolumeRepository cloudVolumeRepository,
+                                  CloudTagLookup cloudTagLookup,
                                   ComponentRepository cloudConfigRepository) {
         this.cloudVolumeRepository = cloudVolumeRepository;
+        this.cloudTagLookup = cloudTagLookup;
         this.componentRepository = cloudConfigRepository;
     }
 
@@ -68,11 +73,12 @@ public class CloudVolumeServiceImpl implements CloudVolumeService {
 
     @Override
     public Collection<CloudVolumeStorage> getVolumeDetailsByTags(List<NameValue> tags) {
-        Set<CloudVolumeStorage> volumes = new HashSet<>();
-        for (NameValue nv : tags) {
-            volumes.addAll(cloudVolumeRepository.findByTagNameAndValue(nv.getName(), nv.getValue()));
-        }
-        return volumes;
+        return getVolumeDetailsByTags(tags, Collections.emptyList());
+    }
+
+    @Override
+    public Collection<CloudVolumeStorage> getVolumeDetailsByTags(List<NameValue> tags, List<String> fields) {
+        return cloudTagLookup.findByAnyTag(CloudVolumeStorage.class, tags, fields);
     }
 
     @Override
@@ -5,7 +5,10 @@ import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface CmdbService {
 
@@ -18,6 +21,16 @@ public interface CmdbService {
      */
     Page<Cmdb> configurationItemsByTypeWithFilter(String configItemType, String filter, Pageable pageable);
 
+    /**
+     * Streams the Configuration Items of a given type from a database cursor, for listings too large to hold in memory.
+     * The caller must close the stream.
+     *
+     * @param configItemType configItem Type
+     * @param filter text the name, key, legacy name or common name must contain, empty for all items
+     * @return stream of matching Configuration Items
+     */
+    Stream<Cmdb> streamConfigurationItemsByTypeWithFilter(String configItemType, String filter);
+
     String configurationItemNameByObjectId(ObjectId objectId);
     /**
      *  returns Cmdb object based on object Id
@@ -33,11 +46,27 @@ public interface CmdbService {
      */
     Cmdb configurationItemByConfigurationItem(String configItem);
 
+    /**
+     *  returns Cmdb objects for a batch of Configuration Item names
+     * @param configItems App or Component names
+     * @return Map of lower case Configuration Item name to Cmdb
+     */
+    Map<String, Cmdb> configurationItemsByConfigurationItems(Collection<String> configItems);
+
     /**
      * @return List of all BusinessServices
      */
     List<Cmdb> getAllBusServices();
 
+    /**
+     * Finds the BusinessServices where one of the four owner fields contains the name, ignoring case.
+     * Only the Configuration Item name and the owner fields are loaded.
+     *
+     * @param ownerName part of an owner name
+     * @return List of matching BusinessServices
+     */
+    List<Cmdb> getBusServicesByOwnerName(String ownerName);
+
     List<Cmdb> commonNameByConfigurationItem(String commonName);
 
 }
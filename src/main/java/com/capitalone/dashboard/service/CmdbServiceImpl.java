@@ -1,6 +1,8 @@
 package com.capitalone.dashboard.service;
 
 import com.capitalone.dashboard.model.Cmdb;
+import com.capitalone.dashboard.repository.CmdbLookupRepository;
+import com.capitalone.dashboard.repository.CmdbNameLookup;
 import com.capitalone.dashboard.repository.CmdbRepository;
 import org.apache.commons.lang3.StringUtils;
 import org.bson.types.ObjectId;
@@ -10,17 +12,27 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 public class CmdbServiceImpl implements CmdbService {
 
     private final CmdbRepository cmdbRepository;
+    private final CmdbLookupRepository cmdbLookupRepository;
+    private final CmdbNameLookup cmdbNameLookup;
 
     @Autowired
-    public CmdbServiceImpl(CmdbRepository cmdbRepository) {
+    public CmdbServiceImpl(CmdbRepository cmdbRepository, CmdbLookupRepository cmdbLookupRepository, CmdbNameLookup cmdbNameLookup) {
         this.cmdbRepository = cmdbRepository;
-
+        this.cmdbLookupRepository = cmdbLookupRepository;
+        this.cmdbNameLookup = cmdbNameLookup;
     }
 
     @Override
@@ -45,6 +57,15 @@ public class CmdbServiceImpl implements CmdbService {
         }
         return configItemString;
     }
+
+    @Override
+    public Stream<Cmdb> streamConfigurationItemsByTypeWithFilter(String itemType, String filter) {
+        if (StringUtils.isEmpty(filter)) {
+            return cmdbLookupRepository.streamValidByItemType(itemType);
+        }
+        return cmdbLookupRepository.streamValidByItemTypeMatching(itemType, Pattern.quote(filter));
+    }
+
     @Override
     public String configurationItemNameByObjectId(ObjectId objectId){
         Cmdb cmdb = configurationItemsByObjectId(objectId);
@@ -60,12 +81,51 @@ public class CmdbServiceImpl implements CmdbService {
         Cmdb cmdbItem= cmdbRepository.findByConfigurationItemIgnoreCase(configItem);
         return cmdbItem;
     }
+    @Override
+    public Map<String, Cmdb> configurationItemsByConfigurationItems(Collection<String> configItems) {
+        Map<String, Cmdb> cmdbMap = new HashMap<>();
+        Set<String> names = new HashSet<>();
+        for (String configItem : configItems) {
+            if (StringUtils.isNotEmpty(configItem)) {
+                names.add(configItem);
+            }
+        }
+        if (names.isEmpty()) {
+            return cmdbMap;
+        }
+
+        // one indexed $in lookup for the names that are already stored in their canonical form
+        for (Cmdb cmdb : cmdbLookupRepository.findAllByConfigurationItemIn(names)) {
+            cmdbMap.put(StringUtils.lowerCase(cmdb.getConfigurationItem()), cmdb);
+        }
+
+        // names saved with a different case are matched ignoring case, all in one more query
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            if (!cmdbMap.containsKey(StringUtils.lowerCase(name))) {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return cmdbMap;
+        }
+        for (Cmdb cmdb : cmdbNameLookup.findByConfigurationItemsIgnoreCase(missing)) {
+            cmdbMap.putIfAbsent(StringUtils.lowerCase(cmdb.getConfigurationItem()), cmdb);
+        }
+        return cmdbMap;
+    }
+
     @Override
     public List<Cmdb> getAllBusServices(){
         List<Cmdb> cmdbs = cmdbRepository.findAllByItemType("app");
         return cmdbs;
     }
 
+    @Override
+    public List<Cmdb> getBusServicesByOwnerName(String ownerName) {
+        return cmdbLookupRepository.findOwnersByItemTypeAndOwnerMatching("app", Pattern.quote(ownerName));
+    }
+
     @Override
     public List<Cmdb> commonNameByConfigurationItem(String commonName){
         List<Cmdb> cmdbConfigurationItem = cmdbRepository.findByCommonNameOrderByTimestamp(commonName);
@@ -15,6 +15,16 @@ public interface CodeQualityService {
      * @return quality data matching criteria
      */
     DataResponse<Iterable<CodeQuality>> search(CodeQualityRequest request);
+
+    /**
+     * Builds an ETag for the result of {@link #search(CodeQualityRequest)} without running the search. The tag
+     * changes when the component's collector item of the requested type is updated or a report is stored for it.
+     *
+     * @param request search criteria
+     * @return the ETag, or null when no type is requested or the component has no collector item of the type
+     */
+    String getSearchETag(CodeQualityRequest request);
+
     DataResponse<Iterable<CodeQuality>> getCodeQualityForWidget(CodeQualityRequest request);
 
     String create(CodeQualityCreateRequest request) throws HygieiaException;
@@ -10,12 +10,12 @@ import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.QCodeQuality;
+import com.capitalone.dashboard.repository.CodeQualityLookupRepository;
 import com.capitalone.dashboard.repository.CodeQualityRepository;
-import com.capitalone.dashboard.repository.CollectorRepository;
-import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.request.CodeQualityCreateRequest;
 import com.capitalone.dashboard.request.CodeQualityRequest;
 import com.capitalone.dashboard.request.CollectorRequest;
+import com.capitalone.dashboard.util.ETagBuilder;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Splitter;
 import com.querydsl.core.BooleanBuilder;
@@ -38,18 +38,18 @@ import java.util.Map;
 public class CodeQualityServiceImpl implements CodeQualityService {
 
     private final CodeQualityRepository codeQualityRepository;
-    private final ComponentRepository componentRepository;
-    private final CollectorRepository collectorRepository;
+    private final CodeQualityLookupRepository codeQualityLookupRepository;
+    private final ComponentCollectorCache componentCollectorCache;
     private final CollectorService collectorService;
 
     @Autowired
     public CodeQualityServiceImpl(CodeQualityRepository codeQualityRepository,
-                                  ComponentRepository componentRepository,
-                                  CollectorRepository collectorRepository,
+                                  CodeQualityLookupRepository codeQualityLookupRepository,
+                                  ComponentCollectorCache componentCollectorCache,
                                   CollectorService collectorService) {
         this.codeQualityRepository = codeQualityRepository;
-        this.componentRepository = componentRepository;
-        this.collectorRepository = collectorRepository;
+        this.codeQualityLookupRepository = codeQualityLookupRepository;
+        this.componentCollectorCache = componentCollectorCache;
         this.collectorService = collectorService;
     }
     private static final Logger LOGGER = LoggerFactory.getLogger(CodeQualityServiceImpl.class);
@@ -74,6 +74,19 @@ public class CodeQualityServiceImpl implements CodeQualityService {
         return searchType(request);
     }
 
+    @Override
+    public String getSearchETag(CodeQualityRequest request) {
+        CollectorItem item = (request.getType() == null) ? null : getCollectorItem(request);
+        if (item == null) {
+            return null;
+        }
+        Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
+        List<CodeQuality> latest = codeQualityLookupRepository.findTimestampsByCollectorItemId(item.getId(),
+                new PageRequest(0, 1, Sort.Direction.DESC, "timestamp"));
+
+        return ETagBuilder.forCollectorItem(item, collector, latest.isEmpty() ? 0L : latest.get(0).getTimestamp());
+    }
+
     @Override
     public DataResponse<Iterable<CodeQuality>> getCodeQualityForWidget(CodeQualityRequest request) {
         ArrayList<CodeQuality> codeQualities = new ArrayList<CodeQuality>();
@@ -118,14 +131,14 @@ public class CodeQualityServiceImpl implements CodeQualityService {
         if ( instanceUrl != null ) {
             reportUrl = getReportURL(instanceUrl,"dashboard/index/",projectId);
         }
-        Collector collector = collectorRepository.findOne(item.getCollectorId());
+        Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
         long lastExecuted = (collector == null) ? 0 : collector.getLastExecuted();
         return new DataResponse<>(result, lastExecuted,reportUrl);
     }
 
 
     protected CollectorItem getCollectorItem(CodeQualityRequest request) {
-        Component component = componentRepository.findOne(request.getComponentId());
+        Component component = componentCollectorCache.getComponent(request.getComponentId());
         if (component == null) {
             return null;
         }
@@ -0,0 +1,41 @@
+package com.capitalone.dashboard.service;
+
+import com.capitalone.dashboard.model.CollectorItem;
+import com.capitalone.dashboard.model.CollectorType;
+import org.springframework.data.domain.Slice;
+
+import java.util.stream.Stream;
+
+public interface CollectorItemCursorService {
+
+    /**
+     * Lists the collector items of a collector type in {@code _id} order, one page at a time.
+     *
+     * @param collectorType type of the collectors whose items are listed
+     * @param searchField   item field the filter is matched against, defaults to description
+     * @param filter        case insensitive text the search field must contain, empty for all items
+     * @param cursor        continuation token of the previous page, empty for the first page
+     * @param size          page size
+     * @return the page, whose {@link #nextCursor(Slice)} continues the listing
+     * @throws IllegalArgumentException for an invalid cursor or search field
+     */
+    Slice<CollectorItem> collectorItemsByType(CollectorType collectorType, String searchField, String filter,
+                                              String cursor, int size);
+
+    /**
+     * Streams all collector items of a collector type from a database cursor, for listings too large to hold in
+     * memory. The caller must close the stream.
+     *
+     * @param collectorType type of the collectors whose items are listed
+     * @param searchField   item field the filter is matched against, defaults to description
+     * @param filter        case insensitive text the search field must contain, empty for all items
+     * @return stream of matching items
+     * @throws IllegalArgumentException for an invalid search field
+     */
+    Stream<CollectorItem> streamCollectorItemsByType(CollectorType collectorType, String searchField, String filter);
+
+    /**
+     * @return the continuation token of the page after the given one, or null for the last page
+     */
+    String nextCursor(Slice<CollectorItem> page);
+}
@@ -0,0 +1,113 @@
+package com.capitalone.dashboard.service;
+
+import com.capitalone.dashboard.model.Collector;
+import com.capitalone.dashboard.model.CollectorItem;
+import com.capitalone.dashboard.model.CollectorType;
+import com.capitalone.dashboard.repository.CollectorItemLookupRepository;
+import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.util.KeysetCursor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+public class CollectorItemCursorServiceImpl implements CollectorItemCursorService {
+
+    private static final String DEFAULT_SEARCH_FIELD = "description";
+    // plain or dotted field names only, the search field is used as a query key
+    private static final Pattern SEARCH_FIELD = Pattern.compile("[A-Za-z0-9_]+(\\.[A-Za-z0-9_]+)*");
+    // lower than any generated id, so the first page starts at the beginning of the index
+    private static final ObjectId FIRST_ID = new ObjectId(new byte[12]);
+
+    private final CollectorRepository collectorRepository;
+    private final CollectorItemLookupRepository collectorItemLookupRepository;
+
+    @Autowired
+    public CollectorItemCursorServiceImpl(CollectorRepository collectorRepository,
+                                          CollectorItemLookupRepository collectorItemLookupRepository) {
+        this.collectorRepository = collectorRepository;
+        this.collectorItemLookupRepository = collectorItemLookupRepository;
+    }
+
+    @Override
+    public Slice<CollectorItem> collectorItemsByType(CollectorType collectorType, String searchField, String filter,
+                                                     String cursor, int size) {
+        ObjectId after = KeysetCursor.decode(cursor);
+        String field = searchField(searchField);
+        int pageSize = Math.max(1, size);
+
+        Map<ObjectId, Collector> collectorsById = collectorsById(collectorType);
+        if (collectorsById.isEmpty()) {
+            return new SliceImpl<>(Collections.<CollectorItem>emptyList(), new PageRequest(0, pageSize), false);
+        }
+
+        // one extra item tells whether there is a next page
+        Pageable limit = new PageRequest(0, pageSize + 1, new Sort(Sort.Direction.ASC, "id"));
+        ObjectId from = after == null ? FIRST_ID : after;
+        List<CollectorItem> items = StringUtils.isEmpty(filter)
+                ? collectorItemLookupRepository.findByCollectorIdInAndIdGreaterThan(collectorsById.keySet(), from, limit)
+                : collectorItemLookupRepository.findByCollectorIdInAndSearchFieldMatchingAndIdGreaterThan(
+                        collectorsById.keySet(), field, Pattern.quote(filter), from, limit);
+
+        boolean hasNext = items.size() > pageSize;
+        List<CollectorItem> content = new ArrayList<>(hasNext ? items.subList(0, pageSize) : items);
+        for (CollectorItem item : content) {
+            item.setCollector(collectorsById.get(item.getCollectorId()));
+        }
+        return new SliceImpl<>(content, new PageRequest(0, pageSize), hasNext);
+    }
+
+    @Override
+    public Stream<CollectorItem> streamCollectorItemsByType(CollectorType collectorType, String searchField, String filter) {
+        String field = searchField(searchField);
+        Map<ObjectId, Collector> collectorsById = collectorsById(collectorType);
+        if (collectorsById.isEmpty()) {
+            return Stream.empty();
+        }
+
+        Stream<CollectorItem> items = StringUtils.isEmpty(filter)
+                ? collectorItemLookupRepository.streamByCollectorIdIn(collectorsById.keySet())
+                : collectorItemLookupRepository.streamByCollectorIdInAndSearchFieldMatching(
+                        collectorsById.keySet(), field, Pattern.quote(filter));
+        return items.peek(item -> item.setCollector(collectorsById.get(item.getCollectorId())));
+    }
+
+    @Override
+    public String nextCursor(Slice<CollectorItem> page) {
+        if (!page.hasNext() || !page.hasContent()) {
+            return null;
+        }
+        List<CollectorItem> content = page.getContent();
+        return KeysetCursor.encode(content.get(content.size() - 1).getId());
+    }
+
+    private static String searchField(String searchField) {
+        String field = StringUtils.isEmpty(searchField) ? DEFAULT_SEARCH_FIELD : searchField;
+        if (!SEARCH_FIELD.matcher(field).matches()) {
+            throw new IllegalArgumentException("Invalid search field " + searchField);
+        }
+        return field;
+    }
+
+    private Map<ObjectId, Collector> collectorsById(CollectorType collectorType) {
+        Map<ObjectId, Collector> collectorsById = new HashMap<>();
+        for (Collector collector : collectorRepository.findByCollectorType(collectorType)) {
+            collectorsById.put(collector.getId(), collector);
+        }
+        return collectorsById;
+    }
+}
@@ -19,6 +19,15 @@ public interface CommitService {
      */
     DataResponse<Iterable<Commit>> search(CommitRequest request);
 
+    /**
+     * Builds an ETag for the result of {@link #search(CommitRequest)} without running the search. The tag
+     * changes when the component's SCM collector item is updated or a commit is stored for it.
+     *
+     * @param request search criteria
+     * @return the ETag, or null when the component has no SCM collector item
+     */
+    String getSearchETag(CommitRequest request);
+
     String createFromGitHubv3(JSONObject request) throws ParseException, HygieiaException;
 
     List<Commit> getCommitsBySha (String scmRevisionNumber);
@@ -8,10 +8,10 @@ import com.capitalone.dashboard.model.Commit;
 import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.QCommit;
-import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.repository.CommitLookupRepository;
 import com.capitalone.dashboard.repository.CommitRepository;
-import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.request.CommitRequest;
+import com.capitalone.dashboard.util.ETagBuilder;
 import com.querydsl.core.BooleanBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
@@ -21,6 +21,8 @@ import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -34,28 +36,42 @@ import java.util.Map;
 public class CommitServiceImpl implements CommitService {
 
     private final CommitRepository commitRepository;
-    private final ComponentRepository componentRepository;
-    private final CollectorRepository collectorRepository;
+    private final CommitLookupRepository commitLookupRepository;
+    private final ComponentCollectorCache componentCollectorCache;
     private final CollectorService collectorService;
 
     @Autowired
     public CommitServiceImpl(CommitRepository commitRepository,
-                             ComponentRepository componentRepository,
-                             CollectorRepository collectorRepository,
+                             CommitLookupRepository commitLookupRepository,
+                             ComponentCollectorCache componentCollectorCache,
                              CollectorService collectorService) {
         this.commitRepository = commitRepository;
-        this.componentRepository = componentRepository;
-        this.collectorRepository = collectorRepository;
+        this.commitLookupRepository = commitLookupRepository;
+        this.componentCollectorCache = componentCollectorCache;
         this.collectorService = collectorService;
     }
 
+    @Override
+    public String getSearchETag(CommitRequest request) {
+        Component component = componentCollectorCache.getComponent(request.getComponentId());
+        CollectorItem item = (component == null) ? null : component.getLastUpdatedCollectorItemForType(CollectorType.SCM);
+        if (item == null) {
+            return null;
+        }
+        Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
+        List<Commit> latest = commitLookupRepository.findTimestampsByCollectorItemId(item.getId(),
+                new PageRequest(0, 1, Sort.Direction.DESC, "timestamp"));
+
+        return ETagBuilder.forCollectorItem(item, collector, latest.isEmpty() ? 0L : latest.get(0).getTimestamp());
+    }
+
     @Override
     public DataResponse<Iterable<Commit>> search(CommitRequest request) {
         QCommit commit = new QCommit("search");
         BooleanBuilder builder = new BooleanBuilder();
 
         CollectorItem item = null;
-        Component component = componentRepository.findOne(request.getComponentId());
+        Component component = componentCollectorCache.getComponent(request.getComponentId());
 
         if ( (component == null)
                 || ((item = component.getLastUpdatedCollectorItemForType(CollectorType.SCM)) == null) ) {
@@ -88,7 +104,7 @@ public class CommitServiceImpl implements CommitService {
             builder.and(commit.scmCommitLog.contains(request.getMessageContains()));
         }
 
-        Collector collector = collectorRepository.findOne(item.getCollectorId());
+        Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
         return new DataResponse<>(commitRepository.findAll(builder.getValue()), collector.getLastExecuted());
     }
 
@@ -0,0 +1,94 @@
+package com.capitalone.dashboard.service;
+
+import com.capitalone.dashboard.model.Collector;
+import com.capitalone.dashboard.model.Component;
+import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.repository.ComponentRepository;
+import com.capitalone.dashboard.settings.ApiSettings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache of the components looked up by the widget searches. Entries expire after
+ * {@link ApiSettings#getLookupCacheSeconds()} and are evicted by the dashboard and data sync services after they write a
+ * component, and by {@link ComponentCollectorCacheAspect} after the writes of classes outside this module.
+ * Cached documents are shared between requests, so callers must not modify them; code that updates a component
+ * reads it from the repository instead.
+ * <p>
+ * Collectors are read from the repository on every call. Their lastExecuted is written by the collectors
+ * themselves, so no write path here could evict them, and it feeds the lastUpdated and ETag of the widget
+ * responses.
+ */
+@Service
+public class ComponentCollectorCache {
+
+    private final ComponentRepository componentRepository;
+    private final CollectorRepository collectorRepository;
+    private final Cache<ObjectId, Component> components;
+
+    @Autowired
+    public ComponentCollectorCache(ComponentRepository componentRepository, CollectorRepository collectorRepository,
+                                   ApiSettings settings) {
+        this(componentRepository, collectorRepository, settings.getLookupCacheSeconds(), settings.getLookupCacheSize());
+    }
+
+    public ComponentCollectorCache(ComponentRepository componentRepository, CollectorRepository collectorRepository,
+                                   long expireSeconds, int maximumSize) {
+        this.componentRepository = componentRepository;
+        this.collectorRepository = collectorRepository;
+        this.components = newCache(expireSeconds, maximumSize);
+    }
+
+    /**
+     * @return the component, or null when it does not exist
+     */
+    public Component getComponent(ObjectId componentId) {
+        if (componentId == null) {
+            return null;
+        }
+        Component component = components.getIfPresent(componentId);
+        if (component == null) {
+            component = componentRepository.findOne(componentId);
+            if (component != null) {
+                components.put(componentId, component);
+            }
+        }
+        return component;
+    }
+
+    /**
+     * @return the collector as currently stored, or null when it does not exist
+     */
+    public Collector getCollector(ObjectId collectorId) {
+        return collectorId == null ? null : collectorRepository.findOne(collectorId);
+    }
+
+    public void evictComponent(ObjectId componentId) {
+        if (componentId != null) {
+            components.invalidate(componentId);
+        }
+    }
+
+    public void evictComponents(Iterable<Component> evicted) {
+        if (evicted != null) {
+            evicted.forEach(component -> evictComponent(component.getId()));
+        }
+    }
+
+    public void evictComponents() {
+        components.invalidateAll();
+    }
+
+    private static <T> Cache<ObjectId, T> newCache(long expireSeconds, int maximumSize) {
+        // a zero expiry or size disables caching
+        return CacheBuilder.newBuilder()
+                .maximumSize(Math.max(0, maximumSize))
+                .expireAfterWrite(Math.max(0, expireSeconds), TimeUnit.SECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.capitalone.dashboard.service;
+
+import com.capitalone.dashboard.model.CollectorType;
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts {@link ComponentCollectorCache} entries after the component writes of code that cannot call the cache
+ * itself: the core library's CollectorService and the data sync bulk writes. The dashboard services and the data
+ * sync's per-component saves evict explicitly, so their calls within the same class are covered as well.
+ * Evictions run whether or not the call succeeded, since a failed call may have written part of its changes.
+ */
+@Aspect
+@Component
+public class ComponentCollectorCacheAspect {
+
+    private final ComponentCollectorCache componentCollectorCache;
+
+    @Autowired
+    public ComponentCollectorCacheAspect(ComponentCollectorCache componentCollectorCache) {
+        this.componentCollectorCache = componentCollectorCache;
+    }
+
+    @Pointcut("execution(* com.capitalone.dashboard.service.CollectorService.deleteCollectorItem(..))")
+    public void collectorItemDelete() {
+        // pointcut
+    }
+
+    @Pointcut("execution(* com.capitalone.dashboard.repository.DataSyncOperations.replaceCollectorItems(..)) && args(collectorType, components)")
+    public void componentCollectorItemsWrite(CollectorType collectorType, Collection<com.capitalone.dashboard.model.Component> components) {
+        // pointcut
+    }
+
+    @After("collectorItemDelete()")
+    public void evictAfterCollectorItemDelete() {
+        // the item may also be removed from the components that use it
+        componentCollectorCache.evictComponents();
+    }
+
+    @After("componentCollectorItemsWrite(collectorType, components)")
+    public void evictAfterComponentCollectorItemsWrite(CollectorType collectorType, Collection<com.capitalone.dashboard.model.Component> components) {
+        componentCollectorCache.evictComponents(components);
+    }
+}
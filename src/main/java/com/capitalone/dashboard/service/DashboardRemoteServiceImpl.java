@@ -51,6 +51,7 @@ public class DashboardRemoteServiceImpl implements DashboardRemoteService {
     private final CollectorItemRepository collectorItemRepository;
     private final ApiSettings apiSettings;
     private final EncryptionService encryptionService;
+    private final ComponentCollectorCache componentCollectorCache;
 
     public static final String PASSWORD_OPTION = "password";
     public static final String PERSONAL_ACCESS_TOKEN_OPTION = "personalAccessToken";
@@ -62,7 +63,8 @@ public class DashboardRemoteServiceImpl implements DashboardRemoteService {
             CustomRepositoryQuery customRepositoryQuery,
             DashboardRepository dashboardRepository, DashboardService dashboardService, CollectorService collectorService,
             UserInfoService userInfoService, CmdbRepository cmdbRepository, ComponentRepository componentRepository,
-            CollectorItemRepository collectorItemRepository, ApiSettings apiSettings, EncryptionService encryptionService) {
+            CollectorItemRepository collectorItemRepository, ApiSettings apiSettings, EncryptionService encryptionService,
+            ComponentCollectorCache componentCollectorCache) {
         this.collectorRepository = collectorRepository;
         this.customRepositoryQuery = customRepositoryQuery;
         this.dashboardRepository = dashboardRepository;
@@ -74,6 +76,7 @@ public class DashboardRemoteServiceImpl implements DashboardRemoteService {
         this.collectorItemRepository = collectorItemRepository;
         this.apiSettings = apiSettings;
         this.encryptionService = encryptionService;
+        this.componentCollectorCache = componentCollectorCache;
     }
 
     /**
@@ -102,10 +105,18 @@ public class DashboardRemoteServiceImpl implements DashboardRemoteService {
         return new ArrayList<Owner>(uniqueOwners);
     }
 
+    /**
+     * Creates or updates a dashboard from the request as a single unit of work. The dashboard, its widgets and
+     * its component are built in memory and then written once each, instead of saving the dashboard after every
+     * widget change and reloading it at the end. Collector items enabled or disabled by the request are saved
+     * last, so a failed duplicate check or dashboard write leaves them untouched.
+     */
     @Override
     public Dashboard remoteCreate(DashboardRemoteRequest request, boolean isUpdate) throws HygieiaException {
         final String METHOD_NAME = "DashboardRemoteServiceImpl.remoteCreate";
         Dashboard dashboard;
+        Component component;
+        boolean isNew = false;
         Map<String, Widget> existingWidgets = new HashMap<>();
 
         List<Owner> owners = getOwners(request);
@@ -143,42 +154,42 @@ public class DashboardRemoteServiceImpl implements DashboardRemoteService {
 //            if (!isUpdate) {
 //                throw new HygieiaException("Dashboard " + dashboard.getTitle() + " (id =" + dashboard.getId() + ") already exists", HygieiaException.DUPLICATE_DATA);
 //            }
-            dashboardService.update(dashboard);
             //Save the widgets
             for (Widget w : dashboard.getWidgets()) {
                 existingWidgets.put(w.getName(), w);
             }
-
+            component = componentRepository.findOne(dashboard.getApplication().getComponents().get(0).getId());
         } else {
             if (isUpdate) {
                 throw new HygieiaException("Dashboard " + request.getMetaData().getTitle() +  " does not exist.", HygieiaException.BAD_DATA);
             }
             request.getMetaData().setOwners(validOwners);
-            dashboard = dashboardService.create(requestToDashboard(request));
+            dashboard = requestToDashboard(request);
+            // the component is written together with the dashboard, it only needs its id up front
+            component = dashboard.getApplication().getComponents().get(0);
+            component.setId(ObjectId.get());
+            isNew = true;
         }
 
         Set<CollectorType> incomingTypes = new HashSet<>();
         List<DashboardRemoteRequest.Entry> entries = request.getAllEntries();
         Map<String, WidgetRequest> allWidgetRequests = generateRequestWidgetList( entries, dashboard, incomingTypes);
-        Component component = componentRepository.findOne(dashboard.getApplication().getComponents().get(0).getId());
         Set<CollectorType> existingTypes = new HashSet<>(component.getCollectorItems().keySet());
+        // collector items are enabled/disabled in memory and only saved once the dashboard is written
+        Map<ObjectId, CollectorItem> pendingCollectorItems = new HashMap<>();
 
         //adds widgets
         for (String key : allWidgetRequests.keySet()) {
             WidgetRequest widgetRequest = allWidgetRequests.get(key);
 
-            component = dashboardService.associateCollectorToComponent(dashboard.getApplication().getComponents().get(0).getId(), widgetRequest.getCollectorItemIds(),component,true);
+            component = dashboardService.associateCollectorToComponent(component.getId(), widgetRequest.getCollectorItemIds(), component, true, pendingCollectorItems);
             Widget newWidget = widgetRequest.widget();
-            if (isUpdate) {
-                Widget oldWidget = existingWidgets.get(newWidget.getName());
-                if (oldWidget == null) {
-                    dashboardService.addWidget(dashboard, newWidget);
-                } else {
-                    Widget widget = widgetRequest.updateWidget(dashboardService.getWidget(dashboard, oldWidget.getId()));
-                    dashboardService.updateWidget(dashboard, widget);
-                }
+            Widget oldWidget = existingWidgets.get(newWidget.getName());
+            if (isUpdate && oldWidget != null) {
+                Widget widget = widgetRequest.updateWidget(dashboardService.getWidget(dashboard, oldWidget.getId()));
+                dashboardService.updateWidget(dashboard, widget, false);
             } else {
-                dashboardService.addWidget(dashboard, newWidget);
+                dashboardService.addWidget(dashboard, newWidget, false);
             }
         }
 
@@ -197,20 +208,33 @@ public class DashboardRemoteServiceImpl implements DashboardRemoteService {
         // Delete widgets that do not have collector items, except the quality widget (which may have more than one type)
         for (CollectorType type: deleteSet) {
             if (!DashboardServiceImpl.QualityWidget.contains(type)) {
-                dashboardService.deleteWidget(dashboard,type);
+                dashboardService.deleteWidget(dashboard, type, false);
             }
         }
         // delete code analysis widget if no collector item types is incoming
         if (incomingTypes.stream().noneMatch(DashboardServiceImpl.QualityWidget::contains)) {
-            dashboardService.deleteWidget(dashboard,CollectorType.CodeQuality);
+            dashboardService.deleteWidget(dashboard, CollectorType.CodeQuality, false);
         }
 
         LOG.info("correlation_id="+ request.getClientReference() + ", dashboard_title=" + dashboard.getTitle() + ", existing_widget_types=" + existingTypes.size() +
                 " " + existingTypes + ", incoming_widget_types=" + incomingTypes.size() + " " + incomingTypes
                 + ", deleted_widgets_set=" + deleteSet.size() + " " + deleteSet);
 
-        componentRepository.save(component);
-        return (dashboard != null) ? dashboardService.get(dashboard.getId()) : null;
+        // persist: one component write and one dashboard write
+        if (isNew) {
+            // create saves the application components, which includes this component
+            dashboard = dashboardService.create(dashboard);
+        } else {
+            dashboard = dashboardService.update(dashboard);
+            componentRepository.save(component);
+            componentCollectorCache.evictComponent(component.getId());
+            dashboard.getApplication().getComponents().set(0, component);
+        }
+        if (!pendingCollectorItems.isEmpty()) {
+            collectorItemRepository.save(pendingCollectorItems.values());
+        }
+        LOG.debug(METHOD_NAME + " saved dashboard_id=" + dashboard.getId());
+        return dashboard;
     }
 
     private Dashboard chooseDashboard(List<Dashboard> dashboards, DashboardRemoteRequest request) {
@@ -1,7 +1,9 @@
 package com.capitalone.dashboard.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import com.capitalone.dashboard.model.CollectorItem;
 import com.capitalone.dashboard.model.CollectorType;
@@ -26,6 +28,14 @@ public interface DashboardService {
      */
     Iterable<Dashboard> all();
 
+    /**
+     * Streams all registered dashboards, sorted by title, from a database cursor. Only a small batch of
+     * dashboards is held in memory at a time. The caller must close the stream.
+     *
+     * @return stream of all dashboards
+     */
+    Stream<Dashboard> streamAll();
+
 
     /**
      * Fetches a Dashboard.
@@ -35,6 +45,15 @@ public interface DashboardService {
      */
     Dashboard get(ObjectId id);
 
+    /**
+     * Builds an ETag for the result of {@link #get(ObjectId)} without loading the full dashboard. The tag
+     * changes when the dashboard is saved or one of its collector items or collectors is updated.
+     *
+     * @param id dashboard unique identifier
+     * @return the ETag, or null when the dashboard does not exist
+     */
+    String getETag(ObjectId id);
+
     /**
      * Creates a new Dashbaord and saves it to the store.
      *
@@ -86,6 +105,19 @@ public interface DashboardService {
      */
     Component associateCollectorToComponent(ObjectId componentId, List<ObjectId> collectorItemIds,Component component, boolean cleanupQuality);
 
+    /**
+     * Associate a CollectorItem to a Component without saving the collector items. The collector items to be
+     * saved are put in pendingCollectorItems by id, for the caller to save once its own writes succeed.
+     *
+     * @param componentId unique identifier of the Component
+     * @param collectorItemIds List of unique identifier of the CollectorItem
+     * @param cleanupQuality flag to cleanup remaining empty fields for Quality CollectorItem types
+     * @param pendingCollectorItems collector items to be saved by the caller
+     * @return Component
+     */
+    Component associateCollectorToComponent(ObjectId componentId, List<ObjectId> collectorItemIds, Component component, boolean cleanupQuality,
+                                            Map<ObjectId, CollectorItem> pendingCollectorItems);
+
     /**
      * Creates a new Widget and adds it to the Dashboard indicated by the dashboardId parameter.
      *
@@ -95,6 +127,16 @@ public interface DashboardService {
      */
     Widget addWidget(Dashboard dashboard, Widget widget);
 
+    /**
+     * Creates a new Widget and adds it to the Dashboard.
+     *
+     * @param dashboard add widget to this Dashboard
+     * @param widget Widget to add
+     * @param save false to only change the Dashboard in memory
+     * @return newly created Widget
+     */
+    Widget addWidget(Dashboard dashboard, Widget widget, boolean save);
+
     /**
      * Find the Widget with the specified id in the Dashbaord provided.
      *
@@ -113,6 +155,16 @@ public interface DashboardService {
      */
     Widget updateWidget(Dashboard dashboard, Widget widget);
 
+    /**
+     * Updates an existing Widget.
+     *
+     * @param dashboard update widget on this Dashboard
+     * @param widget Widget to update
+     * @param save false to only change the Dashboard in memory
+     * @return updated widget
+     */
+    Widget updateWidget(Dashboard dashboard, Widget widget, boolean save);
+
     /**
      * Deletes an existing Widget.
      *
@@ -133,6 +185,15 @@ public interface DashboardService {
      */
     void deleteWidget(Dashboard dashboard, CollectorType collectorType);
 
+    /**
+     * Deletes an existing Widget.
+     *
+     * @param dashboard delete widget on this Dashboard
+     * @param collectorType Collector type to delete
+     * @param save false to only change the Dashboard in memory
+     */
+    void deleteWidget(Dashboard dashboard, CollectorType collectorType, boolean save);
+
 
 
     /**
@@ -20,14 +20,18 @@ import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.repository.CustomRepositoryQuery;
+import com.capitalone.dashboard.repository.DashboardLookupRepository;
 import com.capitalone.dashboard.repository.DashboardRepository;
 import com.capitalone.dashboard.repository.PipelineRepository;
 import com.capitalone.dashboard.repository.ServiceRepository;
 import com.capitalone.dashboard.repository.UserInfoRepository;
 import com.capitalone.dashboard.settings.ApiSettings;
+import com.capitalone.dashboard.util.DashboardSearchKeys;
+import com.capitalone.dashboard.util.ETagBuilder;
 import com.capitalone.dashboard.util.UnsafeDeleteException;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,14 +52,20 @@ import java.util.Set;
 import java.util.HashSet;
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.Iterator;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class DashboardServiceImpl implements DashboardService {
 
     private static final Log LOG = LogFactory.getLog(DashboardServiceImpl.class);
     private final DashboardRepository dashboardRepository;
+    private final DashboardLookupRepository dashboardLookupRepository;
     private final ComponentRepository componentRepository;
     private final CollectorRepository collectorRepository;
     private final CollectorItemRepository collectorItemRepository;
@@ -67,6 +77,7 @@ public class DashboardServiceImpl implements DashboardService {
     private final UserInfoService userInfoService;
     private final ScoreDashboardService scoreDashboardService;
     private final CmdbService cmdbService;
+    private final ComponentCollectorCache componentCollectorCache;
     private final String UNDEFINED = "undefined";
     public final static EnumSet<CollectorType> QualityWidget = EnumSet.of(CollectorType.Test , CollectorType.StaticSecurityScan, CollectorType.CodeQuality, CollectorType.LibraryPolicy);
     public static final String BUILD = "build";
@@ -79,12 +90,14 @@ public class DashboardServiceImpl implements DashboardService {
     public static final String TEST = "test";
     public static final String CODEANALYSIS = "codeanalysis";
     public static final String INFRA_SCAN = "infrascan";
+    private static final int STREAM_BATCH_SIZE = 500;
 
     @Autowired
     private ApiSettings settings;
 
     @Autowired
     public DashboardServiceImpl(DashboardRepository dashboardRepository,
+                                DashboardLookupRepository dashboardLookupRepository,
                                 ComponentRepository componentRepository,
                                 CollectorRepository collectorRepository,
                                 CollectorItemRepository collectorItemRepository,
@@ -95,8 +108,10 @@ public class DashboardServiceImpl implements DashboardService {
                                 UserInfoService userInfoService,
                                 CmdbService cmdbService,
                                 ScoreDashboardService scoreDashboardService,
+                                ComponentCollectorCache componentCollectorCache,
                                 ApiSettings settings) {
         this.dashboardRepository = dashboardRepository;
+        this.dashboardLookupRepository = dashboardLookupRepository;
         this.componentRepository = componentRepository;
         this.collectorRepository = collectorRepository;
         this.collectorItemRepository = collectorItemRepository;
@@ -107,30 +122,32 @@ public class DashboardServiceImpl implements DashboardService {
         this.userInfoService = userInfoService;
         this.cmdbService = cmdbService;
         this.scoreDashboardService = scoreDashboardService;
+        this.componentCollectorCache = componentCollectorCache;
         this.settings = settings;
     }
 
     @Override
     public Iterable<Dashboard> all() {
         Iterable<Dashboard> dashboards = dashboardRepository.findAll(new Sort(Sort.Direction.ASC, "title"));
-        for(Dashboard dashboard: dashboards){
-            String appName = dashboard.getConfigurationItemBusServName();
-            String compName = dashboard.getConfigurationItemBusAppName();
-
-            setAppAndComponentNameToDashboard(dashboard, appName, compName);
-        }
+        setAppAndComponentNamesToDashboards(dashboards);
         return dashboards;
     }
 
+    @Override
+    public Stream<Dashboard> streamAll() {
+        Stream<Dashboard> dashboards = dashboardLookupRepository.streamAll(new Sort(Sort.Direction.ASC, "title"));
+        // CMDB names are looked up one batch of dashboards at a time
+        Iterator<List<Dashboard>> batches = Iterators.partition(dashboards.iterator(), STREAM_BATCH_SIZE);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .peek(this::setAppAndComponentNamesToDashboards)
+                .flatMap(List::stream)
+                .onClose(dashboards::close);
+    }
+
     @Override
     public Iterable<Dashboard> allTemplate(String template){
         Iterable<Dashboard> templateDashboards = dashboardRepository.findByTemplate(template);
-        for(Dashboard dashboard: templateDashboards) {
-            String appName = dashboard.getConfigurationItemBusServName();
-            String compName = dashboard.getConfigurationItemBusAppName();
-
-            setAppAndComponentNameToDashboard(dashboard, appName, compName);
-        }
+        setAppAndComponentNamesToDashboards(templateDashboards);
         return templateDashboards;
     }
 
@@ -159,6 +176,36 @@ public class DashboardServiceImpl implements DashboardService {
         return dashboard;
     }
 
+    @Override
+    public String getETag(ObjectId id) {
+        Dashboard dashboard = dashboardLookupRepository.findVersionById(id);
+        if (dashboard == null) {
+            return null;
+        }
+        ETagBuilder eTag = new ETagBuilder()
+                .append(id)
+                .append(dashboard.getUpdatedAt());
+        if ((dashboard.getApplication() == null) || dashboard.getApplication().getComponents().isEmpty()) {
+            return eTag.build();
+        }
+
+        Map<ObjectId, Long> lastExecuted = new HashMap<>();
+        for (List<CollectorItem> collectorItems : dashboard.getApplication().getComponents().get(0).getCollectorItems().values()) {
+            for (CollectorItem collectorItem : collectorItems) {
+                eTag.append(collectorItem.getId())
+                        .append(collectorItem.getLastUpdated())
+                        .append(collectorItem.isEnabled())
+                        .append(collectorItem.getOptions().hashCode());
+                lastExecuted.computeIfAbsent(collectorItem.getCollectorId(), collectorId -> {
+                    Collector collector = componentCollectorCache.getCollector(collectorId);
+                    return (collector == null) ? 0L : collector.getLastExecuted();
+                });
+                eTag.append(lastExecuted.get(collectorItem.getCollectorId()));
+            }
+        }
+        return eTag.build();
+    }
+
     /**
      * Get all the dashboards that have the collector items
      *
@@ -241,6 +288,7 @@ public class DashboardServiceImpl implements DashboardService {
          */
         dashboardRepository.delete(dashboard);
         componentRepository.delete(dashboard.getApplication().getComponents());
+        componentCollectorCache.evictComponents(dashboard.getApplication().getComponents());
         handleCollectorItems(dashboard.getApplication().getComponents());
         if (dashboard.isScoreEnabled()) {
             this.scoreDashboardService.disableScoreForDashboard(dashboard);
@@ -316,7 +364,30 @@ public class DashboardServiceImpl implements DashboardService {
         return component;
     }
 
+    @Override
+    public Component associateCollectorToComponent(ObjectId componentId, List<ObjectId> collectorItemIds, Component component, boolean cleanupQuality,
+                                                   Map<ObjectId, CollectorItem> pendingCollectorItems) {
+        if (componentId == null || collectorItemIds == null) {
+            // Not all widgets gather data from collectors
+            return null;
+        }
+        pendingCollectorItems.putAll(collectorItemsToAssociate(collectorItemIds, component, cleanupQuality));
+        return component;
+    }
+
     private void associateCollectorItemsToComponent(List<ObjectId> collectorItemIds, boolean save, Component component, boolean cleanupQuality) {
+        collectorItemRepository.save(new HashSet<>(collectorItemsToAssociate(collectorItemIds, component, cleanupQuality).values()));
+        if(save){
+            componentRepository.save(component);
+            componentCollectorCache.evictComponent(component.getId());
+        }
+    }
+
+    /*
+        Updates the component with the incoming collector items and returns the collector items to save by id,
+        without saving anything
+     */
+    private Map<ObjectId, CollectorItem> collectorItemsToAssociate(List<ObjectId> collectorItemIds, Component component, boolean cleanupQuality) {
         final String METHOD_NAME = "DashboardServiceImpl.associateCollectorToComponent :";
         //First: disable all collectorItems of the Collector TYPEs that came in with the request.
         //Second: remove all the collectorItem association of the Collector Type  that came in
@@ -396,11 +467,7 @@ public class DashboardServiceImpl implements DashboardService {
             // set transient collector property
             collectorItem.setCollector(collector);
         }
-
-        collectorItemRepository.save(new HashSet<>(toSaveCollectorItems.values()));
-        if(save){
-            componentRepository.save(component);
-        }
+        return toSaveCollectorItems;
     }
 
     /*
@@ -429,9 +496,17 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public Widget addWidget(Dashboard dashboard, Widget widget) {
+        return addWidget(dashboard, widget, true);
+    }
+
+    @Override
+    public Widget addWidget(Dashboard dashboard, Widget widget, boolean save) {
         widget.setId(ObjectId.get());
         dashboard.getWidgets().add(widget);
-        dashboardRepository.save(dashboard);
+        if (save) {
+            dashboard.setUpdatedAt(System.currentTimeMillis());
+            dashboardRepository.save(dashboard);
+        }
         return widget;
     }
 
@@ -442,11 +517,18 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public Widget updateWidget(Dashboard dashboard, Widget widget) {
+        return updateWidget(dashboard, widget, true);
+    }
+
+    @Override
+    public Widget updateWidget(Dashboard dashboard, Widget widget, boolean save) {
         int index = dashboard.getWidgets().indexOf(widget);
         dashboard.getWidgets().set(index, widget);
         // update dashboard updateAt timestamp
         dashboard.setUpdatedAt(System.currentTimeMillis());
-        dashboardRepository.save(dashboard);
+        if (save) {
+            dashboardRepository.save(dashboard);
+        }
         return widget;
     }
 
@@ -487,7 +569,7 @@ public class DashboardServiceImpl implements DashboardService {
     public List<Dashboard> getOwnedDashboards() {
         Owner owner = new Owner(AuthenticationUtil.getUsernameFromContext(), AuthenticationUtil.getAuthTypeFromContext());
         List<Dashboard> findByOwnersList = dashboardRepository.findByOwners(owner);
-        getAppAndComponentNames(findByOwnersList);
+        setAppAndComponentNamesToDashboards(findByOwnersList);
         return findByOwnersList.stream().distinct().collect(Collectors.toList());
     }
 
@@ -520,6 +602,7 @@ public class DashboardServiceImpl implements DashboardService {
 
         Dashboard dashboard = dashboardRepository.findOne(dashboardId);
         dashboard.setOwners(Lists.newArrayList(owners));
+        dashboard.setUpdatedAt(System.currentTimeMillis());
         Dashboard result = dashboardRepository.save(dashboard);
 
         return result.getOwners();
@@ -657,6 +740,7 @@ public class DashboardServiceImpl implements DashboardService {
                 component.getCollectorItems().remove(cType);
             }
             componentRepository.save(component);
+            componentCollectorCache.evictComponent(componentId);
         }
         return dashboard;
     }
@@ -700,19 +784,23 @@ public class DashboardServiceImpl implements DashboardService {
         if (!widgetName.equalsIgnoreCase("codeanalysis")
                 || (widgetName.equalsIgnoreCase("codeanalysis") && cleanupQuality)
                 || !hasMultipleQualityComponents(component.getCollectorItems())) {
-            dashboardUpdate(dashboard, index);
+            dashboardUpdate(dashboard, index, true);
         }
 
         componentRepository.save(component);
+        componentCollectorCache.evictComponent(componentId);
         return component;
     }
 
-    private void dashboardUpdate(Dashboard dashboard, int index) {
+    private void dashboardUpdate(Dashboard dashboard, int index, boolean save) {
         if(index!=-1){
             dashboard.getWidgets().set(index, null);
             List<Widget> updatedWidgets = dashboard.getWidgets().stream().filter(Objects::nonNull).collect(Collectors.toList());
             dashboard.setWidgets(updatedWidgets);
-            dashboardRepository.save(dashboard);
+            if (save) {
+                dashboard.setUpdatedAt(System.currentTimeMillis());
+                dashboardRepository.save(dashboard);
+            }
         }
     }
 
@@ -736,11 +824,16 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public void deleteWidget(Dashboard dashboard, CollectorType collectorType){
+        deleteWidget(dashboard, collectorType, true);
+    }
+
+    @Override
+    public void deleteWidget(Dashboard dashboard, CollectorType collectorType, boolean save){
         if(CollectionUtils.isNotEmpty(dashboard.getWidgets())){
             String widgetName = findWidgetName(collectorType);
             List<String> widgetNames = dashboard.getWidgets().stream().map(widget-> widget.getName()).collect(Collectors.toList());
             int index = widgetNames.indexOf(widgetName);
-            dashboardUpdate(dashboard,index);
+            dashboardUpdate(dashboard,index,save);
         }
     }
 
@@ -794,13 +887,35 @@ public class DashboardServiceImpl implements DashboardService {
 
 
 
-    private void getAppAndComponentNames(List<Dashboard> findByOwnersList) {
-        for(Dashboard dashboard: findByOwnersList){
-
+    /**
+     *  Sets business service, business application and valid flag for each of the given Dashboards.
+     *  All distinct names are resolved with a single batch lookup instead of two lookups per dashboard.
+     * @param dashboards
+     */
+    private void setAppAndComponentNamesToDashboards(Iterable<Dashboard> dashboards) {
+        Set<String> configItems = new HashSet<>();
+        for (Dashboard dashboard : dashboards) {
+            configItems.add(dashboard.getConfigurationItemBusServName());
+            configItems.add(dashboard.getConfigurationItemBusAppName());
+        }
+        configItems.remove(null);
+        configItems.remove("");
+        if (configItems.isEmpty()) {
+            return;
+        }
 
-            String appName = dashboard.getConfigurationItemBusServName();
-            String compName = dashboard.getConfigurationItemBusAppName();
-            setAppAndComponentNameToDashboard(dashboard, appName, compName);
+        Map<String, Cmdb> cmdbMap = cmdbService.configurationItemsByConfigurationItems(configItems);
+        for (Dashboard dashboard : dashboards) {
+            Cmdb app = cmdbMap.get(StringUtils.lowerCase(dashboard.getConfigurationItemBusServName()));
+            if (app != null) {
+                dashboard.setConfigurationItemBusServName(app.getConfigurationItem());
+                dashboard.setValidServiceName(app.isValidConfigItem());
+            }
+            Cmdb comp = cmdbMap.get(StringUtils.lowerCase(dashboard.getConfigurationItemBusAppName()));
+            if (comp != null) {
+                dashboard.setConfigurationItemBusAppName(comp.getConfigurationItem());
+                dashboard.setValidAppName(comp.isValidConfigItem());
+            }
         }
     }
 
@@ -839,9 +954,12 @@ public class DashboardServiceImpl implements DashboardService {
         String compName = dashboard.getConfigurationItemBusAppName();
 
         if(appName != null && !appName.isEmpty() && compName != null && !compName.isEmpty()){
-            Dashboard existingDashboard = dashboardRepository.findByConfigurationItemBusServNameIgnoreCaseAndConfigurationItemBusAppNameIgnoreCase(appName, compName);
-            if(existingDashboard != null && !existingDashboard.getId().equals(dashboard.getId())){
-                throw new HygieiaException("Existing Dashboard: " + existingDashboard.getTitle(), HygieiaException.DUPLICATE_DATA);
+            List<Dashboard> existingDashboards = dashboardLookupRepository.findBySearchBusServNameAndSearchBusAppName(
+                    DashboardSearchKeys.lowerCase(appName), DashboardSearchKeys.lowerCase(compName));
+            for (Dashboard existingDashboard : existingDashboards) {
+                if(!existingDashboard.getId().equals(dashboard.getId())){
+                    throw new HygieiaException("Existing Dashboard: " + existingDashboard.getTitle(), HygieiaException.DUPLICATE_DATA);
+                }
             }
         }
     }
@@ -856,14 +974,14 @@ public class DashboardServiceImpl implements DashboardService {
      */
     @Override
     public Page<Dashboard> getDashboardByTitleWithFilter(String title, String type, Pageable pageable) {
-        Page<Dashboard> dashboardItems = null;
+        List<String> tokens = DashboardSearchKeys.tokens(title);
+        if (tokens.isEmpty()) {
+            return findDashboardsByPage(type, pageable);
+        }
         if ((type != null) && (!type.isEmpty()) && (!UNDEFINED.equalsIgnoreCase(type))) {
-            dashboardItems = dashboardRepository.findAllByTypeContainingIgnoreCaseAndTitleContainingIgnoreCase(type, title, pageable);
-        } else {
-            dashboardItems = dashboardRepository.findAllByTitleContainingIgnoreCase(title, pageable);
+            return dashboardLookupRepository.findBySearchTokensAndTypeIn(tokens, DashboardSearchKeys.matchingTypes(type), pageable);
         }
-
-        return dashboardItems;
+        return dashboardLookupRepository.findBySearchTokens(tokens, pageable);
     }
 
     /**
@@ -875,13 +993,16 @@ public class DashboardServiceImpl implements DashboardService {
      */
     @Override
     public Integer getAllDashboardsByTitleCount(String title, String type) {
-        List<Dashboard> dashboards = null;
-        if ((type != null) && (!type.isEmpty()) && (!UNDEFINED.equalsIgnoreCase(type))) {
-            dashboards = dashboardRepository.findAllByTypeContainingIgnoreCaseAndTitleContainingIgnoreCase(type, title);
+        List<String> tokens = DashboardSearchKeys.tokens(title);
+        long count;
+        if (tokens.isEmpty()) {
+            count = count(type);
+        } else if ((type != null) && (!type.isEmpty()) && (!UNDEFINED.equalsIgnoreCase(type))) {
+            count = dashboardLookupRepository.countBySearchTokensAndTypeIn(tokens, DashboardSearchKeys.matchingTypes(type));
         } else {
-            dashboards = dashboardRepository.findAllByTitleContainingIgnoreCase(title);
+            count = dashboardLookupRepository.countBySearchTokens(tokens);
         }
-        return dashboards != null ? dashboards.size() : 0;
+        return (int) count;
     }
 
     /**
@@ -934,57 +1055,57 @@ public class DashboardServiceImpl implements DashboardService {
         } else {
             ownersList = dashboardRepository.findByOwners(owner, page);
         }
-        for (Dashboard dashboard: ownersList) {
-            String appName = dashboard.getConfigurationItemBusServName();
-            String compName = dashboard.getConfigurationItemBusAppName();
-            setAppAndComponentNameToDashboard(dashboard, appName, compName);
-        }
+        setAppAndComponentNamesToDashboards(ownersList);
         return ownersList;
     }
 
     @Override
     public long myDashboardsCount(String type){
         Owner owner = new Owner(AuthenticationUtil.getUsernameFromContext(), AuthenticationUtil.getAuthTypeFromContext());
-        List<Dashboard> ownersList = null;
         if ((type != null) && (!type.isEmpty()) && (!UNDEFINED.equalsIgnoreCase(type))) {
-            ownersList = dashboardRepository.findByOwnersAndTypeContainingIgnoreCase(owner, type);
-        } else {
-            ownersList = dashboardRepository.findByOwners(owner);
+            return dashboardLookupRepository.countByOwnersAndTypeContainingIgnoreCase(owner, type);
         }
-        return ownersList!=null?ownersList.size():0;
+        return dashboardLookupRepository.countByOwners(owner);
     }
 
     @Override
     public int getMyDashboardsByTitleCount(String title, String type){
         Owner owner = new Owner(AuthenticationUtil.getUsernameFromContext(), AuthenticationUtil.getAuthTypeFromContext());
-        List<Dashboard> dashboards = null;
-        if ((type != null) && (!type.isEmpty()) && (!UNDEFINED.equalsIgnoreCase(type))) {
-            dashboards = dashboardRepository.findByOwnersAndTypeContainingIgnoreCaseAndTitleContainingIgnoreCase(owner,type,title);
+        List<String> tokens = DashboardSearchKeys.tokens(title);
+        long count;
+        if (tokens.isEmpty()) {
+            count = myDashboardsCount(type);
+        } else if ((type != null) && (!type.isEmpty()) && (!UNDEFINED.equalsIgnoreCase(type))) {
+            count = dashboardLookupRepository.countByOwnerAndSearchTokensAndTypeIn(owner.getUsername(), authTypeName(owner), tokens, DashboardSearchKeys.matchingTypes(type));
         } else {
-            dashboards = dashboardRepository.findByOwnersAndTitleContainingIgnoreCase(owner,title);
+            count = dashboardLookupRepository.countByOwnerAndSearchTokens(owner.getUsername(), authTypeName(owner), tokens);
         }
-        return dashboards!=null?dashboards.size():0;
+        return (int) count;
     }
 
     @Override
     public Page<Dashboard> getMyDashboardByTitleWithFilter(String title, String type, Pageable pageable) {
         Owner owner = new Owner(AuthenticationUtil.getUsernameFromContext(), AuthenticationUtil.getAuthTypeFromContext());
+        List<String> tokens = DashboardSearchKeys.tokens(title);
+        if (tokens.isEmpty()) {
+            return findMyDashboardsByPage(type, pageable);
+        }
         Page<Dashboard> ownersList = null;
         if ((type != null) && (!type.isEmpty()) && (!UNDEFINED.equalsIgnoreCase(type))) {
-            ownersList = dashboardRepository.findByOwnersAndTypeContainingIgnoreCaseAndTitleContainingIgnoreCase(owner,type,title,pageable);
+            ownersList = dashboardLookupRepository.findByOwnerAndSearchTokensAndTypeIn(owner.getUsername(), authTypeName(owner), tokens, DashboardSearchKeys.matchingTypes(type), pageable);
         } else {
-            ownersList = dashboardRepository.findByOwnersAndTitleContainingIgnoreCase(owner,title,pageable);
+            ownersList = dashboardLookupRepository.findByOwnerAndSearchTokens(owner.getUsername(), authTypeName(owner), tokens, pageable);
         }
 
-        for (Dashboard dashboard: ownersList) {
-            String appName = dashboard.getConfigurationItemBusServName();
-            String compName = dashboard.getConfigurationItemBusAppName();
-            setAppAndComponentNameToDashboard(dashboard, appName, compName);
-        }
+        setAppAndComponentNamesToDashboards(ownersList);
         return ownersList;
     }
 
 
+    private static String authTypeName(Owner owner) {
+        return owner.getAuthType() == null ? null : owner.getAuthType().name();
+    }
+
     @Override
     public Dashboard updateScoreSettings(ObjectId dashboardId, boolean scoreEnabled, ScoreDisplayType scoreDisplay) {
         Dashboard dashboard = get(dashboardId);
@@ -995,6 +1116,7 @@ public class DashboardServiceImpl implements DashboardService {
 
         dashboard.setScoreEnabled(scoreEnabled);
         dashboard.setScoreDisplay(scoreDisplay);
+        dashboard.setUpdatedAt(System.currentTimeMillis());
         Dashboard savedDashboard = dashboardRepository.save(dashboard);
         this.scoreDashboardService.editScoreForDashboard(savedDashboard);
         return savedDashboard;
@@ -16,14 +16,13 @@ import com.capitalone.dashboard.repository.BuildRepository;
 import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
+import com.capitalone.dashboard.repository.EnvironmentComponentLookupRepository;
 import com.capitalone.dashboard.repository.EnvironmentComponentRepository;
-import com.capitalone.dashboard.repository.EnvironmentStatusRepository;
+import com.capitalone.dashboard.repository.EnvironmentStatusLookupRepository;
 import com.capitalone.dashboard.request.BuildDataCreateRequest;
 import com.capitalone.dashboard.request.CollectorRequest;
 import com.capitalone.dashboard.request.DeployDataCreateRequest;
 import com.capitalone.dashboard.response.BuildDataCreateResponse;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.bson.types.ObjectId;
@@ -64,7 +63,8 @@ public class DeployServiceImpl implements DeployService {
 
     private final ComponentRepository componentRepository;
     private final EnvironmentComponentRepository environmentComponentRepository;
-    private final EnvironmentStatusRepository environmentStatusRepository;
+    private final EnvironmentComponentLookupRepository environmentComponentLookupRepository;
+    private final EnvironmentStatusLookupRepository environmentStatusLookupRepository;
     private final CollectorRepository collectorRepository;
     private final CollectorItemRepository collectorItemRepository;
     private final BuildRepository buildRepository;
@@ -75,13 +75,15 @@ public class DeployServiceImpl implements DeployService {
     @Autowired
     public DeployServiceImpl(ComponentRepository componentRepository,
                              EnvironmentComponentRepository environmentComponentRepository,
-                             EnvironmentStatusRepository environmentStatusRepository,
+                             EnvironmentComponentLookupRepository environmentComponentLookupRepository,
+                             EnvironmentStatusLookupRepository environmentStatusLookupRepository,
                              CollectorRepository collectorRepository, CollectorItemRepository collectorItemRepository,
                              CollectorService collectorService, BuildRepository buildRepository,
                              BuildService buildService) {
         this.componentRepository = componentRepository;
         this.environmentComponentRepository = environmentComponentRepository;
-        this.environmentStatusRepository = environmentStatusRepository;
+        this.environmentComponentLookupRepository = environmentComponentLookupRepository;
+        this.environmentStatusLookupRepository = environmentStatusLookupRepository;
         this.collectorRepository = collectorRepository;
         this.collectorItemRepository = collectorItemRepository;
         this.collectorService = collectorService;
@@ -107,26 +109,34 @@ public class DeployServiceImpl implements DeployService {
             return new DataResponse<>(environments, 0);
         }
 
+        // components and statuses of all items in one query each, grouped in memory
+        List<ObjectId> collectorItemIds = deployCollectorItems.stream().map(CollectorItem::getId).collect(Collectors.toList());
+        Map<ObjectId, List<EnvironmentComponent>> componentsByItem = environmentComponentLookupRepository
+                .findByCollectorItemIdIn(collectorItemIds).stream()
+                .collect(Collectors.groupingBy(EnvironmentComponent::getCollectorItemId, LinkedHashMap::new, Collectors.toList()));
+        Map<List<Object>, List<Server>> serversByKey = new HashMap<>();
+        for (EnvironmentStatus status : environmentStatusLookupRepository.findByCollectorItemIdIn(collectorItemIds)) {
+            serversByKey.computeIfAbsent(serverKey(status.getCollectorItemId(), status.getEnvironmentName(), status.getComponentName()), k -> new ArrayList<>())
+                    .add(new Server(status.getResourceName(), status.isOnline()));
+        }
+        Map<ObjectId, Collector> collectors = new HashMap<>();
+
         // We will assume that if the component has multiple deployment collectors
         // then each collector will have a different url which means each Environment will be different
         for (CollectorItem item : deployCollectorItems) {
             ObjectId collectorItemId = item.getId();
 
-            List<EnvironmentComponent> components = environmentComponentRepository
-                    .findByCollectorItemId(collectorItemId);
-            List<EnvironmentStatus> statuses = environmentStatusRepository
-                    .findByCollectorItemId(collectorItemId);
+            List<EnvironmentComponent> components = componentsByItem.getOrDefault(collectorItemId, new ArrayList<>());
 
             groupByEnvironment(
                     components).forEach((env, value) -> {
                 environments.add(env);
                 value.forEach(envComponent -> env.getUnits().add(
-                        new DeployableUnit(envComponent, servers(envComponent,
-                                statuses))));
+                        new DeployableUnit(envComponent, servers(collectorItemId, envComponent,
+                                serversByKey))));
             });
 
-            Collector collector = collectorRepository
-                    .findOne(item.getCollectorId());
+            Collector collector = collectors.computeIfAbsent(item.getCollectorId(), collectorRepository::findOne);
 
             if (collector.getLastExecuted() > lastExecuted) {
                 lastExecuted = collector.getLastExecuted();
@@ -159,32 +169,14 @@ public class DeployServiceImpl implements DeployService {
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
-    private Iterable<Server> servers(final EnvironmentComponent component,
-                                     List<EnvironmentStatus> statuses) {
-        return Iterables.transform(
-                Iterables.filter(statuses, new ComponentMatches(component)),
-                new ToServer());
+    private Iterable<Server> servers(ObjectId collectorItemId, EnvironmentComponent component,
+                                     Map<List<Object>, List<Server>> serversByKey) {
+        return serversByKey.getOrDefault(serverKey(collectorItemId, component.getEnvironmentName(), component.getComponentName()),
+                new ArrayList<>());
     }
 
-    private class ComponentMatches implements Predicate<EnvironmentStatus> {
-        private EnvironmentComponent component;
-
-        public ComponentMatches(EnvironmentComponent component) {
-            this.component = component;
-        }
-
-        @Override
-        public boolean apply(EnvironmentStatus environmentStatus) {
-            return Objects.equals(environmentStatus.getEnvironmentName(), component.getEnvironmentName())
-                    && Objects.equals(environmentStatus.getComponentName(), component.getComponentName());
-        }
-    }
-
-    private class ToServer implements com.google.common.base.Function<EnvironmentStatus, Server> {
-        @Override
-        public Server apply(EnvironmentStatus status) {
-            return new Server(status.getResourceName(), status.isOnline());
-        }
+    private static List<Object> serverKey(ObjectId collectorItemId, String environmentName, String componentName) {
+        return Arrays.asList(collectorItemId, environmentName, componentName);
     }
 
 
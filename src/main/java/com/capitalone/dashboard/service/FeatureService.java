@@ -1,6 +1,7 @@
 package com.capitalone.dashboard.service;
 
 import com.capitalone.dashboard.model.Feature;
+import com.capitalone.dashboard.model.FeatureEstimates;
 import com.capitalone.dashboard.model.SprintEstimate;
 import com.capitalone.dashboard.model.DataResponse;
 
@@ -144,6 +145,26 @@ public interface FeatureService {
 	 */
 	DataResponse<SprintEstimate> getAggregatedSprintEstimates(ObjectId componentId,
 			String teamId, String projectId, Optional<String> agileType, Optional<String> estimateMetricType);
+
+	/**
+	 * Retrieves the aggregated sprint estimates and the epic estimates of all
+	 * features in the current sprint(s) for the current team in one response
+	 * 
+	 * @param componentId
+	 *            The ID of the related UI component that will reference
+	 *            collector item content from this collector
+	 * @param teamId
+	 *            A given scope-owner's source-system ID
+	 * @param agileType
+	 * 			  Agile type to be retrieved (e.g., kanban | scrum)
+	 * @param estimateMetricType
+	 * 			  The reporting metric (hours | storypoints)
+	 * 
+	 * @return A data response with the sprint estimate and the unique epics
+	 *         with their sub features' estimates
+	 */
+	DataResponse<FeatureEstimates> getFeatureEstimates(ObjectId componentId,
+			String teamId, String projectId, Optional<String> agileType, Optional<String> estimateMetricType);
 	
 	/**
 	 * Retrieves the current sprint's detail for a given team.
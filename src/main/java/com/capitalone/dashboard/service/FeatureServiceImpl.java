@@ -6,12 +6,13 @@ import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.Feature;
+import com.capitalone.dashboard.model.FeatureEstimates;
 import com.capitalone.dashboard.model.QScopeOwner;
 import com.capitalone.dashboard.model.SprintEstimate;
-import com.capitalone.dashboard.repository.CollectorRepository;
-import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.repository.FeatureRepository;
 import com.capitalone.dashboard.util.FeatureCollectorConstants;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.querydsl.core.BooleanBuilder;
 
 import org.apache.commons.logging.Log;
@@ -24,13 +25,15 @@ import org.springframework.util.StringUtils;
 
 import javax.xml.bind.DatatypeConverter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The feature service.
@@ -50,32 +53,40 @@ import java.util.TimeZone;
  * <li>the feature has a sprint set that does not have an end date</li>
  * <li>the feature has a sprint set that has an end date >= EOT (9999-12-31T59:59:59.999999)</li>
  * </ol>
+ * <p>
+ * Sprint and epic estimates are rolled up from one scan of a team's current sprint features and kept per
+ * collector, team, project and agile type. Features are only written by the feature collectors, so a rollup
+ * is rebuilt once its collector has run again, or after {@link #ROLLUP_TTL_SECONDS} for sprints that start or end.
  */
 @Service
 public class FeatureServiceImpl implements FeatureService {
 	private static final Log LOG = LogFactory.getLog(FeatureServiceImpl.class);
 
-	private final ComponentRepository componentRepository;
+	static final long ROLLUP_TTL_SECONDS = 300;
+	private static final int ROLLUP_CACHE_SIZE = 5000;
+
+	private final ComponentCollectorCache componentCollectorCache;
 	private final FeatureRepository featureRepository;
-	private final CollectorRepository collectorRepository;
+
+	// [collectorId, teamId, projectId, agileType] : estimate rollup
+	private final Cache<List<Object>, EstimateRollup> rollups = CacheBuilder.newBuilder()
+			.maximumSize(ROLLUP_CACHE_SIZE)
+			.expireAfterWrite(ROLLUP_TTL_SECONDS, TimeUnit.SECONDS)
+			.build();
 
 	/**
 	 * Default autowired constructor for repositories
 	 *
-	 * @param componentRepository
-	 *            Repository containing components used by the UI (populated by
-	 *            UI)
-	 * @param collectorRepository
-	 *            Repository containing all registered collectors
+	 * @param componentCollectorCache
+	 *            Cached lookups of the components used by the UI (populated by
+	 *            UI) and of the registered collectors
 	 * @param featureRepository
 	 *            Repository containing all features
 	 */
 	@Autowired
-	public FeatureServiceImpl(ComponentRepository componentRepository,
-			CollectorRepository collectorRepository, FeatureRepository featureRepository) {
-		this.componentRepository = componentRepository;
+	public FeatureServiceImpl(ComponentCollectorCache componentCollectorCache, FeatureRepository featureRepository) {
+		this.componentCollectorCache = componentCollectorCache;
 		this.featureRepository = featureRepository;
-		this.collectorRepository = collectorRepository;
 	}
 
 	/**
@@ -90,7 +101,7 @@ public class FeatureServiceImpl implements FeatureService {
 	 */
 	@Override
 	public DataResponse<List<Feature>> getStory(ObjectId componentId, String storyNumber) {
-		Component component = componentRepository.findOne(componentId);
+		Component component = componentCollectorCache.getComponent(componentId);
 		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
 				|| CollectionUtils
 						.isEmpty(component.getCollectorItems().get(CollectorType.AgileTool))
@@ -106,7 +117,7 @@ public class FeatureServiceImpl implements FeatureService {
 
 		// Get one story based on story number, based on component
 		List<Feature> story = featureRepository.getStoryByNumber(storyNumber);
-		Collector collector = collectorRepository.findOne(item.getCollectorId());
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
 		return new DataResponse<>(story, collector.getLastExecuted());
 	}
 
@@ -124,7 +135,7 @@ public class FeatureServiceImpl implements FeatureService {
 	@Override
 	public DataResponse<List<Feature>> getRelevantStories(ObjectId componentId, String teamId, String projectId,
 			Optional<String> agileType) {
-		Component component = componentRepository.findOne(componentId);
+		Component component = componentCollectorCache.getComponent(componentId);
 		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
 				|| CollectionUtils
 						.isEmpty(component.getCollectorItems().get(CollectorType.AgileTool))
@@ -141,7 +152,7 @@ public class FeatureServiceImpl implements FeatureService {
 		// Get teamId first from available collector item, based on component
 		List<Feature> relevantStories = getFeaturesForCurrentSprints(teamId, projectId, item.getCollectorId(), agileType.isPresent()? agileType.get() : null, false);
 
-		Collector collector = collectorRepository.findOne(item.getCollectorId());
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
 
 		return new DataResponse<>(relevantStories, collector.getLastExecuted());
 	}
@@ -162,7 +173,7 @@ public class FeatureServiceImpl implements FeatureService {
 	@Override
 	public DataResponse<List<Feature>> getFeatureEpicEstimates(ObjectId componentId, String teamId, String projectId,
 			Optional<String> agileType, Optional<String> estimateMetricType) {
-		Component component = componentRepository.findOne(componentId);
+		Component component = componentCollectorCache.getComponent(componentId);
 
 		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
 				|| CollectionUtils
@@ -172,52 +183,16 @@ public class FeatureServiceImpl implements FeatureService {
 		}
 
 		CollectorItem item = component.getCollectorItems().get(CollectorType.AgileTool).get(0);
-		
-		List<Feature> relevantFeatureEstimates = getFeaturesForCurrentSprints(teamId, projectId, item.getCollectorId(), agileType.isPresent()? agileType.get() : null, true);
-		
-		// epicID : epic information (in the form of a Feature object)
-		Map<String, Feature> epicIDToEpicFeatureMap = new HashMap<>();
-		
-		for (Feature tempRs : relevantFeatureEstimates) {
-			String epicID = tempRs.getsEpicID();
-			
-			if (StringUtils.isEmpty(epicID))
-				continue;
-			
-			Feature feature = epicIDToEpicFeatureMap.get(epicID);
-			if (feature == null) {
-				feature = new Feature();
-				feature.setId(null);
-				feature.setsEpicID(epicID);
-				feature.setsEpicNumber(tempRs.getsEpicNumber());
-				feature.setsEpicUrl(tempRs.getsEpicUrl());
-				feature.setsEpicName(tempRs.getsEpicName());
-				feature.setsEpicAssetState(tempRs.getsEpicAssetState());
-				feature.setsEstimate("0");
-				epicIDToEpicFeatureMap.put(epicID, feature);
-			}
-			
-			// if estimateMetricType is hours accumulate time estimate in minutes for better precision ... divide by 60 later
-			int estimate = getEstimate(tempRs, estimateMetricType);
-			
-			feature.setsEstimate(String.valueOf(Integer.valueOf(feature.getsEstimate()) + estimate));
-		}
-		
-		if (isEstimateTime(estimateMetricType)) {
-			// time estimate is in minutes but we want to return in hours
-			for (Feature f : epicIDToEpicFeatureMap.values()) {
-				f.setsEstimate(String.valueOf(Integer.valueOf(f.getsEstimate()) / 60));
-			}
-		}
-		
-		Collector collector = collectorRepository.findOne(item.getCollectorId());
-		return new DataResponse<>(new ArrayList<>(epicIDToEpicFeatureMap.values()), collector.getLastExecuted());
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
+
+		EstimateRollup rollup = getEstimateRollup(teamId, projectId, collector, agileType);
+		return new DataResponse<>(rollup.getEpicEstimates(EstimateMetric.of(estimateMetricType)), collector.getLastExecuted());
 	}
 	
 	@Override
 	public DataResponse<SprintEstimate> getAggregatedSprintEstimates(ObjectId componentId,
 			String teamId, String projectId, Optional<String> agileType, Optional<String> estimateMetricType) {
-		Component component = componentRepository.findOne(componentId);
+		Component component = componentCollectorCache.getComponent(componentId);
 		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
 				|| CollectionUtils
 						.isEmpty(component.getCollectorItems().get(CollectorType.AgileTool))
@@ -226,12 +201,32 @@ public class FeatureServiceImpl implements FeatureService {
 		}
 
 		CollectorItem item = component.getCollectorItems().get(CollectorType.AgileTool).get(0);
-		Collector collector = collectorRepository.findOne(item.getCollectorId());
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
 		
-		SprintEstimate estimate = getSprintEstimates(teamId, projectId, item.getCollectorId(), agileType, estimateMetricType);
+		SprintEstimate estimate = getSprintEstimates(teamId, projectId, collector, agileType, estimateMetricType);
 		return new DataResponse<>(estimate, collector.getLastExecuted());
 	}
 
+	@Override
+	public DataResponse<FeatureEstimates> getFeatureEstimates(ObjectId componentId, String teamId, String projectId,
+			Optional<String> agileType, Optional<String> estimateMetricType) {
+		Component component = componentCollectorCache.getComponent(componentId);
+		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
+				|| CollectionUtils
+						.isEmpty(component.getCollectorItems().get(CollectorType.AgileTool))
+				|| (component.getCollectorItems().get(CollectorType.AgileTool).get(0) == null)) {
+			return new DataResponse<>(new FeatureEstimates(new SprintEstimate(), new ArrayList<>()), 0);
+		}
+
+		CollectorItem item = component.getCollectorItems().get(CollectorType.AgileTool).get(0);
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
+
+		EstimateRollup rollup = getEstimateRollup(teamId, projectId, collector, agileType);
+		EstimateMetric metric = EstimateMetric.of(estimateMetricType);
+		FeatureEstimates estimates = new FeatureEstimates(rollup.getSprintEstimate(metric), rollup.getEpicEstimates(metric));
+		return new DataResponse<>(estimates, collector.getLastExecuted());
+	}
+
 	/**
 	 * Retrieves estimate total of all features in the current sprint and for
 	 * the current team.
@@ -248,7 +243,7 @@ public class FeatureServiceImpl implements FeatureService {
 	@Deprecated 
 	public DataResponse<List<Feature>> getTotalEstimate(ObjectId componentId, String teamId,
 			Optional<String> agileType, Optional<String> estimateMetricType) {
-		Component component = componentRepository.findOne(componentId);
+		Component component = componentCollectorCache.getComponent(componentId);
 
 		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
 				|| CollectionUtils
@@ -258,13 +253,13 @@ public class FeatureServiceImpl implements FeatureService {
 		}
 
 		CollectorItem item = component.getCollectorItems().get(CollectorType.AgileTool).get(0);
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
 		
-		SprintEstimate estimate = getSprintEstimates(teamId, FeatureCollectorConstants.PROJECT_ID_ANY, item.getCollectorId(), agileType, estimateMetricType);
+		SprintEstimate estimate = getSprintEstimates(teamId, FeatureCollectorConstants.PROJECT_ID_ANY, collector, agileType, estimateMetricType);
 		
 		List<Feature> list = Collections.singletonList(new Feature());
 		list.get(0).setsEstimate(Integer.toString(estimate.getTotalEstimate()));
 		
-		Collector collector = collectorRepository.findOne(item.getCollectorId());
 		return new DataResponse<>(list, collector.getLastExecuted());
 	}
 
@@ -284,7 +279,7 @@ public class FeatureServiceImpl implements FeatureService {
 	@Deprecated
 	public DataResponse<List<Feature>> getInProgressEstimate(ObjectId componentId, String teamId,
 			Optional<String> agileType, Optional<String> estimateMetricType) {
-		Component component = componentRepository.findOne(componentId);
+		Component component = componentCollectorCache.getComponent(componentId);
 
 		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
 				|| CollectionUtils
@@ -294,13 +289,13 @@ public class FeatureServiceImpl implements FeatureService {
 		}
 
 		CollectorItem item = component.getCollectorItems().get(CollectorType.AgileTool).get(0);
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
 		
-		SprintEstimate estimate = getSprintEstimates(teamId, FeatureCollectorConstants.PROJECT_ID_ANY, item.getCollectorId(), agileType, estimateMetricType);
+		SprintEstimate estimate = getSprintEstimates(teamId, FeatureCollectorConstants.PROJECT_ID_ANY, collector, agileType, estimateMetricType);
 		
 		List<Feature> list = Collections.singletonList(new Feature());
 		list.get(0).setsEstimate(Integer.toString(estimate.getInProgressEstimate()));
 		
-		Collector collector = collectorRepository.findOne(item.getCollectorId());
 		return new DataResponse<>(list, collector.getLastExecuted());
 	}
 
@@ -320,7 +315,7 @@ public class FeatureServiceImpl implements FeatureService {
 	@Deprecated
 	public DataResponse<List<Feature>> getDoneEstimate(ObjectId componentId, String teamId,
 			Optional<String> agileType, Optional<String> estimateMetricType) {
-		Component component = componentRepository.findOne(componentId);
+		Component component = componentCollectorCache.getComponent(componentId);
 
 		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
 				|| CollectionUtils
@@ -330,13 +325,13 @@ public class FeatureServiceImpl implements FeatureService {
 		}
 
 		CollectorItem item = component.getCollectorItems().get(CollectorType.AgileTool).get(0);
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
 		
-		SprintEstimate estimate = getSprintEstimates(teamId, FeatureCollectorConstants.PROJECT_ID_ANY, item.getCollectorId(), agileType, estimateMetricType);
+		SprintEstimate estimate = getSprintEstimates(teamId, FeatureCollectorConstants.PROJECT_ID_ANY, collector, agileType, estimateMetricType);
 		
 		List<Feature> list = Collections.singletonList(new Feature());
 		list.get(0).setsEstimate(Integer.toString(estimate.getCompleteEstimate()));
 		
-		Collector collector = collectorRepository.findOne(item.getCollectorId());
 		return new DataResponse<>(list, collector.getLastExecuted());
 	}
 
@@ -354,7 +349,7 @@ public class FeatureServiceImpl implements FeatureService {
 	@Override
 	public DataResponse<List<Feature>> getCurrentSprintDetail(ObjectId componentId, String teamId, String projectId,
 			Optional<String> agileType) {
-		Component component = componentRepository.findOne(componentId);
+		Component component = componentCollectorCache.getComponent(componentId);
 		if ((component == null) || CollectionUtils.isEmpty(component.getCollectorItems())
 				|| CollectionUtils
 						.isEmpty(component.getCollectorItems().get(CollectorType.AgileTool))
@@ -367,58 +362,32 @@ public class FeatureServiceImpl implements FeatureService {
 		// Get teamId first from available collector item, based on component
 		List<Feature> sprintResponse = getFeaturesForCurrentSprints(teamId, projectId, item.getCollectorId(), agileType.isPresent()? agileType.get() : null, true);
 
-		Collector collector = collectorRepository.findOne(item.getCollectorId());
+		Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
 		return new DataResponse<>(sprintResponse, collector.getLastExecuted());
 	}
 	
-	@SuppressWarnings("PMD.NPathComplexity")
-	private SprintEstimate getSprintEstimates(String teamId, String projectId, ObjectId collectorId, Optional<String> agileType, Optional<String> estimateMetricType) {
-		List<Feature> storyEstimates = getFeaturesForCurrentSprints(teamId, projectId, collectorId, agileType.isPresent()? agileType.get() : null, true);
+	private SprintEstimate getSprintEstimates(String teamId, String projectId, Collector collector, Optional<String> agileType, Optional<String> estimateMetricType) {
+		return getEstimateRollup(teamId, projectId, collector, agileType).getSprintEstimate(EstimateMetric.of(estimateMetricType));
+	}
 
-		int totalEstimate = 0;
-		int wipEstimate = 0;
-		int doneEstimate = 0;
-		
-		for (Feature tempRs : storyEstimates) {
-			String tempStatus = tempRs.getsStatus() != null? tempRs.getsStatus().toLowerCase() : null;
-
-			// if estimateMetricType is hours accumulate time estimate in minutes for better precision ... divide by 60 later
-			int estimate = getEstimate(tempRs, estimateMetricType);
-			
-			totalEstimate += estimate;
-			if (tempStatus != null) {
-				switch (tempStatus) {
-					case "in progress":
-					case "waiting":
-					case "impeded":
-						wipEstimate += estimate;
-					break;
-					case "done":
-					case "accepted":
-						doneEstimate += estimate;
-					break;
-				}
+	/**
+	 * Returns the estimate rollup of the current sprints, scanning the features again only when the collector
+	 * has run since the rollup was built or the rollup expired.
+	 */
+	private EstimateRollup getEstimateRollup(String teamId, String projectId, Collector collector, Optional<String> agileType) {
+		String sprintType = FeatureCollectorConstants.SPRINT_KANBAN.equalsIgnoreCase(agileType.orElse(null))
+				? FeatureCollectorConstants.SPRINT_KANBAN : FeatureCollectorConstants.SPRINT_SCRUM;
+		List<Object> key = Arrays.asList(collector.getId(), teamId, projectId, sprintType);
+
+		EstimateRollup rollup = rollups.getIfPresent(key);
+		if (rollup == null || rollup.lastExecuted != collector.getLastExecuted()) {
+			rollup = new EstimateRollup(collector.getLastExecuted());
+			for (Feature feature : getFeaturesForCurrentSprints(teamId, projectId, collector.getId(), sprintType, true)) {
+				rollup.add(feature);
 			}
+			rollups.put(key, rollup);
 		}
-		
-
-		int openEstimate = totalEstimate - wipEstimate - doneEstimate;
-		
-		if (isEstimateTime(estimateMetricType)) {
-			// time estimate is in minutes but we want to return in hours
-			totalEstimate /= 60;
-			openEstimate /= 60;
-			wipEstimate /= 60;
-			doneEstimate /= 60;
-		}
-		
-		SprintEstimate response = new SprintEstimate();
-		response.setOpenEstimate(openEstimate);
-		response.setInProgressEstimate(wipEstimate);
-		response.setCompleteEstimate(doneEstimate);
-		response.setTotalEstimate(totalEstimate);
-
-		return response;
+		return rollup;
 	}
 	
 	/**
@@ -473,37 +442,157 @@ public class FeatureServiceImpl implements FeatureService {
 		return DatatypeConverter.printDateTime(Calendar.getInstance(TimeZone.getTimeZone("UTC")));
 	}
 	
-	private boolean isEstimateTime(Optional<String> estimateMetricType) {
-		return estimateMetricType.isPresent() && FeatureCollectorConstants.STORY_HOURS_ESTIMATE.equalsIgnoreCase(estimateMetricType.get());
+	/**
+	 * The reporting metric of an estimate.
+	 */
+	private enum EstimateMetric {
+		STORY_POINTS, HOURS, COUNT;
+
+		static EstimateMetric of(Optional<String> estimateMetricType) {
+			if (!estimateMetricType.isPresent()) {
+				// default to story points since that should be the most common use case
+				return STORY_POINTS;
+			}
+			if (FeatureCollectorConstants.STORY_HOURS_ESTIMATE.equalsIgnoreCase(estimateMetricType.get())) {
+				return HOURS;
+			}
+			if (FeatureCollectorConstants.STORY_COUNT_ESTIMATE.equalsIgnoreCase(estimateMetricType.get())) {
+				return COUNT;
+			}
+			return STORY_POINTS;
+		}
 	}
-	
-	private boolean isEstimateCount(Optional<String> estimateMetricType) {
-        return estimateMetricType.isPresent() && FeatureCollectorConstants.STORY_COUNT_ESTIMATE.equalsIgnoreCase(estimateMetricType.get());
-    }
-	
-	private int getEstimate(Feature feature, Optional<String> estimateMetricType) {
-		int rt = 0;
-		
-		if (isEstimateTime(estimateMetricType)) {
-			if (feature.getsEstimateTime() != null) {
-				rt = feature.getsEstimateTime().intValue();
+
+	/**
+	 * Running estimate totals in every metric. Time is kept in minutes for better precision and reported in hours.
+	 */
+	private static class EstimateTotals {
+		private long storyPoints;
+		private long minutes;
+		private long count;
+
+		void add(long featureStoryPoints, long featureMinutes) {
+			storyPoints += featureStoryPoints;
+			minutes += featureMinutes;
+			count++;
+		}
+
+		long get(EstimateMetric metric) {
+			switch (metric) {
+				case HOURS:
+					return minutes;
+				case COUNT:
+					return count;
+				default:
+					return storyPoints;
 			}
-		} else if (isEstimateCount(estimateMetricType)) {
-		    rt = 1;
-		} else {
-			// default to story points since that should be the most common use case
-			if (!StringUtils.isEmpty(feature.getsEstimate())) {
-				try {
-					rt = Integer.parseInt(feature.getsEstimate());
+		}
+	}
+
+	private static final class EpicTotals extends EstimateTotals {
+		private final Feature epic;
+
+		EpicTotals(Feature feature) {
+			this.epic = feature;
+		}
+
+		Feature toFeature(EstimateMetric metric) {
+			Feature feature = new Feature();
+			feature.setId(null);
+			feature.setsEpicID(epic.getsEpicID());
+			feature.setsEpicNumber(epic.getsEpicNumber());
+			feature.setsEpicUrl(epic.getsEpicUrl());
+			feature.setsEpicName(epic.getsEpicName());
+			feature.setsEpicAssetState(epic.getsEpicAssetState());
+			feature.setsEstimate(String.valueOf(toReported(get(metric), metric)));
+			return feature;
+		}
+	}
+
+	/**
+	 * Sprint totals by status and totals per epic of one set of current sprint features, in every metric,
+	 * so all estimate requests for a team are answered from the same scan.
+	 */
+	private static final class EstimateRollup {
+		private final long lastExecuted;
+		private final EstimateTotals total = new EstimateTotals();
+		private final EstimateTotals wip = new EstimateTotals();
+		private final EstimateTotals done = new EstimateTotals();
+		// epicID : epic totals
+		private final Map<String, EpicTotals> epics = new LinkedHashMap<>();
+
+		EstimateRollup(long lastExecuted) {
+			this.lastExecuted = lastExecuted;
+		}
+
+		void add(Feature feature) {
+			long storyPoints = parseStoryPoints(feature);
+			long minutes = feature.getsEstimateTime() != null ? feature.getsEstimateTime().longValue() : 0;
+
+			total.add(storyPoints, minutes);
+			String status = feature.getsStatus() != null ? feature.getsStatus().toLowerCase() : null;
+			if (status != null) {
+				switch (status) {
+					case "in progress":
+					case "waiting":
+					case "impeded":
+						wip.add(storyPoints, minutes);
+					break;
+					case "done":
+					case "accepted":
+						done.add(storyPoints, minutes);
+					break;
 				}
-				catch(NumberFormatException nfe) {
-					rt = 0;
-					LOG.error("Could not parse estimate for '"+ feature.getsName()+ "', number '"+ feature.getsNumber()
-							+ "', have estimate: "+ feature.getsEstimate(), nfe);
+			}
+
+			String epicID = feature.getsEpicID();
+			if (!StringUtils.isEmpty(epicID)) {
+				EpicTotals epic = epics.get(epicID);
+				if (epic == null) {
+					epic = new EpicTotals(feature);
+					epics.put(epicID, epic);
 				}
+				epic.add(storyPoints, minutes);
 			}
 		}
-		
-		return rt;
+
+		SprintEstimate getSprintEstimate(EstimateMetric metric) {
+			long totalEstimate = total.get(metric);
+			long wipEstimate = wip.get(metric);
+			long doneEstimate = done.get(metric);
+
+			SprintEstimate response = new SprintEstimate();
+			response.setOpenEstimate(toReported(totalEstimate - wipEstimate - doneEstimate, metric));
+			response.setInProgressEstimate(toReported(wipEstimate, metric));
+			response.setCompleteEstimate(toReported(doneEstimate, metric));
+			response.setTotalEstimate(toReported(totalEstimate, metric));
+			return response;
+		}
+
+		List<Feature> getEpicEstimates(EstimateMetric metric) {
+			List<Feature> rt = new ArrayList<>(epics.size());
+			for (EpicTotals epic : epics.values()) {
+				rt.add(epic.toFeature(metric));
+			}
+			return rt;
+		}
+	}
+
+	private static int toReported(long estimate, EstimateMetric metric) {
+		// time estimate is in minutes but we want to return in hours
+		return (int) (metric == EstimateMetric.HOURS ? estimate / 60 : estimate);
+	}
+
+	private static long parseStoryPoints(Feature feature) {
+		if (StringUtils.isEmpty(feature.getsEstimate())) {
+			return 0;
+		}
+		try {
+			return Integer.parseInt(feature.getsEstimate());
+		} catch (NumberFormatException nfe) {
+			LOG.error("Could not parse estimate for '"+ feature.getsName()+ "', number '"+ feature.getsNumber()
+					+ "', have estimate: "+ feature.getsEstimate(), nfe);
+			return 0;
+		}
 	}
-}
\ No newline at end of file
+}
@@ -8,8 +8,6 @@ import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.GitRequest;
 import com.capitalone.dashboard.model.QGitRequest;
-import com.capitalone.dashboard.repository.CollectorRepository;
-import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.repository.GitRequestRepository;
 import com.capitalone.dashboard.request.GitRequestRequest;
 import com.querydsl.core.BooleanBuilder;
@@ -31,18 +29,15 @@ import java.util.List;
 public class GitRequestServiceImpl implements GitRequestService {
 
     private final GitRequestRepository gitRequestRepository;
-    private final ComponentRepository componentRepository;
-    private final CollectorRepository collectorRepository;
+    private final ComponentCollectorCache componentCollectorCache;
     private final CollectorService collectorService;
 
     @Autowired
     public GitRequestServiceImpl(GitRequestRepository gitRequestRepository,
-                           ComponentRepository componentRepository,
-                           CollectorRepository collectorRepository,
+                           ComponentCollectorCache componentCollectorCache,
                                  CollectorService collectorService) {
         this.gitRequestRepository = gitRequestRepository;
-        this.componentRepository = componentRepository;
-        this.collectorRepository = collectorRepository;
+        this.componentCollectorCache = componentCollectorCache;
         this.collectorService = collectorService;
     }
 
@@ -53,7 +48,7 @@ public class GitRequestServiceImpl implements GitRequestService {
         BooleanBuilder builder = new BooleanBuilder();
 
         CollectorItem item = null;
-        Component component = componentRepository.findOne(request.getComponentId());
+        Component component = componentCollectorCache.getComponent(request.getComponentId());
         if ( (component == null)
                 || ((item = component.getLastUpdatedCollectorItemForType(CollectorType.SCM)) == null) ) {
             Iterable<GitRequest> results = new ArrayList<>();
@@ -75,7 +70,7 @@ public class GitRequestServiceImpl implements GitRequestService {
                 (state.toLowerCase().equals("closed")) || (state.toLowerCase().equals("merged")))) {
             builder.and(gitRequest.state.eq(state));
         }
-        Collector collector = collectorRepository.findOne(item.getCollectorId());
+        Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
         if ((collector == null) || (collector.getId() == null)) {
             Iterable<GitRequest> results = new ArrayList<>();
             return new DataResponse<>(results, new Date().getTime());
@@ -0,0 +1,110 @@
+package com.capitalone.dashboard.service;
+
+import org.apache.log4j.Logger;
+
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+import java.util.Hashtable;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps bound LDAP contexts for reuse, so a lookup does not have to connect and bind every time.
+ * A borrowed context is used by one thread only and must be handed back with {@link #release(DirContext)},
+ * or with {@link #invalidate(DirContext)} when it failed. Contexts above the pool size are closed on release.
+ * At most maxTotal contexts are borrowed at a time; a borrow waits up to maxWaitMillis for one to be handed back.
+ */
+public class LdapContextPool {
+
+    private static final Logger LOGGER = Logger.getLogger(LdapContextPool.class);
+
+    private final Hashtable<?, ?> environment;
+    private final BlockingDeque<DirContext> idle;
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+
+    public LdapContextPool(Hashtable<?, ?> environment, int maxIdle, int maxTotal, long maxWaitMillis) {
+        this.environment = environment;
+        this.idle = new LinkedBlockingDeque<>(Math.max(1, maxIdle));
+        // the idle contexts count towards the total, so the total is never below the pool size
+        this.permits = new Semaphore(Math.max(Math.max(1, maxIdle), maxTotal), true);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+    }
+
+    /**
+     * @return an idle context, or a newly bound one when none is idle
+     * @throws NamingException when no context is handed back within the wait time, or binding fails
+     */
+    public DirContext borrow() throws NamingException {
+        acquire();
+        DirContext context = idle.pollFirst();
+        return context != null ? context : bind();
+    }
+
+    /**
+     * @return a newly bound context, bypassing the idle ones
+     * @throws NamingException when no context is handed back within the wait time, or binding fails
+     */
+    public DirContext create() throws NamingException {
+        acquire();
+        return bind();
+    }
+
+    public void release(DirContext context) {
+        if (!idle.offerFirst(context)) {
+            close(context);
+        }
+        permits.release();
+    }
+
+    public void invalidate(DirContext context) {
+        close(context);
+        permits.release();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getAvailableCount() {
+        return permits.availablePermits();
+    }
+
+    public void close() {
+        DirContext context;
+        while ((context = idle.pollFirst()) != null) {
+            close(context);
+        }
+    }
+
+    private void acquire() throws NamingException {
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new NamingException("Timed out after " + maxWaitMillis + "ms waiting for an ldap context");
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new NamingException("Interrupted waiting for an ldap context");
+        }
+    }
+
+    private DirContext bind() throws NamingException {
+        try {
+            return new InitialDirContext(environment);
+        } catch (NamingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private static void close(DirContext context) {
+        try {
+            context.close();
+        } catch (NamingException ne) {
+            LOGGER.warn("Failed to close ldap context", ne);
+        }
+    }
+}
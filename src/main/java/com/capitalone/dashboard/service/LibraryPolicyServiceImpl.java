@@ -7,8 +7,6 @@ import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.LibraryPolicyResult;
 import com.capitalone.dashboard.model.QLibraryPolicyResult;
-import com.capitalone.dashboard.repository.CollectorRepository;
-import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.repository.LibraryPolicyResultsRepository;
 import com.capitalone.dashboard.request.LibraryPolicyRequest;
 import com.querydsl.core.BooleanBuilder;
@@ -27,16 +25,13 @@ import java.util.List;
 public class LibraryPolicyServiceImpl implements LibraryPolicyService {
 
     private final LibraryPolicyResultsRepository libraryPolicyResultsRepository;
-    private final ComponentRepository componentRepository;
-    private final CollectorRepository collectorRepository;
+    private final ComponentCollectorCache componentCollectorCache;
 
     @Autowired
     public LibraryPolicyServiceImpl(LibraryPolicyResultsRepository libraryPolicyResultsRepository,
-                                    ComponentRepository componentRepository,
-                                    CollectorRepository collectorRepository) {
+                                    ComponentCollectorCache componentCollectorCache) {
         this.libraryPolicyResultsRepository = libraryPolicyResultsRepository;
-        this.componentRepository = componentRepository;
-        this.collectorRepository = collectorRepository;
+        this.componentCollectorCache = componentCollectorCache;
     }
 
     @Override
@@ -82,7 +77,7 @@ public class LibraryPolicyServiceImpl implements LibraryPolicyService {
                     results.add(lpr);
                 }
             }
-            Collector collector = collectorRepository.findOne(item.getCollectorId());
+            Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
             long runTime = (collector == null) ? 0 : collector.getLastExecuted();
             lastExecuted = (runTime < lastExecuted) ? runTime : lastExecuted;
         }
@@ -91,7 +86,7 @@ public class LibraryPolicyServiceImpl implements LibraryPolicyService {
 
 
     protected List<CollectorItem> getCollectorItems(LibraryPolicyRequest request) {
-        Component component = componentRepository.findOne(request.getComponentId());
+        Component component = componentCollectorCache.getComponent(request.getComponentId());
         return (component != null) ? component.getCollectorItems(CollectorType.LibraryPolicy) : null;
     }
 
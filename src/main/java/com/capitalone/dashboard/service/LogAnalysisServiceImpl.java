@@ -7,8 +7,6 @@ import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.LogAnalysis;
 import com.capitalone.dashboard.model.QLogAnalysis;
-import com.capitalone.dashboard.repository.CollectorRepository;
-import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.repository.LogAnalysizerRepository;
 import com.capitalone.dashboard.request.LogAnalysisSearchRequest;
 import com.querydsl.core.BooleanBuilder;
@@ -20,16 +18,13 @@ import org.springframework.stereotype.Service;
 @Service
 public class LogAnalysisServiceImpl implements LogAnalysisService {
 
-  private final ComponentRepository componentRepository;
-  private final CollectorRepository collectorRepository;
+  private final ComponentCollectorCache componentCollectorCache;
   private LogAnalysizerRepository repository;
 
   @Autowired
   public LogAnalysisServiceImpl(LogAnalysizerRepository repository,
-                                ComponentRepository componentRepository,
-                                CollectorRepository collectorRepository) {
-    this.collectorRepository = collectorRepository;
-    this.componentRepository = componentRepository;
+                                ComponentCollectorCache componentCollectorCache) {
+    this.componentCollectorCache = componentCollectorCache;
     this.repository = repository;
   }
 
@@ -38,7 +33,7 @@ public class LogAnalysisServiceImpl implements LogAnalysisService {
     if (null == request) {
       return emptyResponse();
     }
-    Component component = componentRepository.findOne(request.getComponentId());
+    Component component = componentCollectorCache.getComponent(request.getComponentId());
     if (null == component) {
       return emptyResponse();
     }
@@ -58,7 +53,7 @@ public class LogAnalysisServiceImpl implements LogAnalysisService {
       result = this.repository.findAll(builder.getValue(), pageRequest);
     }
 
-    Collector collector = collectorRepository.findOne(item.getCollectorId());
+    Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
     return new DataResponse<>(result,collector.getLastExecuted());
   }
 
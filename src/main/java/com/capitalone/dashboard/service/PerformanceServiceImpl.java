@@ -9,8 +9,6 @@ import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.Performance;
 import com.capitalone.dashboard.model.PerformanceType;
 import com.capitalone.dashboard.model.QPerformance;
-import com.capitalone.dashboard.repository.CollectorRepository;
-import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.repository.PerformanceRepository;
 import com.capitalone.dashboard.request.CollectorRequest;
 import com.capitalone.dashboard.request.PerformanceCreateRequest;
@@ -35,18 +33,15 @@ import java.util.Map;
 public class PerformanceServiceImpl implements PerformanceService {
 
     private final PerformanceRepository performanceRepository;
-    private final ComponentRepository componentRepository;
-    private final CollectorRepository collectorRepository;
+    private final ComponentCollectorCache componentCollectorCache;
     private final CollectorService collectorService;
 
     @Autowired
     public PerformanceServiceImpl(PerformanceRepository performanceRepository,
-                                  ComponentRepository componentRepository,
-                                  CollectorRepository collectorRepository,
+                                  ComponentCollectorCache componentCollectorCache,
                                   CollectorService collectorService) {
         this.performanceRepository = performanceRepository;
-        this.componentRepository = componentRepository;
-        this.collectorRepository = collectorRepository;
+        this.componentCollectorCache = componentCollectorCache;
         this.collectorService = collectorService;
     }
 
@@ -93,13 +88,13 @@ public class PerformanceServiceImpl implements PerformanceService {
                     new PageRequest(0, request.getMax(), Sort.Direction.DESC, "timestamp");
             result = performanceRepository.findAll(builder.getValue(), pageRequest).getContent();
         }
-        Collector collector = collectorRepository.findOne(item.getCollectorId());
+        Collector collector = componentCollectorCache.getCollector(item.getCollectorId());
         long lastExecuted = (collector == null) ? 0 : collector.getLastExecuted();
         return new DataResponse<>(result, lastExecuted);
     }
 
     protected CollectorItem getCollectorItem(PerformanceSearchRequest request) {
-        Component component = componentRepository.findOne(request.getComponentId());
+        Component component = componentCollectorCache.getComponent(request.getComponentId());
         if (component == null) {
             return null;
         }
@@ -21,13 +21,15 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service("pipeline")
@@ -97,18 +99,14 @@ public class PipelineServiceImpl implements PipelineService {
         /**
          * iterate over the pipeline stages
          * **/
-        Map<PipelineStage, String> stageToEnvironmentNameMap = PipelineUtils.getStageToEnvironmentNameMap(dashboard);
-        List<PipelineStage> pipelineStageList = new ArrayList<>();
-        for (PipelineStage pl : stageToEnvironmentNameMap.keySet()) {
-            pipelineStageList.add(pl);
-        }
         Map<String,String> orderMap = pipelineResponse.getOrderMap();
+        StageIndex stageIndex = new StageIndex(dashboard, pipeline, orderMap);
         for (Map.Entry<String, String> entry : orderMap.entrySet())
             {
                 String stageName = entry.getValue();
-                for(PipelineStage stage : pipelineStageList){
+                for(PipelineStage stage : stageIndex.stages){
                     if(stageName.equalsIgnoreCase(stage.getName())) {
-                        List<PipelineResponseCommit> commitsForStage = findNotPropagatedCommits(dashboard, pipeline, stage, pipelineStageList,orderMap);
+                        List<PipelineResponseCommit> commitsForStage = findNotPropagatedCommits(stageIndex, stage);
                         pipelineResponse.setStageCommits(stage, commitsForStage);
                         /**
                          * remove prod commits outside of filter date range
@@ -123,7 +121,7 @@ public class PipelineServiceImpl implements PipelineService {
                       }
                 }
             }
-        pipelineResponse.setUnmappedStages(findUnmappedStages(dashboard,pipelineStageList)
+        pipelineResponse.setUnmappedStages(findUnmappedStages(stageIndex)
                 .stream().map(it -> it.getName()).collect(Collectors.toList()));
 
         return pipelineResponse;
@@ -131,17 +129,15 @@ public class PipelineServiceImpl implements PipelineService {
 
     /**
      * finds any stages for a dashboard that aren't mapped.
-     * @param dashboard
+     * @param stageIndex stages of the dashboard
      * @return a list of deploy PipelineStages that are not mapped
      */
-    private List<PipelineStage> findUnmappedStages(Dashboard dashboard,List<PipelineStage> pipelineStageList) throws HygieiaException {
+    private List<PipelineStage> findUnmappedStages(StageIndex stageIndex) {
         List<PipelineStage> unmappedStages = new ArrayList<>();
 
-        Map<PipelineStage, String> stageToEnvironmentNameMap = PipelineUtils.getStageToEnvironmentNameMap(dashboard);
-
-        for (PipelineStage systemStage : pipelineStageList) {
+        for (PipelineStage systemStage : stageIndex.stages) {
             if (PipelineStageType.DEPLOY.equals(systemStage.getType())) {
-                String mappedName = stageToEnvironmentNameMap.get(systemStage);
+                String mappedName = stageIndex.stageToEnvironmentName.get(systemStage);
                 if (mappedName == null || mappedName.isEmpty()) {
                     unmappedStages.add(systemStage);
                 }
@@ -151,46 +147,6 @@ public class PipelineServiceImpl implements PipelineService {
         return unmappedStages;
     }
 
-    /**
-     * Finds a map of commits for all stages after the current stage
-     * @param stage
-     * @param pipeline
-     * @param dashboard
-     * @return
-     */
-    private Map<String, PipelineCommit> getCommitsAfterStage(PipelineStage stage, Pipeline pipeline, Dashboard dashboard,List<PipelineStage> pipelineStageList,Map<String,String> orderMap) throws HygieiaException {
-        Map<String, PipelineCommit> unionOfAllSets = new HashMap<>();
-        // get key(ordinal) for stage name
-        List<String> list = getKeysByValue(orderMap,stage.getName());
-        int ordinal = Integer.parseInt(list.get(0));
-        for (int systemStageOrdinal = ordinal+1; systemStageOrdinal < pipelineStageList.size(); ++systemStageOrdinal) {
-            PipelineStage systemStage = null;
-            for (Map.Entry<String, String> entry : orderMap.entrySet()) {
-                String stageOrder = entry.getKey();
-                String stageName = entry.getValue();
-                if(Integer.parseInt(stageOrder) == systemStageOrdinal){
-                    for(PipelineStage currentStage : pipelineStageList){
-                        if(stageName.equalsIgnoreCase(currentStage.getName())){
-                             systemStage = currentStage;
-                        }
-                    }
-                }
-            }
-            Map<String, PipelineCommit> commits = findCommitsForStage(dashboard, pipeline, systemStage);
-            unionOfAllSets.putAll(commits);
-        }
-        return unionOfAllSets;
-    }
-
-
-    private  <T, E> List<T> getKeysByValue(Map<T, E> map, E value) {
-        return map.entrySet()
-                .stream()
-                .filter(entry -> Objects.equals(entry.getValue(), value))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-    }
-
     private boolean isBetween(Long commitTimestamp, Long lowerBound, Long upperBound){
         return (lowerBound <= commitTimestamp && commitTimestamp <= upperBound);
     }
@@ -198,65 +154,128 @@ public class PipelineServiceImpl implements PipelineService {
     /**
      * For a given commit, will traverse the pipeline and find the time it entered in each stage of the pipeline
      * @param commit
-     * @param dashboard
-     * @param pipeline
+     * @param stageIndex
      * @return
      */
-    private PipelineResponseCommit applyStageTimestamps(PipelineResponseCommit commit, Dashboard dashboard, Pipeline pipeline,List<PipelineStage> pipelineStageList) throws HygieiaException {
+    private PipelineResponseCommit applyStageTimestamps(PipelineResponseCommit commit, StageIndex stageIndex) {
         PipelineResponseCommit returnCommit = new PipelineResponseCommit(commit);
 
-        for(PipelineStage systemStage : pipelineStageList) {
-            //get commits for a given stage
-            Map<String, PipelineCommit> commitMap = findCommitsForStage(dashboard, pipeline, systemStage);
-
-            //if this commit doesnt have a processed timestamp for this stage, add one
-            PipelineCommit pipelineCommit = commitMap.get(commit.getScmRevisionNumber());
-            if(pipelineCommit != null && !returnCommit.getProcessedTimestamps().containsKey(systemStage.getName())){
-                Long timestamp = pipelineCommit.getTimestamp();
-                returnCommit.addNewPipelineProcessedTimestamp(systemStage, timestamp);
+        //if this commit doesnt have a processed timestamp for a stage it reached, add one
+        for (Map.Entry<PipelineStage, PipelineCommit> entry : stageIndex.stagesReached(commit.getScmRevisionNumber()).entrySet()) {
+            PipelineStage systemStage = entry.getKey();
+            if (!returnCommit.getProcessedTimestamps().containsKey(systemStage.getName())) {
+                returnCommit.addNewPipelineProcessedTimestamp(systemStage, entry.getValue().getTimestamp());
             }
         }
         return returnCommit;
     }
 
-    /**
-     * Gets all commits for a given pipeline stage, taking into account the mappings for environment stages
-     * @param dashboard
-     * @param pipeline
-     * @param stage
-     * @return
-     */
-    private Map<String, PipelineCommit> findCommitsForStage(Dashboard dashboard, Pipeline pipeline, PipelineStage stage) throws HygieiaException {
-        Map<String, PipelineCommit> commitMap = new HashMap<>();
-
-        String pseudoEnvironmentName =
-                PipelineStage.COMMIT.equals(stage) || PipelineStage.BUILD.equals(stage)? stage.getName() :
-                        PipelineUtils.getStageToEnvironmentNameMap(dashboard).get(stage);
-
-        if(pseudoEnvironmentName != null){
-            commitMap = pipeline.getCommitsByEnvironmentName(pseudoEnvironmentName);
-        }
-        return commitMap;
-    }
-
     /**
      * get the commits for a given stage by finding which commits havent passed to a later stage
-     * @param dashboard dashboard
-     * @param pipeline pipeline for that dashboard
+     * @param stageIndex stages and commits of the pipeline
      * @param stage current stage
      * @return a list of all commits as pipeline response commits that havent moved past the current stage
      */
-    public List<PipelineResponseCommit> findNotPropagatedCommits(Dashboard dashboard, Pipeline pipeline, PipelineStage stage,List<PipelineStage> pipelineStageList,Map<String,String> orderMap) throws HygieiaException {
-        Map<String, PipelineCommit> startingStage = findCommitsForStage(dashboard, pipeline, stage);
-        Map<String, PipelineCommit> commitsInLaterStages = getCommitsAfterStage(stage, pipeline, dashboard,pipelineStageList,orderMap);
+    private List<PipelineResponseCommit> findNotPropagatedCommits(StageIndex stageIndex, PipelineStage stage) {
+        int ordinal = stageIndex.ordinalOf(stage);
 
         List<PipelineResponseCommit> notPropagatedCommits = new ArrayList<>();
-        for(Map.Entry<String,PipelineCommit> entry : startingStage.entrySet()){
-            if(!commitsInLaterStages.containsKey(entry.getKey())) {
-                PipelineResponseCommit commit = applyStageTimestamps(new PipelineResponseCommit((PipelineCommit) entry.getValue()), dashboard, pipeline, pipelineStageList);
+        for(Map.Entry<String,PipelineCommit> entry : stageIndex.commitsForStage(stage).entrySet()){
+            if(!stageIndex.reachedStageAfter(entry.getKey(), ordinal)) {
+                PipelineResponseCommit commit = applyStageTimestamps(new PipelineResponseCommit(entry.getValue()), stageIndex);
                 notPropagatedCommits.add(commit);
             }
         }
         return notPropagatedCommits;
     }
+
+    /**
+     * Stages and their commits for one pipeline response. Everything is looked up once, so building
+     * the response is linear in the number of commits instead of walking the stages for every commit.
+     */
+    private static final class StageIndex {
+        private final Map<PipelineStage, String> stageToEnvironmentName;
+        private final List<PipelineStage> stages;
+        private final Map<PipelineStage, Map<String, PipelineCommit>> commitsByStage = new HashMap<>();
+        // stages each revision reached, in the order of the stage list
+        private final Map<String, Map<PipelineStage, PipelineCommit>> stagesByRevision = new HashMap<>();
+        // highest ordinal of the ordered stages each revision reached
+        private final Map<String, Integer> lastOrdinalByRevision = new HashMap<>();
+        private final Map<String, Integer> ordinalByStageName = new HashMap<>();
+        private final Map<String, Integer> ordinalByLowerCaseStageName = new HashMap<>();
+
+        StageIndex(Dashboard dashboard, Pipeline pipeline, Map<String, String> orderMap) throws HygieiaException {
+            this.stageToEnvironmentName = PipelineUtils.getStageToEnvironmentNameMap(dashboard);
+            this.stages = new ArrayList<>(stageToEnvironmentName.keySet());
+
+            for (PipelineStage stage : stages) {
+                Map<String, PipelineCommit> commits = findCommitsForStage(pipeline, stage);
+                commitsByStage.put(stage, commits);
+                for (Map.Entry<String, PipelineCommit> entry : commits.entrySet()) {
+                    stagesByRevision.computeIfAbsent(entry.getKey(), revision -> new LinkedHashMap<>()).put(stage, entry.getValue());
+                }
+            }
+
+            for (Map.Entry<String, String> entry : orderMap.entrySet()) {
+                int ordinal = Integer.parseInt(entry.getKey());
+                String stageName = entry.getValue();
+                ordinalByStageName.putIfAbsent(stageName, ordinal);
+                ordinalByLowerCaseStageName.putIfAbsent(stageName.toLowerCase(Locale.ENGLISH), ordinal);
+                // only ordinals within the stage list count as later stages
+                PipelineStage orderedStage = ordinal < stages.size() ? findStage(stageName) : null;
+                if (orderedStage == null) {
+                    continue;
+                }
+                for (String revision : commitsByStage.get(orderedStage).keySet()) {
+                    lastOrdinalByRevision.merge(revision, ordinal, Math::max);
+                }
+            }
+        }
+
+        /**
+         * Gets all commits for a given pipeline stage, taking into account the mappings for environment stages
+         */
+        private Map<String, PipelineCommit> findCommitsForStage(Pipeline pipeline, PipelineStage stage) {
+            String pseudoEnvironmentName =
+                    PipelineStage.COMMIT.equals(stage) || PipelineStage.BUILD.equals(stage)? stage.getName() :
+                            stageToEnvironmentName.get(stage);
+
+            Map<String, PipelineCommit> commitMap = null;
+            if(pseudoEnvironmentName != null){
+                commitMap = pipeline.getCommitsByEnvironmentName(pseudoEnvironmentName);
+            }
+            return commitMap != null ? commitMap : new HashMap<>();
+        }
+
+        private PipelineStage findStage(String stageName) {
+            PipelineStage found = null;
+            for (PipelineStage stage : stages) {
+                if (stageName.equalsIgnoreCase(stage.getName())) {
+                    found = stage;
+                }
+            }
+            return found;
+        }
+
+        Map<String, PipelineCommit> commitsForStage(PipelineStage stage) {
+            return commitsByStage.getOrDefault(stage, Collections.emptyMap());
+        }
+
+        Map<PipelineStage, PipelineCommit> stagesReached(String revision) {
+            return stagesByRevision.getOrDefault(revision, Collections.emptyMap());
+        }
+
+        int ordinalOf(PipelineStage stage) {
+            Integer ordinal = ordinalByStageName.get(stage.getName());
+            if (ordinal == null) {
+                ordinal = ordinalByLowerCaseStageName.get(stage.getName().toLowerCase(Locale.ENGLISH));
+            }
+            return ordinal != null ? ordinal : Integer.MAX_VALUE;
+        }
+
+        boolean reachedStageAfter(String revision, int ordinal) {
+            Integer lastOrdinal = lastOrdinalByRevision.get(revision);
+            return lastOrdinal != null && lastOrdinal > ordinal;
+        }
+    }
 }
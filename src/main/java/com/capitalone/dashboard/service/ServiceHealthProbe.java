@@ -0,0 +1,157 @@
+package com.capitalone.dashboard.service;
+
+import com.capitalone.dashboard.model.ServiceStatus;
+import com.capitalone.dashboard.model.monitor.MonitorService;
+import com.capitalone.dashboard.settings.ApiSettings;
+import com.capitalone.dashboard.util.URLConnectionFactory;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Checks the status of monitored service urls. Connections come from {@link URLConnectionFactory}, so they
+ * go through the monitor proxy and have connect and read timeouts. Batches of urls are checked concurrently
+ * on a fixed pool, with at most {@link ApiSettings#getMonitorProbesPerHost()} checks against one host at a time.
+ * At most {@link ApiSettings#getMonitorProbeQueueSize()} checks wait for a thread; checks beyond that are not run
+ * and are reported as {@link ServiceStatus#Alert}.
+ */
+@Component
+public class ServiceHealthProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceHealthProbe.class);
+
+    private final URLConnectionFactory urlConnectionFactory;
+    private final ExecutorService executor;
+    private final int threads;
+    private final int probesPerHost;
+    private final long probeTimeoutMillis;
+    private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceHealthProbe(URLConnectionFactory urlConnectionFactory, ApiSettings settings) {
+        this(urlConnectionFactory, settings.getMonitorProbeThreads(), settings.getMonitorProbeQueueSize(),
+                settings.getMonitorProbesPerHost(), (long) settings.getMonitorConnectTimeout() + settings.getMonitorReadTimeout());
+    }
+
+    /**
+     * @param probeTimeoutMillis longest time a single check may take, the connect plus the read timeout
+     */
+    public ServiceHealthProbe(URLConnectionFactory urlConnectionFactory, int threads, int queueSize, int probesPerHost,
+                              long probeTimeoutMillis) {
+        this.urlConnectionFactory = urlConnectionFactory;
+        this.threads = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                new ThreadFactoryBuilder().setNameFormat("service-probe-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.probesPerHost = Math.max(1, probesPerHost);
+        this.probeTimeoutMillis = Math.max(1, probeTimeoutMillis);
+    }
+
+    /**
+     * Checks one url on the calling thread.
+     */
+    public ServiceStatus probe(String url, ObjectId dashboardId) {
+        URL serviceUrl;
+        try {
+            serviceUrl = new URL(url);
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage());
+            return ServiceStatus.Alert;
+        }
+        Semaphore permits = hostPermits.computeIfAbsent(serviceUrl.getHost(), host -> new Semaphore(probesPerHost));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ServiceStatus.Alert;
+        }
+        HttpURLConnection connection = null;
+        try {
+            connection = urlConnectionFactory.get(serviceUrl);
+            return new MonitorService(connection, dashboardId).getServiceStatus();
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage());
+            return ServiceStatus.Alert;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Checks the urls concurrently. A url whose check does not finish in time, or does not fit in the queue, is
+     * reported as {@link ServiceStatus#Alert}.
+     *
+     * @return status by url
+     */
+    public Map<String, ServiceStatus> probeAll(Collection<String> urls, ObjectId dashboardId) {
+        Set<String> distinctUrls = new LinkedHashSet<>(urls);
+        Map<String, Future<ServiceStatus>> futures = new LinkedHashMap<>();
+        for (String url : distinctUrls) {
+            try {
+                futures.put(url, executor.submit(() -> probe(url, dashboardId)));
+            } catch (RejectedExecutionException e) {
+                LOGGER.error("dashboardId: " + dashboardId + " " + url + " not checked, probe queue is full");
+                futures.put(url, Futures.immediateFuture(ServiceStatus.Alert));
+            }
+        }
+
+        // checks may queue for a thread or a host permit, at worst one round per probesPerHost urls
+        int parallelism = Math.min(threads, probesPerHost);
+        long rounds = (distinctUrls.size() + parallelism - 1) / parallelism;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(probeTimeoutMillis * Math.max(1, rounds));
+
+        Map<String, ServiceStatus> statuses = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<ServiceStatus>> entry : futures.entrySet()) {
+            Future<ServiceStatus> future = entry.getValue();
+            try {
+                statuses.put(entry.getKey(), future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                LOGGER.error("dashboardId: " + dashboardId + " " + entry.getKey() + " timed out");
+                future.cancel(true);
+                statuses.put(entry.getKey(), ServiceStatus.Alert);
+            } catch (ExecutionException e) {
+                LOGGER.error("dashboardId: " + dashboardId + " " + entry.getKey() + " failed with " + e.getCause().getMessage());
+                statuses.put(entry.getKey(), ServiceStatus.Alert);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                statuses.put(entry.getKey(), ServiceStatus.Alert);
+            }
+        }
+        return statuses;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -86,4 +86,12 @@ public interface ServiceService {
      * @param serviceId   id of Service
      */
     void refreshService(ObjectId dashboardId, ObjectId serviceId);
+
+    /**
+     * Updates all Services of a Dashboard with their latest Status, checking them concurrently
+     *
+     * @param dashboardId id of Dashboard
+     * @return refreshed services
+     */
+    List<Service> refreshDashboardServices(ObjectId dashboardId);
 }
@@ -1,10 +1,8 @@
 package com.capitalone.dashboard.service;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLConnection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
@@ -14,23 +12,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import com.capitalone.dashboard.model.Dashboard;
 import com.capitalone.dashboard.model.Service;
 import com.capitalone.dashboard.model.ServiceStatus;
-import com.capitalone.dashboard.model.monitor.MonitorService;
 import com.capitalone.dashboard.repository.DashboardRepository;
 import com.capitalone.dashboard.repository.ServiceRepository;
-import com.capitalone.dashboard.util.URLConnectionFactory;
 
 
 @org.springframework.stereotype.Service
 public class ServiceServiceImpl implements ServiceService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ServiceServiceImpl.class);
-    private final URLConnectionFactory urlConnectionFactory;
+    private final ServiceHealthProbe serviceHealthProbe;
     private final ServiceRepository serviceRepository;
     private final DashboardRepository dashboardRepository;
 
     @Autowired
-    public ServiceServiceImpl(URLConnectionFactory urlConnectionFactory, ServiceRepository serviceRepository, DashboardRepository dashboardRepository) {
-        this.urlConnectionFactory = urlConnectionFactory;
+    public ServiceServiceImpl(ServiceHealthProbe serviceHealthProbe, ServiceRepository serviceRepository, DashboardRepository dashboardRepository) {
+        this.serviceHealthProbe = serviceHealthProbe;
     	this.serviceRepository = serviceRepository;
         this.dashboardRepository = dashboardRepository;
     }
@@ -117,24 +113,27 @@ public class ServiceServiceImpl implements ServiceService {
         serviceRepository.save(service);
     }
 
+    @Override
+    public List<Service> refreshDashboardServices(ObjectId dashboardId) {
+        List<Service> services = serviceRepository.findByDashboardId(dashboardId);
+        if (services.isEmpty()) {
+            return services;
+        }
+        Map<String, ServiceStatus> statuses = serviceHealthProbe.probeAll(
+                services.stream().map(Service::getUrl).collect(Collectors.toList()), dashboardId);
+        Dashboard dashboard = dashboardRepository.findOne(dashboardId);
+        long now = System.currentTimeMillis();
+        for (Service service : services) {
+            service.setStatus(statuses.getOrDefault(service.getUrl(), ServiceStatus.Alert));
+            service.setLastUpdated(now);
+            service.setApplicationName(dashboard.getApplication().getName());
+        }
+        serviceRepository.save(services);
+        return services;
+    }
+
     private ServiceStatus getServiceStatus(String url, ObjectId dashboardId) {
-    	URLConnection connection = getUrlConnection(url);
-    	
-    	if(connection == null) {
-    		return ServiceStatus.Alert;
-    	}
-    	
-    	return new MonitorService((HttpURLConnection) connection, dashboardId).getServiceStatus();
-	}
-
-	private HttpURLConnection getUrlConnection(String url) {
-    	try {
-			return urlConnectionFactory.get(new URL(url));
-		} catch (IOException e) {
-			LOGGER.error(e.getMessage());
-		}
-    	
-    	return null;
-	}
-    
+        return serviceHealthProbe.probe(url, dashboardId);
+    }
+
 }
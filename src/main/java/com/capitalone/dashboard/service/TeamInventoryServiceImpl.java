@@ -3,7 +3,6 @@ package com.capitalone.dashboard.service;
 import com.capitalone.dashboard.model.Collector;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.TeamInventory;
-import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.TeamInventoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -12,12 +11,12 @@ import org.springframework.stereotype.Service;
 public class TeamInventoryServiceImpl implements TeamInventoryService {
 
 	private final TeamInventoryRepository teamInventoryRepository;
-	private final CollectorRepository collectorRepository;
+	private final ComponentCollectorCache componentCollectorCache;
 
 	@Autowired
 	public TeamInventoryServiceImpl(TeamInventoryRepository teamInventoryRepository,
-                          CollectorRepository collectorRepository) {
-		this.collectorRepository = collectorRepository;
+                          ComponentCollectorCache componentCollectorCache) {
+		this.componentCollectorCache = componentCollectorCache;
 		this.teamInventoryRepository = teamInventoryRepository;
 	}
 
@@ -25,7 +24,7 @@ public class TeamInventoryServiceImpl implements TeamInventoryService {
 	@Override
 	public DataResponse<TeamInventory> getTeamData(String teamName, String teamId) {
 		TeamInventory teamInventory = teamInventoryRepository.findByNameAndTeamId(teamName,teamId);
-		Collector collector = collectorRepository.findOne(teamInventory.getCollectorId());
+		Collector collector = componentCollectorCache.getCollector(teamInventory.getCollectorId());
 		return new DataResponse<>(teamInventory, collector.getLastExecuted());
 	}
 }
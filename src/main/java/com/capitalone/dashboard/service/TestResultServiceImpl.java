@@ -15,6 +15,7 @@ import com.capitalone.dashboard.request.PerfTestDataCreateRequest;
 import com.capitalone.dashboard.request.TestDataCreateRequest;
 import com.capitalone.dashboard.settings.ApiSettings;
 import com.capitalone.dashboard.util.HygieiaUtils;
+import com.capitalone.dashboard.util.JunitXmlReader;
 import com.capitalone.dashboard.util.TestResultConstants;
 import com.google.common.collect.Lists;
 import com.google.gson.Gson;
@@ -32,10 +33,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
-import java.io.StringReader;
+import javax.xml.stream.XMLStreamException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
@@ -289,20 +288,28 @@ public class TestResultServiceImpl implements TestResultService {
         if(request == null || StringUtils.isEmpty(request.getTestResult())) {
             throw new HygieiaException("TestResult is not a valid Xml", HygieiaException.JSON_FORMAT_ERROR);
         }
-        JunitXmlReport junitXmlReport = decodeXmlPayload(JunitXmlReport.class, request);
-        JunitXmlReportV2 junitXmlReportV2;
+        JunitXmlReport junitXmlReport = null;
+        List<JunitXmlReportV2.TestSuite> testSuites = new ArrayList<>();
+        // the whole report is read before anything is saved, so a bad report does not leave partial results
+        try (JunitXmlReader reader = JunitXmlReader.fromBase64(request.getTestResult())) {
+            if (reader.isSuiteList()) {
+                JunitXmlReportV2.TestSuite testSuite;
+                while ((testSuite = reader.nextSuite()) != null) {
+                    testSuites.add(testSuite);
+                }
+            } else {
+                junitXmlReport = reader.readReport();
+            }
+        } catch (XMLStreamException | JAXBException | IllegalArgumentException ex) {
+            LOGGER.info("Could not read junit xml: " + ex.toString());
+            throw new HygieiaException("TestResult is not a valid Xml", HygieiaException.JSON_FORMAT_ERROR);
+        }
+
         List<TestResult> testResults = new ArrayList<>();
         if (junitXmlReport != null) {
             testResults.add(createTestJunit(request, junitXmlReport));
             return testResults;
-        } else {
-            junitXmlReportV2 = decodeXmlPayload(JunitXmlReportV2.class, request);
-            if (junitXmlReportV2 == null) {
-                throw new HygieiaException("TestResult is not a valid Xml", HygieiaException.JSON_FORMAT_ERROR);
-            }
         }
-
-        List<JunitXmlReportV2.TestSuite> testSuites = junitXmlReportV2.getTestsuite();
         for (JunitXmlReportV2.TestSuite testSuite : testSuites) {
             testResults.add(createTestJunitV2(request, testSuite));
         }
@@ -358,22 +365,6 @@ public class TestResultServiceImpl implements TestResultService {
 
     }
 
-    private <T> T decodeXmlPayload (Class<T> type , TestCreateRequest request) {
-        byte[] decodedBytes = Base64.getDecoder().decode(request.getTestResult());
-        String decodedPayload = new String(decodedBytes);
-        StringReader sr = new StringReader(decodedPayload);
-        T junitXmlReport = null;
-        try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(type);
-            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-            junitXmlReport = (T) unmarshaller.unmarshal(sr);
-            LOGGER.info("Successful transformation to " + type + " xml format type");
-        }catch (JAXBException ex){
-            LOGGER.info("Could not transform to " + type + " xml format type: " + ex.toString());
-        }
-        return junitXmlReport;
-    }
-
     @Override
     public String createTest(TestCreateRequest request) throws HygieiaException {
         List<TestResult> testResults = null;
@@ -3,6 +3,7 @@ package com.capitalone.dashboard.service;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import com.capitalone.dashboard.auth.AuthProperties;
 import com.capitalone.dashboard.settings.ApiSettings;
@@ -19,14 +20,18 @@ import com.capitalone.dashboard.model.AuthType;
 import com.capitalone.dashboard.model.UserInfo;
 import com.capitalone.dashboard.model.UserRole;
 import com.capitalone.dashboard.repository.UserInfoRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
 
+import javax.annotation.PreDestroy;
 import javax.naming.AuthenticationException;
+import javax.naming.CommunicationException;
 import javax.naming.Context;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 import javax.naming.directory.Attribute;
-import javax.naming.directory.InitialDirContext;
+import javax.naming.directory.DirContext;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
 
@@ -34,6 +39,7 @@ import javax.naming.directory.SearchResult;
 public class UserInfoServiceImpl implements UserInfoService {
 
 	private static final Logger LOGGER = Logger.getLogger(UserInfoServiceImpl.class);
+	private static final int LDAP_USER_CACHE_SIZE = 10000;
 
 	private UserInfoRepository userInfoRepository;
 	@Autowired
@@ -42,7 +48,10 @@ public class UserInfoServiceImpl implements UserInfoService {
 	private final ApiSettings apiSettings;
 
 
-	private InitialDirContext initialDirContext;
+	private LdapContextPool contextPool;
+
+	// LDAP lookup results by user id, each entry carries its own expiry
+	private final Cache<String, CachedValidity> ldapUsers = CacheBuilder.newBuilder().maximumSize(LDAP_USER_CACHE_SIZE).build();
 	
 	@Autowired
 	public UserInfoServiceImpl(UserInfoRepository userInfoRepository, AuthProperties authProperties, ApiSettings apiSettings) {
@@ -135,7 +144,8 @@ public class UserInfoServiceImpl implements UserInfoService {
 	}
 
 	/**
-	 * Can be called to check validity of userId when creating a dashboard remotely via api
+	 * Can be called to check validity of userId when creating a dashboard remotely via api.
+	 * LDAP results are cached, users that were not found for a shorter time than users that were.
 	 * @param userId
 	 * @param authType
 	 * @return
@@ -146,9 +156,15 @@ public class UserInfoServiceImpl implements UserInfoService {
 			return true;
 		} else {
 			if (authType == AuthType.LDAP) {
+				CachedValidity cached = ldapUsers.getIfPresent(userId);
+				if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+					return cached.valid;
+				}
 				try {
-					createContext(setProperties());
-					return searchLdapUser(userId);
+					boolean valid = searchLdapUser(userId);
+					long ttlSeconds = valid ? apiSettings.getLdapUserCacheSeconds() : apiSettings.getLdapUserNegativeCacheSeconds();
+					ldapUsers.put(userId, new CachedValidity(valid, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds)));
+					return valid;
 				} catch (AuthenticationException ae) {
 					LOGGER.error("LDAP bind credentials are incorrect", ae);
 					return false;
@@ -163,43 +179,66 @@ public class UserInfoServiceImpl implements UserInfoService {
 	}
 
 	public boolean searchLdapUser(String searchId) throws NamingException {
-		boolean searchResult = false;
+		LdapContextPool pool = getContextPool();
+		DirContext context = pool.borrow();
 		try {
-			SearchControls ctrls = new SearchControls();
-			ctrls.setSearchScope(SearchControls.SUBTREE_SCOPE);
-
-			String searchBase = "";
-			String searchFilter = "";
-			if(!StringUtils.isBlank(authProperties.getAdUrl())) {
-				searchBase = authProperties.getAdSvcRootDn();
-				searchFilter = "(&(objectClass=user)(userPrincipalName="	+ searchId + "@" + authProperties.getAdDomain() + "))";
-			} else {
-				searchBase = authProperties.getLdapUserDnPattern().substring(
-						authProperties.getLdapUserDnPattern().indexOf(',') + 1,
-						authProperties.getLdapUserDnPattern().length()
-				);
-				searchFilter = "(&(objectClass=user)(sAMAccountName="	+ searchId + "))";
-			}
+			boolean searchResult = searchLdapUser(context, searchId);
+			pool.release(context);
+			return searchResult;
+		} catch (CommunicationException ce) {
+			// the pooled connection may have been dropped by the server, retry once on a new one
+			pool.invalidate(context);
+			context = pool.create();
+		} catch (NamingException | RuntimeException e) {
+			pool.invalidate(context);
+			throw e;
+		}
+		try {
+			boolean searchResult = searchLdapUser(context, searchId);
+			pool.release(context);
+			return searchResult;
+		} catch (NamingException | RuntimeException e) {
+			pool.invalidate(context);
+			throw e;
+		}
+	}
+
+	private boolean searchLdapUser(DirContext context, String searchId) throws NamingException {
+		SearchControls ctrls = new SearchControls();
+		ctrls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+
+		String searchBase = "";
+		String searchFilter = "";
+		if(!StringUtils.isBlank(authProperties.getAdUrl())) {
+			searchBase = authProperties.getAdSvcRootDn();
+			searchFilter = "(&(objectClass=user)(userPrincipalName="	+ searchId + "@" + authProperties.getAdDomain() + "))";
+		} else {
+			searchBase = authProperties.getLdapUserDnPattern().substring(
+					authProperties.getLdapUserDnPattern().indexOf(',') + 1,
+					authProperties.getLdapUserDnPattern().length()
+			);
+			searchFilter = "(&(objectClass=user)(sAMAccountName="	+ searchId + "))";
+		}
 
-			NamingEnumeration<SearchResult> results = this.initialDirContext.search(searchBase, searchFilter, ctrls);
+		NamingEnumeration<SearchResult> results = context.search(searchBase, searchFilter, ctrls);
+		try {
 			// if searchId cannot be found in service accounts, then search in users
-			results = (!results.hasMore()) ? this.initialDirContext.search(authProperties.getAdUserRootDn(),searchFilter,ctrls) : results;
+			if (!results.hasMore()) {
+				results.close();
+				results = context.search(authProperties.getAdUserRootDn(), searchFilter, ctrls);
+			}
 
 			if (!results.hasMore()) {
-				return searchResult;
+				return false;
 			}
 
 			SearchResult result = results.next();
 
 			Attribute memberOf = result.getAttributes().get("memberOf");
-			if (memberOf != null) {
-				searchResult = true;
-			}
+			return memberOf != null;
 		} finally {
-			this.initialDirContext.close();
+			results.close();
 		}
-
-		return searchResult;
 	}
 
 	private Properties setProperties() {
@@ -224,12 +263,32 @@ public class UserInfoServiceImpl implements UserInfoService {
 		return props;
 	}
 
-	public InitialDirContext createContext(Properties props) throws NamingException {
-		this.initialDirContext =  new InitialDirContext(props);
-		return initialDirContext;
+	private synchronized LdapContextPool getContextPool() {
+		if (contextPool == null) {
+			contextPool = new LdapContextPool(setProperties(), apiSettings.getLdapContextPoolSize(),
+					apiSettings.getLdapContextPoolMaxTotal(), apiSettings.getLdapContextPoolMaxWaitMillis());
+		}
+		return contextPool;
 	}
 
-	public void setInitialContext(InitialDirContext initialContext){
-		this.initialDirContext =  initialContext;
+	public synchronized void setContextPool(LdapContextPool contextPool) {
+		this.contextPool = contextPool;
+	}
+
+	@PreDestroy
+	public synchronized void closeContextPool() {
+		if (contextPool != null) {
+			contextPool.close();
+		}
+	}
+
+	private static final class CachedValidity {
+		private final boolean valid;
+		private final long expiresAt;
+
+		private CachedValidity(boolean valid, long expiresAt) {
+			this.valid = valid;
+			this.expiresAt = expiresAt;
+		}
 	}
 }
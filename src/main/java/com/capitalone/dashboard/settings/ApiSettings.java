@@ -51,6 +51,66 @@ public class ApiSettings {
     @Value("${contextSecurityAuthentication:simple}")
     private String contextSecurityAuthentication;
 
+    @Value("${ldapContextPoolSize:8}")
+    private int ldapContextPoolSize;
+
+    @Value("${ldapContextPoolMaxTotal:16}")
+    private int ldapContextPoolMaxTotal;
+
+    @Value("${ldapContextPoolMaxWaitMillis:5000}")
+    private long ldapContextPoolMaxWaitMillis;
+
+    @Value("${ldapUserCacheSeconds:600}")
+    private long ldapUserCacheSeconds;
+
+    @Value("${ldapUserNegativeCacheSeconds:60}")
+    private long ldapUserNegativeCacheSeconds;
+
+    @Value("${lookupCacheSeconds:30}")
+    private long lookupCacheSeconds;
+
+    @Value("${lookupCacheSize:10000}")
+    private int lookupCacheSize;
+
+    @Value("${gitHubUserCacheMinutes:60}")
+    private long gitHubUserCacheMinutes;
+
+    @Value("${gitHubUserMissCacheMinutes:10}")
+    private long gitHubUserMissCacheMinutes;
+
+    @Value("${gitHubUserCacheSize:10000}")
+    private int gitHubUserCacheSize;
+
+    @Value("${monitorConnectTimeout:5000}")
+    private int monitorConnectTimeout;
+
+    @Value("${monitorReadTimeout:10000}")
+    private int monitorReadTimeout;
+
+    @Value("${monitorProbeThreads:16}")
+    private int monitorProbeThreads;
+
+    @Value("${monitorProbesPerHost:4}")
+    private int monitorProbesPerHost;
+
+    @Value("${monitorProbeQueueSize:256}")
+    private int monitorProbeQueueSize;
+
+
+    @Value("${requestLogQueueSize:10000}")
+    private int requestLogQueueSize;
+
+    @Value("${requestLogBatchSize:500}")
+    private int requestLogBatchSize;
+
+    @Value("${requestLogFlushIntervalMillis:1000}")
+    private long requestLogFlushIntervalMillis;
+
+    @Value("${requestLogOverflow:drop}")
+    private String requestLogOverflow;
+
+    @Value("${requestLogSampleRate:10}")
+    private int requestLogSampleRate;
 
     private List<String> ignoreEndPoints = new ArrayList();
     private List<String> ignoreApiUsers = new ArrayList();
@@ -133,6 +193,46 @@ public class ApiSettings {
         this.logRequest = logRequest;
     }
 
+    public int getRequestLogQueueSize() {
+        return requestLogQueueSize;
+    }
+
+    public void setRequestLogQueueSize(int requestLogQueueSize) {
+        this.requestLogQueueSize = requestLogQueueSize;
+    }
+
+    public int getRequestLogBatchSize() {
+        return requestLogBatchSize;
+    }
+
+    public void setRequestLogBatchSize(int requestLogBatchSize) {
+        this.requestLogBatchSize = requestLogBatchSize;
+    }
+
+    public long getRequestLogFlushIntervalMillis() {
+        return requestLogFlushIntervalMillis;
+    }
+
+    public void setRequestLogFlushIntervalMillis(long requestLogFlushIntervalMillis) {
+        this.requestLogFlushIntervalMillis = requestLogFlushIntervalMillis;
+    }
+
+    public String getRequestLogOverflow() {
+        return requestLogOverflow;
+    }
+
+    public void setRequestLogOverflow(String requestLogOverflow) {
+        this.requestLogOverflow = requestLogOverflow;
+    }
+
+    public int getRequestLogSampleRate() {
+        return requestLogSampleRate;
+    }
+
+    public void setRequestLogSampleRate(int requestLogSampleRate) {
+        this.requestLogSampleRate = requestLogSampleRate;
+    }
+
     public int getPageSize() {
         return pageSize;
     }
@@ -256,4 +356,124 @@ public class ApiSettings {
     public void setContextSecurityAuthentication(String contextSecurityAuthentication) {
         this.contextSecurityAuthentication = contextSecurityAuthentication;
     }
+
+    public int getLdapContextPoolSize() {
+        return ldapContextPoolSize;
+    }
+
+    public void setLdapContextPoolSize(int ldapContextPoolSize) {
+        this.ldapContextPoolSize = ldapContextPoolSize;
+    }
+
+    public int getLdapContextPoolMaxTotal() {
+        return ldapContextPoolMaxTotal;
+    }
+
+    public void setLdapContextPoolMaxTotal(int ldapContextPoolMaxTotal) {
+        this.ldapContextPoolMaxTotal = ldapContextPoolMaxTotal;
+    }
+
+    public long getLdapContextPoolMaxWaitMillis() {
+        return ldapContextPoolMaxWaitMillis;
+    }
+
+    public void setLdapContextPoolMaxWaitMillis(long ldapContextPoolMaxWaitMillis) {
+        this.ldapContextPoolMaxWaitMillis = ldapContextPoolMaxWaitMillis;
+    }
+
+    public long getLdapUserCacheSeconds() {
+        return ldapUserCacheSeconds;
+    }
+
+    public void setLdapUserCacheSeconds(long ldapUserCacheSeconds) {
+        this.ldapUserCacheSeconds = ldapUserCacheSeconds;
+    }
+
+    public long getLdapUserNegativeCacheSeconds() {
+        return ldapUserNegativeCacheSeconds;
+    }
+
+    public void setLdapUserNegativeCacheSeconds(long ldapUserNegativeCacheSeconds) {
+        this.ldapUserNegativeCacheSeconds = ldapUserNegativeCacheSeconds;
+    }
+
+    public long getLookupCacheSeconds() {
+        return lookupCacheSeconds;
+    }
+
+    public void setLookupCacheSeconds(long lookupCacheSeconds) {
+        this.lookupCacheSeconds = lookupCacheSeconds;
+    }
+
+    public int getLookupCacheSize() {
+        return lookupCacheSize;
+    }
+
+    public void setLookupCacheSize(int lookupCacheSize) {
+        this.lookupCacheSize = lookupCacheSize;
+    }
+
+    public long getGitHubUserCacheMinutes() {
+        return gitHubUserCacheMinutes;
+    }
+
+    public void setGitHubUserCacheMinutes(long gitHubUserCacheMinutes) {
+        this.gitHubUserCacheMinutes = gitHubUserCacheMinutes;
+    }
+
+    public long getGitHubUserMissCacheMinutes() {
+        return gitHubUserMissCacheMinutes;
+    }
+
+    public void setGitHubUserMissCacheMinutes(long gitHubUserMissCacheMinutes) {
+        this.gitHubUserMissCacheMinutes = gitHubUserMissCacheMinutes;
+    }
+
+    public int getGitHubUserCacheSize() {
+        return gitHubUserCacheSize;
+    }
+
+    public void setGitHubUserCacheSize(int gitHubUserCacheSize) {
+        this.gitHubUserCacheSize = gitHubUserCacheSize;
+    }
+
+    public int getMonitorConnectTimeout() {
+        return monitorConnectTimeout;
+    }
+
+    public void setMonitorConnectTimeout(int monitorConnectTimeout) {
+        this.monitorConnectTimeout = monitorConnectTimeout;
+    }
+
+    public int getMonitorReadTimeout() {
+        return monitorReadTimeout;
+    }
+
+    public void setMonitorReadTimeout(int monitorReadTimeout) {
+        this.monitorReadTimeout = monitorReadTimeout;
+    }
+
+    public int getMonitorProbeThreads() {
+        return monitorProbeThreads;
+    }
+
+    public void setMonitorProbeThreads(int monitorProbeThreads) {
+        this.monitorProbeThreads = monitorProbeThreads;
+    }
+
+    public int getMonitorProbesPerHost() {
+        return monitorProbesPerHost;
+    }
+
+    public void setMonitorProbesPerHost(int monitorProbesPerHost) {
+        this.monitorProbesPerHost = monitorProbesPerHost;
+    }
+
+    public int getMonitorProbeQueueSize() {
+        return monitorProbeQueueSize;
+    }
+
+    public void setMonitorProbeQueueSize(int monitorProbeQueueSize) {
+        this.monitorProbeQueueSize = monitorProbeQueueSize;
+    }
 }
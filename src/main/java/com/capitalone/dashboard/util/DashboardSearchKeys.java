@@ -0,0 +1,99 @@
+package com.capitalone.dashboard.util;
+
+import com.capitalone.dashboard.model.DashboardType;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds the normalized search keys stored on every dashboard document, so title and
+ * business service/application lookups can use an index instead of a case-insensitive regex scan.
+ */
+public final class DashboardSearchKeys {
+
+    public static final String SEARCH_TITLE = "searchTitle";
+    public static final String SEARCH_PREFIXES = "searchPrefixes";
+    public static final String SEARCH_BUS_SERV_NAME = "searchBusServName";
+    public static final String SEARCH_BUS_APP_NAME = "searchBusAppName";
+
+    /** Longest token prefix that is stored. Longer search tokens are truncated to this length. */
+    static final int MAX_PREFIX_LENGTH = 24;
+
+    private DashboardSearchKeys() {
+    }
+
+    /**
+     * @param value title or search string
+     * @return lower case form of the value, or null when empty
+     */
+    public static String normalize(String value) {
+        return StringUtils.isEmpty(value) ? null : value.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Unlike {@link #normalize(String)} the value is not trimmed, so an exact match on the key is the same
+     * as an exact case-insensitive match on the value.
+     *
+     * @param value business service or business application name
+     * @return lower case form of the value, or null when null
+     */
+    public static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Splits a title or search string into lower case alphanumeric tokens.
+     * Tokens are cut at MAX_PREFIX_LENGTH so that they always match a stored prefix.
+     *
+     * @param value title or search string
+     * @return distinct tokens, in order of appearance
+     */
+    public static List<String> tokens(String value) {
+        Set<String> tokens = new LinkedHashSet<>();
+        String normalized = normalize(value);
+        if (normalized != null) {
+            for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty()) {
+                    tokens.add(StringUtils.left(token, MAX_PREFIX_LENGTH));
+                }
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * @param title dashboard title
+     * @return every prefix of every title token, e.g. "my-app" gives m, my, a, ap, app
+     */
+    public static List<String> prefixes(String title) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String token : tokens(title)) {
+            for (int i = 1; i <= token.length(); i++) {
+                prefixes.add(token.substring(0, i));
+            }
+        }
+        return new ArrayList<>(prefixes);
+    }
+
+    /**
+     * Resolves a free text dashboard type filter to the stored type names it used to match
+     * with a case-insensitive "containing" query.
+     *
+     * @param type type filter
+     * @return matching DashboardType names
+     */
+    public static List<String> matchingTypes(String type) {
+        List<String> types = new ArrayList<>();
+        String normalized = normalize(type);
+        for (DashboardType dashboardType : DashboardType.values()) {
+            if (normalized == null || dashboardType.name().toLowerCase(Locale.ENGLISH).contains(normalized)) {
+                types.add(dashboardType.name());
+            }
+        }
+        return types;
+    }
+}
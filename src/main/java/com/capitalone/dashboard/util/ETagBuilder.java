@@ -0,0 +1,54 @@
+package com.capitalone.dashboard.util;
+
+import com.capitalone.dashboard.model.Collector;
+import com.capitalone.dashboard.model.CollectorItem;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.joda.time.LocalDate;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds a strong ETag from the values a response is derived from, such as ids and last update
+ * timestamps, so a conditional request can be answered without building the response.
+ */
+public final class ETagBuilder {
+
+    private final Hasher hasher = Hashing.murmur3_128().newHasher();
+
+    /**
+     * Tag of a widget search over the documents of one collector item. It changes when the item or its collector
+     * is updated, when a newer document is stored for the item, and every day, since numberOfDays filters are
+     * relative to the current date.
+     *
+     * @param latestTimestamp timestamp of the newest document of the item, 0 when there is none
+     */
+    public static String forCollectorItem(CollectorItem item, Collector collector, long latestTimestamp) {
+        return new ETagBuilder()
+                .append(item.getId())
+                .append(item.getLastUpdated())
+                .append((collector == null) ? 0L : collector.getLastExecuted())
+                .append(latestTimestamp)
+                .append(new LocalDate())
+                .build();
+    }
+
+    public ETagBuilder append(Object value) {
+        hasher.putString(String.valueOf(value), StandardCharsets.UTF_8);
+        // keeps ("ab", "c") and ("a", "bc") apart
+        hasher.putByte((byte) 0);
+        return this;
+    }
+
+    public ETagBuilder append(long value) {
+        hasher.putLong(value);
+        return this;
+    }
+
+    /**
+     * @return the quoted ETag value
+     */
+    public String build() {
+        return '"' + hasher.hash().toString() + '"';
+    }
+}
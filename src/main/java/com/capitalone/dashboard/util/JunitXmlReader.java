@@ -0,0 +1,153 @@
+package com.capitalone.dashboard.util;
+
+import com.capitalone.dashboard.model.quality.JunitXmlReport;
+import com.capitalone.dashboard.model.quality.JunitXmlReportV2;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.Base64;
+
+/**
+ * Reads a Base64 encoded JUnit xml report in one streaming pass. The payload is decoded while it is parsed,
+ * and the report format is taken from the root element: a single {@code testsuite} ({@link JunitXmlReport})
+ * or a {@code testsuites} list, whose suites are bound one at a time ({@link JunitXmlReportV2.TestSuite}).
+ */
+public final class JunitXmlReader implements AutoCloseable {
+
+    private static final String TEST_SUITES = "testsuites";
+    private static final String TEST_SUITE = "testsuite";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private final XMLStreamReader reader;
+    private final Unmarshaller unmarshaller;
+    private final boolean suiteList;
+
+    private JunitXmlReader(XMLStreamReader reader) throws XMLStreamException, JAXBException {
+        this.reader = reader;
+        reader.nextTag();
+        String root = reader.getLocalName();
+        if (TEST_SUITES.equals(root)) {
+            this.suiteList = true;
+            this.unmarshaller = Contexts.SUITE.createUnmarshaller();
+        } else if (TEST_SUITE.equals(root)) {
+            this.suiteList = false;
+            this.unmarshaller = Contexts.REPORT.createUnmarshaller();
+        } else {
+            throw new XMLStreamException("Unexpected junit root element " + root, reader.getLocation());
+        }
+    }
+
+    /**
+     * @param base64Payload Base64 encoded report xml
+     * @throws IllegalArgumentException when the payload is not valid Base64
+     */
+    public static JunitXmlReader fromBase64(String base64Payload) throws XMLStreamException, JAXBException {
+        InputStream xml = Base64.getDecoder().wrap(new AsciiInputStream(base64Payload));
+        return new JunitXmlReader(XML_INPUT_FACTORY.createXMLStreamReader(xml));
+    }
+
+    /**
+     * @return true for a {@code testsuites} report, read with {@link #nextSuite()}
+     */
+    public boolean isSuiteList() {
+        return suiteList;
+    }
+
+    /**
+     * Reads a single {@code testsuite} report.
+     */
+    public JunitXmlReport readReport() throws JAXBException {
+        if (suiteList) {
+            throw new IllegalStateException("Report is a list of test suites");
+        }
+        return unmarshaller.unmarshal(reader, JunitXmlReport.class).getValue();
+    }
+
+    /**
+     * @return the next suite of a {@code testsuites} report, or null after the last one
+     */
+    public JunitXmlReportV2.TestSuite nextSuite() throws XMLStreamException, JAXBException {
+        if (!suiteList) {
+            throw new IllegalStateException("Report is a single test suite");
+        }
+        while (reader.hasNext()) {
+            // binding a suite leaves the reader right after its end tag
+            if (reader.isStartElement() && TEST_SUITE.equals(reader.getLocalName())) {
+                return unmarshaller.unmarshal(reader, JunitXmlReportV2.TestSuite.class).getValue();
+            }
+            reader.next();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        reader.close();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * JAXB contexts are expensive to create and thread safe, so they are created once, on first use.
+     */
+    private static final class Contexts {
+        private static final JAXBContext REPORT = newInstance(JunitXmlReport.class);
+        private static final JAXBContext SUITE = newInstance(JunitXmlReportV2.class);
+
+        private static JAXBContext newInstance(Class<?> type) {
+            try {
+                return JAXBContext.newInstance(type);
+            } catch (JAXBException e) {
+                throw new IllegalStateException("Could not create JAXB context for " + type, e);
+            }
+        }
+    }
+
+    /**
+     * Bytes of a Base64 string, read without copying the string.
+     */
+    private static final class AsciiInputStream extends InputStream {
+        private final String value;
+        private int position;
+
+        private AsciiInputStream(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int read() {
+            return position < value.length() ? value.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= value.length()) {
+                return -1;
+            }
+            int count = Math.min(length, value.length() - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) value.charAt(position++);
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return value.length() - position;
+        }
+    }
+}
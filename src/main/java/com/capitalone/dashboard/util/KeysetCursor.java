@@ -0,0 +1,38 @@
+package com.capitalone.dashboard.util;
+
+import org.bson.types.ObjectId;
+import org.springframework.util.StringUtils;
+
+import java.util.Base64;
+
+/**
+ * Opaque continuation token of a listing that is paged by {@code _id}. The token carries the id of
+ * the last document returned, the next page starts after it.
+ */
+public final class KeysetCursor {
+
+    private static final int OBJECT_ID_LENGTH = 12;
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(ObjectId lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.toByteArray());
+    }
+
+    /**
+     * @param cursor a token from {@link #encode(ObjectId)}, or an empty value for the first page
+     * @return the id to continue after, or null for the first page
+     * @throws IllegalArgumentException when the token was not created by {@link #encode(ObjectId)}
+     */
+    public static ObjectId decode(String cursor) {
+        if (StringUtils.isEmpty(cursor)) {
+            return null;
+        }
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != OBJECT_ID_LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor);
+        }
+        return new ObjectId(bytes);
+    }
+}
@@ -1,6 +1,7 @@
 package com.capitalone.dashboard.util;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
@@ -19,4 +20,19 @@ public class PaginationHeaderUtility {
 
 		return headers;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Headers of a cursor paged listing. There is no total count, the next page is requested with the
+	 * {@code nextCursor} value, which is absent on the last page.
+	 */
+	public <T> HttpHeaders buildCursorHeaders(Slice<T> slice, String nextCursor) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.add("pageSize", String.valueOf(slice.getSize()));
+		headers.add("nextPage", String.valueOf(slice.hasNext()));
+		if (nextCursor != null) {
+			headers.add("nextCursor", nextCursor);
+		}
+
+		return headers;
+	}
+}
@@ -0,0 +1,70 @@
+package com.capitalone.dashboard.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of documents as a JSON array, one document at a time, so a listing of any size is
+ * serialized without holding the whole result in memory. Uses the same object mapper as the JSON
+ * message converter, so a streamed listing has the same format as the buffered one.
+ */
+public class StreamingJsonWriter {
+
+    /**
+     * Request attribute marking a streamed response, see {@link StreamingTimeoutInterceptor}.
+     */
+    public static final String STREAMING_ATTRIBUTE = StreamingJsonWriter.class.getName() + ".STREAMING";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+
+    public StreamingJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // the container buffers the response, flushing after every document would send tiny chunks
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * The documents are read and written on an async request thread after the controller method returns.
+     * The stream is closed when writing ends, whether or not it succeeded.
+     *
+     * @param items documents to write
+     * @return a JSON response whose body is the array of documents
+     */
+    public <T> ResponseEntity<StreamingResponseBody> jsonArray(Stream<T> items) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(STREAMING_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(out -> write(items, out));
+    }
+
+    <T> void write(Stream<T> items, OutputStream out) throws IOException {
+        try (Stream<T> closing = items;
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // the servlet container closes the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<T> iterator = closing.iterator();
+            while (iterator.hasNext()) {
+                objectWriter.writeValue(generator, iterator.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+}
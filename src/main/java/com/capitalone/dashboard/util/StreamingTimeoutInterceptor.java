@@ -0,0 +1,30 @@
+package com.capitalone.dashboard.util;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptorAdapter;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Gives the responses written by {@link StreamingJsonWriter} their own async timeout, so a long listing is not
+ * cut off by the container default while every other async request keeps it.
+ */
+public class StreamingTimeoutInterceptor extends CallableProcessingInterceptorAdapter {
+
+    private final long timeoutMillis;
+
+    public StreamingTimeoutInterceptor(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        // runs before the async processing starts, while the timeout can still be changed
+        if ((request instanceof AsyncWebRequest)
+                && (request.getAttribute(StreamingJsonWriter.STREAMING_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null)) {
+            ((AsyncWebRequest) request).setTimeout(timeoutMillis);
+        }
+    }
+}
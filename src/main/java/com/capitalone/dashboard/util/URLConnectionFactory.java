@@ -8,20 +8,39 @@ import java.net.URL;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.capitalone.dashboard.settings.ApiSettings;
+
 @Component
 public class URLConnectionFactory {
 
+	private static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+	private static final int DEFAULT_READ_TIMEOUT = 10000;
+
 	private Proxy proxy;
+	private final int connectTimeout;
+	private final int readTimeout;
 
-	@Autowired
 	public URLConnectionFactory(Proxy proxy) {
+		this(proxy, DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+	}
+
+	@Autowired
+	public URLConnectionFactory(Proxy proxy, ApiSettings settings) {
+		this(proxy, settings.getMonitorConnectTimeout(), settings.getMonitorReadTimeout());
+	}
+
+	public URLConnectionFactory(Proxy proxy, int connectTimeout, int readTimeout) {
 		this.proxy = proxy;
+		// a zero timeout would wait forever
+		this.connectTimeout = connectTimeout > 0 ? connectTimeout : DEFAULT_CONNECT_TIMEOUT;
+		this.readTimeout = readTimeout > 0 ? readTimeout : DEFAULT_READ_TIMEOUT;
 	}
 
 	public HttpURLConnection get(URL url) throws IOException {
 		HttpURLConnection connection = (HttpURLConnection) url.openConnection(proxy);
 		connection.setRequestMethod("GET");
-		connection.setConnectTimeout(5000);
+		connection.setConnectTimeout(connectTimeout);
+		connection.setReadTimeout(readTimeout);
 		return connection;
 	}
 }
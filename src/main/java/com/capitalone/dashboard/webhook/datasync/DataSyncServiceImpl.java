@@ -4,15 +4,18 @@ import com.capitalone.dashboard.model.Collector;
 import com.capitalone.dashboard.repository.BaseCollectorRepository;
 import com.capitalone.dashboard.repository.BinaryArtifactRepository;
 import com.capitalone.dashboard.repository.CodeQualityRepository;
+import com.capitalone.dashboard.repository.CollectorItemLookupRepository;
 import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
+import com.capitalone.dashboard.repository.DataSyncOperations;
 import com.capitalone.dashboard.repository.GitRequestRepository;
 import com.capitalone.dashboard.repository.LibraryPolicyResultsRepository;
 import com.capitalone.dashboard.repository.SonarProjectRepository;
 import com.capitalone.dashboard.repository.TestResultRepository;
 import com.capitalone.dashboard.request.DataSyncRequest;
 import com.capitalone.dashboard.request.DataSyncResponse;
+import com.capitalone.dashboard.service.ComponentCollectorCache;
 import com.capitalone.dashboard.settings.ApiSettings;
 import com.capitalone.dashboard.webhook.settings.DataSyncSettings;
 import org.apache.commons.collections.CollectionUtils;
@@ -36,6 +39,9 @@ public class DataSyncServiceImpl implements DataSyncService {
     private final GitRequestRepository gitRequestRepository;
     private final LibraryPolicyResultsRepository libraryPolicyResultsRepository;
     private final TestResultRepository testResultRepository;
+    private final CollectorItemLookupRepository collectorItemLookupRepository;
+    private final DataSyncOperations dataSyncOperations;
+    private final ComponentCollectorCache componentCollectorCache;
     private final DataSyncUtils dataSyncUtils = new DataSyncUtils(this);
     @Autowired
     private ApiSettings settings;
@@ -49,6 +55,9 @@ public class DataSyncServiceImpl implements DataSyncService {
                                GitRequestRepository gitRequestRepository,
                                LibraryPolicyResultsRepository libraryPolicyResultsRepository,
                                TestResultRepository testResultRepository,
+                               CollectorItemLookupRepository collectorItemLookupRepository,
+                               DataSyncOperations dataSyncOperations,
+                               ComponentCollectorCache componentCollectorCache,
                                ApiSettings settings) {
         this.codeQualityRepository = codeQualityRepository;
         this.sonarProjectRepository = sonarProjectRepository;
@@ -59,6 +68,9 @@ public class DataSyncServiceImpl implements DataSyncService {
         this.gitRequestRepository = gitRequestRepository;
         this.libraryPolicyResultsRepository = libraryPolicyResultsRepository;
         this.testResultRepository = testResultRepository;
+        this.collectorItemLookupRepository = collectorItemLookupRepository;
+        this.dataSyncOperations = dataSyncOperations;
+        this.componentCollectorCache = componentCollectorCache;
         this.settings = settings;
 
     }
@@ -118,6 +130,18 @@ public class DataSyncServiceImpl implements DataSyncService {
         return this.testResultRepository;
     }
 
+    public CollectorItemLookupRepository getCollectorItemLookupRepository() {
+        return this.collectorItemLookupRepository;
+    }
+
+    public DataSyncOperations getDataSyncOperations() {
+        return this.dataSyncOperations;
+    }
+
+    public ComponentCollectorCache getComponentCollectorCache() {
+        return this.componentCollectorCache;
+    }
+
     public ApiSettings getSettings(){
         return this.settings;
     }
@@ -8,18 +8,26 @@ import com.capitalone.dashboard.request.DataSyncResponse;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -29,6 +37,9 @@ public class DataSyncUtils {
     private DataSyncServiceImpl dataSyncServiceImpl;
     private static final int MAX_PAGE_SIZE = 500;
     private static final int ZERO = 0;
+    private static final int DUPLICATES_BATCH_SIZE = 500;
+    private static final String URL_SCHEME_SEPARATOR = "://";
+    private static final String GIT_SUFFIX = ".git";
 
 
     private static final Log LOG = LogFactory.getLog(DataSyncUtils.class);
@@ -59,6 +70,7 @@ public class DataSyncUtils {
         return (int) components.stream().peek(component -> {
             component = updateCollectorItem(component, collectorType, cI, collector);
             dataSyncServiceImpl.getComponentRepository().save(component);
+            dataSyncServiceImpl.getComponentCollectorCache().evictComponent(component.getId());
         }).count();
     }
 
@@ -123,6 +135,94 @@ public class DataSyncUtils {
         return suspectCollectorItems;
     }
 
+    /**
+     * Merges the collector items of the collector that have the same unique options. Items are grouped by
+     * their unique option values in one scan of the collector's items, with URL values compared by
+     * {@link #normalizedOption(Object)}. For each group of duplicates, the item
+     * with the latest activity is kept (the most recently updated item when none has activity), the others
+     * are deleted, and components pointing at them are re-pointed to the kept item. Activity timestamps,
+     * component reads, component writes and deletes each take one database call per batch of groups.
+     *
+     * @param collector     collector whose items are merged
+     * @param activityType  document type holding the items' activity, with collectorItemId and timestamp fields
+     * @param collectorType collector type the components list the items under
+     */
+    public DataSyncResponse mergeDuplicateCollectorItems(Collector collector, Class<?> activityType, CollectorType collectorType) {
+        String collectorName = collector.getName();
+        Map<List<Object>, List<CollectorItem>> itemsByOptions = groupByUniqueOptions(collector);
+        if (itemsByOptions.isEmpty()) return warn(collectorName, "No collector-items found");
+        List<List<CollectorItem>> duplicates = itemsByOptions.values().stream().filter(items -> items.size() > 1).collect(Collectors.toList());
+        LOG.info(collectorName + " has " + duplicates.size() + " duplicated collector-items out of " + itemsByOptions.size());
+
+        int componentCount = ZERO;
+        int collectorItemsCount = ZERO;
+        List<String> componentIds = new ArrayList<>();
+        for (int from = ZERO; from < duplicates.size(); from += DUPLICATES_BATCH_SIZE) {
+            List<List<CollectorItem>> batch = duplicates.subList(from, Math.min(from + DUPLICATES_BATCH_SIZE, duplicates.size()));
+            List<ObjectId> batchIds = batch.stream().flatMap(List::stream).map(CollectorItem::getId).collect(Collectors.toList());
+            Map<ObjectId, Long> latest = dataSyncServiceImpl.getDataSyncOperations().latestTimestamps(activityType, batchIds);
+
+            Map<ObjectId, CollectorItem> keptByRemovedId = new HashMap<>();
+            batch.forEach(items -> {
+                CollectorItem kept = Collections.max(items, Comparator
+                        .comparing((CollectorItem ci) -> latest.getOrDefault(ci.getId(), Long.MIN_VALUE))
+                        .thenComparingLong(CollectorItem::getLastUpdated));
+                items.stream().filter(ci -> ci != kept).forEach(ci -> keptByRemovedId.put(ci.getId(), kept));
+            });
+
+            List<Component> components = dataSyncServiceImpl.getDataSyncOperations().findComponentsByCollectorItemIds(collectorType, keptByRemovedId.keySet());
+            components.forEach(component -> {
+                repointCollectorItems(component, collectorType, keptByRemovedId);
+                componentIds.add(component.getId().toString());
+            });
+            dataSyncServiceImpl.getDataSyncOperations().replaceCollectorItems(collectorType, components);
+            componentCount += components.size();
+            collectorItemsCount += dataSyncServiceImpl.getDataSyncOperations().deleteCollectorItems(keptByRemovedId.keySet());
+            LOG.info("completed " + (from + batch.size()) + " of " + duplicates.size() + " duplicated collector-items");
+        }
+        return new DataSyncResponse(componentIds, collectorItemsCount, collectorName + " refresh Successful==>> Updated " + componentCount + " components and " + collectorItemsCount + " collectorItems.");
+    }
+
+    private void repointCollectorItems(Component component, CollectorType collectorType, Map<ObjectId, CollectorItem> keptByRemovedId) {
+        List<CollectorItem> existing = component.getCollectorItems().get(collectorType);
+        Set<CollectorItem> keptItems = existing.stream()
+                .map(ci -> keptByRemovedId.get(ci.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<ObjectId> replacedIds = new HashSet<>(keptByRemovedId.keySet());
+        keptItems.forEach(kept -> replacedIds.add(kept.getId()));
+        List<CollectorItem> updated = existing.stream().filter(ci -> !replacedIds.contains(ci.getId())).collect(Collectors.toList());
+        keptItems.forEach(kept -> {
+            kept.setLastUpdated(System.currentTimeMillis());
+            updated.add(kept);
+        });
+        component.getCollectorItems().put(collectorType, updated);
+    }
+
+    private Map<List<Object>, List<CollectorItem>> groupByUniqueOptions(Collector collector) {
+        List<String> uniqueFields = collector.getUniqueFields().keySet().stream().sorted().collect(Collectors.toList());
+        Map<List<Object>, List<CollectorItem>> itemsByOptions = new LinkedHashMap<>();
+        try (Stream<CollectorItem> items = dataSyncServiceImpl.getCollectorItemLookupRepository().streamByCollectorIdIn(Collections.singleton(collector.getId()))) {
+            items.forEach(item -> {
+                Map<String, Object> options = MapUtils.isEmpty(item.getOptions()) ? Collections.emptyMap() : item.getOptions();
+                List<Object> key = uniqueFields.stream().map(options::get).map(DataSyncUtils::normalizedOption).collect(Collectors.toList());
+                itemsByOptions.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+            });
+        }
+        return itemsByOptions;
+    }
+
+    /**
+     * Option value as compared when grouping duplicates. URLs are compared case-insensitively and without a
+     * trailing {@code /} or {@code .git}, so {@code https://GitHub.com/Org/Repo.git} and
+     * {@code https://github.com/org/repo/} are the same repository. Other values are compared as stored.
+     */
+    static Object normalizedOption(Object value) {
+        if (!(value instanceof String) || !((String) value).contains(URL_SCHEME_SEPARATOR)) return value;
+        String url = StringUtils.stripEnd(((String) value).trim().toLowerCase(Locale.ENGLISH), "/");
+        return StringUtils.stripEnd(StringUtils.removeEnd(url, GIT_SUFFIX), "/");
+    }
+
     public DataSyncResponse warn(String collectorName, String message){
         return new DataSyncResponse(new ArrayList<>(),ZERO,message+" "+collectorName);
     }
@@ -31,6 +31,7 @@ public class GitHubHookServiceImpl implements GitHubHookService {
     private final CollectorService collectorService;
     protected final ApiSettings apiSettings;
     protected final RestClient restClient;
+    private final GitHubUserCache userCache;
 
     @Autowired
     public GitHubHookServiceImpl(CommitRepository commitRepository,
@@ -39,7 +40,8 @@ public class GitHubHookServiceImpl implements GitHubHookService {
                                  CollectorItemRepository collectorItemRepository,
                                  ApiSettings apiSettings,
                                  RestClient restClient,
-                                 BaseCollectorRepository<GitHubCollector> collectorRepository) {
+                                 BaseCollectorRepository<GitHubCollector> collectorRepository,
+                                 GitHubUserCache userCache) {
         this.commitRepository = commitRepository;
         this.gitRequestRepository = gitRequestRepository;
         this.collectorItemRepository = collectorItemRepository;
@@ -47,6 +49,7 @@ public class GitHubHookServiceImpl implements GitHubHookService {
         this.collectorService = collectorService;
         this.apiSettings = apiSettings;
         this.restClient = restClient;
+        this.userCache = userCache;
     }
 
     protected GitHubPayloadType getPayLoadType(JSONObject jsonObject) {
@@ -67,15 +70,15 @@ public class GitHubHookServiceImpl implements GitHubHookService {
 
         switch (payloadType) {
             case Push:
-                gitHubv3 = new GitHubCommitV3(collectorService, restClient, commitRepository, gitRequestRepository, collectorItemRepository, apiSettings, collectorRepository);
+                gitHubv3 = new GitHubCommitV3(collectorService, restClient, commitRepository, gitRequestRepository, collectorItemRepository, apiSettings, collectorRepository, userCache);
                 break;
 
             case PullRequest:
-                gitHubv3 = new GitHubPullRequestV3(collectorService, restClient, gitRequestRepository, commitRepository, collectorItemRepository, apiSettings, collectorRepository);
+                gitHubv3 = new GitHubPullRequestV3(collectorService, restClient, gitRequestRepository, commitRepository, collectorItemRepository, apiSettings, collectorRepository, userCache);
                 break;
 
             case Issues:
-                gitHubv3 = new GitHubIssueV3(collectorService, restClient, gitRequestRepository, collectorItemRepository, apiSettings, collectorRepository);
+                gitHubv3 = new GitHubIssueV3(collectorService, restClient, gitRequestRepository, collectorItemRepository, apiSettings, collectorRepository, userCache);
                 break;
 
             default:
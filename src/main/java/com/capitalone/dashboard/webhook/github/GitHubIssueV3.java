@@ -25,8 +25,9 @@ public class GitHubIssueV3 extends GitHubV3 {
                          GitRequestRepository gitRequestRepository,
                          CollectorItemRepository collectorItemRepository,
                          ApiSettings apiSettings,
-                         BaseCollectorRepository<GitHubCollector> collectorRepository) {
-        super(collectorService, restClient, apiSettings, collectorItemRepository, collectorRepository);
+                         BaseCollectorRepository<GitHubCollector> collectorRepository,
+                         GitHubUserCache userCache) {
+        super(collectorService, restClient, apiSettings, collectorItemRepository, collectorRepository, userCache);
         this.gitRequestRepository =  gitRequestRepository;
     }
 
@@ -50,8 +50,9 @@ public class GitHubPullRequestV3 extends GitHubV3 {
                                CommitRepository commitRepository,
                                CollectorItemRepository collectorItemRepository,
                                ApiSettings apiSettings,
-                               BaseCollectorRepository<GitHubCollector> collectorRepository) {
-        super(collectorService, restClient, apiSettings, collectorItemRepository, collectorRepository);
+                               BaseCollectorRepository<GitHubCollector> collectorRepository,
+                               GitHubUserCache userCache) {
+        super(collectorService, restClient, apiSettings, collectorItemRepository, collectorRepository, userCache);
 
         this.gitRequestRepository = gitRequestRepository;
         this.commitRepository = commitRepository;
@@ -0,0 +1,71 @@
+package com.capitalone.dashboard.webhook.github;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GitHub request budget shared by all repository syncs of the API instance. Requests are paced to a fixed
+ * rate when one is configured, and once GitHub reports that no more than the reserve of its rate limit is left,
+ * every request waits for the limit to reset.
+ */
+class GitHubRequestBudget {
+
+    private static final Log LOG = LogFactory.getLog(GitHubRequestBudget.class);
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+    private final int reserve;
+    private volatile long pausedUntil;
+
+    /**
+     * @param requestsPerMinute request rate, 0 or less for no pacing
+     * @param reserve           remaining requests at which the sync pauses until the rate limit resets
+     */
+    GitHubRequestBudget(int requestsPerMinute, int reserve) {
+        this.rateLimiter = requestsPerMinute > 0 ? RateLimiter.create(requestsPerMinute / 60.0) : null;
+        this.reserve = reserve;
+    }
+
+    /**
+     * Waits until a request may be made.
+     */
+    void acquire() {
+        long pause = pausedUntil - System.currentTimeMillis();
+        if (pause > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+    }
+
+    /**
+     * Reads the rate limit GitHub reported with a response.
+     */
+    void update(HttpHeaders headers) {
+        if (headers == null || reserve <= 0) {
+            return;
+        }
+        long remaining = NumberUtils.toLong(headers.getFirst(REMAINING_HEADER), -1);
+        long resetSeconds = NumberUtils.toLong(headers.getFirst(RESET_HEADER), 0);
+        if (remaining < 0 || remaining > reserve || resetSeconds <= 0) {
+            return;
+        }
+        long resetAt = TimeUnit.SECONDS.toMillis(resetSeconds);
+        if (resetAt > pausedUntil) {
+            LOG.info("GitHub rate limit has " + remaining + " requests left, pausing sync until " + resetAt);
+            pausedUntil = resetAt;
+        }
+    }
+}
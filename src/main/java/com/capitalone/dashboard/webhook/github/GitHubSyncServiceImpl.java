@@ -18,6 +18,7 @@ import com.capitalone.dashboard.model.webhook.github.GitHubRepo;
 import com.capitalone.dashboard.model.webhook.github.MergeEvent;
 import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.repository.CommitLookupRepository;
 import com.capitalone.dashboard.repository.CommitRepository;
 import com.capitalone.dashboard.repository.GitHubRepoRepository;
 import com.capitalone.dashboard.repository.GitRequestRepository;
@@ -27,6 +28,7 @@ import com.capitalone.dashboard.util.CommitPullMatcher;
 import com.capitalone.dashboard.util.Encryption;
 import com.capitalone.dashboard.util.EncryptionException;
 import com.capitalone.dashboard.util.GithubGraphQLQuery;
+import com.capitalone.dashboard.webhook.github.GitHubUserCache.GitHubUser;
 import com.google.common.collect.Lists;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -43,19 +45,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
 
 import java.net.MalformedURLException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -64,14 +72,19 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
     public static final String GIT_HUB = "GitHub";
     private static final Log LOG = LogFactory.getLog(GitHubSyncServiceImpl.class);
     private static final long ONE_DAY_IN_MILLISECONDS = (long) 24 * 60 * 60 * 1000;
+    private static final int COMMIT_BATCH_SIZE = 500;
 
     private final CommitRepository commitRepository;
+    private final CommitLookupRepository commitLookupRepository;
     private final GitRequestRepository gitRequestRepository;
     private final CollectorItemRepository collectorItemRepository;
     protected final ApiSettings apiSettings;
     protected final RestClient restClient;
     protected final GitHubRepoRepository gitHubRepoRepository;
     protected final CollectorRepository collectorRepository;
+    private final GitHubRequestBudget requestBudget;
+    private final GitHubUserCache userCache;
+    // per repository state, filled by fireGraphQL; each repository of a sync runs on its own worker instance
     List<Commit> commits;
     List<GitRequest> pullRequests;
     List<GitRequest> issues;
@@ -82,24 +95,47 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
 
     @Autowired
     public GitHubSyncServiceImpl(CommitRepository commitRepository,
+                                 CommitLookupRepository commitLookupRepository,
                                  GitRequestRepository gitRequestRepository,
                                  CollectorItemRepository collectorItemRepository,
                                  GitHubRepoRepository gitHubRepoRepository,
                                  CollectorRepository collectorRepository,
                                  ApiSettings apiSettings,
-                                 RestClient restClient) {
+                                 RestClient restClient,
+                                 GitHubUserCache userCache) {
         this.commitRepository = commitRepository;
+        this.commitLookupRepository = commitLookupRepository;
         this.gitRequestRepository = gitRequestRepository;
         this.collectorItemRepository = collectorItemRepository;
         this.apiSettings = apiSettings;
         this.restClient = restClient;
         this.gitHubRepoRepository = gitHubRepoRepository;
         this.collectorRepository = collectorRepository;
+        this.userCache = userCache;
 
         if (!CollectionUtils.isEmpty(apiSettings.getGithubSyncSettings().getNotBuiltCommits())) {
             apiSettings.getGithubSyncSettings().getNotBuiltCommits().stream().map(regExStr -> Pattern.compile(regExStr, Pattern.CASE_INSENSITIVE)).forEach(commitExclusionPatterns::add);
         }
+        this.requestBudget = new GitHubRequestBudget(apiSettings.getGithubSyncSettings().getRequestsPerMinute(),
+                apiSettings.getGithubSyncSettings().getRateLimitReserve());
+    }
 
+    /**
+     * Worker for syncing one repository. Shares the repositories, settings and request budget of the
+     * prototype, but has its own per repository state.
+     */
+    private GitHubSyncServiceImpl(GitHubSyncServiceImpl prototype) {
+        this.commitRepository = prototype.commitRepository;
+        this.commitLookupRepository = prototype.commitLookupRepository;
+        this.gitRequestRepository = prototype.gitRequestRepository;
+        this.collectorItemRepository = prototype.collectorItemRepository;
+        this.apiSettings = prototype.apiSettings;
+        this.restClient = prototype.restClient;
+        this.gitHubRepoRepository = prototype.gitHubRepoRepository;
+        this.collectorRepository = prototype.collectorRepository;
+        this.requestBudget = prototype.requestBudget;
+        this.userCache = prototype.userCache;
+        this.commitExclusionPatterns.addAll(prototype.commitExclusionPatterns);
     }
 
     @Override
@@ -112,75 +148,40 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
         long start = System.currentTimeMillis();
         int repoCount = 0;
         apiSettings.getGithubSyncSettings().setFirstRunHistoryDays(request.getHistoryDays());
+        ExecutorService executor = null;
         try {
             Collector collector = collectorRepository.findByName(GIT_HUB);
             if (Objects.isNull(collector)) return "Invalid collector";
             List<GitHubRepo> repos = gitHubRepoRepository.findRepoByUrlAndBranch(collector.getId(), request.getRepo(), request.getBranch());
+
+            int threads = Math.max(1, Math.min(apiSettings.getGithubSyncSettings().getSyncThreads(), repos.size()));
+            executor = Executors.newFixedThreadPool(threads);
+            List<Future<RepoSyncResult>> results = new ArrayList<>();
             for (GitHubRepo repo : repos) {
-                try {
-                    collectorItemRepository.save(repo);
-                    List<GitRequest> allRequests = gitRequestRepository.findRequestNumberAndLastUpdated(repo.getId());
-
-                    Map<Long, String> existingPRMap = allRequests.stream().filter(r -> Objects.equals(r.getRequestType(), "pull")).collect(
-                            Collectors.toMap(GitRequest::getUpdatedAt, GitRequest::getNumber,
-                                    (oldValue, newValue) -> oldValue
-                            )
-                    );
-
-                    Map<Long, String> existingIssueMap = allRequests.stream().filter(r -> Objects.equals(r.getRequestType(), "issue")).collect(
-                            Collectors.toMap(GitRequest::getUpdatedAt, GitRequest::getNumber,
-                                    (oldValue, newValue) -> oldValue
-                            )
-                    );
-
-                    fireGraphQL(repo, true, existingPRMap, existingIssueMap);
-                    int commitCount1 = processCommits(repo);
-                    commitCount += commitCount1;
-
-                    //Get all the Pull Requests
-                    int pullCount1 = processPRorIssueList(repo, allRequests.stream().filter(r -> Objects.equals(r.getRequestType(), "pull")).collect(Collectors.toList()), "pull");
-                    pullCount += pullCount1;
-
-                    //Get all the Issues
-                    int issueCount1 = processPRorIssueList(repo, allRequests.stream().filter(r -> Objects.equals(r.getRequestType(), "issue")).collect(Collectors.toList()), "issue");
-                    issueCount += issueCount;
-
-                    // Due to timing of PRs and Commits in PR merge event, some commits may not be included in the response and will not be connected to a PR.
-                    // This is the place attempting to re-connect the commits and PRs in case they were missed during previous run.
-
-                    processOrphanCommits(repo);
-
-                    repo.setLastUpdated(System.currentTimeMillis());
-                    // if everything went alright, there should be no error!
-                    repo.getErrors().clear();
-                    statusString = "SUCCESS, pulls=" + pullCount1 + ", commits=" + pullCount1 + ", issues=" + issueCount1;
+                results.add(executor.submit(() -> new GitHubSyncServiceImpl(this).syncRepo(repo)));
+            }
+            for (Future<RepoSyncResult> future : results) {
+                RepoSyncResult result = future.get();
+                commitCount += result.commits;
+                pullCount += result.pulls;
+                issueCount += result.issues;
+                if (result.success) {
                     repoCount++;
-
-                } catch (HttpStatusCodeException hc) {
-                    LOG.error("Error fetching commits for:" + repo.getRepoUrl(), hc);
-                    statusString = "EXCEPTION, " + hc.getClass().getCanonicalName();
-                    CollectionError error = new CollectionError(hc.getStatusCode().toString(), hc.getMessage());
-                    if (hc.getStatusCode() == HttpStatus.UNAUTHORIZED || hc.getStatusCode() == HttpStatus.FORBIDDEN) {
-                        LOG.info("add 0.2 sec delay when received 401/403 from GitHub");
-
-                    }
-                    repo.getErrors().add(error);
-                } catch (RestClientException | MalformedURLException ex) {
-                    LOG.error("Error fetching commits for:" + repo.getRepoUrl(), ex);
-                    statusString = "EXCEPTION, " + ex.getClass().getCanonicalName();
-                    CollectionError error = new CollectionError(CollectionError.UNKNOWN_HOST, ex.getMessage());
-                    repo.getErrors().add(error);
-                } catch (HygieiaException he) {
-                    LOG.error("Error fetching commits for:" + repo.getRepoUrl(), he);
-                    statusString = "EXCEPTION, " + he.getClass().getCanonicalName();
-                    CollectionError error = new CollectionError(String.valueOf(he.getErrorCode()), he.getMessage());
-                    repo.getErrors().add(error);
                 }
-                gitHubRepoRepository.save(repo);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while syncing GitHub repositories", e);
+        } catch (ExecutionException e) {
+            statusString = "EXCEPTION, " + e.getCause().getClass().getCanonicalName();
+            LOG.error("Unexpected exception when collecting : " + statusString, e.getCause());
         } catch (Throwable e) {
             statusString = "EXCEPTION, " + e.getClass().getCanonicalName();
             LOG.error("Unexpected exception when collecting : " + statusString, e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
         }
         long end = System.currentTimeMillis();
         long elapsedSeconds = (end - start) / 1000;
@@ -191,6 +192,85 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
 
     }
 
+    /**
+     * Syncs the commits, pull requests and issues of one repository. Collection errors are recorded on the
+     * repository, so a failing repository does not stop the others.
+     */
+    private RepoSyncResult syncRepo(GitHubRepo repo) {
+        RepoSyncResult result = new RepoSyncResult();
+        String statusString;
+        try {
+            collectorItemRepository.save(repo);
+            List<GitRequest> allRequests = gitRequestRepository.findRequestNumberAndLastUpdated(repo.getId());
+
+            Map<Long, String> existingPRMap = allRequests.stream().filter(r -> Objects.equals(r.getRequestType(), "pull")).collect(
+                    Collectors.toMap(GitRequest::getUpdatedAt, GitRequest::getNumber,
+                            (oldValue, newValue) -> oldValue
+                    )
+            );
+
+            Map<Long, String> existingIssueMap = allRequests.stream().filter(r -> Objects.equals(r.getRequestType(), "issue")).collect(
+                    Collectors.toMap(GitRequest::getUpdatedAt, GitRequest::getNumber,
+                            (oldValue, newValue) -> oldValue
+                    )
+            );
+
+            fireGraphQL(repo, true, existingPRMap, existingIssueMap);
+            result.commits = processCommits(repo);
+
+            //Get all the Pull Requests
+            result.pulls = processPRorIssueList(repo, allRequests.stream().filter(r -> Objects.equals(r.getRequestType(), "pull")).collect(Collectors.toList()), "pull");
+
+            //Get all the Issues
+            result.issues = processPRorIssueList(repo, allRequests.stream().filter(r -> Objects.equals(r.getRequestType(), "issue")).collect(Collectors.toList()), "issue");
+
+            // Due to timing of PRs and Commits in PR merge event, some commits may not be included in the response and will not be connected to a PR.
+            // This is the place attempting to re-connect the commits and PRs in case they were missed during previous run.
+
+            processOrphanCommits(repo);
+
+            repo.setLastUpdated(System.currentTimeMillis());
+            // if everything went alright, there should be no error!
+            repo.getErrors().clear();
+            statusString = "SUCCESS, pulls=" + result.pulls + ", commits=" + result.commits + ", issues=" + result.issues;
+            result.success = true;
+
+        } catch (HttpStatusCodeException hc) {
+            LOG.error("Error fetching commits for:" + repo.getRepoUrl(), hc);
+            statusString = "EXCEPTION, " + hc.getClass().getCanonicalName();
+            CollectionError error = new CollectionError(hc.getStatusCode().toString(), hc.getMessage());
+            if (hc.getStatusCode() == HttpStatus.UNAUTHORIZED || hc.getStatusCode() == HttpStatus.FORBIDDEN) {
+                LOG.info("add 0.2 sec delay when received 401/403 from GitHub");
+
+            }
+            repo.getErrors().add(error);
+        } catch (RestClientException | MalformedURLException ex) {
+            LOG.error("Error fetching commits for:" + repo.getRepoUrl(), ex);
+            statusString = "EXCEPTION, " + ex.getClass().getCanonicalName();
+            CollectionError error = new CollectionError(CollectionError.UNKNOWN_HOST, ex.getMessage());
+            repo.getErrors().add(error);
+        } catch (HygieiaException he) {
+            LOG.error("Error fetching commits for:" + repo.getRepoUrl(), he);
+            statusString = "EXCEPTION, " + he.getClass().getCanonicalName();
+            CollectionError error = new CollectionError(String.valueOf(he.getErrorCode()), he.getMessage());
+            repo.getErrors().add(error);
+        } catch (RuntimeException re) {
+            LOG.error("Error syncing:" + repo.getRepoUrl(), re);
+            statusString = "EXCEPTION, " + re.getClass().getCanonicalName();
+            repo.getErrors().add(new CollectionError(CollectionError.UNKNOWN_HOST, re.getMessage()));
+        }
+        LOG.debug(repo.getRepoUrl() + " : " + statusString);
+        gitHubRepoRepository.save(repo);
+        return result;
+    }
+
+    private static class RepoSyncResult {
+        private int commits;
+        private int pulls;
+        private int issues;
+        private boolean success;
+    }
+
     public List<Commit> getCommits() {
         return commits;
     }
@@ -458,16 +538,20 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
     }
 
     private ResponseEntity<String> makeRestCallPost(String url, String userId, String password, String personalAccessToken, JSONObject query) {
+        requestBudget.acquire();
+        ResponseEntity<String> response;
         // Basic Auth only.
         if (!Objects.equals("", userId) && !Objects.equals("", password)) {
             RestUserInfo userInfo = new RestUserInfo(userId, password);
-            return restClient.makeRestCallPost(url, userInfo, query);
+            response = restClient.makeRestCallPost(url, userInfo, query);
         } else if (personalAccessToken != null && !Objects.equals("", personalAccessToken)) {
-            return restClient.makeRestCallPost(url, "token", personalAccessToken, query);
+            response = restClient.makeRestCallPost(url, "token", personalAccessToken, query);
         } else {
             // This handles the case when settings.getPersonalAccessToken() is empty
-            return restClient.makeRestCallPost(url, "token", apiSettings.getGithubSyncSettings().getToken(), query);
+            response = restClient.makeRestCallPost(url, "token", apiSettings.getGithubSyncSettings().getToken(), query);
         }
+        requestBudget.update(response.getHeaders());
+        return response;
     }
 
     private GitHubPaging processPullRequest(JSONObject pullObject, GitHubRepo repo, Map<Long, String> prMap, long historyTimeStamp) throws MalformedURLException, HygieiaException {
@@ -578,12 +662,6 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
         return NumberUtils.toInt(str(json, key));
     }
 
-    private boolean isNewCommit(GitHubRepo repo, Commit commit) {
-        return commitRepository.findByCollectorItemIdAndScmRevisionNumber(
-                repo.getId(), commit.getScmRevisionNumber()) == null;
-    }
-
-
     /**
      * Process commits
      *
@@ -599,16 +677,27 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
             Iterable<Commit> saved = commitRepository.save(newCommits);
             count = saved != null ? Lists.newArrayList(saved).size() : 0;
         } else {
-            Collection<Commit> nonDupCommits = getCommits().stream()
-                    .<Map<String, Commit>>collect(HashMap::new, (m, c) -> m.put(c.getScmRevisionNumber(), c), Map::putAll)
-                    .values();
-            for (Commit commit : nonDupCommits) {
-                LOG.debug(commit.getTimestamp() + ":::" + commit.getScmCommitLog());
-                if (isNewCommit(repo, commit)) {
-                    commit.setCollectorItemId(repo.getId());
-                    commitRepository.save(commit);
-                    count++;
-                }
+            List<Commit> nonDupCommits = new ArrayList<>(getCommits().stream()
+                    .<Map<String, Commit>>collect(LinkedHashMap::new, (m, c) -> m.put(c.getScmRevisionNumber(), c), Map::putAll)
+                    .values());
+            // one existence query and one insert per batch instead of a query and a save per commit
+            for (List<Commit> batch : Lists.partition(nonDupCommits, COMMIT_BATCH_SIZE)) {
+                List<String> revisions = batch.stream().map(Commit::getScmRevisionNumber).collect(Collectors.toList());
+                Set<String> existingRevisions = commitLookupRepository
+                        .findRevisionsByCollectorItemIdAndScmRevisionNumberIn(repo.getId(), revisions).stream()
+                        .map(Commit::getScmRevisionNumber)
+                        .collect(Collectors.toSet());
+                List<Commit> newCommits = batch.stream()
+                        .filter(c -> !existingRevisions.contains(c.getScmRevisionNumber()))
+                        .collect(Collectors.toList());
+                if (newCommits.isEmpty()) continue;
+
+                newCommits.forEach(c -> {
+                    LOG.debug(c.getTimestamp() + ":::" + c.getScmCommitLog());
+                    c.setCollectorItemId(repo.getId());
+                });
+                commitRepository.save(newCommits);
+                count += newCommits.size();
             }
         }
         LOG.info("-- Saved Commits = " + count);
@@ -836,7 +925,10 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
     private ResponseEntity<String> makeRestCallGet(String url) throws RestClientException {
         // Basic Auth only.
         // This handles the case when settings.getPersonalAccessToken() is empty
-        return restClient.makeRestCallGet(url, "token", apiSettings.getGithubSyncSettings().getToken());
+        requestBudget.acquire();
+        ResponseEntity<String> response = restClient.makeRestCallGet(url, "token", apiSettings.getGithubSyncSettings().getToken());
+        requestBudget.update(response.getHeaders());
+        return response;
     }
 
 
@@ -849,21 +941,33 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
             GitHubParsed gitHubParsed = new GitHubParsed(repoUrl);
             String apiUrl = gitHubParsed.getBaseApiUrl();
             String queryUrl = apiUrl.concat("users/").concat(formattedUser);
-            ResponseEntity<String> response = makeRestCallGet(queryUrl);
-            JSONObject jsonObject = parseAsObject(response);
-            String ldapDN = str(jsonObject, "ldap_dn");
-            String authorTypeStr = str(jsonObject, "type");
-            if (StringUtils.isNotEmpty(ldapDN)) {
-                ldapMap.put(user, ldapDN);
+            GitHubUser gitHubUser = userCache.get(queryUrl, () -> readUser(queryUrl, user));
+            if (gitHubUser == null) return;
+            if (StringUtils.isNotEmpty(gitHubUser.getLdapDN())) {
+                ldapMap.put(user, gitHubUser.getLdapDN());
             }
-            if (StringUtils.isNotEmpty(authorTypeStr)) {
-                authorTypeMap.put(user, authorTypeStr);
+            if (StringUtils.isNotEmpty(gitHubUser.getAuthorType())) {
+                authorTypeMap.put(user, gitHubUser.getAuthorType());
             }
-        } catch (MalformedURLException | HygieiaException | RestClientException e) {
+        } catch (MalformedURLException | HygieiaException e) {
             LOG.error("Error getting LDAP_DN For user " + user, e);
         }
     }
 
+    private GitHubUser readUser(String queryUrl, String user) {
+        try {
+            ResponseEntity<String> response = makeRestCallGet(queryUrl);
+            JSONObject jsonObject = parseAsObject(response);
+            return new GitHubUser(str(jsonObject, "ldap_dn"), str(jsonObject, "type"));
+        } catch (HttpClientErrorException e) {
+            LOG.error("Error getting LDAP_DN For user " + user, e);
+            return e.getStatusCode() == HttpStatus.NOT_FOUND ? GitHubUser.missing() : null;
+        } catch (RestClientException e) {
+            LOG.error("Error getting LDAP_DN For user " + user, e);
+            return null;
+        }
+    }
+
     public String getLDAPDN(GitHubRepo repo, String user) {
         if (StringUtils.isEmpty(user) || "unknown".equalsIgnoreCase(user)) return null;
         if (ldapMap == null) { ldapMap = new HashMap<>(); }
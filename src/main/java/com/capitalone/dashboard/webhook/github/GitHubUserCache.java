@@ -0,0 +1,91 @@
+package com.capitalone.dashboard.webhook.github;
+
+import com.capitalone.dashboard.settings.ApiSettings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * LDAP DN and author type of GitHub users, shared by the webhook handlers and the GitHub sync. Users are
+ * keyed by their user API url, so the same login on different GitHub hosts is looked up separately.
+ * Users without an LDAP DN or type (including unknown users) are cached for a shorter time, so that
+ * repeated events from them do not call GitHub each time. Failed lookups are not cached.
+ */
+@Component
+public class GitHubUserCache {
+
+    private final Cache<String, GitHubUser> users;
+    private final Cache<String, GitHubUser> missingUsers;
+
+    @Autowired
+    public GitHubUserCache(ApiSettings settings) {
+        this(settings.getGitHubUserCacheMinutes(), settings.getGitHubUserMissCacheMinutes(), settings.getGitHubUserCacheSize());
+    }
+
+    public GitHubUserCache(long expireMinutes, long missExpireMinutes, int maximumSize) {
+        this.users = newCache(expireMinutes, maximumSize);
+        this.missingUsers = newCache(missExpireMinutes, maximumSize);
+    }
+
+    /**
+     * @param userUrl GitHub user API url of the user
+     * @param loader  reads the user from GitHub, returning null when the lookup failed
+     * @return the user, or null when the lookup failed
+     */
+    public GitHubUser get(String userUrl, Supplier<GitHubUser> loader) {
+        GitHubUser user = users.getIfPresent(userUrl);
+        if (user == null) {
+            user = missingUsers.getIfPresent(userUrl);
+        }
+        if (user != null) {
+            return user;
+        }
+        user = loader.get();
+        if (user != null) {
+            (user.isEmpty() ? missingUsers : users).put(userUrl, user);
+        }
+        return user;
+    }
+
+    private static Cache<String, GitHubUser> newCache(long expireMinutes, int maximumSize) {
+        // a zero expiry or size disables caching
+        return CacheBuilder.newBuilder()
+                .maximumSize(Math.max(0, maximumSize))
+                .expireAfterWrite(Math.max(0, expireMinutes), TimeUnit.MINUTES)
+                .build();
+    }
+
+    public static class GitHubUser {
+        private final String ldapDN;
+        private final String authorType;
+
+        public GitHubUser(String ldapDN, String authorType) {
+            this.ldapDN = StringUtils.defaultIfEmpty(ldapDN, null);
+            this.authorType = StringUtils.defaultIfEmpty(authorType, null);
+        }
+
+        /**
+         * @return a user that is unknown to GitHub
+         */
+        public static GitHubUser missing() {
+            return new GitHubUser(null, null);
+        }
+
+        public String getLdapDN() {
+            return ldapDN;
+        }
+
+        public String getAuthorType() {
+            return authorType;
+        }
+
+        public boolean isEmpty() {
+            return ldapDN == null && authorType == null;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.capitalone.dashboard.model.CollectorItem;
 import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.service.CollectorService;
 import com.capitalone.dashboard.util.HygieiaUtils;
+import com.capitalone.dashboard.webhook.github.GitHubUserCache.GitHubUser;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -20,7 +21,9 @@ import org.bson.types.ObjectId;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.ParseException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 
@@ -45,22 +48,21 @@ public abstract class GitHubV3 {
     protected final CollectorItemRepository collectorItemRepository;
     private final BaseCollectorRepository<GitHubCollector> collectorRepository;
 
-    private Map<String, String> ldapMap;
-    private Map<String, String> authorTypeMap;
+    private final GitHubUserCache userCache;
 
     public GitHubV3(CollectorService collectorService,
                     RestClient restClient,
                     ApiSettings apiSettings,
                     CollectorItemRepository collectorItemRepository,
-                    BaseCollectorRepository<GitHubCollector> collectorRepository
+                    BaseCollectorRepository<GitHubCollector> collectorRepository,
+                    GitHubUserCache userCache
     ) {
         this.collectorService = collectorService;
         this.restClient = restClient;
         this.apiSettings = apiSettings;
         this.collectorItemRepository = collectorItemRepository;
         this.collectorRepository = collectorRepository;
-        ldapMap = new HashMap<>();
-        authorTypeMap = new HashMap<>();
+        this.userCache = userCache;
     }
 
     public GitHubCollector getCollector() {
@@ -175,72 +177,63 @@ public abstract class GitHubV3 {
         return tokenValue;
     }
 
-    protected void getUser(String repoUrl, String user, String token) {
-        if (StringUtils.isEmpty(user)) return;
+    protected GitHubUser getUser(String repoUrl, String user, String token) {
+        if (StringUtils.isEmpty(user)) return null;
         // This is weird. Github does replace the _ in commit author with - in the user api!!!
         String formattedUser = user.replace("_", "-");
+        String queryUrl;
+        try {
+            queryUrl = new GitHubParsed(repoUrl).getBaseApiUrl().concat("users/").concat(formattedUser);
+        } catch (MalformedURLException | HygieiaException e) {
+            LOG.error("LDAP user not found " + user, e);
+            return null;
+        }
+        return userCache.get(queryUrl, () -> readUser(queryUrl, user, token));
+    }
+
+    private GitHubUser readUser(String queryUrl, String user, String token) {
         int retryCount = 0;
         ResponseEntity<String> response;
         while(true) {
             try {
                 long start = System.currentTimeMillis();
 
-                GitHubParsed gitHubParsed = new GitHubParsed(repoUrl);
-                String apiUrl = gitHubParsed.getBaseApiUrl();
-                String queryUrl = apiUrl.concat("users/").concat(formattedUser);
                 response = restClient.makeRestCallGet(queryUrl, "token", token);
                 JSONObject userJson = restClient.parseAsObject(response);
-                String ldapDN = restClient.getString(userJson, "ldap_dn");
-                String authorTypeStr = restClient.getString(userJson, "type");
-                if (StringUtils.isNotEmpty(ldapDN)) {
-                    ldapMap.put(user, ldapDN);
-                }
-                if (StringUtils.isNotEmpty(authorTypeStr)) {
-                    authorTypeMap.put(user, authorTypeStr);
-                }
+                GitHubUser gitHubUser = new GitHubUser(restClient.getString(userJson, "ldap_dn"),
+                        restClient.getString(userJson, "type"));
 
                 long end = System.currentTimeMillis();
                 LOG.info("Time to make the LDAP call = "+(end-start));
-                return;
+                return gitHubUser;
             } catch (ResourceAccessException e) {
                 retryCount++;
                 if (retryCount > apiSettings.getWebHook().getGitHub().getMaxRetries()) {
                     LOG.error("Error getting LDAP_DN For user " + user + " after " + apiSettings.getWebHook().getGitHub().getMaxRetries() + " tries.", e);
-                    return;
+                    return null;
                 }
-            } catch (MalformedURLException | HygieiaException | ParseException | RestClientException e) {
+            } catch (HttpClientErrorException e) {
+                LOG.error("LDAP user not found " + user, e);
+                return e.getStatusCode() == HttpStatus.NOT_FOUND ? GitHubUser.missing() : null;
+            } catch (ParseException | RestClientException e) {
                 LOG.error("LDAP user not found " + user, e);
-                return;
+                return null;
             }
         }
     }
 
     protected String getLDAPDN(String repoUrl, String user, String token) {
         if (StringUtils.isEmpty(user) || "unknown".equalsIgnoreCase(user)) return null;
-        if (ldapMap == null) { ldapMap = new HashMap<>(); }
-        //This is weird. Github does replace the _ in commit author with - in the user api!!!
-        String formattedUser = user.replace("_", "-");
-        if(ldapMap.containsKey(formattedUser)) {
-            return ldapMap.get(formattedUser);
-        }
-        this.getUser(repoUrl, formattedUser, token);
-        return ldapMap.get(formattedUser);
+        GitHubUser gitHubUser = getUser(repoUrl, user, token);
+        return gitHubUser == null ? null : gitHubUser.getLdapDN();
     }
 
     protected String getAuthorType(String repoUrl, String user, String token) {
         if (StringUtils.isEmpty(user) || "unknown".equalsIgnoreCase(user)) return null;
-        if (authorTypeMap == null) { authorTypeMap = new HashMap<>(); }
-        //This is weird. Github does replace the _ in commit author with - in the user api!!!
-        String formattedUser = user.replace("_", "-");
-        if(authorTypeMap.containsKey(formattedUser)) {
-            return authorTypeMap.get(formattedUser);
-        }
-        this.getUser(repoUrl, formattedUser, token);
-        return authorTypeMap.get(formattedUser);
+        GitHubUser gitHubUser = getUser(repoUrl, user, token);
+        return gitHubUser == null ? null : gitHubUser.getAuthorType();
     }
 
-
-
     protected void checkForErrors(JSONObject responseJsonObject) throws HygieiaException, ParseException {
         JSONArray errors = restClient.getArray(responseJsonObject, "errors");
 
@@ -25,6 +25,15 @@ public class GithubSyncSettings {
     @Value("${githubSyncSettings.commitPullSyncTime:86400000}") // 1 day in milliseconds
     private long commitPullSyncTime;
 
+    @Value("${githubSyncSettings.syncThreads:4}")
+    private int syncThreads;
+
+    @Value("${githubSyncSettings.requestsPerMinute:0}")
+    private int requestsPerMinute;
+
+    @Value("${githubSyncSettings.rateLimitReserve:100}")
+    private int rateLimitReserve;
+
     public String getToken() {
         return token;
     }
@@ -72,4 +81,28 @@ public class GithubSyncSettings {
     public void setCommitPullSyncTime(long commitPullSyncTime) {
         this.commitPullSyncTime = commitPullSyncTime;
     }
+
+    public int getSyncThreads() {
+        return syncThreads;
+    }
+
+    public void setSyncThreads(int syncThreads) {
+        this.syncThreads = syncThreads;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+
+    public int getRateLimitReserve() {
+        return rateLimitReserve;
+    }
+
+    public void setRateLimitReserve(int rateLimitReserve) {
+        this.rateLimitReserve = rateLimitReserve;
+    }
 }
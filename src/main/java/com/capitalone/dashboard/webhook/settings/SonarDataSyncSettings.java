@@ -3,6 +3,7 @@ package com.capitalone.dashboard.webhook.settings;
 import com.capitalone.dashboard.client.RestUserInfo;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationPropertiesBinding;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
@@ -18,6 +19,9 @@ public class SonarDataSyncSettings {
     private String passCode;
     private String token;
 
+    @Value("${sonarDataSyncSettings.pageThreads:4}")
+    private int pageThreads;
+
     public String getUserId() {
         return userId;
     }
@@ -42,6 +46,14 @@ public class SonarDataSyncSettings {
         this.token = token;
     }
 
+    public int getPageThreads() {
+        return pageThreads;
+    }
+
+    public void setPageThreads(int pageThreads) {
+        this.pageThreads = pageThreads;
+    }
+
     private HttpHeaders createHeaders(String username, String password){
         HttpHeaders headers = new HttpHeaders();
         if (username != null && !username.isEmpty()) {
@@ -14,6 +14,8 @@ import com.capitalone.dashboard.model.SonarProject;
 import com.capitalone.dashboard.repository.CodeQualityRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
+import com.capitalone.dashboard.repository.DataSyncOperations;
+import com.capitalone.dashboard.repository.SonarProjectLookupRepository;
 import com.capitalone.dashboard.repository.SonarProjectRepository;
 import com.capitalone.dashboard.request.SonarDataSyncRequest;
 import com.capitalone.dashboard.settings.ApiSettings;
@@ -22,6 +24,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.bson.types.ObjectId;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -33,15 +36,23 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 
-import javax.annotation.Nullable;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class SonarQubeHookServiceImpl implements SonarQubeHookService {
@@ -71,11 +82,14 @@ public class SonarQubeHookServiceImpl implements SonarQubeHookService {
     private static final String VERSION = "revision";
     private static final String NICE_NAME = "niceName";
     private static final String PROJECT_NAME = "options.projectName";
+    private static final int PROJECT_BATCH_SIZE = 1000;
 
     private final CodeQualityRepository codeQualityRepository;
     private final SonarProjectRepository sonarProjectRepository;
     private final CollectorRepository collectorRepository;
     private final ComponentRepository componentRepository;
+    private final SonarProjectLookupRepository sonarProjectLookupRepository;
+    private final DataSyncOperations dataSyncOperations;
     private final RestClient restClient;
     @Autowired
     private ApiSettings settings;
@@ -83,12 +97,16 @@ public class SonarQubeHookServiceImpl implements SonarQubeHookService {
 
     @Autowired
     SonarQubeHookServiceImpl( CodeQualityRepository codeQualityRepository, SonarProjectRepository sonarProjectRepository,
-                              CollectorRepository collectorRepository, ComponentRepository componentRepository,ApiSettings settings, RestClient restClient)
+                              CollectorRepository collectorRepository, ComponentRepository componentRepository,
+                              SonarProjectLookupRepository sonarProjectLookupRepository, DataSyncOperations dataSyncOperations,
+                              ApiSettings settings, RestClient restClient)
     {
         this.codeQualityRepository = codeQualityRepository;
         this.sonarProjectRepository = sonarProjectRepository;
         this.collectorRepository = collectorRepository;
         this.componentRepository = componentRepository;
+        this.sonarProjectLookupRepository = sonarProjectLookupRepository;
+        this.dataSyncOperations = dataSyncOperations;
         this.settings = settings;
         this.restClient = restClient;
     }
@@ -298,21 +316,17 @@ public class SonarQubeHookServiceImpl implements SonarQubeHookService {
     }
 
     /**
-     * Sync code quality static analysis data from one server to the another
+     * Sync code quality static analysis data from one server to the another.
+     * Existing projects are looked up and their components updated in batches of project names.
      * @param request
      * @return
      * @throws HygieiaException
      */
     public ResponseEntity<String> syncData(SonarDataSyncRequest request) throws HygieiaException {
 
-        String getVersionEpt = "/api/server/version";
-        List<SonarProject> updatedProjects = new ArrayList<>();
         String from = request.getSyncFrom();
         String to = request.getSyncTo();
         boolean isSync = request.getIsSync();
-        final AtomicInteger index = new AtomicInteger();
-        final AtomicInteger compIndex = new AtomicInteger();
-        HttpHeaders httpHeaders = new HttpHeaders();
         Collector collector;
 
         try {
@@ -327,31 +341,57 @@ public class SonarQubeHookServiceImpl implements SonarQubeHookService {
             throw new HygieiaException(e.getMessage(), e.getCause(), false, true);
         }
         List<SonarProject> projects = getSonarProjects(to);
-        projects.stream().forEach(project -> {
-            String projectName = project.getProjectName();
-            Optional<SonarProject> existingSonarProjectOpt = Optional.ofNullable(sonarProjectRepository.findSonarProjectByProjectName(
-                    collector.getId(), from, projectName));
-            existingSonarProjectOpt.ifPresent(eSonarProject -> {
-                eSonarProject.setProjectId(project.getProjectId());
-                eSonarProject.setInstanceUrl(to);
-                updatedProjects.add(eSonarProject);
-                updateComponent(eSonarProject, isSync, compIndex);
-                LOG.info((index.getAndIncrement() + " : " + projectName + "'s project id & instance url updated"));
-            });
-        });
+        Map<String, SonarProject> projectsByName = new LinkedHashMap<>();
+        projects.forEach(project -> projectsByName.put(project.getProjectName(), project));
+        List<String> projectNames = new ArrayList<>(projectsByName.keySet());
+
+        int updatedProjects = 0;
+        int updatedComponentItems = 0;
+        for (int start = 0; start < projectNames.size(); start += PROJECT_BATCH_SIZE) {
+            List<String> batch = projectNames.subList(start, Math.min(start + PROJECT_BATCH_SIZE, projectNames.size()));
+            List<SonarProject> existingProjects = updateExistingProjects(collector, from, to, batch, projectsByName);
+            updatedProjects += existingProjects.size();
+            updatedComponentItems += updateComponents(existingProjects, isSync);
+            if (isSync && !existingProjects.isEmpty()) {
+                sonarProjectRepository.save(existingProjects);
+            }
+        }
 
-        String math = updatedProjects.size() + "/" + projects.size();
-        String message = math + " sonar collector items and " + compIndex + " dashboard components can be updated";
+        String math = updatedProjects + "/" + projects.size();
+        String message = math + " sonar collector items and " + updatedComponentItems + " dashboard components can be updated";
         if (isSync) {
-            sonarProjectRepository.save(updatedProjects);
-            message = math + " sonar collector items and " + compIndex + " dashboard components updated";
+            message = math + " sonar collector items and " + updatedComponentItems + " dashboard components updated";
         }
         LOG.info(message);
         return ResponseEntity.ok(message);
     }
 
     /**
-     * Get code quality projects
+     * Points the projects of the source server having one of the names to the project of the target server
+     * @param collector
+     * @param from source server
+     * @param to target server
+     * @param projectNames names of the projects to look up
+     * @param projectsByName target server projects by name
+     * @return source server projects that were updated
+     */
+    private List<SonarProject> updateExistingProjects(Collector collector, String from, String to, List<String> projectNames,
+                                                      Map<String, SonarProject> projectsByName) {
+        List<SonarProject> existingProjects = new ArrayList<>();
+        Set<String> found = new HashSet<>();
+        sonarProjectLookupRepository.findSonarProjectsByProjectNames(collector.getId(), from, projectNames).forEach(eSonarProject -> {
+            String projectName = eSonarProject.getProjectName();
+            if (!found.add(projectName)) return;
+            eSonarProject.setProjectId(projectsByName.get(projectName).getProjectId());
+            eSonarProject.setInstanceUrl(to);
+            existingProjects.add(eSonarProject);
+            LOG.info(projectName + "'s project id & instance url updated");
+        });
+        return existingProjects;
+    }
+
+    /**
+     * Get code quality projects. Once the first page gives the total, the other pages are fetched concurrently.
      * @param serverUrl
      * @return List
      * @throws HygieiaException
@@ -379,16 +419,15 @@ public class SonarQubeHookServiceImpl implements SonarQubeHookService {
             long pageSize = pagingOpt.isPresent() ? (Long) ((JSONObject) pagingOpt.get()).get("pageSize") : 1;
             int pages = (int) Math.ceil((double) totalProjects / pageSize);
 
-            if (totalProjects <= pageSize) {
-                jsonArray.addAll((JSONArray) responseBody.get("components"));
-            } else {
-                for (int start = 1; start <= pages; start++) {
-                    String urlFinal = getProjectsEpt + "&p=" + start;
-                    response = restClient.makeRestCallGet(urlFinal, httpHeaders);
-                    JSONObject jsonObjectResponse = (JSONObject) jsonParser.parse(response.getBody());
-                    jsonArray.addAll((JSONArray) jsonObjectResponse.get("components"));
-                }
+            jsonArray.addAll((JSONArray) responseBody.get("components"));
+            if (pages > 1) {
+                jsonArray.addAll(getProjectPages(getProjectsEpt, httpHeaders, pages));
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HygieiaException(e.getMessage(), HygieiaException.INVALID_CONFIGURATION);
+        } catch (ExecutionException e) {
+            throw new HygieiaException(e.getCause().getMessage(), HygieiaException.INVALID_CONFIGURATION);
         } catch (Exception e) {
             throw new HygieiaException(e.getMessage(), HygieiaException.INVALID_CONFIGURATION);
         }
@@ -404,32 +443,73 @@ public class SonarQubeHookServiceImpl implements SonarQubeHookService {
     }
 
     /**
-     * Updated the component's code quality collector items' project id and instance url
-     * @param eSonarProject
+     * Fetches pages 2 to pages of the projects on up to {@link com.capitalone.dashboard.webhook.settings.SonarDataSyncSettings#getPageThreads()} threads
+     * @param getProjectsEpt
+     * @param httpHeaders
+     * @param pages
+     * @return projects of the pages, in page order
+     */
+    private JSONArray getProjectPages(String getProjectsEpt, HttpHeaders httpHeaders, int pages) throws InterruptedException, ExecutionException {
+        int threads = Math.max(1, Math.min(settings.getSonarDataSyncSettings().getPageThreads(), pages - 1));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<JSONArray>> results = new ArrayList<>();
+            for (int page = 2; page <= pages; page++) {
+                String urlFinal = getProjectsEpt + "&p=" + page;
+                results.add(executor.submit(() -> getProjectPage(urlFinal, httpHeaders)));
+            }
+            JSONArray jsonArray = new JSONArray();
+            for (Future<JSONArray> result : results) {
+                jsonArray.addAll(result.get());
+            }
+            return jsonArray;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private JSONArray getProjectPage(String url, HttpHeaders httpHeaders) throws HygieiaException, ParseException {
+        ResponseEntity<String> response = restClient.makeRestCallGet(url, httpHeaders);
+        if (!response.getStatusCode().equals(HttpStatus.OK)) {
+            throw new HygieiaException(response.getBody(), HygieiaException.INVALID_CONFIGURATION);
+        }
+        JSONObject jsonObjectResponse = (JSONObject) new JSONParser().parse(response.getBody());
+        return (JSONArray) jsonObjectResponse.get("components");
+    }
+
+    /**
+     * Updates the project id and instance url of the components' code quality collector items, reading all
+     * components of the projects in one query and saving them in one bulk write
+     * @param eSonarProjects
      * @param isSync
-     * @param compIndex
+     * @return number of component collector items updated
      */
-    private void updateComponent(SonarProject eSonarProject, boolean isSync, @Nullable AtomicInteger compIndex) {
-        List<Component> components = componentRepository.findByCodeQualityCollectorItems(eSonarProject.getId());
-        List<CollectorItem> codeQualityCollectorItems = new ArrayList<>();
-        components.forEach(component -> {
-            component.getCollectorItems(CollectorType.CodeQuality).forEach(collectorItem -> {
-                if (eSonarProject.getProjectName().equals(collectorItem.getOptions().get("projectName"))) {
+    private int updateComponents(List<SonarProject> eSonarProjects, boolean isSync) {
+        if (eSonarProjects.isEmpty()) return 0;
+        Map<ObjectId, SonarProject> projectsById = eSonarProjects.stream()
+                .collect(Collectors.toMap(SonarProject::getId, Function.identity(), (first, second) -> first));
+        List<Component> components = dataSyncOperations.findComponentsByCollectorItemIds(CollectorType.CodeQuality, projectsById.keySet());
+        int updated = 0;
+        for (Component component : components) {
+            List<CollectorItem> codeQualityCollectorItems = component.getCollectorItems(CollectorType.CodeQuality);
+            Map<Object, SonarProject> projectsByName = new HashMap<>();
+            codeQualityCollectorItems.stream()
+                    .map(collectorItem -> projectsById.get(collectorItem.getId()))
+                    .filter(Objects::nonNull)
+                    .forEach(eSonarProject -> projectsByName.putIfAbsent(eSonarProject.getProjectName(), eSonarProject));
+            for (CollectorItem collectorItem : codeQualityCollectorItems) {
+                SonarProject eSonarProject = projectsByName.get(collectorItem.getOptions().get("projectName"));
+                if (eSonarProject != null) {
                     collectorItem.getOptions().put("projectId", eSonarProject.getProjectId());
                     collectorItem.getOptions().put("instanceUrl", eSonarProject.getInstanceUrl());
                     collectorItem.setLastUpdated(System.currentTimeMillis());
-                    if (null != compIndex) {
-                        compIndex.getAndIncrement();
-                    }
+                    updated++;
                 }
-                codeQualityCollectorItems.add(collectorItem);
-            });
-            Map<CollectorType, List<CollectorItem>> collectorItems = component.getCollectorItems();
-            collectorItems.put(CollectorType.CodeQuality, codeQualityCollectorItems);
-            component.setCollectorItems(collectorItems);
-            if (isSync) {
-                componentRepository.save(component);
             }
-        });
+        }
+        if (isSync) {
+            dataSyncOperations.replaceCollectorItems(CollectorType.CodeQuality, components);
+        }
+        return updated;
     }
 }
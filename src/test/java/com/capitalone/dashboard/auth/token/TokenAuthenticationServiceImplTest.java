@@ -6,6 +6,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -92,4 +93,36 @@ public class TokenAuthenticationServiceImplTest {
 		verify(request).getHeader(AUTHORIZATION);
 	}
 
+	@Test
+	public void testGetAuthentication_cachedToken() {
+		when(request.getHeader(AUTHORIZATION)).thenReturn(AUTH_PREFIX_W_SPACE + AuthenticationFixture.getJwtToken(USERNAME, tokenAuthProperties.getSecret(), tokenAuthProperties.getExpirationTime()));
+		Authentication first = service.getAuthentication(request);
+		Authentication second = service.getAuthentication(request);
+
+		assertNotNull(second);
+		assertTrue(first != second);
+		assertEquals(USERNAME, second.getName());
+		assertEquals(first.getAuthorities(), second.getAuthorities());
+		assertEquals(first.getDetails(), second.getDetails());
+	}
+
+	@Test
+	public void testRefreshAuthentication_freshToken() {
+		when(request.getHeader(AUTHORIZATION)).thenReturn(AUTH_PREFIX_W_SPACE + AuthenticationFixture.getJwtToken(USERNAME, tokenAuthProperties.getSecret(), tokenAuthProperties.getExpirationTime()));
+		Authentication authentication = service.getAuthentication(request);
+
+		service.refreshAuthentication(request, response, authentication);
+		verify(response, never()).addHeader(eq(AUTH_RESPONSE_HEADER), anyString());
+	}
+
+	@Test
+	public void testRefreshAuthentication_nearExpiry() {
+		tokenAuthProperties.setTokenRenewalTime(tokenAuthProperties.getExpirationTime());
+		when(request.getHeader(AUTHORIZATION)).thenReturn(AUTH_PREFIX_W_SPACE + AuthenticationFixture.getJwtToken(USERNAME, tokenAuthProperties.getSecret(), tokenAuthProperties.getExpirationTime() / 2));
+		Authentication authentication = service.getAuthentication(request);
+
+		service.refreshAuthentication(request, response, authentication);
+		verify(response).addHeader(eq(AUTH_RESPONSE_HEADER), anyString());
+	}
+
 }
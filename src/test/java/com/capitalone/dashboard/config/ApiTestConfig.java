@@ -2,8 +2,13 @@ package com.capitalone.dashboard.config;
 
 
 import com.capitalone.dashboard.auth.AuthProperties;
+import com.capitalone.dashboard.repository.CloudInstanceWriter;
+import com.capitalone.dashboard.repository.CloudTagLookup;
+import com.capitalone.dashboard.repository.CmdbNameLookup;
 import com.capitalone.dashboard.repository.CustomRepositoryQuery;
 import com.capitalone.dashboard.repository.CustomRepositoryQueryImpl;
+import com.capitalone.dashboard.repository.DashboardOwnerWriter;
+import com.capitalone.dashboard.repository.DashboardSearchKeyListener;
 import com.capitalone.dashboard.settings.ApiSettings;
 import com.capitalone.dashboard.util.URLConnectionFactory;
 import org.mockito.Mockito;
@@ -11,6 +16,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.core.annotation.Order;
 
 
@@ -32,6 +38,16 @@ public class ApiTestConfig {
     @Bean
     public CustomRepositoryQuery customRepositoryQuery() { return Mockito.mock(CustomRepositoryQueryImpl.class); }
     @Bean
+    public DashboardSearchKeyListener dashboardSearchKeyListener() { return new DashboardSearchKeyListener(); }
+    @Bean
+    public CloudTagLookup cloudTagLookup(MongoOperations mongoOperations) { return new CloudTagLookup(mongoOperations); }
+    @Bean
+    public CloudInstanceWriter cloudInstanceWriter(MongoOperations mongoOperations) { return new CloudInstanceWriter(mongoOperations); }
+    @Bean
+    public DashboardOwnerWriter dashboardOwnerWriter(MongoOperations mongoOperations) { return new DashboardOwnerWriter(mongoOperations); }
+    @Bean
+    public CmdbNameLookup cmdbNameLookup(MongoOperations mongoOperations) { return new CmdbNameLookup(mongoOperations); }
+    @Bean
     public AuthProperties authProperties(){
         return  Mockito.mock(AuthProperties.class);
     }
@@ -3,6 +3,7 @@ package com.capitalone.dashboard.config;
 
 import com.capitalone.dashboard.auth.AuthProperties;
 import com.capitalone.dashboard.auth.AuthenticationResponseService;
+import com.capitalone.dashboard.logging.MetricsRegistry;
 import com.capitalone.dashboard.repository.ApiTokenRepository;
 import com.capitalone.dashboard.repository.AuthenticationRepository;
 import com.capitalone.dashboard.repository.BuildRepository;
@@ -23,6 +24,7 @@ import com.capitalone.dashboard.service.CloudVolumeService;
 import com.capitalone.dashboard.service.CmdbRemoteService;
 import com.capitalone.dashboard.service.CmdbService;
 import com.capitalone.dashboard.service.CodeQualityService;
+import com.capitalone.dashboard.service.CollectorItemCursorService;
 import com.capitalone.dashboard.service.CollectorService;
 import com.capitalone.dashboard.service.CommitService;
 import com.capitalone.dashboard.service.ConfigurationService;
@@ -134,6 +136,16 @@ public class TestAuthConfig {
         return Mockito.mock(CollectorService.class);
     }
 
+    @Bean
+    public CollectorItemCursorService collectorItemCursorService() {
+        return Mockito.mock(CollectorItemCursorService.class);
+    }
+
+    @Bean
+    public MetricsRegistry metricsRegistry() {
+        return new MetricsRegistry();
+    }
+
     @Bean
     public ServiceService serviceService() {
         return Mockito.mock(ServiceService.class);
@@ -2,6 +2,7 @@ package com.capitalone.dashboard.config;
 
 import com.capitalone.dashboard.auth.AuthProperties;
 import com.capitalone.dashboard.auth.AuthenticationResponseService;
+import com.capitalone.dashboard.logging.MetricsRegistry;
 import com.capitalone.dashboard.service.ApiTokenService;
 import com.capitalone.dashboard.service.AuthenticationService;
 import com.capitalone.dashboard.service.AutoDiscoveryService;
@@ -16,6 +17,7 @@ import com.capitalone.dashboard.service.CloudVolumeService;
 import com.capitalone.dashboard.service.CmdbRemoteService;
 import com.capitalone.dashboard.service.CmdbService;
 import com.capitalone.dashboard.service.CodeQualityService;
+import com.capitalone.dashboard.service.CollectorItemCursorService;
 import com.capitalone.dashboard.service.CollectorService;
 import com.capitalone.dashboard.service.CommitService;
 import com.capitalone.dashboard.service.ConfigurationService;
@@ -84,6 +86,16 @@ public class TestConfig {
         return Mockito.mock(CollectorService.class);
     }
 
+    @Bean
+    public CollectorItemCursorService collectorItemCursorService() {
+        return Mockito.mock(CollectorItemCursorService.class);
+    }
+
+    @Bean
+    public MetricsRegistry metricsRegistry() {
+        return new MetricsRegistry();
+    }
+
     @Bean
     public ServiceService serviceService() {
         return Mockito.mock(ServiceService.class);
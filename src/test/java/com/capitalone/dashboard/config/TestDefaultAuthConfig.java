@@ -1,6 +1,7 @@
 package com.capitalone.dashboard.config;
 
 import com.capitalone.dashboard.auth.AuthProperties;
+import com.capitalone.dashboard.logging.MetricsRegistry;
 import com.capitalone.dashboard.repository.ApiTokenRepository;
 import com.capitalone.dashboard.repository.AuthenticationRepository;
 import com.capitalone.dashboard.repository.DashboardRepository;
@@ -20,6 +21,7 @@ import com.capitalone.dashboard.service.CloudVolumeService;
 import com.capitalone.dashboard.service.CmdbRemoteService;
 import com.capitalone.dashboard.service.CmdbService;
 import com.capitalone.dashboard.service.CodeQualityService;
+import com.capitalone.dashboard.service.CollectorItemCursorService;
 import com.capitalone.dashboard.service.CollectorService;
 import com.capitalone.dashboard.service.CommitService;
 import com.capitalone.dashboard.service.ConfigurationService;
@@ -124,6 +126,16 @@ import org.springframework.context.annotation.ComponentScan;
  		return Mockito.mock(CollectorService.class);
  	}
 
+ 	@Bean
+ 	public CollectorItemCursorService collectorItemCursorService() {
+ 		return Mockito.mock(CollectorItemCursorService.class);
+ 	}
+
+ 	@Bean
+ 	public MetricsRegistry metricsRegistry() {
+ 		return new MetricsRegistry();
+ 	}
+
  	@Bean
  	public ServiceService serviceService() {
  		return Mockito.mock(ServiceService.class);
@@ -0,0 +1,57 @@
+package com.capitalone.dashboard.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.capitalone.dashboard.model.OperationMetrics;
+
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    public void reportsPercentilesPerOperation() {
+        for (int i = 0; i < 98; i++) {
+            registry.record(MetricsRegistry.CONTROLLER, "GET /dashboard", TimeUnit.MILLISECONDS.toNanos(4), false);
+        }
+        registry.record(MetricsRegistry.CONTROLLER, "GET /dashboard", TimeUnit.MILLISECONDS.toNanos(120), false);
+        registry.record(MetricsRegistry.CONTROLLER, "GET /dashboard", TimeUnit.MILLISECONDS.toNanos(2500), true);
+
+        List<OperationMetrics> metrics = registry.snapshot(MetricsRegistry.CONTROLLER);
+
+        assertEquals(1, metrics.size());
+        OperationMetrics dashboard = metrics.get(0);
+        assertEquals("GET /dashboard", dashboard.getName());
+        assertEquals(100, dashboard.getCount());
+        assertEquals(1, dashboard.getErrors());
+        assertEquals(5, dashboard.getP50Millis());
+        assertEquals(5, dashboard.getP95Millis());
+        assertEquals(150, dashboard.getP99Millis());
+        assertEquals(2500, dashboard.getMaxMillis());
+    }
+
+    @Test
+    public void ordersByTotalTimeAndFiltersByType() {
+        registry.record(MetricsRegistry.REPOSITORY, "DashboardRepository.findOne", TimeUnit.MILLISECONDS.toNanos(2), false);
+        registry.record(MetricsRegistry.REPOSITORY, "CmdbRepository.findAll", TimeUnit.MILLISECONDS.toNanos(900), false);
+        registry.record(MetricsRegistry.CONTROLLER, "GET /cmdb/configItem/{itemType}", TimeUnit.MILLISECONDS.toNanos(950), false);
+
+        List<OperationMetrics> repositories = registry.snapshot(MetricsRegistry.REPOSITORY);
+        assertEquals(2, repositories.size());
+        assertEquals("CmdbRepository.findAll", repositories.get(0).getName());
+        assertEquals(3, registry.snapshot("").size());
+    }
+
+    @Test
+    public void resetDropsMetrics() {
+        registry.record(MetricsRegistry.CONTROLLER, "GET /build", 1000, false);
+        registry.reset();
+
+        assertTrue(registry.snapshot("").isEmpty());
+    }
+}
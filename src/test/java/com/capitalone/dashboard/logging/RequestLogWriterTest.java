@@ -0,0 +1,148 @@
+package com.capitalone.dashboard.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.capitalone.dashboard.model.RequestLog;
+import com.capitalone.dashboard.repository.RequestLogRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestLogWriterTest {
+
+    @Mock
+    private RequestLogRepository requestLogRepository;
+
+    private final CountDownLatch saving = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void releaseSaves() {
+        release.countDown();
+    }
+
+    @Test
+    public void writesFullBatchInOneInsert() throws Exception {
+        RequestLogWriter writer = new RequestLogWriter(requestLogRepository, 10, 2, 60000, RequestLogWriter.Overflow.DROP, 1);
+        RequestLog first = new RequestLog();
+        RequestLog second = new RequestLog();
+
+        writer.write(first);
+        writer.write(second);
+
+        verify(requestLogRepository, timeout(5000)).save(Arrays.asList(first, second));
+        writer.destroy();
+    }
+
+    @Test
+    public void flushesQueuedLogsOnDestroy() throws Exception {
+        RequestLogWriter writer = new RequestLogWriter(requestLogRepository, 10, 100, 60000, RequestLogWriter.Overflow.DROP, 1);
+        RequestLog requestLog = new RequestLog();
+
+        writer.write(requestLog);
+        writer.destroy();
+
+        verify(requestLogRepository).save(Arrays.asList(requestLog));
+        assertEquals(0, writer.getQueueSize());
+    }
+
+    @Test
+    public void savesSynchronouslyAfterDestroy() throws Exception {
+        RequestLogWriter writer = new RequestLogWriter(requestLogRepository, 10, 100, 60000, RequestLogWriter.Overflow.DROP, 1);
+        writer.destroy();
+        RequestLog requestLog = new RequestLog();
+
+        writer.write(requestLog);
+
+        verify(requestLogRepository).save(requestLog);
+    }
+
+    @Test
+    public void dropsWhenQueueIsFull() throws Exception {
+        RequestLogWriter writer = blockedWriter(4, RequestLogWriter.Overflow.DROP, 1);
+
+        writeLogs(writer, 6);
+
+        assertEquals(4, writer.getQueueSize());
+        assertEquals(2, writer.getDroppedCount());
+        release.countDown();
+        writer.destroy();
+        assertEquals(0, writer.getQueueSize());
+    }
+
+    @Test
+    public void blocksUntilQueueHasRoom() throws Exception {
+        RequestLogWriter writer = blockedWriter(2, RequestLogWriter.Overflow.BLOCK, 1);
+        writeLogs(writer, 2);
+
+        Thread requestThread = new Thread(() -> writer.write(new RequestLog()));
+        requestThread.start();
+        requestThread.join(300);
+        assertTrue(requestThread.isAlive());
+
+        release.countDown();
+        requestThread.join(5000);
+        assertFalse(requestThread.isAlive());
+        assertEquals(0, writer.getDroppedCount());
+        writer.destroy();
+    }
+
+    @Test
+    public void samplesAboveThreeQuartersOfCapacity() throws Exception {
+        RequestLogWriter writer = blockedWriter(8, RequestLogWriter.Overflow.SAMPLE, 4);
+
+        // below 3/4 of the capacity every log is queued
+        writeLogs(writer, 6);
+        assertEquals(6, writer.getQueueSize());
+        assertEquals(0, writer.getDroppedCount());
+
+        // above it one of every 4 is queued
+        writeLogs(writer, 8);
+        assertEquals(8, writer.getQueueSize());
+        assertEquals(6, writer.getDroppedCount());
+
+        // a sampled log is still dropped when the queue is full
+        writeLogs(writer, 4);
+        assertEquals(8, writer.getQueueSize());
+        assertEquals(10, writer.getDroppedCount());
+        release.countDown();
+        writer.destroy();
+    }
+
+    /**
+     * Writer whose worker has taken one log and is blocked saving it until {@link #release} is counted down,
+     * so further logs stay in the queue.
+     */
+    @SuppressWarnings("unchecked")
+    private RequestLogWriter blockedWriter(int capacity, RequestLogWriter.Overflow overflow, int sampleRate) throws InterruptedException {
+        when(requestLogRepository.save(any(Iterable.class))).thenAnswer(invocation -> {
+            saving.countDown();
+            release.await();
+            return invocation.getArguments()[0];
+        });
+        RequestLogWriter writer = new RequestLogWriter(requestLogRepository, capacity, 1, 60000, overflow, sampleRate);
+        writer.write(new RequestLog());
+        assertTrue(saving.await(5, TimeUnit.SECONDS));
+        return writer;
+    }
+
+    private static void writeLogs(RequestLogWriter writer, int count) {
+        for (int i = 0; i < count; i++) {
+            writer.write(new RequestLog());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.config.FongoConfig;
+import com.capitalone.dashboard.misc.HygieiaException;
+import com.capitalone.dashboard.model.CloudInstance;
+import com.capitalone.dashboard.model.NameValue;
+import com.capitalone.dashboard.request.CloudInstanceCreateRequest;
+import com.capitalone.dashboard.service.CloudInstanceServiceImpl;
+import com.github.fakemongo.junit.FongoRule;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {FongoConfig.class})
+@DirtiesContext
+public class CloudInstanceWriterTest {
+
+    private static final String ACCOUNT = "123456789";
+
+    @Rule
+    public FongoRule fongoRule = new FongoRule();
+
+    @Autowired
+    private MongoOperations mongoOperations;
+    @Autowired
+    private CloudInstanceRepository cloudInstanceRepository;
+
+    private CloudInstanceWriter cloudInstanceWriter;
+
+    @Before
+    public void setup() {
+        cloudInstanceRepository.deleteAll();
+        cloudInstanceWriter = new CloudInstanceWriter(mongoOperations);
+    }
+
+    @Test
+    public void insertsNewInstances() {
+        cloudInstanceWriter.upsertAll(Arrays.asList(instance("i-1", "running"), instance("i-2", "stopped")));
+
+        assertEquals(2, cloudInstanceRepository.count());
+        CloudInstance stored = cloudInstanceRepository.findByInstanceId("i-1");
+        assertEquals(ACCOUNT, stored.getAccountNumber());
+        assertEquals("running", stored.getStatus());
+        assertEquals(1, stored.getTags().size());
+        assertEquals("prod", stored.getTags().iterator().next().getValue());
+    }
+
+    @Test
+    public void replacesExistingInstance() {
+        CloudInstance existing = instance("i-1", "running");
+        existing.setSubnetId("subnet-1");
+        cloudInstanceRepository.save(existing);
+
+        CloudInstance updated = instance("i-1", "stopped");
+        updated.setId(existing.getId());
+        cloudInstanceWriter.upsertAll(Collections.singletonList(updated));
+
+        assertEquals(1, cloudInstanceRepository.count());
+        CloudInstance stored = cloudInstanceRepository.findOne(existing.getId());
+        assertEquals("stopped", stored.getStatus());
+        // replaced, not merged
+        assertNull(stored.getSubnetId());
+    }
+
+    @Test
+    public void repeatedInstanceIdUpdatesOneInstance() throws HygieiaException {
+        CloudInstance existing = instance("i-1", "running");
+        cloudInstanceRepository.save(existing);
+        CloudInstanceServiceImpl cloudInstanceService = new CloudInstanceServiceImpl(cloudInstanceRepository,
+                mock(CloudInstanceLookupRepository.class), cloudInstanceWriter, new CloudTagLookup(mongoOperations),
+                mock(CloudInstanceHistoryRepository.class), mock(ComponentRepository.class));
+
+        List<String> objectIds = cloudInstanceService.upsertInstance(Arrays.asList(
+                request("i-1", "pending"), request("i-1", "stopped"), request("i-2", "running")));
+
+        assertEquals(Arrays.asList(existing.getId().toString(), existing.getId().toString()), objectIds.subList(0, 2));
+        assertEquals(2, cloudInstanceRepository.count());
+        assertEquals("stopped", cloudInstanceRepository.findOne(existing.getId()).getStatus());
+        assertEquals(objectIds.get(2), cloudInstanceRepository.findByInstanceId("i-2").getId().toString());
+    }
+
+    private static CloudInstance instance(String instanceId, String status) {
+        CloudInstance instance = new CloudInstance();
+        instance.setId(ObjectId.get());
+        instance.setAccountNumber(ACCOUNT);
+        instance.setInstanceId(instanceId);
+        instance.setStatus(status);
+        instance.getTags().add(new NameValue("Environment", "prod"));
+        return instance;
+    }
+
+    private static CloudInstanceCreateRequest request(String instanceId, String status) {
+        CloudInstanceCreateRequest request = new CloudInstanceCreateRequest();
+        request.setAccountNumber(ACCOUNT);
+        request.setInstanceId(instanceId);
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,152 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.config.FongoConfig;
+import com.capitalone.dashboard.model.CloudInstance;
+import com.capitalone.dashboard.model.CloudVolumeStorage;
+import com.capitalone.dashboard.model.NameValue;
+import com.github.fakemongo.junit.FongoRule;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {FongoConfig.class})
+@DirtiesContext
+public class CloudTagLookupTest {
+
+    private static final NameValue ENVIRONMENT = new NameValue("Environment", "prod");
+    private static final NameValue OWNER = new NameValue("Owner", "someone");
+
+    @Rule
+    public FongoRule fongoRule = new FongoRule();
+
+    @Autowired
+    private MongoOperations mongoOperations;
+    @Autowired
+    private CloudInstanceRepository cloudInstanceRepository;
+    @Autowired
+    private CloudVolumeRepository cloudVolumeRepository;
+
+    private CloudTagLookup cloudTagLookup;
+
+    @Before
+    public void setup() {
+        cloudInstanceRepository.deleteAll();
+        cloudVolumeRepository.deleteAll();
+        cloudTagLookup = new CloudTagLookup(mongoOperations);
+    }
+
+    @Test
+    public void instancesMatchPerTagLookups() {
+        cloudInstanceRepository.save(Arrays.asList(
+                instance("both", ENVIRONMENT, OWNER),
+                instance("environment", ENVIRONMENT),
+                instance("owner", new NameValue("Team", "a"), OWNER),
+                // name of one tag with the value of another, must not match
+                instance("crossed", new NameValue("Environment", "someone"), new NameValue("Owner", "prod")),
+                instance("untagged")));
+
+        for (List<NameValue> tags : tagCombinations()) {
+            Set<String> expected = perTag(tags, cloudInstanceRepository::findByTagNameAndValue, CloudInstance::getInstanceId);
+            List<CloudInstance> found = cloudTagLookup.findByAnyTag(CloudInstance.class, tags, Collections.emptyList());
+
+            assertEquals(tags.toString(), expected, found.stream().map(CloudInstance::getInstanceId).collect(Collectors.toSet()));
+            // each document once, however many of the tags it has
+            assertEquals(tags.toString(), expected.size(), found.size());
+        }
+    }
+
+    @Test
+    public void volumesMatchPerTagLookups() {
+        cloudVolumeRepository.save(Arrays.asList(
+                volume("both", ENVIRONMENT, OWNER),
+                volume("environment", ENVIRONMENT),
+                volume("owner", OWNER),
+                volume("crossed", new NameValue("Environment", "someone")),
+                volume("untagged")));
+
+        for (List<NameValue> tags : tagCombinations()) {
+            Set<String> expected = perTag(tags, cloudVolumeRepository::findByTagNameAndValue, CloudVolumeStorage::getVolumeId);
+            List<CloudVolumeStorage> found = cloudTagLookup.findByAnyTag(CloudVolumeStorage.class, tags, Collections.emptyList());
+
+            assertEquals(tags.toString(), expected, found.stream().map(CloudVolumeStorage::getVolumeId).collect(Collectors.toSet()));
+            assertEquals(tags.toString(), expected.size(), found.size());
+        }
+    }
+
+    @Test
+    public void loadsOnlyRequestedFields() {
+        cloudInstanceRepository.save(instance("both", ENVIRONMENT, OWNER));
+
+        List<CloudInstance> found = cloudTagLookup.findByAnyTag(CloudInstance.class, Collections.singletonList(OWNER),
+                Collections.singletonList("instanceId"));
+
+        assertEquals(1, found.size());
+        assertEquals("both", found.get(0).getInstanceId());
+        assertNull(found.get(0).getAccountNumber());
+    }
+
+    @Test
+    public void noTags() {
+        cloudInstanceRepository.save(instance("both", ENVIRONMENT, OWNER));
+
+        assertTrue(cloudTagLookup.findByAnyTag(CloudInstance.class, Collections.emptyList(), Collections.emptyList()).isEmpty());
+    }
+
+    private static List<List<NameValue>> tagCombinations() {
+        return Arrays.asList(
+                Collections.singletonList(ENVIRONMENT),
+                Collections.singletonList(OWNER),
+                Arrays.asList(ENVIRONMENT, OWNER),
+                Arrays.asList(OWNER, new NameValue("Missing", "tag")),
+                Collections.singletonList(new NameValue("Environment", "Prod")));
+    }
+
+    private static <T> Set<String> perTag(List<NameValue> tags, BiFunction<String, String, ? extends Collection<T>> findByTag,
+                                          Function<T, String> id) {
+        Set<String> ids = new HashSet<>();
+        for (NameValue tag : tags) {
+            findByTag.apply(tag.getName(), tag.getValue()).forEach(document -> ids.add(id.apply(document)));
+        }
+        return ids;
+    }
+
+    private static CloudInstance instance(String instanceId, NameValue... tags) {
+        CloudInstance instance = new CloudInstance();
+        instance.setId(ObjectId.get());
+        instance.setInstanceId(instanceId);
+        instance.setAccountNumber("123456789");
+        instance.getTags().addAll(Arrays.asList(tags));
+        return instance;
+    }
+
+    private static CloudVolumeStorage volume(String volumeId, NameValue... tags) {
+        CloudVolumeStorage volume = new CloudVolumeStorage();
+        volume.setId(ObjectId.get());
+        volume.setVolumeId(volumeId);
+        volume.setAccountNumber("123456789");
+        volume.getTags().addAll(Arrays.asList(tags));
+        return volume;
+    }
+}
@@ -0,0 +1,90 @@
+package com.capitalone.dashboard.repository;
+
+import com.capitalone.dashboard.config.FongoConfig;
+import com.capitalone.dashboard.model.Application;
+import com.capitalone.dashboard.model.Dashboard;
+import com.capitalone.dashboard.model.DashboardType;
+import com.capitalone.dashboard.model.ScoreDisplayType;
+import com.capitalone.dashboard.util.DashboardSearchKeys;
+import com.github.fakemongo.junit.FongoRule;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {FongoConfig.class, DashboardSearchKeyListener.class})
+@DirtiesContext
+public class DashboardSearchKeyBackfillTest {
+
+    @Rule
+    public FongoRule fongoRule = new FongoRule();
+
+    @Autowired
+    private MongoOperations mongoOperations;
+    @Autowired
+    private DashboardRepository dashboardRepository;
+    @Autowired
+    private DashboardLookupRepository dashboardLookupRepository;
+
+    @Before
+    public void setup() {
+        dashboardRepository.deleteAll();
+    }
+
+    @Test
+    public void savedDashboardIsFoundByAnyCase() {
+        Dashboard saved = dashboardRepository.save(dashboard("ASV Test", "BAP Test"));
+
+        assertEquals(1, dashboardLookupRepository.findBySearchBusServNameAndSearchBusAppName(
+                DashboardSearchKeys.lowerCase("asv TEST"), DashboardSearchKeys.lowerCase("bap test")).size());
+        assertEquals(saved.getId(), dashboardLookupRepository.findBySearchBusServNameAndSearchBusAppName("asv test", "bap test").get(0).getId());
+        assertTrue(dashboardLookupRepository.findBySearchBusServNameAndSearchBusAppName("asv", "bap test").isEmpty());
+    }
+
+    @Test
+    public void backfillsBusinessKeysOfDashboardsWithTitleKeys() {
+        Dashboard saved = dashboardRepository.save(dashboard("ASV Test", "BAP Test"));
+        // saved before the business service/application keys existed
+        DBCollection collection = mongoOperations.getCollection(mongoOperations.getCollectionName(Dashboard.class));
+        collection.update(new BasicDBObject("_id", saved.getId()), new BasicDBObject("$unset",
+                new BasicDBObject(DashboardSearchKeys.SEARCH_BUS_SERV_NAME, "").append(DashboardSearchKeys.SEARCH_BUS_APP_NAME, "")));
+        assertTrue(dashboardLookupRepository.findBySearchBusServNameAndSearchBusAppName("asv test", "bap test").isEmpty());
+
+        DashboardSearchKeyBackfill backfill = new DashboardSearchKeyBackfill(mongoOperations);
+        assertEquals(1, backfill.backfill());
+
+        assertEquals(1, dashboardLookupRepository.findBySearchBusServNameAndSearchBusAppName("asv test", "bap test").size());
+        assertEquals(0, backfill.backfill());
+    }
+
+    @Test
+    public void backfillsDashboardsWithoutBusinessNames() {
+        Dashboard saved = dashboardRepository.save(dashboard(null, null));
+        DBCollection collection = mongoOperations.getCollection(mongoOperations.getCollectionName(Dashboard.class));
+        collection.update(new BasicDBObject("_id", saved.getId()), new BasicDBObject("$unset",
+                new BasicDBObject(DashboardSearchKeys.SEARCH_TITLE, "").append(DashboardSearchKeys.SEARCH_BUS_SERV_NAME, "")));
+
+        DashboardSearchKeyBackfill backfill = new DashboardSearchKeyBackfill(mongoOperations);
+        assertEquals(1, backfill.backfill());
+        // null keys are written, so the dashboard is not picked up again
+        assertEquals(0, backfill.backfill());
+    }
+
+    private static Dashboard dashboard(String busServName, String busAppName) {
+        return new Dashboard("template", "title", new Application("app"), new ArrayList<>(), DashboardType.Team, busServName, busAppName,
+                new ArrayList<>(), false, ScoreDisplayType.HEADER);
+    }
+}
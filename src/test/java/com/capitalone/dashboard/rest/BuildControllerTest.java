@@ -3,11 +3,13 @@ package com.capitalone.dashboard.rest;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -87,6 +89,18 @@ public class BuildControllerTest {
                 .andExpect(jsonPath("$.result[0].sourceChangeSet[0].scmAuthor", is(scm.getScmAuthor())));
     }
 
+    @Test
+    public void builds_notModified() throws Exception {
+        Mockito.reset(buildService);
+        when(buildService.getSearchETag(Mockito.any(BuildSearchRequest.class))).thenReturn("\"1234\"");
+
+        mockMvc.perform(get("/build?componentId=" + ObjectId.get()).header("If-None-Match", "\"1234\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1234\""));
+
+        verify(buildService, never()).search(Mockito.any(BuildSearchRequest.class));
+    }
+
     @Test
     public void  builds_noComponentId_badRequest() throws Exception {
         mockMvc.perform(get("/build")).andExpect(status().isBadRequest());
@@ -3,9 +3,12 @@ package com.capitalone.dashboard.rest;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -137,6 +140,18 @@ public class CodeQualityControllerTest {
 								is(metric.getStatus().toString())));
 	}
 
+	@Test
+	public void staticQualities_notModified() throws Exception {
+		Mockito.reset(codeQualityService);
+		when(codeQualityService.getSearchETag(Matchers.any(CodeQualityRequest.class))).thenReturn("\"1234\"");
+
+		mockMvc.perform(get("/quality/static-analysis?componentId=" + ObjectId.get()).header("If-None-Match", "\"1234\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", "\"1234\""));
+
+		verify(codeQualityService, never()).search(Matchers.any(CodeQualityRequest.class));
+	}
+
 	@Test
 	public void builds_noComponentId_badRequest() throws Exception {
 		mockMvc.perform(get("/quality")).andExpect(status().isBadRequest());
@@ -22,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
@@ -35,6 +36,7 @@ import com.capitalone.dashboard.config.WebMVCConfig;
 import com.capitalone.dashboard.model.Collector;
 import com.capitalone.dashboard.model.CollectorItem;
 import com.capitalone.dashboard.model.CollectorType;
+import com.capitalone.dashboard.service.CollectorItemCursorService;
 import com.capitalone.dashboard.service.CollectorService;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -48,6 +50,7 @@ public class CollectorControllerTest {
     private WebApplicationContext wac;
 
     @Autowired private CollectorService collectorService;
+    @Autowired private CollectorItemCursorService collectorItemCursorService;
     
     @Before
     public void before() {
@@ -81,6 +84,26 @@ public class CollectorControllerTest {
                 
     }
 
+    @Test
+    public void collectorItemsByTypeWithCursor() throws Exception {
+        Collector collector = makeCollector("Hudson", CollectorType.Build);
+        CollectorItem item1 = makeCollectorItem(collector, "Build 1", true);
+        when(collectorItemCursorService.collectorItemsByType(eq(CollectorType.Build), (String) Matchers.isNull(), eq("build"), eq(""), eq(1)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(item1)));
+        mockMvc.perform(get("/collector/item/type/build?search=build&cursor=&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].id", is(item1.getId().toString())));
+    }
+
+    @Test
+    public void collectorItemsByTypeWithInvalidCursor() throws Exception {
+        when(collectorItemCursorService.collectorItemsByType(eq(CollectorType.Build), Matchers.anyString(), Matchers.anyString(), eq("bad"), Matchers.anyInt()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor bad"));
+        mockMvc.perform(get("/collector/item/type/searchField/build?searchField=niceName&cursor=bad"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void getCollectorItemById() throws Exception {
         Collector collector = makeCollector("Hudson", CollectorType.Build);
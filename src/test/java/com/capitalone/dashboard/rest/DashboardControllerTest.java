@@ -42,6 +42,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static com.capitalone.dashboard.fixture.DashboardFixture.makeComponent;
 import static com.capitalone.dashboard.fixture.DashboardFixture.makeDashboard;
@@ -55,11 +56,14 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -91,6 +95,21 @@ public class DashboardControllerTest {
                 .andExpect(jsonPath("$[0].configurationItemBusAppName", is(configItemComponentName)));
     }
     @Test
+    public void streamDashboards() throws Exception {
+        Dashboard d1 = makeDashboard("t1", "title", "app", "comp","amit", DashboardType.Team, configItemAppName, configItemComponentName);
+        Dashboard d2 = makeDashboard("t2", "title2", "app", "comp","amit", DashboardType.Team, configItemAppName, configItemComponentName);
+        when(dashboardService.streamAll()).thenReturn(Stream.of(d1, d2));
+        MvcResult result = mockMvc.perform(get("/dashboard").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].template", is("t1")))
+                .andExpect(jsonPath("$[1].title", is("title2")))
+                .andExpect(jsonPath("$[1].application.components[0].name", is("comp")));
+    }
+    @Test
     public void createProductDashboard() throws Exception {
         DashboardRequest request = makeDashboardRequest("template", "dashboard title", null, null,"amit", null, "product", configItemAppName, configItemComponentName);
         initiateSecurityContext("amit", AuthType.STANDARD);
@@ -159,6 +178,32 @@ public class DashboardControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(objectId.toString())));
     }
+
+    @Test
+    public void getDashboard_notModified() throws Exception {
+        ObjectId objectId = ObjectId.get();
+        when(dashboardService.getETag(objectId)).thenReturn("\"5678\"");
+
+        mockMvc.perform(get("/dashboard/" + objectId.toString()).header("If-None-Match", "\"5678\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"5678\""));
+
+        verify(dashboardService, never()).get(objectId);
+    }
+
+    @Test
+    public void getDashboard_changedETag() throws Exception {
+        ObjectId objectId = ObjectId.get();
+        Dashboard d1 = makeDashboard("t1", "title", "app", "comp","amit", DashboardType.Team, configItemAppName, configItemComponentName);
+        d1.setId(objectId);
+        when(dashboardService.getETag(objectId)).thenReturn("\"5679\"");
+        when(dashboardService.get(objectId)).thenReturn(d1);
+
+        mockMvc.perform(get("/dashboard/" + objectId.toString()).header("If-None-Match", "\"5678\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5679\""))
+                .andExpect(jsonPath("$.id", is(objectId.toString())));
+    }
     @Test
     public void updateTeamDashboard() throws Exception {
         ObjectId objectId = new ObjectId("54b982620364c80a6136c9f2");
@@ -36,6 +36,8 @@ import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.Feature;
+import com.capitalone.dashboard.model.FeatureEstimates;
+import com.capitalone.dashboard.model.SprintEstimate;
 import com.capitalone.dashboard.service.FeatureService;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -359,4 +361,25 @@ public class FeatureControllerTest {
 				.andExpect(jsonPath("$.result[0].sEstimate", is(mockV1Feature.getsEstimate())))
 				.andExpect(jsonPath("$.result", hasSize(3)));
 	}
+
+	@Test
+	public void testFeatureEstimates_SprintAndEpicEstimates() throws Exception {
+		String testTeamId = mockV1Feature.getsTeamID();
+		String testProjectId = mockV1Feature.getsProjectID();
+		SprintEstimate sprintEstimate = new SprintEstimate();
+		sprintEstimate.setTotalEstimate(15);
+		List<Feature> epics = new ArrayList<Feature>();
+		epics.add(mockV1Feature);
+		DataResponse<FeatureEstimates> response = new DataResponse<>(new FeatureEstimates(sprintEstimate, epics),
+				mockV1Collector.getLastExecuted());
+
+		when(featureService.getFeatureEstimates(mockComponentId, testTeamId, testProjectId, Optional.empty(), Optional.empty())).thenReturn(response);
+		mockMvc.perform(
+				get("/feature/estimates?component="
+						+ mockComponentId.toString() + "&projectId=" + testProjectId + "&teamId=" + testTeamId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.result.sprintEstimate.totalEstimate", is(15)))
+				.andExpect(jsonPath("$.result.epicEstimates[0].sEpicNumber", is(mockV1Feature.getsEpicNumber())))
+				.andExpect(jsonPath("$.result.epicEstimates", hasSize(1)));
+	}
 }
@@ -0,0 +1,52 @@
+package com.capitalone.dashboard.rest;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.capitalone.dashboard.config.TestConfig;
+import com.capitalone.dashboard.config.WebMVCConfig;
+import com.capitalone.dashboard.logging.MetricsRegistry;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestConfig.class, WebMVCConfig.class})
+@WebAppConfiguration
+public class MetricsControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext wac;
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Before
+    public void before() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac).build();
+        metricsRegistry.reset();
+    }
+
+    @Test
+    public void recordsControllerCalls() throws Exception {
+        mockMvc.perform(delete("/admin/metrics")).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/admin/metrics").param("type", MetricsRegistry.CONTROLLER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("DELETE /admin/metrics")))
+                .andExpect(jsonPath("$[0].count", is(1)))
+                .andExpect(jsonPath("$[0].errors", is(0)));
+    }
+}
@@ -119,6 +119,18 @@ public class ServiceControllerTest {
         assertThat(service.getMessage(), is("Ok now"));
     }
 
+    @Test
+    public void refreshServices() throws Exception {
+        ObjectId dashboardId = ObjectId.get();
+        Service s = makeService("serviceName", "http://abc123456.com", "message", ServiceStatus.Ok);
+        when(serviceService.refreshDashboardServices(dashboardId)).thenReturn(Arrays.asList(s));
+
+        mockMvc.perform(post("/dashboard/" + dashboardId.toString() + "/service/refresh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].status", is(ServiceStatus.Ok.toString())));
+    }
+
     @Test
     public void deleteService() throws Exception {
         ObjectId dashboardId = ObjectId.get();
@@ -2,9 +2,12 @@ package com.capitalone.dashboard.rest;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -70,6 +73,18 @@ public class ZCommitControllerTest {
                 .andExpect(jsonPath("$.result[0].scmAuthor", is(commit.getScmAuthor())));
     }
 
+    @Test
+    public void commit_search_notModified() throws Exception {
+        Mockito.reset(commitService);
+        when(commitService.getSearchETag(Mockito.any(CommitRequest.class))).thenReturn("\"1234\"");
+
+        mockMvc.perform(get("/commit?componentId=" + ObjectId.get()).header("If-None-Match", "\"1234\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1234\""));
+
+        verify(commitService, never()).search(Mockito.any(CommitRequest.class));
+    }
+
     @Test
     public void  commits_noComponentId_badRequest() throws Exception {
         mockMvc.perform(get("/commit")).andExpect(status().isBadRequest());
@@ -14,6 +14,7 @@ import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.RepoBranch;
 import com.capitalone.dashboard.model.SCM;
 import com.capitalone.dashboard.model.ScoreDisplayType;
+import com.capitalone.dashboard.repository.BuildLookupRepository;
 import com.capitalone.dashboard.repository.BuildRepository;
 import com.capitalone.dashboard.repository.CodeReposBuildsRepository;
 import com.capitalone.dashboard.repository.CollectorItemRepository;
@@ -32,11 +33,12 @@ import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.joda.time.LocalDate;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -45,6 +47,8 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.argThat;
@@ -56,11 +60,12 @@ import static org.mockito.Mockito.when;
 public class BuildServiceTest {
 
     @Mock private BuildRepository buildRepository;
+    @Mock private BuildLookupRepository buildLookupRepository;
     @Mock private ComponentRepository componentRepository;
     @Mock private CollectorRepository collectorRepository;
     @Mock private CollectorItemRepository collectorItemRepository;
     @Mock private CodeReposBuildsRepository codeReposBuildsRepository;
-    @InjectMocks private BuildServiceImpl buildService;
+    private BuildServiceImpl buildService;
     @Mock private DashboardServiceImpl dashboardService;
     @Mock
     private CollectorService collectorService;
@@ -70,6 +75,12 @@ public class BuildServiceTest {
     @Mock
     private WebHookSettings webHookSettings;
 
+    @Before
+    public void setup() {
+        buildService = new BuildServiceImpl(buildRepository, buildLookupRepository, new ComponentCollectorCache(componentRepository, collectorRepository, 0, 0),
+                collectorRepository, collectorService, dashboardService, collectorItemRepository, apiSettings, codeReposBuildsRepository);
+    }
+
     @Test
     public void search() {
         ObjectId componentId = ObjectId.get();
@@ -304,6 +315,62 @@ public class BuildServiceTest {
         return entity;
     }
 
+    @Test
+    public void searchETag_changesWhenBuildIsStored() {
+        ObjectId componentId = ObjectId.get();
+        ObjectId collectorItemId = ObjectId.get();
+        ObjectId collectorId = ObjectId.get();
+
+        BuildSearchRequest request = new BuildSearchRequest();
+        request.setComponentId(componentId);
+
+        Build first = new Build();
+        first.setTimestamp(1L);
+        Build second = new Build();
+        second.setTimestamp(2L);
+
+        when(componentRepository.findOne(componentId)).thenReturn(makeComponent(collectorItemId, collectorId, true));
+        when(collectorRepository.findOne(collectorId)).thenReturn(new Collector());
+        when(buildLookupRepository.findTimestampsByCollectorItemId(any(ObjectId.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(first), Collections.singletonList(first), Collections.singletonList(second));
+
+        String eTag = buildService.getSearchETag(request);
+        assertEquals(eTag, buildService.getSearchETag(request));
+        assertNotEquals(eTag, buildService.getSearchETag(request));
+    }
+
+    @Test
+    public void searchETag_changesWhenCollectorRuns() {
+        ObjectId componentId = ObjectId.get();
+        ObjectId collectorId = ObjectId.get();
+
+        BuildSearchRequest request = new BuildSearchRequest();
+        request.setComponentId(componentId);
+
+        Collector before = new Collector();
+        before.setLastExecuted(10L);
+        Collector after = new Collector();
+        after.setLastExecuted(20L);
+
+        when(componentRepository.findOne(componentId)).thenReturn(makeComponent(ObjectId.get(), collectorId, true));
+        when(collectorRepository.findOne(collectorId)).thenReturn(before, after);
+        when(buildLookupRepository.findTimestampsByCollectorItemId(any(ObjectId.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        assertNotEquals(buildService.getSearchETag(request), buildService.getSearchETag(request));
+    }
+
+    @Test
+    public void searchETag_noBuildCollectorItem() {
+        ObjectId componentId = ObjectId.get();
+        BuildSearchRequest request = new BuildSearchRequest();
+        request.setComponentId(componentId);
+
+        when(componentRepository.findOne(componentId)).thenReturn(makeComponent(ObjectId.get(), ObjectId.get(), false));
+
+        assertNull(buildService.getSearchETag(request));
+    }
+
     private Component makeComponent(ObjectId collectorItemId, ObjectId collectorId, boolean populateCollectorItems) {
         CollectorItem item = new CollectorItem();
         item.setId(collectorItemId);
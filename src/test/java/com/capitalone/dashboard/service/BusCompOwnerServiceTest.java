@@ -0,0 +1,87 @@
+package com.capitalone.dashboard.service;
+
+import com.capitalone.dashboard.model.AuthType;
+import com.capitalone.dashboard.model.Cmdb;
+import com.capitalone.dashboard.model.Owner;
+import com.capitalone.dashboard.repository.DashboardOwnerWriter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BusCompOwnerServiceTest {
+
+    @Mock
+    private CmdbService cmdbService;
+    @Mock
+    private DashboardOwnerWriter dashboardOwnerWriter;
+
+    private BusCompOwnerServiceImpl busCompOwnerService;
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @Before
+    public void setup() {
+        busCompOwnerService = new BusCompOwnerServiceImpl(cmdbService, dashboardOwnerWriter);
+        authentication = new UsernamePasswordAuthenticationToken("jdoe", "password");
+        authentication.setDetails(AuthType.STANDARD);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void addsOwnerToBusinessServicesWithMatchingFirstName() {
+        Cmdb matching = makeCmdb("ASVJOHN", "John Doe", null);
+        Cmdb otherFirstName = makeCmdb("ASVJANE", null, "Jane Doe");
+        when(cmdbService.getBusServicesByOwnerName("Doe")).thenReturn(Arrays.asList(matching, otherFirstName));
+
+        busCompOwnerService.assignOwnerToDashboards("John", null, "Doe", authentication);
+
+        ArgumentCaptor<Collection> busServNames = ArgumentCaptor.forClass(Collection.class);
+        verify(dashboardOwnerWriter).addOwnerByBusServNames(busServNames.capture(), eq(new Owner("jdoe", AuthType.STANDARD)));
+        assertEquals(Collections.singleton("ASVJOHN"), busServNames.getValue());
+    }
+
+    @Test
+    public void ignoresMissingLastName() {
+        busCompOwnerService.assignOwnerToDashboards("John", null, "", authentication);
+
+        verify(cmdbService, never()).getBusServicesByOwnerName(anyString());
+        verifyZeroInteractions(dashboardOwnerWriter);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void updatesNothingWithoutOwnedBusinessServices() {
+        when(cmdbService.getBusServicesByOwnerName("Doe")).thenReturn(Collections.emptyList());
+
+        busCompOwnerService.assignOwnerToDashboards("John", null, "Doe", authentication);
+
+        ArgumentCaptor<Collection> busServNames = ArgumentCaptor.forClass(Collection.class);
+        verify(dashboardOwnerWriter).addOwnerByBusServNames(busServNames.capture(), any(Owner.class));
+        assertEquals(0, busServNames.getValue().size());
+    }
+
+    private static Cmdb makeCmdb(String configurationItem, String appServiceOwner, String businessOwner) {
+        Cmdb cmdb = new Cmdb();
+        cmdb.setConfigurationItem(configurationItem);
+        cmdb.setAppServiceOwner(appServiceOwner);
+        cmdb.setBusinessOwner(businessOwner);
+        return cmdb;
+    }
+}
@@ -5,7 +5,10 @@ import com.capitalone.dashboard.model.CloudInstance;
 import com.capitalone.dashboard.model.CloudInstanceHistory;
 import com.capitalone.dashboard.model.NameValue;
 import com.capitalone.dashboard.repository.CloudInstanceHistoryRepository;
+import com.capitalone.dashboard.repository.CloudInstanceLookupRepository;
 import com.capitalone.dashboard.repository.CloudInstanceRepository;
+import com.capitalone.dashboard.repository.CloudInstanceWriter;
+import com.capitalone.dashboard.repository.CloudTagLookup;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.request.CloudInstanceCreateRequest;
@@ -16,6 +19,7 @@ import org.bson.types.ObjectId;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -24,11 +28,15 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,6 +51,12 @@ public class CloudInstanceServiceImplTest {
     @Mock
     private CloudInstanceRepository cloudInstanceRepository;
     @Mock
+    private CloudInstanceLookupRepository cloudInstanceLookupRepository;
+    @Mock
+    private CloudInstanceWriter cloudInstanceWriter;
+    @Mock
+    private CloudTagLookup cloudTagLookup;
+    @Mock
     private CollectorRepository collectorRepository;
 
     @InjectMocks
@@ -110,12 +124,23 @@ public class CloudInstanceServiceImplTest {
         NameValue nv = new NameValue("MYEnvironment", "MYONLYENVIRONMENT");
         ArrayList<NameValue> nvList = new ArrayList<>();
         nvList.add(nv);
-        when(cloudInstanceRepository.findByTagNameAndValue("MYEnvironment", "MYONLYENVIRONMENT")).thenReturn(collectionInstance);
+        when(cloudTagLookup.findByAnyTag(CloudInstance.class, nvList, Collections.<String>emptyList())).thenReturn(new ArrayList<>(collectionInstance));
         Collection<CloudInstance> result = cloudInstanceService.getInstanceDetailsByTags(nvList);
         assertThat(result, hasSize(2));
         assertArrayEquals(collectionInstance.toArray(), result.toArray());
     }
 
+    @Test
+    public void getInstanceDetailsByTagsWithFields() throws Exception {
+        List<NameValue> nvList = Arrays.asList(new NameValue("MYEnvironment", "MYONLYENVIRONMENT"),
+                new NameValue("Owner", "someone"));
+        List<String> fields = Arrays.asList("instanceId", "tags");
+        when(cloudTagLookup.findByAnyTag(CloudInstance.class, nvList, fields)).thenReturn(new ArrayList<>(collectionInstance));
+        Collection<CloudInstance> result = cloudInstanceService.getInstanceDetailsByTags(nvList, fields);
+        assertThat(result, hasSize(2));
+        verify(cloudTagLookup, times(1)).findByAnyTag(CloudInstance.class, nvList, fields);
+    }
+
 
     @Test
     public void getInstanceHistoryByAccount() throws Exception {
@@ -126,11 +151,13 @@ public class CloudInstanceServiceImplTest {
 
     @Test
     public void refreshInstances() throws Exception {
-        when(cloudInstanceRepository.findByAccountNumber("123456789")).thenReturn(collectionInstance);
+        when(cloudInstanceLookupRepository.findInstanceIdsByAccountNumber(testInstance12345678.getAccountNumber()))
+                .thenReturn(new ArrayList<>(collectionInstance));
         Collection<String> deleted = cloudInstanceService.refreshInstances(makeRefreshRequest());
         assertThat(deleted, hasSize(1));
         String[] expected = {testInstance9876543.getInstanceId()};
         assertArrayEquals(deleted.toArray(), expected);
+        verify(cloudInstanceWriter).removeByAccountNumberAndInstanceIds(testInstance12345678.getAccountNumber(), new HashSet<>(deleted));
     }
 
     @Test
@@ -148,17 +175,42 @@ public class CloudInstanceServiceImplTest {
 
 
     @Test
+    @SuppressWarnings("unchecked")
     public void upsertInstanceSame() throws HygieiaException {
         testInstance12345678.setId(new ObjectId());
         String[] oid = {testInstance12345678.getId().toString()};
         CloudInstanceCreateRequest[]  req = {makeRequest(testInstance12345678)};
-        when(cloudInstanceRepository.findByInstanceId(testInstance12345678.getInstanceId())).thenReturn(testInstance12345678);
-        when(cloudInstanceRepository.save(testInstance12345678)).thenReturn(testInstance12345678);
+        when(cloudInstanceRepository.findByInstanceIdIn(Arrays.asList(testInstance12345678.getInstanceId())))
+                .thenReturn(Arrays.asList(testInstance12345678));
         Collection<String> objectIds = cloudInstanceService.upsertInstance(Arrays.asList(req));
-        verify(cloudInstanceRepository, times(1)).save(testInstance12345678);
+        ArgumentCaptor<Collection> upserted = ArgumentCaptor.forClass(Collection.class);
+        verify(cloudInstanceWriter, times(1)).upsertAll(upserted.capture());
+        assertThat(upserted.getValue(), hasSize(1));
+        assertThat(upserted.getValue().iterator().next(), is(testInstance12345678));
         assertArrayEquals(objectIds.toArray(),oid);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void upsertInstanceNewAndRepeated() throws HygieiaException {
+        CloudInstanceCreateRequest first = makeRequest(testInstance9876543);
+        CloudInstanceCreateRequest repeated = makeRequest(testInstance9876543);
+        repeated.setStatus("stopped");
+        when(cloudInstanceRepository.findByInstanceIdIn(Arrays.asList(testInstance9876543.getInstanceId())))
+                .thenReturn(new ArrayList<>());
+
+        List<String> objectIds = cloudInstanceService.upsertInstance(Arrays.asList(first, repeated));
+
+        assertThat(objectIds, hasSize(2));
+        assertEquals(objectIds.get(0), objectIds.get(1));
+        ArgumentCaptor<Collection> upserted = ArgumentCaptor.forClass(Collection.class);
+        verify(cloudInstanceWriter).upsertAll(upserted.capture());
+        assertThat(upserted.getValue(), hasSize(1));
+        CloudInstance instance = (CloudInstance) upserted.getValue().iterator().next();
+        assertEquals(objectIds.get(0), instance.getId().toString());
+        assertEquals("stopped", instance.getStatus());
+    }
+
 
     private CloudInstanceListRefreshRequest makeRefreshRequest() {
         CloudInstanceListRefreshRequest req = new CloudInstanceListRefreshRequest();
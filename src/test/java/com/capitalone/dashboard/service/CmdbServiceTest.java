@@ -0,0 +1,82 @@
+package com.capitalone.dashboard.service;
+
+import com.capitalone.dashboard.model.Cmdb;
+import com.capitalone.dashboard.repository.CmdbLookupRepository;
+import com.capitalone.dashboard.repository.CmdbNameLookup;
+import com.capitalone.dashboard.repository.CmdbRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CmdbServiceTest {
+
+    @Mock
+    private CmdbRepository cmdbRepository;
+    @Mock
+    private CmdbLookupRepository cmdbLookupRepository;
+    @Mock
+    private CmdbNameLookup cmdbNameLookup;
+
+    private CmdbServiceImpl cmdbService;
+
+    @Before
+    public void setup() {
+        cmdbService = new CmdbServiceImpl(cmdbRepository, cmdbLookupRepository, cmdbNameLookup);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void looksUpMixedCaseNamesInOneQuery() {
+        Cmdb exact = makeCmdb("ASVEXACT");
+        Cmdb upper = makeCmdb("ASVUPPER");
+        Cmdb lower = makeCmdb("asvlower");
+        when(cmdbLookupRepository.findAllByConfigurationItemIn(any())).thenReturn(Collections.singletonList(exact));
+        when(cmdbNameLookup.findByConfigurationItemsIgnoreCase(any())).thenReturn(Arrays.asList(upper, lower));
+
+        Map<String, Cmdb> cmdbs = cmdbService.configurationItemsByConfigurationItems(
+                Arrays.asList("ASVEXACT", "asvUpper", "ASVLOWER", "ASVMISSING", ""));
+
+        ArgumentCaptor<Collection> missing = ArgumentCaptor.forClass(Collection.class);
+        verify(cmdbNameLookup, times(1)).findByConfigurationItemsIgnoreCase(missing.capture());
+        assertEquals(new HashSet<>(Arrays.asList("asvUpper", "ASVLOWER", "ASVMISSING")), new HashSet<>(missing.getValue()));
+        verify(cmdbRepository, never()).findByConfigurationItemIgnoreCase(any());
+        assertEquals(3, cmdbs.size());
+        assertSame(exact, cmdbs.get("asvexact"));
+        assertSame(upper, cmdbs.get("asvupper"));
+        assertSame(lower, cmdbs.get("asvlower"));
+    }
+
+    @Test
+    public void skipsFallbackWhenAllNamesMatchExactly() {
+        when(cmdbLookupRepository.findAllByConfigurationItemIn(any())).thenReturn(Collections.singletonList(makeCmdb("ASVEXACT")));
+
+        Map<String, Cmdb> cmdbs = cmdbService.configurationItemsByConfigurationItems(Collections.singletonList("ASVEXACT"));
+
+        verify(cmdbNameLookup, never()).findByConfigurationItemsIgnoreCase(any());
+        assertEquals(1, cmdbs.size());
+    }
+
+    private static Cmdb makeCmdb(String configurationItem) {
+        Cmdb cmdb = new Cmdb();
+        cmdb.setConfigurationItem(configurationItem);
+        return cmdb;
+    }
+}
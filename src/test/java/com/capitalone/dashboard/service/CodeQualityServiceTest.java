@@ -7,6 +7,9 @@ import com.capitalone.dashboard.model.CodeQualityMetricStatus;
 import com.capitalone.dashboard.model.CodeQualityType;
 import com.capitalone.dashboard.model.Collector;
 import com.capitalone.dashboard.model.CollectorItem;
+import com.capitalone.dashboard.model.CollectorType;
+import com.capitalone.dashboard.model.Component;
+import com.capitalone.dashboard.repository.CodeQualityLookupRepository;
 import com.capitalone.dashboard.repository.CodeQualityRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
@@ -14,12 +17,18 @@ import com.capitalone.dashboard.request.CodeQualityCreateRequest;
 import com.capitalone.dashboard.request.CodeQualityRequest;
 import org.bson.types.ObjectId;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 
@@ -27,12 +36,19 @@ import static org.mockito.Mockito.when;
 public class CodeQualityServiceTest {
 
     @Mock private CodeQualityRepository codeQualityRepository;
+    @Mock private CodeQualityLookupRepository codeQualityLookupRepository;
     @Mock private CollectorRepository collectorRepository;
     @Mock private CollectorService collectorService;
     @Mock private ComponentRepository componentRepository;
-    @InjectMocks private CodeQualityServiceImpl codeQualityService;
+    private CodeQualityServiceImpl codeQualityService;
 
 
+    @Before
+    public void setup() {
+        codeQualityService = new CodeQualityServiceImpl(codeQualityRepository, codeQualityLookupRepository,
+                new ComponentCollectorCache(componentRepository, collectorRepository, 0, 0), collectorService);
+    }
+
     @Test
     public void createWithGoodRequest() throws HygieiaException {
         ObjectId collectorId = ObjectId.get();
@@ -78,6 +94,38 @@ public class CodeQualityServiceTest {
 
         Assert.assertNull(item);
     }
+
+    @Test
+    public void searchETag_changesWhenReportIsStored() {
+        ObjectId componentId = ObjectId.get();
+        ObjectId collectorId = ObjectId.get();
+        CollectorItem item = new CollectorItem();
+        item.setId(ObjectId.get());
+        item.setCollectorId(collectorId);
+        Component component = new Component();
+        component.addCollectorItem(CollectorType.CodeQuality, item);
+
+        CodeQualityRequest request = new CodeQualityRequest();
+        request.setComponentId(componentId);
+        request.setType(CodeQualityType.StaticAnalysis);
+
+        CodeQuality stored = makeCodeQualityStatic();
+        when(componentRepository.findOne(componentId)).thenReturn(component);
+        when(collectorRepository.findOne(collectorId)).thenReturn(new Collector());
+        when(codeQualityLookupRepository.findTimestampsByCollectorItemId(any(ObjectId.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList(), Collections.singletonList(stored));
+
+        assertNotEquals(codeQualityService.getSearchETag(request), codeQualityService.getSearchETag(request));
+    }
+
+    @Test
+    public void searchETag_noType() {
+        CodeQualityRequest request = new CodeQualityRequest();
+        request.setComponentId(ObjectId.get());
+
+        assertNull(codeQualityService.getSearchETag(request));
+    }
+
     private CodeQualityCreateRequest makeCodeQualityRequest() {
         CodeQualityCreateRequest quality = new CodeQualityCreateRequest();
         quality.setHygieiaId(ObjectId.get().toString());
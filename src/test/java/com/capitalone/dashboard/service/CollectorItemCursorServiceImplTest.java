@@ -0,0 +1,102 @@
+package com.capitalone.dashboard.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.capitalone.dashboard.model.Collector;
+import com.capitalone.dashboard.model.CollectorItem;
+import com.capitalone.dashboard.model.CollectorType;
+import com.capitalone.dashboard.repository.CollectorItemLookupRepository;
+import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.util.KeysetCursor;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CollectorItemCursorServiceImplTest {
+
+    @Mock private CollectorRepository collectorRepository;
+    @Mock private CollectorItemLookupRepository collectorItemLookupRepository;
+    @InjectMocks private CollectorItemCursorServiceImpl collectorItemCursorService;
+
+    @Test
+    public void firstPageHasCursorToNextPage() {
+        Collector collector = makeCollector();
+        CollectorItem item1 = makeCollectorItem(collector);
+        CollectorItem item2 = makeCollectorItem(collector);
+        CollectorItem item3 = makeCollectorItem(collector);
+        when(collectorRepository.findByCollectorType(CollectorType.Build)).thenReturn(Collections.singletonList(collector));
+        when(collectorItemLookupRepository.findByCollectorIdInAndIdGreaterThan(anyCollectionOf(ObjectId.class), any(ObjectId.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(item1, item2, item3));
+
+        Slice<CollectorItem> page = collectorItemCursorService.collectorItemsByType(CollectorType.Build, null, "", "", 2);
+
+        ArgumentCaptor<Pageable> limit = ArgumentCaptor.forClass(Pageable.class);
+        verify(collectorItemLookupRepository).findByCollectorIdInAndIdGreaterThan(anyCollectionOf(ObjectId.class), any(ObjectId.class), limit.capture());
+        assertEquals(3, limit.getValue().getPageSize());
+        assertEquals(Arrays.asList(item1, item2), page.getContent());
+        assertSame(collector, page.getContent().get(0).getCollector());
+        assertTrue(page.hasNext());
+        assertEquals(item2.getId(), KeysetCursor.decode(collectorItemCursorService.nextCursor(page)));
+    }
+
+    @Test
+    public void nextPageStartsAfterCursor() {
+        Collector collector = makeCollector();
+        CollectorItem last = makeCollectorItem(collector);
+        ObjectId after = ObjectId.get();
+        when(collectorRepository.findByCollectorType(CollectorType.SCM)).thenReturn(Collections.singletonList(collector));
+        when(collectorItemLookupRepository.findByCollectorIdInAndSearchFieldMatchingAndIdGreaterThan(
+                anyCollectionOf(ObjectId.class), eq("niceName"), eq("\\Qrepo.\\E"), eq(after), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(last));
+
+        Slice<CollectorItem> page = collectorItemCursorService.collectorItemsByType(CollectorType.SCM, "niceName", "repo.",
+                KeysetCursor.encode(after), 10);
+
+        assertEquals(Collections.singletonList(last), page.getContent());
+        assertFalse(page.hasNext());
+        assertNull(collectorItemCursorService.nextCursor(page));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOperatorAsSearchField() {
+        collectorItemCursorService.collectorItemsByType(CollectorType.SCM, "$where", "x", "", 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidCursor() {
+        collectorItemCursorService.collectorItemsByType(CollectorType.SCM, null, "", "bm90LWFuLWlk", 10);
+    }
+
+    private Collector makeCollector() {
+        Collector collector = new Collector();
+        collector.setId(ObjectId.get());
+        return collector;
+    }
+
+    private CollectorItem makeCollectorItem(Collector collector) {
+        CollectorItem item = new CollectorItem();
+        item.setId(ObjectId.get());
+        item.setCollectorId(collector.getId());
+        return item;
+    }
+}
@@ -7,18 +7,24 @@ import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.CollectorItem;
 import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.repository.CommitLookupRepository;
 import com.capitalone.dashboard.repository.CommitRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.request.CommitRequest;
 import com.querydsl.core.types.Predicate;
 import org.bson.types.ObjectId;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -35,9 +41,18 @@ public class CommitServiceTest {
     private CollectorRepository collectorRepository;
     @Mock
     private CommitRepository commitRepository;
-    @InjectMocks
+    @Mock
+    private CommitLookupRepository commitLookupRepository;
+    @Mock
+    private CollectorService collectorService;
     private CommitServiceImpl commitService;
 
+    @Before
+    public void setup() {
+        commitService = new CommitServiceImpl(commitRepository, commitLookupRepository,
+                new ComponentCollectorCache(componentRepository, collectorRepository, 0, 0), collectorService);
+    }
+
     @Test
     public void searchTest() {
         ObjectId componentId = ObjectId.get();
@@ -87,6 +102,66 @@ public class CommitServiceTest {
         Assert.assertEquals(0, result.size());
     }
 
+    @Test
+    public void searchETag_changesWhenCommitIsStored() {
+        ObjectId collectorItemId = ObjectId.get();
+        ObjectId collectorId = ObjectId.get();
+        CommitRequest request = new CommitRequest();
+        request.setComponentId(ObjectId.get());
+
+        when(componentRepository.findOne(request.getComponentId())).thenReturn(makeComponent(collectorItemId, collectorId, true));
+        when(collectorRepository.findOne(collectorId)).thenReturn(makeCollector(collectorId, 10L));
+        when(commitLookupRepository.findTimestampsByCollectorItemId(any(ObjectId.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList(), Collections.emptyList(),
+                        Collections.singletonList(makeCommitTimestamp(1L)), Collections.singletonList(makeCommitTimestamp(1L)));
+
+        String eTag = commitService.getSearchETag(request);
+        assertEquals(eTag, commitService.getSearchETag(request));
+        String stored = commitService.getSearchETag(request);
+        assertNotEquals(eTag, stored);
+        assertEquals(stored, commitService.getSearchETag(request));
+        verify(commitLookupRepository, times(4)).findTimestampsByCollectorItemId(any(ObjectId.class), any(Pageable.class));
+    }
+
+    @Test
+    public void searchETag_changesWhenCollectorRuns() {
+        ObjectId collectorItemId = ObjectId.get();
+        ObjectId collectorId = ObjectId.get();
+        CommitRequest request = new CommitRequest();
+        request.setComponentId(ObjectId.get());
+
+        when(componentRepository.findOne(request.getComponentId())).thenReturn(makeComponent(collectorItemId, collectorId, true));
+        when(collectorRepository.findOne(collectorId)).thenReturn(makeCollector(collectorId, 10L), makeCollector(collectorId, 20L));
+        when(commitLookupRepository.findTimestampsByCollectorItemId(any(ObjectId.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(makeCommitTimestamp(1L)));
+
+        assertNotEquals(commitService.getSearchETag(request), commitService.getSearchETag(request));
+    }
+
+    @Test
+    public void searchETag_noScmCollectorItem() {
+        CommitRequest request = new CommitRequest();
+        request.setComponentId(ObjectId.get());
+
+        when(componentRepository.findOne(request.getComponentId())).thenReturn(makeComponent(ObjectId.get(), ObjectId.get(), false));
+
+        assertNull(commitService.getSearchETag(request));
+        verify(commitLookupRepository, times(0)).findTimestampsByCollectorItemId(any(ObjectId.class), any(Pageable.class));
+    }
+
+    private Collector makeCollector(ObjectId collectorId, long lastExecuted) {
+        Collector collector = new Collector();
+        collector.setId(collectorId);
+        collector.setLastExecuted(lastExecuted);
+        return collector;
+    }
+
+    private Commit makeCommitTimestamp(long timestamp) {
+        Commit commit = new Commit();
+        commit.setTimestamp(timestamp);
+        return commit;
+    }
+
     private Component makeComponent(ObjectId collectorItemId, ObjectId collectorId, boolean populateCollectorItems) {
         CollectorItem item = new CollectorItem();
         item.setId(collectorItemId);
@@ -0,0 +1,92 @@
+package com.capitalone.dashboard.service;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.capitalone.dashboard.model.Collector;
+import com.capitalone.dashboard.model.Component;
+import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.repository.ComponentRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComponentCollectorCacheTest {
+
+    @Mock
+    private ComponentRepository componentRepository;
+    @Mock
+    private CollectorRepository collectorRepository;
+
+    private ComponentCollectorCache cache;
+
+    @Before
+    public void setup() {
+        cache = new ComponentCollectorCache(componentRepository, collectorRepository, 60, 100);
+    }
+
+    @Test
+    public void readsComponentOnce() {
+        ObjectId id = ObjectId.get();
+        Component component = new Component();
+        when(componentRepository.findOne(id)).thenReturn(component);
+
+        assertSame(component, cache.getComponent(id));
+        assertSame(component, cache.getComponent(id));
+
+        verify(componentRepository, times(1)).findOne(id);
+    }
+
+    @Test
+    public void readsComponentAgainAfterEviction() {
+        ObjectId id = ObjectId.get();
+        when(componentRepository.findOne(id)).thenReturn(new Component());
+
+        cache.getComponent(id);
+        cache.evictComponent(id);
+        cache.getComponent(id);
+
+        verify(componentRepository, times(2)).findOne(id);
+    }
+
+    @Test
+    public void readsComponentsAgainAfterEvictingThem() {
+        Component component = new Component();
+        component.setId(ObjectId.get());
+        ObjectId otherId = ObjectId.get();
+        when(componentRepository.findOne(component.getId())).thenReturn(component);
+        when(componentRepository.findOne(otherId)).thenReturn(new Component());
+
+        cache.getComponent(component.getId());
+        cache.getComponent(otherId);
+        cache.evictComponents(Collections.singletonList(component));
+        cache.getComponent(component.getId());
+        cache.getComponent(otherId);
+
+        verify(componentRepository, times(2)).findOne(component.getId());
+        verify(componentRepository, times(1)).findOne(otherId);
+    }
+
+    @Test
+    public void readsCollectorEveryTime() {
+        ObjectId id = ObjectId.get();
+        Collector collector = new Collector();
+
+        assertNull(cache.getCollector(id));
+        when(collectorRepository.findOne(id)).thenReturn(collector);
+        assertSame(collector, cache.getCollector(id));
+        assertSame(collector, cache.getCollector(id));
+
+        verify(collectorRepository, times(3)).findOne(id);
+    }
+}
@@ -3,11 +3,15 @@ package com.capitalone.dashboard.service;
 import com.capitalone.dashboard.config.FongoConfig;
 import com.capitalone.dashboard.config.ApiTestConfig;
 import com.capitalone.dashboard.misc.HygieiaException;
+import com.capitalone.dashboard.model.Application;
+import com.capitalone.dashboard.model.CollectorItem;
 import com.capitalone.dashboard.model.Dashboard;
+import com.capitalone.dashboard.model.DashboardType;
 import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.model.Owner;
 import com.capitalone.dashboard.model.AuthType;
+import com.capitalone.dashboard.model.ScoreDisplayType;
 import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.DashboardRepository;
 import com.capitalone.dashboard.repository.UserInfoRepository;
@@ -21,6 +25,7 @@ import com.google.common.io.Resources;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.io.IOUtils;
+import org.bson.types.ObjectId;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -222,6 +227,35 @@ public class DashboardRemoteServiceTest {
         assertTrue(found.getUpdatedAt()>dashboard.getUpdatedAt());
     }
     @Test
+    public void remoteCreateDuplicateCheckFailsLeavesCollectorItems() throws IOException {
+        // a newer dashboard on the same component whose business names contain the existing dashboard's
+        Dashboard existing = dashboardRepository.findByTitle("TestSSA").get(0);
+        Component component = componentRepository.findOne(existing.getApplication().getComponents().get(0).getId());
+        List<Owner> owners = new ArrayList<>();
+        owners.add(new Owner("topopal", AuthType.STANDARD));
+        Dashboard newer = new Dashboard(true, "CapOne", "TestSSA-copy", new Application("TestAudit", component), owners,
+                DashboardType.Team, "TestBusServ-2", "confItem-2", new ArrayList<>(), false, ScoreDisplayType.HEADER);
+        newer.setUpdatedAt(System.currentTimeMillis());
+        dashboardRepository.save(newer);
+
+        DashboardRemoteRequest request = getRemoteRequest("./dashboardRemoteRequests/0-Remote-Update-Repo.json");
+        request.getMetaData().setBusinessService("TestBusServ");
+        request.getMetaData().setBusinessApplication("confItem");
+
+        try {
+            dashboardRemoteService.remoteCreate(request, false);
+            fail("Should throw HygieiaException");
+        } catch (HygieiaException e) {
+            assertEquals(HygieiaException.DUPLICATE_DATA, e.getErrorCode());
+        }
+        // the scm item the request replaces is still enabled and still on the component
+        CollectorItem replaced = collectorItemRepository.findOne(new ObjectId("56e301107fab7c3ec3c43397"));
+        assertTrue(replaced.isEnabled());
+        Component saved = componentRepository.findOne(component.getId());
+        assertEquals(1, saved.getCollectorItems().get(CollectorType.SCM).size());
+        assertEquals(replaced.getId(), saved.getCollectorItems().get(CollectorType.SCM).get(0).getId());
+    }
+    @Test
     public void remoteCreate() throws HygieiaException, IOException  {
         DashboardRemoteRequest request = getRemoteRequest("./dashboardRemoteRequests/0-Remote-Update-Repo.json");
         request.getMetaData().setTitle("newDashboard0");
@@ -301,6 +335,30 @@ public class DashboardRemoteServiceTest {
         assertEquals(1, component.getCollectorItems().get(CollectorType.Build).size());
         assertEquals(2, dashboard.get(0).getOwners().size());
     }
+    @Test
+    public void remoteCreateReturnsPersistedDashboard() throws HygieiaException, IOException {
+        DashboardRemoteRequest request = getRemoteRequest("./dashboardRemoteRequests/Remote-Request-Base.json");
+        request.getMetaData().setTitle("newDashboard5");
+        List<DashboardRemoteRequest.BuildEntry> entries = new ArrayList<>();
+        DashboardRemoteRequest.BuildEntry validBuild = new DashboardRemoteRequest.BuildEntry();
+        validBuild.setToolName("Hudson");
+        Map options = new HashMap();
+        options.put("jobName", "MyBuildJob");
+        options.put("jobUrl", "http://jenkins.com/MyBuildJob");
+        options.put("instanceUrl", "http://jenkins.com");
+        validBuild.setOptions(options);
+        entries.add(validBuild);
+        request.setBuildEntries(entries);
+
+        Dashboard created = dashboardRemoteService.remoteCreate(request, false);
+        Dashboard saved = dashboardRepository.findOne(created.getId());
+        Component component = componentRepository.findOne(saved.getApplication().getComponents().get(0).getId());
+
+        assertEquals(1, saved.getWidgets().size());
+        assertEquals(created.getWidgets().get(0).getId(), saved.getWidgets().get(0).getId());
+        assertEquals(1, component.getCollectorItems().get(CollectorType.Build).size());
+    }
+
     @Test
     public void remoteUpdateNonExisting() throws IOException {
         DashboardRemoteRequest request = getRemoteRequest("./dashboardRemoteRequests/Remote-Request-Base.json");
@@ -57,6 +57,7 @@ import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.repository.CustomRepositoryQuery;
+import com.capitalone.dashboard.repository.DashboardLookupRepository;
 import com.capitalone.dashboard.repository.DashboardRepository;
 import com.capitalone.dashboard.repository.ServiceRepository;
 import com.capitalone.dashboard.repository.UserInfoRepository;
@@ -69,6 +70,8 @@ public class DashboardServiceTest {
     @Mock
     private DashboardRepository dashboardRepository;
     @Mock
+    private DashboardLookupRepository dashboardLookupRepository;
+    @Mock
     private ComponentRepository componentRepository;
     @Mock
     private CollectorRepository collectorRepository;
@@ -88,6 +91,8 @@ public class DashboardServiceTest {
     private Dashboard myDashboard;
     @Mock
     private ScoreDashboardService scoreDashboardService;
+    @Mock
+    private ComponentCollectorCache componentCollectorCache;
 
     @InjectMocks
     private DashboardServiceImpl dashboardService;
@@ -105,6 +110,25 @@ public class DashboardServiceTest {
         assertThat(actual, is(expected));
     }
 
+    @Test
+    public void allResolvesConfigItemsInOneBatch() {
+        Dashboard d1 = makeTeamDashboard("template", "title1", "app1", "amit", "asvtest", configItemBusAppName, "comp1");
+        Dashboard d2 = makeTeamDashboard("template", "title2", "app2", "amit", configItemBusServName, null, "comp2");
+        when(dashboardRepository.findAll(Mockito.any(Sort.class))).thenReturn(Lists.newArrayList(d1, d2));
+        Map<String, Cmdb> cmdbMap = new HashMap<>();
+        cmdbMap.put(configItemBusServName.toLowerCase(), getConfigItem(configItemBusServName));
+        cmdbMap.put(configItemBusAppName.toLowerCase(), getConfigItem(configItemBusAppName));
+        when(cmdbService.configurationItemsByConfigurationItems(anyCollectionOf(String.class))).thenReturn(cmdbMap);
+
+        dashboardService.all();
+
+        assertEquals(configItemBusServName, d1.getConfigurationItemBusServName());
+        assertEquals(configItemBusAppName, d1.getConfigurationItemBusAppName());
+        assertEquals(configItemBusServName, d2.getConfigurationItemBusServName());
+        verify(cmdbService, times(1)).configurationItemsByConfigurationItems(anyCollectionOf(String.class));
+        verify(cmdbService, never()).configurationItemByConfigurationItem(anyString());
+    }
+
     @Test
     public void get() {
         ObjectId id = ObjectId.get();
@@ -557,6 +581,7 @@ public class DashboardServiceTest {
         dashboardService.delete(id);
 
         verify(componentRepository).delete(expected.getApplication().getComponents());
+        verify(componentCollectorCache).evictComponents(expected.getApplication().getComponents());
         verify(serviceRepository).delete(services);
         verify(serviceRepository).save(depService);
         verify(dashboardRepository).delete(expected);
@@ -741,6 +766,7 @@ public class DashboardServiceTest {
         when(componentRepository.findOne(compId)).thenReturn(c);
         dashboardService.deleteWidget(d, expected, compId, collIds, true);
         verify(componentRepository, times(1)).save(any(Component.class));
+        verify(componentCollectorCache).evictComponent(compId);
     }
 
     @Test
@@ -867,16 +893,46 @@ public class DashboardServiceTest {
     public void getDashboardByTitleWithFilter() throws HygieiaException{
         Dashboard myDashboard = makeTeamDashboard("template", "title", "appName", "amit",null, null, "comp1", "comp2");
         Page<Dashboard> pagedDashboards = new PageImpl<Dashboard>(Stream.of(myDashboard).collect(Collectors.toList()));
-        when(dashboardRepository.findAllByTitleContainingIgnoreCase(any(String.class),any(Pageable.class) )).thenReturn(pagedDashboards);
-        assertNotNull(dashboardService.getDashboardByTitleWithFilter("title", "", null));
+        when(dashboardLookupRepository.findBySearchTokens(Arrays.asList("title"), null)).thenReturn(pagedDashboards);
+        assertNotNull(dashboardService.getDashboardByTitleWithFilter("Title", "", null));
     }
 
     @Test
-    public void getAllDashboardsByTitleCount() throws HygieiaException{
-        Dashboard myDashboard = makeTeamDashboard("template", "title", "appName", "amit",null, null, "comp1", "comp2");
+    public void getDashboardByTitleAndTypeWithFilter() {
+        Dashboard myDashboard = makeTeamDashboard("template", "my team title", "appName", "amit",null, null, "comp1", "comp2");
         Page<Dashboard> pagedDashboards = new PageImpl<Dashboard>(Stream.of(myDashboard).collect(Collectors.toList()));
-        when(dashboardRepository.findAllByTitleContainingIgnoreCase(any(String.class))).thenReturn(Stream.of(myDashboard).collect(Collectors.toList()));
+        when(dashboardLookupRepository.findBySearchTokensAndTypeIn(Arrays.asList("my", "tea"), Arrays.asList(DashboardType.Team.name()), null)).thenReturn(pagedDashboards);
+        assertThat(dashboardService.getDashboardByTitleWithFilter("My Tea", "team", null), is(pagedDashboards));
+    }
+
+    @Test
+    public void updateDuplicateBusinessServiceAndApplication() {
+        Dashboard existing = makeTeamDashboard("template", "existing", "appName", "amit", configItemBusServName, configItemBusAppName, "comp1");
+        existing.setId(ObjectId.get());
+        Dashboard dashboard = makeTeamDashboard("template", "title", "appName", "amit", "asvTest", "bapTest", "comp1");
+        dashboard.setId(ObjectId.get());
+        when(dashboardLookupRepository.findBySearchBusServNameAndSearchBusAppName("asvtest", "baptest")).thenReturn(Lists.newArrayList(existing));
+
+        try {
+            dashboardService.update(dashboard);
+            fail("Should throw HygieiaException");
+        } catch (HygieiaException e) {
+            assertEquals(HygieiaException.DUPLICATE_DATA, e.getErrorCode());
+        }
+        verify(dashboardRepository, never()).save(dashboard);
+    }
+
+    @Test
+    public void getAllDashboardsByTitleCount() throws HygieiaException{
+        when(dashboardLookupRepository.countBySearchTokens(Arrays.asList("title"))).thenReturn(1L);
         assertEquals(new Integer(dashboardService.getAllDashboardsByTitleCount("title","")),new Integer(1));
+        verify(dashboardRepository, never()).findAllByTitleContainingIgnoreCase(any(String.class));
+    }
+
+    @Test
+    public void getAllDashboardsByTitleAndTypeCount() {
+        when(dashboardLookupRepository.countBySearchTokensAndTypeIn(Arrays.asList("title"), Arrays.asList(DashboardType.Team.name()))).thenReturn(3L);
+        assertEquals(new Integer(3), dashboardService.getAllDashboardsByTitleCount("title", "Team"));
     }
 
     @Test
@@ -941,6 +997,55 @@ public class DashboardServiceTest {
         Assert.assertTrue(result);
     }
 
+    @Test
+    public void getETag_changesWhenDashboardIsSaved() {
+        ObjectId id = ObjectId.get();
+        Dashboard saved = makeETagDashboard(id, 1L);
+        Dashboard resaved = makeETagDashboard(id, 2L);
+        when(dashboardLookupRepository.findVersionById(id)).thenReturn(saved, saved, resaved);
+        when(componentCollectorCache.getCollector(any(ObjectId.class))).thenReturn(makeETagCollector(10L));
+
+        String eTag = dashboardService.getETag(id);
+        assertEquals(eTag, dashboardService.getETag(id));
+        Assert.assertNotEquals(eTag, dashboardService.getETag(id));
+    }
+
+    @Test
+    public void getETag_changesWhenCollectorRuns() {
+        ObjectId id = ObjectId.get();
+        when(dashboardLookupRepository.findVersionById(id)).thenReturn(makeETagDashboard(id, 1L));
+        when(componentCollectorCache.getCollector(any(ObjectId.class))).thenReturn(makeETagCollector(10L), makeETagCollector(20L));
+
+        Assert.assertNotEquals(dashboardService.getETag(id), dashboardService.getETag(id));
+        verify(collectorRepository, never()).findOne(any(ObjectId.class));
+    }
+
+    @Test
+    public void getETag_missingDashboard() {
+        ObjectId id = ObjectId.get();
+        when(dashboardLookupRepository.findVersionById(id)).thenReturn(null);
+
+        Assert.assertNull(dashboardService.getETag(id));
+    }
+
+    private Dashboard makeETagDashboard(ObjectId id, long updatedAt) {
+        Dashboard dashboard = makeTeamDashboard("template", "title", "appName", "amit", configItemBusServName, configItemBusAppName, "comp");
+        dashboard.setId(id);
+        dashboard.setUpdatedAt(updatedAt);
+        CollectorItem item = new CollectorItem();
+        item.setId(new ObjectId("5a1b2c3d4e5f6a7b8c9d0e1f"));
+        item.setCollectorId(new ObjectId("5a1b2c3d4e5f6a7b8c9d0e20"));
+        item.setLastUpdated(5L);
+        dashboard.getApplication().getComponents().get(0).addCollectorItem(CollectorType.Build, item);
+        return dashboard;
+    }
+
+    private Collector makeETagCollector(long lastExecuted) {
+        Collector collector = new Collector();
+        collector.setLastExecuted(lastExecuted);
+        return collector;
+    }
+
     private Dashboard makeTeamDashboard(String template, String title, String appName, String owner,String configItemBusServName,String configItemBusAppName, String... compNames) {
         Application app = new Application(appName);
         for (String compName : compNames) {
@@ -13,9 +13,11 @@ import com.capitalone.dashboard.model.SonarProject;
 import com.capitalone.dashboard.model.webhook.github.GitHubRepo;
 import com.capitalone.dashboard.repository.BinaryArtifactRepository;
 import com.capitalone.dashboard.repository.CodeQualityRepository;
+import com.capitalone.dashboard.repository.CollectorItemLookupRepository;
 import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
+import com.capitalone.dashboard.repository.DataSyncOperations;
 import com.capitalone.dashboard.repository.GitRequestRepository;
 import com.capitalone.dashboard.repository.LibraryPolicyResultsRepository;
 import com.capitalone.dashboard.repository.SonarProjectRepository;
@@ -29,18 +31,25 @@ import org.bson.types.ObjectId;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -73,6 +82,12 @@ public class DataSyncServiceTest {
     private LibraryPolicyResultsRepository libraryPolicyResultsRepository;
     @Mock
     private TestResultRepository testResultRepository;
+    @Mock
+    private CollectorItemLookupRepository collectorItemLookupRepository;
+    @Mock
+    private DataSyncOperations dataSyncOperations;
+    @Mock
+    private ComponentCollectorCache componentCollectorCache;
 
 
     @Before
@@ -86,49 +101,92 @@ public class DataSyncServiceTest {
         dataSyncSettings.setStaticSecurity(STATIC_SECURITY);
         settings.setDataSyncSettings(dataSyncSettings);
         dataSyncService = new DataSyncServiceImpl(codeQualityRepository, sonarProjectRepository, collectorRepository, componentRepository, collectorItemRepository, binaryArtifactRepository,
-                gitRequestRepository, libraryPolicyResultsRepository,testResultRepository, settings);
+                gitRequestRepository, libraryPolicyResultsRepository,testResultRepository, collectorItemLookupRepository, dataSyncOperations, componentCollectorCache, settings);
 
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     public void dataCleanGIT() {
         when(dataSyncService.getCollectorRepository().findByName(GITHUB)).thenReturn(getCollector(GITHUB, CollectorType.SCM, getUniqueOptions("url", "", "branch", "")));
-        ObjectId collectorItemId = ObjectId.get();
-        List<CollectorItem> cis = Arrays.asList(getGitRepo(collectorItemId, "http://github.com/repo1", "master"));
-        Page<CollectorItem> pagedCollectorItems = new PageImpl<>(cis);
-        ObjectId collectorItemId2 = ObjectId.get();
-        List<CollectorItem> suspects = Arrays.asList(getGitRepo(collectorItemId, "http://github.com/repo1", "master"), getGitRepo(collectorItemId2, "http://github.com/repo1", "master"));
-        when(dataSyncService.getCollectorItemRepository().findByCollectorIdIn(any(), any())).thenReturn(pagedCollectorItems);
-        when(dataSyncService.getCollectorItemRepository().findAllByOptionMapAndCollectorIdsIn(any(), any())).thenReturn(suspects);
-        when(dataSyncService.getGitRequestRepository().findTopByCollectorItemIdOrderByTimestampDesc(any())).thenReturn(getGitRequest(collectorItemId, 1584127005000L));
-        when(dataSyncService.getGitRequestRepository().findTopByCollectorItemIdOrderByTimestampDesc(any())).thenReturn(getGitRequest(collectorItemId2, 1581621405000L));
-        when(dataSyncService.getComponentRepository().findBySCMCollectorItemId(any())).thenReturn(Arrays.asList(getComponent(collectorItemId)));
-        when(dataSyncService.getCollectorItemRepository().findOne(any(ObjectId.class))).thenReturn(getGitRepo(collectorItemId, "http://github.com/repo1", "master"));
+        ObjectId olderId = ObjectId.get();
+        ObjectId newerId = ObjectId.get();
+        ObjectId otherId = ObjectId.get();
+        when(collectorItemLookupRepository.streamByCollectorIdIn(any())).thenReturn(Arrays.<CollectorItem>asList(
+                getGitRepo(olderId, "http://github.com/repo1", "master"),
+                getGitRepo(newerId, "http://github.com/repo1", "master"),
+                getGitRepo(otherId, "http://github.com/repo1", "develop")).stream());
+        Map<ObjectId, Long> latest = new HashMap<>();
+        latest.put(olderId, 1581621405000L);
+        latest.put(newerId, 1584127005000L);
+        when(dataSyncOperations.latestTimestamps(eq(GitRequest.class), any())).thenReturn(latest);
+        Component component = getComponent(olderId);
+        when(dataSyncOperations.findComponentsByCollectorItemIds(eq(CollectorType.SCM), any())).thenReturn(Collections.singletonList(component));
+        when(dataSyncOperations.deleteCollectorItems(any())).thenReturn(1);
+
         DataSyncResponse response = dataSyncService.refresh(getDataSyncRequest(GITHUB));
+
+        ArgumentCaptor<Collection> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(dataSyncOperations).deleteCollectorItems(deleted.capture());
+        assertEquals(Collections.singleton(olderId), deleted.getValue());
+        verify(dataSyncOperations).replaceCollectorItems(CollectorType.SCM, Collections.singletonList(component));
+        assertEquals(1, component.getCollectorItems().get(CollectorType.SCM).size());
+        assertEquals(newerId, component.getCollectorItems().get(CollectorType.SCM).get(0).getId());
         assertEquals(response.getCollectorItemCount(), 1);
-        assertEquals(response.getComponentCount(), 2);
+        assertEquals(response.getComponentCount(), 1);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
+    public void dataCleanGITVariantUrls() {
+        when(dataSyncService.getCollectorRepository().findByName(GITHUB)).thenReturn(getCollector(GITHUB, CollectorType.SCM, getUniqueOptions("url", "", "branch", "")));
+        ObjectId upperCaseId = ObjectId.get();
+        ObjectId trailingSlashId = ObjectId.get();
+        ObjectId plainId = ObjectId.get();
+        ObjectId otherRepoId = ObjectId.get();
+        when(collectorItemLookupRepository.streamByCollectorIdIn(any())).thenReturn(Arrays.<CollectorItem>asList(
+                getGitRepo(upperCaseId, "https://GitHub.com/Org/Repo.git", "master"),
+                getGitRepo(trailingSlashId, "https://github.com/org/repo/", "master"),
+                getGitRepo(plainId, "https://github.com/org/repo", "master"),
+                getGitRepo(otherRepoId, "https://github.com/org/repo2", "master")).stream());
+        when(dataSyncOperations.latestTimestamps(eq(GitRequest.class), any())).thenReturn(Collections.singletonMap(plainId, 1584127005000L));
+        when(dataSyncOperations.findComponentsByCollectorItemIds(eq(CollectorType.SCM), any())).thenReturn(Collections.emptyList());
+        when(dataSyncOperations.deleteCollectorItems(any())).thenReturn(2);
+
+        DataSyncResponse response = dataSyncService.refresh(getDataSyncRequest(GITHUB));
+
+        ArgumentCaptor<Collection> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(dataSyncOperations).deleteCollectorItems(deleted.capture());
+        assertEquals(new HashSet<>(Arrays.asList(upperCaseId, trailingSlashId)), new HashSet<>(deleted.getValue()));
+        assertEquals(response.getCollectorItemCount(), 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
     public void dataCleanSonar() {
         when(dataSyncService.getCollectorRepository().findByName(SONAR)).thenReturn(getCollector(SONAR, CollectorType.CodeQuality, getUniqueOptions("projectName", "", "instanceUrl", "")));
         ObjectId collectorItemId = ObjectId.get();
-        List<CollectorItem> cis = Arrays.asList(getSonarProject(collectorItemId, "sonarProjectName", "http://sonarqube.com"));
-        Page<CollectorItem> pagedCollectorItems = new PageImpl<>(cis);
         ObjectId collectorItemId2 = ObjectId.get();
-        List<CollectorItem> suspects = Arrays.asList(getSonarProject(collectorItemId, "sonarProjectName", "http://sonarqube.com"), getSonarProject(collectorItemId2, "sonarProjectName2", "http://sonarqube.com"));
-        when(dataSyncService.getCollectorItemRepository().findByCollectorIdIn(any(), any())).thenReturn(pagedCollectorItems);
-        when(dataSyncService.getCollectorItemRepository().findAllByOptionMapAndCollectorIdsIn(any(), any())).thenReturn(suspects);
-        when(dataSyncService.getCodeQualityRepository().findTop1ByCollectorItemIdOrderByTimestampDesc(any())).thenReturn(getCodeQuality(collectorItemId, 1584127005000L));
-        when(dataSyncService.getCodeQualityRepository().findTop1ByCollectorItemIdOrderByTimestampDesc(any())).thenReturn(getCodeQuality(collectorItemId2, 1581621405000L));
-        when(dataSyncService.getComponentRepository().findByCodeQualityCollectorItems(any())).thenReturn(Arrays.asList(getComponent(collectorItemId)));
-        when(dataSyncService.getCollectorItemRepository().findOne(any(ObjectId.class))).thenReturn(getSonarProject(collectorItemId, "sonarProjectName1", "http://sonarqube.com"));
+        SonarProject active = getSonarProject(collectorItemId, "sonarProjectName", "http://sonarqube.com");
+        SonarProject inactive = getSonarProject(collectorItemId2, "sonarProjectName", "http://sonarqube.com");
+        active.setLastUpdated(1581621405000L);
+        inactive.setLastUpdated(1584127005000L);
+        when(collectorItemLookupRepository.streamByCollectorIdIn(any())).thenReturn(Arrays.<CollectorItem>asList(inactive, active).stream());
+        when(dataSyncOperations.latestTimestamps(eq(CodeQuality.class), any())).thenReturn(Collections.singletonMap(collectorItemId, 1584127005000L));
+        Component component = getComponent(collectorItemId2);
+        when(dataSyncOperations.findComponentsByCollectorItemIds(eq(CollectorType.CodeQuality), any())).thenReturn(Collections.singletonList(component));
+        when(dataSyncOperations.deleteCollectorItems(any())).thenReturn(1);
+
         DataSyncResponse response = dataSyncService.refresh(getDataSyncRequest(SONAR));
+
+        ArgumentCaptor<Collection> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(dataSyncOperations).deleteCollectorItems(deleted.capture());
+        assertEquals(Collections.singleton(collectorItemId2), deleted.getValue());
+        assertEquals(collectorItemId, component.getCollectorItems().get(CollectorType.CodeQuality).get(0).getId());
         assertEquals(response.getCollectorItemCount(), 1);
-        assertEquals(response.getComponentCount(), 2);
+        assertEquals(response.getComponentCount(), 1);
     }
 
-
     @Test
     public void dataCleanArtifact() {
         when(dataSyncService.getCollectorRepository().findByName(ARTIFACTORY)).thenReturn(getCollector(ARTIFACTORY, CollectorType.Artifact, getUniqueOptions("path", "", "instanceUrl", "")));
@@ -141,11 +199,15 @@ public class DataSyncServiceTest {
         when(dataSyncService.getCollectorItemRepository().findAllByOptionMapAndCollectorIdsIn(any(), any())).thenReturn(suspects);
         when(dataSyncService.getBinaryArtifactRepository().findTopByCollectorItemIdOrderByTimestampDesc(any())).thenReturn(getBinaryArtifact(collectorItemId, 1584127005000L));
         when(dataSyncService.getBinaryArtifactRepository().findTopByCollectorItemIdOrderByTimestampDesc(any())).thenReturn(getBinaryArtifact(collectorItemId2, 1581621405000L));
-        when(dataSyncService.getComponentRepository().findByArtifactCollectorItems(any())).thenReturn(Arrays.asList(getComponent(collectorItemId)));
+        Component component = getComponent(collectorItemId);
+        when(dataSyncService.getComponentRepository().findByArtifactCollectorItems(any())).thenReturn(Arrays.asList(component));
         when(dataSyncService.getCollectorItemRepository().findOne(any(ObjectId.class))).thenReturn(getArtifactItem(collectorItemId, "artifactName1", "repoName", "path", "http://artifactory.com"));
         DataSyncResponse response = dataSyncService.refresh(getDataSyncRequest(ARTIFACTORY));
         assertEquals(response.getCollectorItemCount(), 1);
         assertEquals(response.getComponentCount(), 2);
+        // the re-pointed component is read again by widget searches and dashboard ETags
+        verify(componentRepository, atLeastOnce()).save(component);
+        verify(componentCollectorCache, atLeastOnce()).evictComponent(component.getId());
     }
 
     @Test
@@ -244,13 +306,6 @@ public class DataSyncServiceTest {
         return libraryPolicyResult;
     }
 
-    private GitRequest getGitRequest(ObjectId collectorItemId, long timestamp) {
-        GitRequest g = new GitRequest();
-        g.setCollectorItemId(collectorItemId);
-        g.setTimestamp(timestamp);
-        return g;
-    }
-
     private BinaryArtifact getBinaryArtifact(ObjectId id, long timestamp) {
         BinaryArtifact binaryArtifact = new BinaryArtifact();
         binaryArtifact.setTimestamp(timestamp);
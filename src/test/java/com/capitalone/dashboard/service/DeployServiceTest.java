@@ -46,7 +46,8 @@ import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
 import com.capitalone.dashboard.repository.EnvironmentComponentRepository;
-import com.capitalone.dashboard.repository.EnvironmentStatusRepository;
+import com.capitalone.dashboard.repository.EnvironmentComponentLookupRepository;
+import com.capitalone.dashboard.repository.EnvironmentStatusLookupRepository;
 import com.capitalone.dashboard.request.DeployDataCreateRequest;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -56,7 +57,8 @@ public class DeployServiceTest {
     @Mock CollectorItemRepository collectorItemRepository;
     @Mock ComponentRepository componentRepository;
     @Mock EnvironmentComponentRepository environmentComponentRepository;
-    @Mock EnvironmentStatusRepository environmentStatusRepository;
+    @Mock EnvironmentComponentLookupRepository environmentComponentLookupRepository;
+    @Mock EnvironmentStatusLookupRepository environmentStatusLookupRepository;
     @Mock private CollectorRepository collectorRepository;
     @InjectMocks DeployServiceImpl deployService;
 
@@ -71,22 +73,22 @@ public class DeployServiceTest {
         when(componentRepository.findOne(compId)).thenReturn(component);
         when(collectorRepository.findOne(item.getCollectorId())).thenReturn(new Collector());
 
-        EnvironmentComponent c_qa_api = makeEnvComponent("QA", "API", "1.1", true);
-        EnvironmentComponent c_qa_ui = makeEnvComponent("QA", "UI", "1.1", true);
-        EnvironmentComponent c_prod_api = makeEnvComponent("PROD", "API", "1.0", true);
-        EnvironmentComponent c_prod_ui = makeEnvComponent("PROD", "UI", "1.0", true);
-        when(environmentComponentRepository.findByCollectorItemId(item.getId()))
+        EnvironmentComponent c_qa_api = makeEnvComponent(item.getId(), "QA", "API", "1.1", true);
+        EnvironmentComponent c_qa_ui = makeEnvComponent(item.getId(), "QA", "UI", "1.1", true);
+        EnvironmentComponent c_prod_api = makeEnvComponent(item.getId(), "PROD", "API", "1.0", true);
+        EnvironmentComponent c_prod_ui = makeEnvComponent(item.getId(), "PROD", "UI", "1.0", true);
+        when(environmentComponentLookupRepository.findByCollectorItemIdIn(Collections.singletonList(item.getId())))
                 .thenReturn(Arrays.asList(c_qa_api, c_qa_ui, c_prod_api, c_prod_ui));
 
-        EnvironmentStatus s_qa_api_s1 = makeEnvironmentStatus("QA", "API", "s1", true);
-        EnvironmentStatus s_qa_api_s2 = makeEnvironmentStatus("QA", "API", "s2", true);
-        EnvironmentStatus s_qa_ui_s3 = makeEnvironmentStatus("QA", "UI", "s3", true);
-        EnvironmentStatus s_qa_ui_s4 = makeEnvironmentStatus("QA", "UI", "s4", true);
-        EnvironmentStatus s_prod_api_s5 = makeEnvironmentStatus("PROD", "API", "s5", true);
-        EnvironmentStatus s_prod_api_s6 = makeEnvironmentStatus("PROD", "API", "s6", true);
-        EnvironmentStatus s_prod_ui_s7 = makeEnvironmentStatus("PROD", "UI", "s7", true);
-        EnvironmentStatus s_prod_ui_s8 = makeEnvironmentStatus("PROD", "UI", "s8", true);
-        when(environmentStatusRepository.findByCollectorItemId(item.getId()))
+        EnvironmentStatus s_qa_api_s1 = makeEnvironmentStatus(item.getId(), "QA", "API", "s1", true);
+        EnvironmentStatus s_qa_api_s2 = makeEnvironmentStatus(item.getId(), "QA", "API", "s2", true);
+        EnvironmentStatus s_qa_ui_s3 = makeEnvironmentStatus(item.getId(), "QA", "UI", "s3", true);
+        EnvironmentStatus s_qa_ui_s4 = makeEnvironmentStatus(item.getId(), "QA", "UI", "s4", true);
+        EnvironmentStatus s_prod_api_s5 = makeEnvironmentStatus(item.getId(), "PROD", "API", "s5", true);
+        EnvironmentStatus s_prod_api_s6 = makeEnvironmentStatus(item.getId(), "PROD", "API", "s6", true);
+        EnvironmentStatus s_prod_ui_s7 = makeEnvironmentStatus(item.getId(), "PROD", "UI", "s7", true);
+        EnvironmentStatus s_prod_ui_s8 = makeEnvironmentStatus(item.getId(), "PROD", "UI", "s8", true);
+        when(environmentStatusLookupRepository.findByCollectorItemIdIn(Collections.singletonList(item.getId())))
                 .thenReturn(Arrays.asList(
                         s_qa_api_s1, s_qa_api_s2, s_qa_ui_s3, s_qa_ui_s4,
                         s_prod_api_s5, s_prod_api_s6, s_prod_ui_s7, s_prod_ui_s8
@@ -179,31 +181,26 @@ public class DeployServiceTest {
         when(collectorRepository.findOne(item.getCollectorId())).thenReturn(new Collector());
         when(collectorRepository.findOne(item2.getCollectorId())).thenReturn(new Collector());
 
-        EnvironmentComponent c_qa_api = makeEnvComponent("QA", "API", "1.1", true);
-        EnvironmentComponent c_qa_ui = makeEnvComponent("QA", "UI", "1.1", true);
-        EnvironmentComponent c_prod_api = makeEnvComponent("PROD", "API", "1.0", true);
-        EnvironmentComponent c_prod_ui = makeEnvComponent("PROD", "UI", "1.0", true);
-        when(environmentComponentRepository.findByCollectorItemId(item.getId()))
-                .thenReturn(Arrays.asList(c_qa_api, c_qa_ui));
-        when(environmentComponentRepository.findByCollectorItemId(item2.getId()))
-        	.thenReturn(Arrays.asList(c_prod_api, c_prod_ui));
-
-        EnvironmentStatus s_qa_api_s1 = makeEnvironmentStatus("QA", "API", "s1", true);
-        EnvironmentStatus s_qa_api_s2 = makeEnvironmentStatus("QA", "API", "s2", true);
-        EnvironmentStatus s_qa_ui_s3 = makeEnvironmentStatus("QA", "UI", "s3", true);
-        EnvironmentStatus s_qa_ui_s4 = makeEnvironmentStatus("QA", "UI", "s4", true);
-        EnvironmentStatus s_prod_api_s5 = makeEnvironmentStatus("PROD", "API", "s5", true);
-        EnvironmentStatus s_prod_api_s6 = makeEnvironmentStatus("PROD", "API", "s6", true);
-        EnvironmentStatus s_prod_ui_s7 = makeEnvironmentStatus("PROD", "UI", "s7", true);
-        EnvironmentStatus s_prod_ui_s8 = makeEnvironmentStatus("PROD", "UI", "s8", true);
-        when(environmentStatusRepository.findByCollectorItemId(item.getId()))
+        EnvironmentComponent c_qa_api = makeEnvComponent(item.getId(), "QA", "API", "1.1", true);
+        EnvironmentComponent c_qa_ui = makeEnvComponent(item.getId(), "QA", "UI", "1.1", true);
+        EnvironmentComponent c_prod_api = makeEnvComponent(item2.getId(), "PROD", "API", "1.0", true);
+        EnvironmentComponent c_prod_ui = makeEnvComponent(item2.getId(), "PROD", "UI", "1.0", true);
+        when(environmentComponentLookupRepository.findByCollectorItemIdIn(Arrays.asList(item.getId(), item2.getId())))
+                .thenReturn(Arrays.asList(c_qa_api, c_qa_ui, c_prod_api, c_prod_ui));
+
+        EnvironmentStatus s_qa_api_s1 = makeEnvironmentStatus(item.getId(), "QA", "API", "s1", true);
+        EnvironmentStatus s_qa_api_s2 = makeEnvironmentStatus(item.getId(), "QA", "API", "s2", true);
+        EnvironmentStatus s_qa_ui_s3 = makeEnvironmentStatus(item.getId(), "QA", "UI", "s3", true);
+        EnvironmentStatus s_qa_ui_s4 = makeEnvironmentStatus(item.getId(), "QA", "UI", "s4", true);
+        EnvironmentStatus s_prod_api_s5 = makeEnvironmentStatus(item2.getId(), "PROD", "API", "s5", true);
+        EnvironmentStatus s_prod_api_s6 = makeEnvironmentStatus(item2.getId(), "PROD", "API", "s6", true);
+        EnvironmentStatus s_prod_ui_s7 = makeEnvironmentStatus(item2.getId(), "PROD", "UI", "s7", true);
+        EnvironmentStatus s_prod_ui_s8 = makeEnvironmentStatus(item2.getId(), "PROD", "UI", "s8", true);
+        when(environmentStatusLookupRepository.findByCollectorItemIdIn(Arrays.asList(item.getId(), item2.getId())))
                 .thenReturn(Arrays.asList(
-                        s_qa_api_s1, s_qa_api_s2, s_qa_ui_s3, s_qa_ui_s4
+                        s_qa_api_s1, s_qa_api_s2, s_qa_ui_s3, s_qa_ui_s4,
+                        s_prod_api_s5, s_prod_api_s6, s_prod_ui_s7, s_prod_ui_s8
                 ));
-        when(environmentStatusRepository.findByCollectorItemId(item2.getId()))
-	        .thenReturn(Arrays.asList(
-	                s_prod_api_s5, s_prod_api_s6, s_prod_ui_s7, s_prod_ui_s8
-	        ));
 
         DataResponse<List<Environment>> result = deployService.getDeployStatus(compId);
 
@@ -337,7 +334,7 @@ public class DeployServiceTest {
             .thenReturn(Collections.emptyList());
         when(collectorItemRepository.findByOptionsAndDeployedApplicationName(id2, "appName"))
             .thenReturn(Collections.singletonList(makeCollectorItem()));
-        when(environmentComponentRepository.findByCollectorItemId(any()))
+        when(environmentComponentLookupRepository.findByCollectorItemIdIn(any()))
             .thenReturn(Collections.emptyList());
         Collector collector = makeCollector();
         collector.setLastExecuted(234234L);
@@ -401,7 +398,7 @@ public class DeployServiceTest {
         when(collectorService.createCollector(any(Collector.class))).thenReturn(new Collector());
         when(collectorService.createCollectorItem(any(CollectorItem.class))).thenReturn(new CollectorItem());
 
-        EnvironmentComponent environmentComponent = makeEnvComponent("QA", "API", "1.1", true);
+        EnvironmentComponent environmentComponent = makeEnvComponent(ObjectId.get(), "QA", "API", "1.1", true);
 
         when(environmentComponentRepository.save(any(EnvironmentComponent.class))).thenReturn(environmentComponent);
         String response = deployService.createV2(request);
@@ -421,7 +418,7 @@ public class DeployServiceTest {
         when(collectorService.createCollector(any(Collector.class))).thenReturn(new Collector());
         when(collectorService.createCollectorItem(any(CollectorItem.class))).thenReturn(new CollectorItem());
 
-        EnvironmentComponent environmentComponent = makeEnvComponent("QA", "API", "1.1", true);
+        EnvironmentComponent environmentComponent = makeEnvComponent(ObjectId.get(), "QA", "API", "1.1", true);
 
         when(environmentComponentRepository.save(any(EnvironmentComponent.class))).thenReturn(environmentComponent);
         String response = deployService.create(request);
@@ -441,19 +438,20 @@ public class DeployServiceTest {
             .thenReturn(co);        
     }
     
-    private EnvironmentComponent makeEnvComponent(String envName, String name, String version, boolean deployed) {
+    private EnvironmentComponent makeEnvComponent(ObjectId collectorItemId, String envName, String name, String version, boolean deployed) {
         EnvironmentComponent comp = new EnvironmentComponent();
         comp.setEnvironmentName(envName);
         comp.setComponentName(name);
         comp.setComponentVersion(version);
         comp.setDeployed(deployed);
-        comp.setCollectorItemId(ObjectId.get());
+        comp.setCollectorItemId(collectorItemId);
         comp.setId(ObjectId.get());
         return comp;
     }
 
-    private EnvironmentStatus makeEnvironmentStatus(String envName, String name, String server, boolean online) {
+    private EnvironmentStatus makeEnvironmentStatus(ObjectId collectorItemId, String envName, String name, String server, boolean online) {
         EnvironmentStatus status = new EnvironmentStatus();
+        status.setCollectorItemId(collectorItemId);
         status.setEnvironmentName(envName);
         status.setComponentName(name);
         status.setResourceName(server);
@@ -6,6 +6,7 @@ import com.capitalone.dashboard.model.CollectorType;
 import com.capitalone.dashboard.model.Component;
 import com.capitalone.dashboard.model.DataResponse;
 import com.capitalone.dashboard.model.Feature;
+import com.capitalone.dashboard.model.FeatureEstimates;
 import com.capitalone.dashboard.model.SprintEstimate;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
@@ -16,7 +17,6 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -81,11 +81,12 @@ public class FeatureServiceImplTest {
 	FeatureRepository featureRepository;
 	@Mock
 	private CollectorRepository collectorRepository;
-	@InjectMocks
 	FeatureServiceImpl featureService;
 
 	@Before
 	public void setup() {
+		featureService = new FeatureServiceImpl(new ComponentCollectorCache(componentRepository, collectorRepository, 0, 0), featureRepository);
+
 		// Date-time modifications
 		cal.setTime(new Date());
 		cal.add(Calendar.DAY_OF_YEAR, -1);
@@ -320,6 +321,39 @@ public class FeatureServiceImplTest {
 		assertEquals(150, result.getResult().getTotalEstimate());
 	}
 	
+	@Test
+	public void testGetFeatureEstimates_SprintAndEpicEstimates() {
+		when(componentRepository.findOne(mockComponentId)).thenReturn(mockComponent);
+		when(collectorRepository.findOne(mockItem2.getCollectorId())).thenReturn(mockJiraCollector);
+		when(featureRepository.findByActiveEndingSprints(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.anyString(), Mockito.anyBoolean())).thenReturn(Arrays.asList(mockJiraFeature, mockJiraFeature2));
+
+		DataResponse<FeatureEstimates> result = featureService.getFeatureEstimates(mockComponentId, mockJiraFeature.getsTeamID(), mockJiraFeature.getsProjectID(), Optional.of("scrum"), Optional.of("hours"));
+
+		assertEquals(900, result.getResult().getSprintEstimate().getTotalEstimate());
+		assertEquals(400, result.getResult().getSprintEstimate().getInProgressEstimate());
+		assertEquals(500, result.getResult().getSprintEstimate().getCompleteEstimate());
+		assertThat(result.getResult().getEpicEstimates(), hasSize(1));
+		assertEquals("900", result.getResult().getEpicEstimates().get(0).getsEstimate());
+	}
+
+	@Test
+	public void testEstimates_ReuseRollupUntilCollectorRuns() {
+		when(componentRepository.findOne(mockComponentId)).thenReturn(mockComponent);
+		when(collectorRepository.findOne(mockItem2.getCollectorId())).thenReturn(mockJiraCollector);
+		when(featureRepository.findByActiveEndingSprints(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.anyString(), Mockito.anyBoolean())).thenReturn(Arrays.asList(mockJiraFeature, mockJiraFeature2));
+		String teamId = mockJiraFeature.getsTeamID();
+		String projectId = mockJiraFeature.getsProjectID();
+
+		featureService.getAggregatedSprintEstimates(mockComponentId, teamId, projectId, Optional.of("scrum"), Optional.of("storypoints"));
+		featureService.getFeatureEpicEstimates(mockComponentId, teamId, projectId, Optional.empty(), Optional.of("hours"));
+		verify(featureRepository, times(1)).findByActiveEndingSprints(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.anyString(), Mockito.anyBoolean());
+
+		mockJiraCollector.setLastExecuted(mockJiraCollector.getLastExecuted() + 1);
+		DataResponse<SprintEstimate> result = featureService.getAggregatedSprintEstimates(mockComponentId, teamId, projectId, Optional.of("scrum"), Optional.of("storypoints"));
+		verify(featureRepository, times(2)).findByActiveEndingSprints(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.anyString(), Mockito.anyBoolean());
+		assertEquals(90, result.getResult().getTotalEstimate());
+	}
+	
 	private Feature createFeature(ObjectId collectorId, String sId, String sStatus, String sState, Integer sEstimate, String changeDate, boolean isDeleted, 
 			String teamId, String sTeamChangeDate,
 			String sSprintID, String sSprintChangeDate, String sSprintBeginDate, String sSprintEndDate,
@@ -13,9 +13,9 @@ import com.capitalone.dashboard.request.GitRequestRequest;
 import com.querydsl.core.types.Predicate;
 import org.bson.types.ObjectId;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -35,9 +35,16 @@ public class GitRequestServiceTest {
     private CollectorRepository collectorRepository;
     @Mock
     private GitRequestRepository gitRequestRepository;
-    @InjectMocks
+    @Mock
+    private CollectorService collectorService;
     private GitRequestServiceImpl gitRequestService;
 
+    @Before
+    public void setup() {
+        gitRequestService = new GitRequestServiceImpl(gitRequestRepository,
+                new ComponentCollectorCache(componentRepository, collectorRepository, 0, 0), collectorService);
+    }
+
     @Test
     public void searchTest() {
         ObjectId componentId = ObjectId.get();
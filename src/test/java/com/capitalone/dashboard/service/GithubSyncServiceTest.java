@@ -3,18 +3,32 @@ package com.capitalone.dashboard.service;
 
 import com.capitalone.dashboard.client.RestClient;
 import com.capitalone.dashboard.client.RestOperationsSupplier;
+import com.capitalone.dashboard.model.Collector;
+import com.capitalone.dashboard.model.CollectorType;
+import com.capitalone.dashboard.model.Commit;
+import com.capitalone.dashboard.model.GitRequest;
 import com.capitalone.dashboard.model.webhook.github.GitHubRepo;
 import com.capitalone.dashboard.repository.CollectorItemRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.repository.CommitLookupRepository;
 import com.capitalone.dashboard.repository.CommitRepository;
 import com.capitalone.dashboard.repository.GitHubRepoRepository;
 import com.capitalone.dashboard.repository.GitRequestRepository;
+import com.capitalone.dashboard.request.GitSyncRequest;
 import com.capitalone.dashboard.settings.ApiSettings;
 import com.capitalone.dashboard.webhook.github.GitHubSyncServiceImpl;
+import com.capitalone.dashboard.webhook.github.GitHubUserCache;
 import com.capitalone.dashboard.webhook.settings.GithubSyncSettings;
+import org.bson.types.ObjectId;
+import org.joda.time.DateTime;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.http.HttpMethod;
@@ -22,10 +36,27 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestOperations;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -40,10 +71,14 @@ public class GithubSyncServiceTest {
     private GithubSyncSettings githubSyncSettings;
     private GitHubSyncServiceImpl gitHubSyncService;
     @Mock private CommitRepository commitRepository;
+    @Mock private CommitLookupRepository commitLookupRepository;
     @Mock private GitRequestRepository gitRequestRepository;
     @Mock private CollectorItemRepository collectorItemRepository;
     @Mock private GitHubRepoRepository gitHubRepoRepository;
     @Mock private CollectorRepository collectorRepository;
+    @Mock private RestClient restClient;
+    private final List<GitHubRepo> syncedRepos = new ArrayList<>();
+    private final Map<String, ResponseEntity<String>> graphQLResponses = new HashMap<>();
 
     @Before
     public void init() {
@@ -51,7 +86,7 @@ public class GithubSyncServiceTest {
         settings = new ApiSettings();
         githubSyncSettings = new GithubSyncSettings();
         settings.setGithubSyncSettings(githubSyncSettings);
-        gitHubSyncService = new GitHubSyncServiceImpl(commitRepository,gitRequestRepository,collectorItemRepository,gitHubRepoRepository,collectorRepository,settings, new RestClient(restOperationsSupplier));
+        gitHubSyncService = new GitHubSyncServiceImpl(commitRepository,commitLookupRepository,gitRequestRepository,collectorItemRepository,gitHubRepoRepository,collectorRepository,settings, new RestClient(restOperationsSupplier), new GitHubUserCache(60, 10, 100));
         gitHubSyncService.setLdapMap(new HashMap<>());
 
     }
@@ -123,6 +158,217 @@ public class GithubSyncServiceTest {
     }
 
 
+    @Test
+    public void syncSavesOnlyCommitsNotYetStored() throws Exception {
+        GitHubRepo repo = syncedRepo("repo-one", "r1", "r2", "r3", "r4");
+        storedCommits(repo, 4L, "r1", "r3");
+
+        syncService(1).syncGithubRepo(syncRequest());
+
+        assertEquals(Collections.singletonList(Arrays.asList("r2", "r4")), savedRevisions());
+        verify(commitLookupRepository).findRevisionsByCollectorItemIdAndScmRevisionNumberIn(repo.getId(), Arrays.asList("r1", "r2", "r3", "r4"));
+    }
+
+    @Test
+    public void syncSavesDuplicateRevisionOfAPageOnce() throws Exception {
+        GitHubRepo repo = syncedRepo("repo-one", "r1", "r2", "r1");
+        storedCommits(repo, 1L);
+
+        syncService(1).syncGithubRepo(syncRequest());
+
+        assertEquals(Collections.singletonList(Arrays.asList("r1", "r2")), savedRevisions());
+        verify(commitLookupRepository).findRevisionsByCollectorItemIdAndScmRevisionNumberIn(repo.getId(), Arrays.asList("r1", "r2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void syncLooksUpAndSavesCommitsInBatches() throws Exception {
+        String[] revisions = IntStream.range(0, 1200).mapToObj(i -> "r" + i).toArray(String[]::new);
+        GitHubRepo repo = syncedRepo("repo-one", revisions);
+        // r0 .. r9 are stored already, all in the first batch
+        storedCommits(repo, 10L, Arrays.copyOfRange(revisions, 0, 10));
+
+        syncService(1).syncGithubRepo(syncRequest());
+
+        ArgumentCaptor<Collection> lookedUp = ArgumentCaptor.forClass(Collection.class);
+        verify(commitLookupRepository, times(3)).findRevisionsByCollectorItemIdAndScmRevisionNumberIn(eq(repo.getId()), lookedUp.capture());
+        assertEquals(Arrays.asList(500, 500, 200), lookedUp.getAllValues().stream().map(Collection::size).collect(Collectors.toList()));
+        List<List<String>> saved = savedRevisions();
+        assertEquals(Arrays.asList(490, 500, 200), saved.stream().map(List::size).collect(Collectors.toList()));
+        assertEquals("r10", saved.get(0).get(0));
+        assertEquals("r1199", saved.get(2).get(199));
+    }
+
+    @Test
+    public void syncKeepsConcurrentRepositoriesApart() throws Exception {
+        GitHubRepo one = syncedRepo("repo-one", "one-1", "one-2", "one-3");
+        GitHubRepo two = syncedRepo("repo-two", "two-1", "two-2");
+        GitHubSyncServiceImpl service = syncService(2);
+        // both repositories have to be in their first GraphQL call before either gets its page
+        CountDownLatch bothSyncing = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            JSONObject query = (JSONObject) invocation.getArguments()[3];
+            JSONObject variables = (JSONObject) new JSONParser().parse((String) query.get("variables"));
+            bothSyncing.countDown();
+            assertTrue(bothSyncing.await(10, TimeUnit.SECONDS));
+            return graphQLResponses.get((String) variables.get("name"));
+        }).when(restClient).makeRestCallPost(anyString(), eq("token"), Matchers.<String>any(), any(JSONObject.class));
+
+        String status = service.syncGithubRepo(syncRequest());
+
+        assertTrue(status, status.contains("totalRepoCount=2, totalNewPulls=2"));
+        assertTrue(status, status.endsWith("totalNewIssues=2"));
+        Map<ObjectId, String> names = new HashMap<>();
+        names.put(one.getId(), "repo-one");
+        names.put(two.getId(), "repo-two");
+
+        ArgumentCaptor<List> savedCommits = ArgumentCaptor.forClass(List.class);
+        verify(commitRepository, atLeastOnce()).save(savedCommits.capture());
+        List<Commit> commits = new ArrayList<>();
+        for (List<?> saved : savedCommits.getAllValues()) {
+            saved.forEach(commit -> commits.add((Commit) commit));
+        }
+        assertEquals(5, commits.size());
+        commits.forEach(commit -> assertTrue(commit.getScmCommitLog(), commit.getScmCommitLog().startsWith(names.get(commit.getCollectorItemId()) + " ")));
+
+        ArgumentCaptor<GitRequest> savedRequests = ArgumentCaptor.forClass(GitRequest.class);
+        verify(gitRequestRepository, times(4)).save(savedRequests.capture());
+        for (GitRequest request : savedRequests.getAllValues()) {
+            assertTrue(request.getScmCommitLog(), request.getScmCommitLog().startsWith(names.get(request.getCollectorItemId()) + " "));
+        }
+        assertEquals(2, savedRequests.getAllValues().stream().filter(request -> "pull".equals(request.getRequestType())).count());
+    }
+
+    private GitHubSyncServiceImpl syncService(int syncThreads) throws Exception {
+        githubSyncSettings.setSyncThreads(syncThreads);
+        Collector collector = new Collector(GitHubSyncServiceImpl.GIT_HUB, CollectorType.SCM);
+        collector.setId(ObjectId.get());
+        when(collectorRepository.findByName(GitHubSyncServiceImpl.GIT_HUB)).thenReturn(collector);
+        when(gitHubRepoRepository.findRepoByUrlAndBranch(collector.getId(), null, null)).thenReturn(syncedRepos);
+        when(restClient.makeRestCallPost(anyString(), eq("token"), Matchers.<String>any(), any(JSONObject.class))).thenAnswer(invocation -> {
+            JSONObject query = (JSONObject) invocation.getArguments()[3];
+            JSONObject variables = (JSONObject) new JSONParser().parse((String) query.get("variables"));
+            return graphQLResponses.get((String) variables.get("name"));
+        });
+        return new GitHubSyncServiceImpl(commitRepository, commitLookupRepository, gitRequestRepository, collectorItemRepository,
+                gitHubRepoRepository, collectorRepository, settings, restClient, new GitHubUserCache(60, 10, 100));
+    }
+
+    /**
+     * A repository of the GitHub collector whose first GraphQL page holds the commits, one pull request and one issue.
+     */
+    private GitHubRepo syncedRepo(String name, String... revisions) {
+        GitHubRepo repo = new GitHubRepo();
+        repo.setId(ObjectId.get());
+        repo.setBranch("master");
+        repo.setRepoUrl("http://mygithub.com/user/" + name);
+        repo.getOptions().put("url", repo.getRepoUrl());
+        syncedRepos.add(repo);
+        graphQLResponses.put(name, graphQLPage(name, revisions));
+        return repo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void storedCommits(GitHubRepo repo, long count, String... revisions) {
+        when(commitRepository.countCommitsByCollectorItemId(repo.getId())).thenReturn(count);
+        List<String> stored = Arrays.asList(revisions);
+        when(commitLookupRepository.findRevisionsByCollectorItemIdAndScmRevisionNumberIn(eq(repo.getId()), any(Collection.class))).thenAnswer(invocation ->
+                ((Collection<String>) invocation.getArguments()[1]).stream().filter(stored::contains).map(revision -> {
+                    Commit commit = new Commit();
+                    commit.setScmRevisionNumber(revision);
+                    return commit;
+                }).collect(Collectors.toList()));
+    }
+
+    /**
+     * Revisions of each non empty commit save, the orphan commit update saves an empty list here.
+     */
+    @SuppressWarnings("unchecked")
+    private List<List<String>> savedRevisions() {
+        ArgumentCaptor<List> saved = ArgumentCaptor.forClass(List.class);
+        verify(commitRepository, atLeastOnce()).save(saved.capture());
+        return saved.getAllValues().stream().filter(commits -> !commits.isEmpty())
+                .map(commits -> ((List<Commit>) commits).stream().map(Commit::getScmRevisionNumber).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    private static GitSyncRequest syncRequest() {
+        GitSyncRequest request = new GitSyncRequest();
+        request.setHistoryDays(14);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<String> graphQLPage(String name, String... revisions) {
+        String now = new DateTime().toString();
+        JSONArray commitEdges = new JSONArray();
+        for (String revision : revisions) {
+            JSONObject author = new JSONObject();
+            author.put("name", "developer");
+            author.put("date", now);
+            JSONObject parents = new JSONObject();
+            parents.put("nodes", new JSONArray());
+            JSONObject commit = new JSONObject();
+            commit.put("oid", revision);
+            commit.put("message", name + " commit " + revision);
+            commit.put("author", author);
+            commit.put("parents", parents);
+            commitEdges.add(edge(commit));
+        }
+        JSONObject history = new JSONObject();
+        history.put("pageInfo", lastPage());
+        history.put("edges", commitEdges);
+        JSONObject target = new JSONObject();
+        target.put("history", history);
+        JSONObject ref = new JSONObject();
+        ref.put("target", target);
+
+        JSONObject repository = new JSONObject();
+        repository.put("ref", ref);
+        repository.put("pullRequests", requests(name + " pull", "1", now));
+        repository.put("issues", requests(name + " issue", "2", now));
+        JSONObject data = new JSONObject();
+        data.put("repository", repository);
+        JSONObject body = new JSONObject();
+        body.put("data", data);
+        return new ResponseEntity<>(body.toJSONString(), HttpStatus.OK);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject requests(String title, String number, String now) {
+        JSONObject login = new JSONObject();
+        login.put("login", "developer");
+        JSONObject request = new JSONObject();
+        request.put("number", number);
+        request.put("title", title);
+        request.put("state", "OPEN");
+        request.put("author", login);
+        request.put("createdAt", now);
+        request.put("updatedAt", now);
+        JSONArray edges = new JSONArray();
+        edges.add(edge(request));
+        JSONObject requests = new JSONObject();
+        requests.put("totalCount", 1);
+        requests.put("pageInfo", lastPage());
+        requests.put("edges", edges);
+        return requests;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject edge(JSONObject node) {
+        JSONObject edge = new JSONObject();
+        edge.put("node", node);
+        return edge;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject lastPage() {
+        JSONObject pageInfo = new JSONObject();
+        pageInfo.put("endCursor", "end");
+        pageInfo.put("hasNextPage", false);
+        return pageInfo;
+    }
+
     private GitHubRepo getGitRepo() {
         GitHubRepo repo = new GitHubRepo();
         repo.setBranch("master");
@@ -15,10 +15,10 @@ import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanOperation;
 import org.bson.types.ObjectId;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.data.domain.Page;
@@ -52,9 +52,14 @@ public class LogAnalysisServiceImplTest {
   @Mock
   private LogAnalysizerRepository mockLogAnalyzerRepository;
 
-  @InjectMocks
   private LogAnalysisServiceImpl subject;
 
+  @Before
+  public void setup() {
+    subject = new LogAnalysisServiceImpl(mockLogAnalyzerRepository,
+        new ComponentCollectorCache(mockComponentRepository, mockCollectorRepository, 0, 0));
+  }
+
   @Test
   public void nullRequestReturnsEmptyResponse() {
     long startTime = System.currentTimeMillis()-1000;
@@ -0,0 +1,147 @@
+package com.capitalone.dashboard.service;
+
+import com.capitalone.dashboard.model.ServiceStatus;
+import com.capitalone.dashboard.util.URLConnectionFactory;
+import com.sun.net.httpserver.HttpServer;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ServiceHealthProbeTest {
+
+    private static final long SLOW_MILLIS = 500;
+
+    private HttpServer server;
+    private ServiceHealthProbe probe;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/down", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(SLOW_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/hang", exchange -> {
+            try {
+                TimeUnit.SECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        probe.shutdown();
+        server.stop(0);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    @Test
+    public void reportsStatusByUrl() {
+        probe = new ServiceHealthProbe(new URLConnectionFactory(Proxy.NO_PROXY), 4, 16, 4, 2000);
+
+        Map<String, ServiceStatus> statuses = probe.probeAll(Arrays.asList(url("/ok"), url("/down")), ObjectId.get());
+
+        assertEquals(ServiceStatus.Ok, statuses.get(url("/ok")));
+        assertNotEquals(ServiceStatus.Ok, statuses.get(url("/down")));
+    }
+
+    @Test
+    public void probesConcurrently() {
+        probe = new ServiceHealthProbe(new URLConnectionFactory(Proxy.NO_PROXY), 8, 16, 8, 2000);
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            urls.add(url("/slow?service=" + i));
+        }
+
+        long start = System.nanoTime();
+        Map<String, ServiceStatus> statuses = probe.probeAll(urls, ObjectId.get());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(8, statuses.size());
+        assertTrue(statuses.values().stream().allMatch(ServiceStatus.Ok::equals));
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis < 4 * SLOW_MILLIS);
+    }
+
+    @Test
+    public void limitsProbesPerHost() {
+        probe = new ServiceHealthProbe(new URLConnectionFactory(Proxy.NO_PROXY), 8, 16, 2, 2000);
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            urls.add(url("/slow?service=" + i));
+        }
+
+        probe.probeAll(urls, ObjectId.get());
+
+        assertTrue(maxActive.get() <= 2);
+    }
+
+    @Test
+    public void reportsProbesBeyondQueueAsAlert() {
+        probe = new ServiceHealthProbe(new URLConnectionFactory(Proxy.NO_PROXY), 1, 1, 1, 2000);
+        List<String> urls = Arrays.asList(url("/slow?service=0"), url("/slow?service=1"), url("/slow?service=2"));
+
+        long start = System.nanoTime();
+        Map<String, ServiceStatus> statuses = probe.probeAll(urls, ObjectId.get());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // one check runs, one waits in the queue and the third is rejected without a request
+        assertEquals(ServiceStatus.Ok, statuses.get(urls.get(0)));
+        assertEquals(ServiceStatus.Ok, statuses.get(urls.get(1)));
+        assertEquals(ServiceStatus.Alert, statuses.get(urls.get(2)));
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis < 3 * SLOW_MILLIS);
+    }
+
+    @Test
+    public void reportsHungServiceAsDown() {
+        probe = new ServiceHealthProbe(new URLConnectionFactory(Proxy.NO_PROXY, 500, 500), 4, 16, 4, 1000);
+
+        long start = System.nanoTime();
+        Map<String, ServiceStatus> statuses = probe.probeAll(Arrays.asList(url("/hang"), url("/ok")), ObjectId.get());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertNotEquals(ServiceStatus.Ok, statuses.get(url("/hang")));
+        assertEquals(ServiceStatus.Ok, statuses.get(url("/ok")));
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis < 5000);
+    }
+}
@@ -14,10 +14,10 @@ import java.util.List;
 
 import com.capitalone.dashboard.model.*;
 import org.bson.types.ObjectId;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatcher;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -33,7 +33,13 @@ public class ServiceServiceTest {
     @Mock DashboardRepository dashboardRepository;
     @Mock ServiceRepository serviceRepository;
     @Mock URLConnectionFactory urlConnectionFactory;
-    @InjectMocks ServiceServiceImpl serviceService;
+    ServiceServiceImpl serviceService;
+
+    @Before
+    public void setup() {
+        serviceService = new ServiceServiceImpl(new ServiceHealthProbe(urlConnectionFactory, 2, 16, 2, 1000),
+                serviceRepository, dashboardRepository);
+    }
 
     @Test
     public void all() {
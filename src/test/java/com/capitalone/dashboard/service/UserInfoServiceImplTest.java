@@ -11,8 +11,16 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Matchers.any;
 
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.capitalone.dashboard.auth.AuthProperties;
 import com.capitalone.dashboard.settings.ApiSettings;
@@ -35,6 +43,7 @@ import com.capitalone.dashboard.repository.UserInfoRepository;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
+import javax.naming.Context;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 import javax.naming.directory.InitialDirContext;
@@ -42,6 +51,9 @@ import javax.naming.directory.SearchResult;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.Attributes;
 import javax.naming.directory.Attribute;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.directory.DirContext;
+import javax.naming.spi.InitialContextFactory;
 
 @RunWith(MockitoJUnitRunner.class)
 public class UserInfoServiceImplTest {
@@ -239,7 +251,9 @@ public class UserInfoServiceImplTest {
         service = new UserInfoServiceImpl(userInfoRepository,authProperties, apiSettings);
 
         context = Mockito.mock(InitialDirContext.class);
-        service.setInitialContext(context);
+        LdapContextPool pool = Mockito.mock(LdapContextPool.class);
+        when(pool.borrow()).thenReturn(context);
+        service.setContextPool(pool);
         NamingEnumeration<SearchResult> results = Mockito.mock(NamingEnumeration.class);
         SearchResult searchResult = Mockito.mock(SearchResult.class);
         Attributes attrs = Mockito.mock(Attributes.class);
@@ -264,6 +278,110 @@ public class UserInfoServiceImplTest {
         when(results.hasMore()).thenReturn(false);
         assertFalse(service.searchLdapUser("invalidUser"));
 
+        verify(pool, Mockito.times(3)).release(context);
+    }
+
+    @Test
+    public void shouldReuseLdapContextAndCacheLookups() {
+        setup();
+        authProperties.setAdSvcRootDn("ou=services,dc=company,dc=com");
+        authProperties.setAdUserRootDn("ou=users,dc=company,dc=com");
+        when(apiSettings.getContextFactory()).thenReturn(StandInLdapContextFactory.class.getName());
+        when(apiSettings.getContextProtocol()).thenReturn("plain");
+        when(apiSettings.getContextSecurityAuthentication()).thenReturn("simple");
+        when(apiSettings.getLdapContextPoolSize()).thenReturn(2);
+        when(apiSettings.getLdapUserCacheSeconds()).thenReturn(600L);
+        when(apiSettings.getLdapUserNegativeCacheSeconds()).thenReturn(600L);
+        service = new UserInfoServiceImpl(userInfoRepository, authProperties, apiSettings);
+        StandInLdapContextFactory.reset("member");
+
+        assertTrue(service.isUserValid("member", AuthType.LDAP));
+        assertTrue(service.isUserValid("member", AuthType.LDAP));
+        assertFalse(service.isUserValid("unknown", AuthType.LDAP));
+        assertFalse(service.isUserValid("unknown", AuthType.LDAP));
+
+        // one bind for all lookups, "member" is found in the service accounts, "unknown" is searched in both bases
+        assertEquals(1, StandInLdapContextFactory.binds.get());
+        assertEquals(3, StandInLdapContextFactory.searches.get());
+        service.closeContextPool();
+    }
+
+    @Test
+    public void shouldCapBorrowedLdapContexts() throws NamingException {
+        Hashtable<String, String> environment = new Hashtable<>();
+        environment.put(Context.INITIAL_CONTEXT_FACTORY, StandInLdapContextFactory.class.getName());
+        StandInLdapContextFactory.reset();
+        LdapContextPool pool = new LdapContextPool(environment, 1, 2, 50);
+
+        DirContext first = pool.borrow();
+        DirContext second = pool.borrow();
+        try {
+            pool.borrow();
+            fail("Should time out waiting for a context");
+        } catch (NamingException e) {
+            assertEquals(0, pool.getAvailableCount());
+        }
+
+        // a released context is reused, an invalidated one frees its slot for a new bind
+        pool.release(first);
+        assertSame(first, pool.borrow());
+        pool.invalidate(second);
+        assertNotNull(pool.create());
+        assertEquals(0, pool.getAvailableCount());
+        assertEquals(3, StandInLdapContextFactory.binds.get());
+        pool.close();
+    }
+
+    /**
+     * In-process stand-in for a directory server, knows the users passed to {@link #reset(String...)}.
+     */
+    public static class StandInLdapContextFactory implements InitialContextFactory {
+        static final AtomicInteger binds = new AtomicInteger();
+        static final AtomicInteger searches = new AtomicInteger();
+        private static final Set<String> users = new HashSet<>();
+
+        static void reset(String... userIds) {
+            binds.set(0);
+            searches.set(0);
+            users.clear();
+            users.addAll(Arrays.asList(userIds));
+        }
+
+        @Override
+        public Context getInitialContext(Hashtable<?, ?> environment) {
+            binds.incrementAndGet();
+            return (Context) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DirContext.class},
+                    (proxy, method, args) -> {
+                        if ("search".equals(method.getName())) {
+                            searches.incrementAndGet();
+                            return search((String) args[1]);
+                        }
+                        if ("hashCode".equals(method.getName())) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if ("equals".equals(method.getName())) {
+                            return proxy == args[0];
+                        }
+                        return null;
+                    });
+        }
+
+        private static NamingEnumeration<SearchResult> search(String filter) {
+            List<SearchResult> found = new ArrayList<>();
+            for (String user : users) {
+                if (filter.contains("=" + user + "@")) {
+                    found.add(new SearchResult(user, null, new BasicAttributes("memberOf", "cn=users")));
+                }
+            }
+            Iterator<SearchResult> iterator = found.iterator();
+            return new NamingEnumeration<SearchResult>() {
+                public SearchResult next() { return iterator.next(); }
+                public boolean hasMore() { return iterator.hasNext(); }
+                public void close() { }
+                public boolean hasMoreElements() { return iterator.hasNext(); }
+                public SearchResult nextElement() { return iterator.next(); }
+            };
+        }
     }
 
 }
@@ -0,0 +1,53 @@
+package com.capitalone.dashboard.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DashboardSearchKeysTest {
+
+    @Test
+    public void normalize() {
+        assertEquals("my app", DashboardSearchKeys.normalize(" My App "));
+        assertNull(DashboardSearchKeys.normalize(""));
+        assertNull(DashboardSearchKeys.normalize(null));
+    }
+
+    @Test
+    public void lowerCase() {
+        assertEquals(" my app ", DashboardSearchKeys.lowerCase(" My App "));
+        assertNull(DashboardSearchKeys.lowerCase(null));
+    }
+
+    @Test
+    public void tokens() {
+        assertEquals(Arrays.asList("my", "app", "v2"), DashboardSearchKeys.tokens("My-App_v2 my"));
+        assertEquals(Collections.emptyList(), DashboardSearchKeys.tokens(" -- "));
+    }
+
+    @Test
+    public void prefixes() {
+        assertEquals(Arrays.asList("m", "my", "a", "ap", "app"), DashboardSearchKeys.prefixes("My App"));
+    }
+
+    @Test
+    public void longTokensMatchTheLongestStoredPrefix() {
+        String longWord = "abcdefghijklmnopqrstuvwxyz0123456789";
+        List<String> prefixes = DashboardSearchKeys.prefixes(longWord);
+        List<String> tokens = DashboardSearchKeys.tokens(longWord);
+
+        assertEquals(DashboardSearchKeys.MAX_PREFIX_LENGTH, prefixes.size());
+        assertTrue(prefixes.containsAll(tokens));
+    }
+
+    @Test
+    public void matchingTypes() {
+        assertEquals(Collections.singletonList("Team"), DashboardSearchKeys.matchingTypes("tea"));
+    }
+}
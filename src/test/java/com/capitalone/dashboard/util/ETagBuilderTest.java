@@ -0,0 +1,49 @@
+package com.capitalone.dashboard.util;
+
+import com.capitalone.dashboard.model.Collector;
+import com.capitalone.dashboard.model.CollectorItem;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ETagBuilderTest {
+
+    @Test
+    public void build() {
+        String eTag = new ETagBuilder().append("dashboard").append(1L).build();
+
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+        assertEquals(eTag, new ETagBuilder().append("dashboard").append(1L).build());
+        assertNotEquals(eTag, new ETagBuilder().append("dashboard").append(2L).build());
+    }
+
+    @Test
+    public void appendKeepsValuesApart() {
+        assertNotEquals(new ETagBuilder().append("ab").append("c").build(), new ETagBuilder().append("a").append("bc").build());
+        assertNotEquals(new ETagBuilder().append("a").append("b").build(), new ETagBuilder().append("b").append("a").build());
+    }
+
+    @Test
+    public void forCollectorItem() {
+        CollectorItem item = new CollectorItem();
+        item.setId(ObjectId.get());
+        item.setLastUpdated(5L);
+        Collector collector = new Collector();
+        collector.setLastExecuted(10L);
+
+        String eTag = ETagBuilder.forCollectorItem(item, collector, 1L);
+        assertEquals(eTag, ETagBuilder.forCollectorItem(item, collector, 1L));
+        // a newer document of the item
+        assertNotEquals(eTag, ETagBuilder.forCollectorItem(item, collector, 2L));
+
+        collector.setLastExecuted(20L);
+        String collectorRan = ETagBuilder.forCollectorItem(item, collector, 1L);
+        assertNotEquals(eTag, collectorRan);
+
+        item.setLastUpdated(6L);
+        assertNotEquals(collectorRan, ETagBuilder.forCollectorItem(item, collector, 1L));
+    }
+}
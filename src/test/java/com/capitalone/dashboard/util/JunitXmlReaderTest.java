@@ -0,0 +1,62 @@
+package com.capitalone.dashboard.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Test;
+
+import com.capitalone.dashboard.model.quality.JunitXmlReport;
+
+public class JunitXmlReaderTest {
+
+    private static String encode(String xml) {
+        return Base64.getEncoder().encodeToString(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void readsSingleSuiteReport() throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<testsuite name=\"suite-a\" tests=\"1\"><testcase name=\"case-1\" classname=\"Case\"/></testsuite>";
+
+        try (JunitXmlReader reader = JunitXmlReader.fromBase64(encode(xml))) {
+            assertFalse(reader.isSuiteList());
+            JunitXmlReport report = reader.readReport();
+            assertEquals("suite-a", report.getName());
+        }
+    }
+
+    @Test
+    public void readsSuitesOneAtATime() throws Exception {
+        String xml = "<testsuites>"
+                + "<testsuite name=\"suite-a\"><testcase name=\"case-1\" classname=\"Case\"/></testsuite>"
+                + "<testsuite name=\"suite-b\"/>"
+                + "</testsuites>";
+
+        try (JunitXmlReader reader = JunitXmlReader.fromBase64(encode(xml))) {
+            assertTrue(reader.isSuiteList());
+            assertEquals("suite-a", reader.nextSuite().getName());
+            assertEquals("suite-b", reader.nextSuite().getName());
+            assertNull(reader.nextSuite());
+        }
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void rejectsOtherDocuments() throws Exception {
+        JunitXmlReader.fromBase64(encode("<report/>"));
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void rejectsDoctype() throws Exception {
+        String xml = "<!DOCTYPE testsuite [<!ENTITY x SYSTEM \"file:///etc/passwd\">]><testsuite name=\"&x;\"/>";
+        try (JunitXmlReader reader = JunitXmlReader.fromBase64(encode(xml))) {
+            reader.readReport();
+        }
+    }
+}
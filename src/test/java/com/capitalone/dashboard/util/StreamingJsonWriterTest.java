@@ -0,0 +1,82 @@
+package com.capitalone.dashboard.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.capitalone.dashboard.mapper.CustomObjectMapper;
+import com.capitalone.dashboard.model.Collector;
+
+public class StreamingJsonWriterTest {
+
+    private final StreamingJsonWriter writer = new StreamingJsonWriter(new CustomObjectMapper());
+
+    @Test
+    public void writesArray() throws Exception {
+        ObjectId id = new ObjectId("54b982620364c80a6136c9f2");
+        Collector collector = new Collector();
+        collector.setId(id);
+        collector.setName("jenkins");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(Stream.of(collector, collector), out);
+
+        String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("[{"));
+        assertTrue(json.contains("\"id\":\"54b982620364c80a6136c9f2\""));
+        assertTrue(json.contains("\"name\":\"jenkins\""));
+        assertTrue(json.endsWith("}]"));
+    }
+
+    @Test
+    public void writesEmptyArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(Stream.empty(), out);
+
+        assertEquals("[]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void marksStreamedRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            assertNull(request.getAttribute(StreamingJsonWriter.STREAMING_ATTRIBUTE));
+            writer.jsonArray(Stream.empty());
+            assertEquals(Boolean.TRUE, request.getAttribute(StreamingJsonWriter.STREAMING_ATTRIBUTE));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    public void closesStreamWhenWriteFails() {
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("client went away");
+            }
+        };
+
+        try {
+            writer.write(Stream.of("a").onClose(() -> closed.set(true)), failing);
+        } catch (IOException expected) {
+            // the write error is passed on
+        }
+        assertTrue(closed.get());
+    }
+}
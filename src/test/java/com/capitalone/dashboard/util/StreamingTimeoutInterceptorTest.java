@@ -0,0 +1,35 @@
+package com.capitalone.dashboard.util;
+
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+
+public class StreamingTimeoutInterceptorTest {
+
+    private final StreamingTimeoutInterceptor interceptor = new StreamingTimeoutInterceptor(600000L);
+
+    @Test
+    public void setsTimeoutOfStreamedRequest() {
+        AsyncWebRequest request = mock(AsyncWebRequest.class);
+        when(request.getAttribute(StreamingJsonWriter.STREAMING_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)).thenReturn(Boolean.TRUE);
+
+        interceptor.beforeConcurrentHandling(request, () -> null);
+
+        verify(request).setTimeout(600000L);
+    }
+
+    @Test
+    public void keepsTimeoutOfOtherRequests() {
+        AsyncWebRequest request = mock(AsyncWebRequest.class);
+
+        interceptor.beforeConcurrentHandling(request, () -> null);
+
+        verify(request, never()).setTimeout(anyLong());
+    }
+}
@@ -43,6 +43,7 @@ public class URLConnectionFactoryTest {
 		
 		verify(result).setRequestMethod("GET");
 		verify(result).setConnectTimeout(5000);
+		verify(result).setReadTimeout(10000);
 		
 		assertTrue(flag);
 	}
@@ -51,7 +51,7 @@ public class GitHubIssueV3Test {
     @Before
     public void init() {
         RestClient restClient = new RestClient(restOperationsSupplier);
-        gitHubIssueV3 = new GitHubIssueV3 (collectorService, restClient, gitRequestRepository, collectorItemRepository, apiSettings, collectorRepository);
+        gitHubIssueV3 = new GitHubIssueV3 (collectorService, restClient, gitRequestRepository, collectorItemRepository, apiSettings, collectorRepository, new GitHubUserCache(60, 10, 100));
     }
 
     @Test
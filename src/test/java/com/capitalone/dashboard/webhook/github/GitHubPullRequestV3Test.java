@@ -67,7 +67,7 @@ public class GitHubPullRequestV3Test {
     @Before
     public void init() {
         restClient = new RestClient(restOperationsSupplier);
-        gitHubPullRequestV3 = new GitHubPullRequestV3 (collectorService, restClient, gitRequestRepository, commitRepository, collectorItemRepository, apiSettings, collectorRepository);
+        gitHubPullRequestV3 = new GitHubPullRequestV3 (collectorService, restClient, gitRequestRepository, commitRepository, collectorItemRepository, apiSettings, collectorRepository, new GitHubUserCache(60, 10, 100));
         payLoadJsonObject = makePullRequestPayloadObject();
     }
 
@@ -0,0 +1,54 @@
+package com.capitalone.dashboard.webhook.github;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class GitHubRequestBudgetTest {
+
+    private static HttpHeaders rateLimit(long remaining, long resetSeconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(resetSeconds));
+        return headers;
+    }
+
+    private static long acquireMillis(GitHubRequestBudget budget) {
+        long start = System.nanoTime();
+        budget.acquire();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Test
+    public void doesNotPauseAboveReserve() {
+        GitHubRequestBudget budget = new GitHubRequestBudget(0, 100);
+        long reset = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 60;
+
+        budget.update(rateLimit(101, reset));
+
+        assertTrue(acquireMillis(budget) < 500);
+    }
+
+    @Test
+    public void pausesUntilResetAtReserve() {
+        GitHubRequestBudget budget = new GitHubRequestBudget(0, 100);
+        long reset = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 2;
+
+        budget.update(rateLimit(100, reset));
+
+        assertTrue(acquireMillis(budget) >= 900);
+    }
+
+    @Test
+    public void ignoresMissingHeaders() {
+        GitHubRequestBudget budget = new GitHubRequestBudget(0, 100);
+
+        budget.update(new HttpHeaders());
+        budget.update(null);
+
+        assertTrue(acquireMillis(budget) < 500);
+    }
+}
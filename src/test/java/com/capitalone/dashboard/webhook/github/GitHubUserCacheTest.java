@@ -0,0 +1,69 @@
+package com.capitalone.dashboard.webhook.github;
+
+import com.capitalone.dashboard.webhook.github.GitHubUserCache.GitHubUser;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GitHubUserCacheTest {
+
+    private static final String USER_URL = "https://github.com/api/v3/users/some-user";
+
+    private final GitHubUserCache cache = new GitHubUserCache(60, 10, 100);
+
+    private static Supplier<GitHubUser> counting(AtomicInteger calls, GitHubUser user) {
+        return () -> {
+            calls.incrementAndGet();
+            return user;
+        };
+    }
+
+    @Test
+    public void readsUserOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<GitHubUser> loader = counting(calls, new GitHubUser("CN=someUser", "User"));
+
+        assertEquals("CN=someUser", cache.get(USER_URL, loader).getLdapDN());
+        assertEquals("User", cache.get(USER_URL, loader).getAuthorType());
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void cachesMissingUser() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<GitHubUser> loader = counting(calls, GitHubUser.missing());
+
+        assertTrue(cache.get(USER_URL, loader).isEmpty());
+        assertTrue(cache.get(USER_URL, loader).isEmpty());
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void doesNotCacheFailedLookup() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<GitHubUser> loader = counting(calls, null);
+
+        assertNull(cache.get(USER_URL, loader));
+        assertNull(cache.get(USER_URL, loader));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void keysUsersByUrl() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<GitHubUser> loader = counting(calls, new GitHubUser("CN=someUser", "User"));
+
+        cache.get(USER_URL, loader);
+        cache.get("https://api.github.com/users/some-user", loader);
+
+        assertEquals(2, calls.get());
+    }
+}
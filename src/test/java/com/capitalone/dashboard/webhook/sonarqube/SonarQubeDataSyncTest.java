@@ -0,0 +1,199 @@
+package com.capitalone.dashboard.webhook.sonarqube;
+
+import com.capitalone.dashboard.client.RestClient;
+import com.capitalone.dashboard.model.Collector;
+import com.capitalone.dashboard.model.CollectorItem;
+import com.capitalone.dashboard.model.CollectorType;
+import com.capitalone.dashboard.model.Component;
+import com.capitalone.dashboard.model.SonarProject;
+import com.capitalone.dashboard.repository.CodeQualityRepository;
+import com.capitalone.dashboard.repository.CollectorRepository;
+import com.capitalone.dashboard.repository.ComponentRepository;
+import com.capitalone.dashboard.repository.DataSyncOperations;
+import com.capitalone.dashboard.repository.SonarProjectLookupRepository;
+import com.capitalone.dashboard.repository.SonarProjectRepository;
+import com.capitalone.dashboard.request.SonarDataSyncRequest;
+import com.capitalone.dashboard.settings.ApiSettings;
+import com.capitalone.dashboard.webhook.settings.SonarDataSyncSettings;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SonarQubeDataSyncTest {
+
+    private static final int TOTAL_PROJECTS = 1200;
+    private static final String FROM = "http://old-sonar.com";
+
+    @Mock private CodeQualityRepository codeQualityRepository;
+    @Mock private SonarProjectRepository sonarProjectRepository;
+    @Mock private CollectorRepository collectorRepository;
+    @Mock private ComponentRepository componentRepository;
+    @Mock private SonarProjectLookupRepository sonarProjectLookupRepository;
+    @Mock private DataSyncOperations dataSyncOperations;
+
+    private HttpServer server;
+    private SonarQubeHookServiceImpl sonarQubeHookService;
+    private final Set<String> requestedPages = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/components/search", this::projectsPage);
+        server.start();
+
+        ApiSettings settings = new ApiSettings();
+        SonarDataSyncSettings sonarDataSyncSettings = new SonarDataSyncSettings();
+        sonarDataSyncSettings.setPageThreads(4);
+        settings.setSonarDataSyncSettings(sonarDataSyncSettings);
+        sonarQubeHookService = new SonarQubeHookServiceImpl(codeQualityRepository, sonarProjectRepository, collectorRepository,
+                componentRepository, sonarProjectLookupRepository, dataSyncOperations, settings, new RestClient(RestTemplate::new));
+
+        Collector collector = new Collector("Sonar", CollectorType.CodeQuality);
+        collector.setId(ObjectId.get());
+        when(collectorRepository.findByName("Sonar")).thenReturn(collector);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void projectsPage(HttpExchange exchange) throws IOException {
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        String query = exchange.getRequestURI().getQuery();
+        int page = Arrays.stream(query.split("&")).filter(param -> param.startsWith("p="))
+                .map(param -> Integer.valueOf(param.substring(2))).findFirst().orElse(1);
+        requestedPages.add(String.valueOf(page));
+        try {
+            TimeUnit.MILLISECONDS.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String components = IntStream.range((page - 1) * 500, Math.min(page * 500, TOTAL_PROJECTS))
+                .mapToObj(idx -> "{\"id\":\"new-id-" + idx + "\",\"key\":\"key-" + idx + "\",\"name\":\"project-" + idx + "\"}")
+                .collect(Collectors.joining(","));
+        byte[] body = ("{\"paging\":{\"pageIndex\":" + page + ",\"pageSize\":500,\"total\":" + TOTAL_PROJECTS + "},"
+                + "\"components\":[" + components + "]}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        active.decrementAndGet();
+    }
+
+    private static SonarProject existingProject(String projectName) {
+        SonarProject project = new SonarProject();
+        project.setId(ObjectId.get());
+        project.setProjectName(projectName);
+        project.setProjectId("old-id");
+        project.setInstanceUrl(FROM);
+        return project;
+    }
+
+    private static SonarDataSyncRequest request(String to, boolean isSync) {
+        SonarDataSyncRequest request = new SonarDataSyncRequest();
+        request.setSyncFrom(FROM);
+        request.setSyncTo(to);
+        request.setIsSync(isSync);
+        return request;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void syncsProjectsOfAllPages() throws Exception {
+        SonarProject first = existingProject("project-1");
+        SonarProject last = existingProject("project-1199");
+        when(sonarProjectLookupRepository.findSonarProjectsByProjectNames(any(ObjectId.class), eq(FROM), any(Collection.class)))
+                .thenAnswer(invocation -> {
+                    Collection<String> names = (Collection<String>) invocation.getArguments()[2];
+                    return Arrays.asList(first, last).stream().filter(project -> names.contains(project.getProjectName())).collect(Collectors.toList());
+                });
+        Component component = new Component();
+        component.setId(ObjectId.get());
+        CollectorItem codeQualityItem = new CollectorItem();
+        codeQualityItem.setId(first.getId());
+        Map<String, Object> options = new HashMap<>();
+        options.put("projectName", "project-1");
+        options.put("projectId", "old-id");
+        options.put("instanceUrl", FROM);
+        codeQualityItem.setOptions(options);
+        component.addCollectorItem(CollectorType.CodeQuality, codeQualityItem);
+        when(dataSyncOperations.findComponentsByCollectorItemIds(eq(CollectorType.CodeQuality), any(Collection.class)))
+                .thenAnswer(invocation -> ((Collection<ObjectId>) invocation.getArguments()[1]).contains(first.getId())
+                        ? Collections.singletonList(component) : Collections.emptyList());
+
+        ResponseEntity<String> response = sonarQubeHookService.syncData(request(url(), true));
+
+        assertEquals("2/1200 sonar collector items and 1 dashboard components updated", response.getBody());
+        assertEquals(new HashSet<>(Arrays.asList("1", "2", "3")), requestedPages);
+        assertTrue(maxActive.get() >= 2);
+        assertEquals("new-id-1", first.getProjectId());
+        assertEquals(url(), last.getInstanceUrl());
+        assertEquals("new-id-1", codeQualityItem.getOptions().get("projectId"));
+        assertEquals(url(), codeQualityItem.getOptions().get("instanceUrl"));
+        verify(sonarProjectLookupRepository, times(2)).findSonarProjectsByProjectNames(any(ObjectId.class), eq(FROM), any(Collection.class));
+        ArgumentCaptor<List> saved = ArgumentCaptor.forClass(List.class);
+        verify(sonarProjectRepository, times(2)).save(saved.capture());
+        assertEquals(2, saved.getAllValues().stream().mapToInt(List::size).sum());
+        verify(dataSyncOperations).replaceCollectorItems(CollectorType.CodeQuality, Collections.singletonList(component));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void dryRunDoesNotSave() throws Exception {
+        when(sonarProjectLookupRepository.findSonarProjectsByProjectNames(any(ObjectId.class), eq(FROM), any(Collection.class)))
+                .thenReturn(Collections.emptyList());
+
+        ResponseEntity<String> response = sonarQubeHookService.syncData(request(url(), false));
+
+        assertEquals("0/1200 sonar collector items and 0 dashboard components can be updated", response.getBody());
+        verify(sonarProjectRepository, never()).save(any(Iterable.class));
+        verify(dataSyncOperations, never()).replaceCollectorItems(any(CollectorType.class), any(Collection.class));
+    }
+}
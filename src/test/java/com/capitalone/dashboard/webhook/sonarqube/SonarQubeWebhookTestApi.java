@@ -5,6 +5,8 @@ import com.capitalone.dashboard.model.Collector;
 import com.capitalone.dashboard.repository.CodeQualityRepository;
 import com.capitalone.dashboard.repository.CollectorRepository;
 import com.capitalone.dashboard.repository.ComponentRepository;
+import com.capitalone.dashboard.repository.DataSyncOperations;
+import com.capitalone.dashboard.repository.SonarProjectLookupRepository;
 import com.capitalone.dashboard.repository.SonarProjectRepository;
 import com.capitalone.dashboard.settings.ApiSettings;
 import com.google.common.io.Resources;
@@ -28,6 +30,8 @@ public class SonarQubeWebhookTestApi {
     @Mock private SonarProjectRepository sonarProjectRepository;
     @Mock private CollectorRepository collectorRepository;
     @Mock private ComponentRepository componentRepository;
+    @Mock private SonarProjectLookupRepository sonarProjectLookupRepository;
+    @Mock private DataSyncOperations dataSyncOperations;
 
     @Mock
     private ApiSettings apiSettings;
@@ -39,7 +43,7 @@ public class SonarQubeWebhookTestApi {
 
     @Before
     public void init() {
-        sonarQubeHookService = new SonarQubeHookServiceImpl(codeQualityRepository,sonarProjectRepository,collectorRepository, componentRepository,apiSettings,restClient);
+        sonarQubeHookService = new SonarQubeHookServiceImpl(codeQualityRepository,sonarProjectRepository,collectorRepository, componentRepository,sonarProjectLookupRepository,dataSyncOperations,apiSettings,restClient);
     }
 
     @Test